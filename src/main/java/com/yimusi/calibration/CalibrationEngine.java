@@ -0,0 +1,176 @@
+package com.yimusi.calibration;
+
+import com.yimusi.enums.CalibrationModel;
+import com.yimusi.enums.GasType;
+import jakarta.annotation.PostConstruct;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.Function;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * 批量标定引擎.
+ * <p>
+ * 设备之间互不依赖，使用独立的 {@link ForkJoinPool} 按设备区间二分拆分并行计算（标定拟合、交叉敏感矩阵等），
+ * 不占用公共池，避免与其他并行流互相挤占.
+ * 每种气体按请求的模型做最小二乘拟合，点数不足时逐级退化：二次 → 线性 → 过原点的单点增益.
+ * </p>
+ */
+@Slf4j
+@Component
+public class CalibrationEngine implements DisposableBean {
+
+    /** 单个任务直接处理的设备数，低于该值不再拆分 */
+    private static final int SPLIT_THRESHOLD = 32;
+
+    /** 并行度，0 表示使用 CPU 核数 */
+    @Value("${yimusi.calibration.parallelism:0}")
+    private int parallelism;
+
+    private ForkJoinPool pool;
+
+    @PostConstruct
+    public void init() {
+        int threads = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+        pool = new ForkJoinPool(threads);
+        log.info("标定引擎已启动: parallelism={}", threads);
+    }
+
+    @Override
+    public void destroy() {
+        if (pool != null) {
+            pool.shutdownNow();
+        }
+    }
+
+    /**
+     * 并行拟合一批设备
+     *
+     * @param devices 各设备的标定点
+     * @param model   请求的标定模型
+     * @return 与入参顺序一致的标定结果
+     */
+    public List<DeviceCalibrationResult> calibrate(List<CalibrationPoints> devices, CalibrationModel model) {
+        return parallelMap(devices, points -> calibrate(points, model));
+    }
+
+    /**
+     * 在标定池中对一批互不依赖的设备并行执行计算
+     *
+     * @param inputs   各设备的输入
+     * @param function 单台设备的计算，必须是无副作用的纯计算
+     * @return 与入参顺序一致的结果
+     */
+    public <T, R> List<R> parallelMap(List<T> inputs, Function<? super T, ? extends R> function) {
+        Object[] results = new Object[inputs.size()];
+        if (!inputs.isEmpty()) {
+            pool.invoke(new MapTask<>(inputs, function, results, 0, inputs.size()));
+        }
+        @SuppressWarnings("unchecked")
+        List<R> list = (List<R>) Arrays.asList(results);
+        return list;
+    }
+
+    /**
+     * 拟合单台设备的全部气体
+     *
+     * @param points 标定点
+     * @param model  请求的标定模型
+     * @return 标定结果
+     */
+    public static DeviceCalibrationResult calibrate(CalibrationPoints points, CalibrationModel model) {
+        List<CalibrationFit> fits = new ArrayList<>(GasType.COUNT);
+        for (int gas = 0; gas < GasType.COUNT; gas++) {
+            CalibrationFit fit = fit(points, gas, model);
+            if (fit != null) {
+                fits.add(fit);
+            }
+        }
+        return new DeviceCalibrationResult(points.deviceId(), fits);
+    }
+
+    /**
+     * 拟合单种气体，没有标定点或读数全为 0 时返回 null
+     */
+    static CalibrationFit fit(CalibrationPoints points, int gas, CalibrationModel model) {
+        int n = points.count(gas);
+        if (n == 0) {
+            return null;
+        }
+        double[] x = points.measured(gas);
+        double[] y = points.reference(gas);
+
+        double[] coefficients = null;
+        int degree = model.getDegree();
+        while (coefficients == null && degree >= 1) {
+            coefficients = LeastSquares.fit(x, y, n, degree);
+            if (coefficients == null) {
+                degree--;
+            }
+        }
+        if (coefficients == null) {
+            // 单点或读数不可区分：拟合过原点的增益 y = k·x
+            double sxx = 0;
+            double sxy = 0;
+            for (int i = 0; i < n; i++) {
+                sxx += x[i] * x[i];
+                sxy += x[i] * y[i];
+            }
+            if (sxx == 0) {
+                return null;
+            }
+            coefficients = new double[] {0, sxy / sxx};
+            degree = 1;
+        }
+
+        double[] residuals = new double[n];
+        double squareSum = 0;
+        double maxResidual = 0;
+        for (int i = 0; i < n; i++) {
+            double r = y[i] - LeastSquares.evaluate(coefficients, x[i]);
+            residuals[i] = r;
+            squareSum += r * r;
+            maxResidual = Math.max(maxResidual, Math.abs(r));
+        }
+        CalibrationModel used = degree >= CalibrationModel.QUADRATIC.getDegree() ? CalibrationModel.QUADRATIC : CalibrationModel.LINEAR;
+        return new CalibrationFit(GasType.ofIndex(gas), used, coefficients, residuals, n, Math.sqrt(squareSum / n), maxResidual);
+    }
+
+    /**
+     * 按下标区间二分的计算任务，结果直接写入共享数组的对应下标
+     */
+    private static final class MapTask<T, R> extends RecursiveAction {
+
+        private final List<T> inputs;
+        private final Function<? super T, ? extends R> function;
+        private final Object[] results;
+        private final int from;
+        private final int to;
+
+        MapTask(List<T> inputs, Function<? super T, ? extends R> function, Object[] results, int from, int to) {
+            this.inputs = inputs;
+            this.function = function;
+            this.results = results;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= SPLIT_THRESHOLD) {
+                for (int i = from; i < to; i++) {
+                    results[i] = function.apply(inputs.get(i));
+                }
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new MapTask<>(inputs, function, results, from, mid), new MapTask<>(inputs, function, results, mid, to));
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.yimusi.calibration;
+
+import com.yimusi.enums.CalibrationModel;
+import com.yimusi.enums.GasType;
+
+/**
+ * 一种气体的标定拟合结果
+ *
+ * @param gas          气体组分
+ * @param model        实际采用的模型（点数不足时二次模型退化为线性）
+ * @param coefficients 按次数升序排列的系数，参考值 = Σ c<sub>k</sub>·读数<sup>k</sup>
+ * @param residuals    各标定点的残差（参考值 - 拟合值），顺序与标定点一致
+ * @param pointCount   标定点数
+ * @param rmse         残差均方根
+ * @param maxResidual  最大绝对残差
+ */
+public record CalibrationFit(
+    GasType gas,
+    CalibrationModel model,
+    double[] coefficients,
+    double[] residuals,
+    int pointCount,
+    double rmse,
+    double maxResidual
+) {
+}
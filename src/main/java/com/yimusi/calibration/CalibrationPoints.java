@@ -0,0 +1,91 @@
+package com.yimusi.calibration;
+
+import com.yimusi.common.model.GasVector;
+import com.yimusi.enums.GasType;
+import java.math.BigDecimal;
+import java.util.Arrays;
+
+/**
+ * 一台设备的标定点集合.
+ * <p>
+ * 每种气体一对基本类型数组：x 为设备在标定运行中的读数均值，y 为所用油样的参考值.
+ * 参考值在加载油样时一次性由 {@link BigDecimal} 转换为 double，拟合过程中不再做任何装箱或精确小数运算.
+ * 同一实例只由一个线程填充，填充完成后交给 {@link CalibrationEngine} 只读使用.
+ * </p>
+ */
+public final class CalibrationPoints {
+
+    private static final int INITIAL_CAPACITY = 4;
+
+    private final long deviceId;
+    private final double[][] measured = new double[GasType.COUNT][];
+    private final double[][] reference = new double[GasType.COUNT][];
+    private final int[] counts = new int[GasType.COUNT];
+
+    public CalibrationPoints(long deviceId) {
+        this.deviceId = deviceId;
+    }
+
+    /**
+     * 添加一次标定运行的结果，读数与参考值都存在的气体各增加一个标定点
+     *
+     * @param measuredVector  读数均值
+     * @param referenceVector 油样参考值
+     */
+    public void add(GasVector measuredVector, GasVector referenceVector) {
+        measuredVector.forEach((gas, value) -> {
+            if (referenceVector.has(gas)) {
+                add(gas.ordinal(), value, referenceVector.get(gas));
+            }
+        });
+    }
+
+    /**
+     * 添加单个标定点
+     *
+     * @param gas            气体序号
+     * @param measuredValue  读数
+     * @param referenceValue 参考值
+     */
+    public void add(int gas, double measuredValue, double referenceValue) {
+        int count = counts[gas];
+        if (measured[gas] == null) {
+            measured[gas] = new double[INITIAL_CAPACITY];
+            reference[gas] = new double[INITIAL_CAPACITY];
+        } else if (count == measured[gas].length) {
+            measured[gas] = Arrays.copyOf(measured[gas], count * 2);
+            reference[gas] = Arrays.copyOf(reference[gas], count * 2);
+        }
+        measured[gas][count] = measuredValue;
+        reference[gas][count] = referenceValue;
+        counts[gas] = count + 1;
+    }
+
+    public long deviceId() {
+        return deviceId;
+    }
+
+    /**
+     * @param gas 气体序号
+     * @return 该气体的标定点数
+     */
+    public int count(int gas) {
+        return counts[gas];
+    }
+
+    /**
+     * @param gas 气体序号
+     * @return 读数数组（只有前 {@link #count(int)} 个元素有效），没有标定点时为 null
+     */
+    double[] measured(int gas) {
+        return measured[gas];
+    }
+
+    /**
+     * @param gas 气体序号
+     * @return 参考值数组（只有前 {@link #count(int)} 个元素有效），没有标定点时为 null
+     */
+    double[] reference(int gas) {
+        return reference[gas];
+    }
+}
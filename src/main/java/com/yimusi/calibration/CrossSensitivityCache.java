@@ -0,0 +1,69 @@
+package com.yimusi.calibration;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.springframework.stereotype.Component;
+
+/**
+ * 按设备缓存交叉敏感矩阵.
+ * <p>
+ * 缓存项与设备最新一次交叉敏感测试运行的ID绑定：设备完成新的运行后版本不一致，下次查询时重新计算；
+ * 同一设备只保留最新版本，缓存大小不超过做过交叉敏感测试的设备数.
+ * </p>
+ */
+@Component
+public class CrossSensitivityCache {
+
+    private final Map<Long, CrossSensitivityMatrix> matrices = new ConcurrentHashMap<>();
+    private final Counter hitCounter;
+    private final Counter missCounter;
+
+    public CrossSensitivityCache(MeterRegistry meterRegistry) {
+        this.hitCounter = Counter.builder("cross.sensitivity.cache").tag("result", "hit")
+            .description("交叉敏感矩阵缓存命中次数")
+            .register(meterRegistry);
+        this.missCounter = Counter.builder("cross.sensitivity.cache").tag("result", "miss")
+            .description("交叉敏感矩阵缓存未命中次数")
+            .register(meterRegistry);
+        Gauge.builder("cross.sensitivity.cached", matrices, Map::size).register(meterRegistry);
+    }
+
+    /**
+     * 获取设备在指定运行版本下的矩阵
+     *
+     * @param deviceId 设备ID
+     * @param runId    最新一次测试运行ID
+     * @return 版本一致的矩阵，未缓存或版本已变化时返回 null
+     */
+    public CrossSensitivityMatrix get(long deviceId, long runId) {
+        CrossSensitivityMatrix matrix = matrices.get(deviceId);
+        if (matrix != null && matrix.getRunId() == runId) {
+            hitCounter.increment();
+            return matrix;
+        }
+        missCounter.increment();
+        return null;
+    }
+
+    /**
+     * 缓存矩阵，已缓存更新版本时保留较新的一个
+     *
+     * @param matrix 交叉敏感矩阵
+     */
+    public void put(CrossSensitivityMatrix matrix) {
+        matrices.merge(matrix.getDeviceId(), matrix,
+            (current, candidate) -> candidate.getRunId() >= current.getRunId() ? candidate : current);
+    }
+
+    /**
+     * 使设备的矩阵失效
+     *
+     * @param deviceId 设备ID
+     */
+    public void evict(Long deviceId) {
+        matrices.remove(deviceId);
+    }
+}
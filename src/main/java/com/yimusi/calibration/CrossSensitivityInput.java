@@ -0,0 +1,12 @@
+package com.yimusi.calibration;
+
+/**
+ * 一台设备交叉敏感分析的输入
+ *
+ * @param deviceId  检测设备ID
+ * @param runId     参与分析的最新一次测试运行（作业）ID，作为结果的版本
+ * @param measured  各次运行的读数均值，measured[k][gas]，缺失为 NaN
+ * @param reference 各次运行所用油样的参考浓度，reference[k][gas]，缺失为 NaN
+ */
+public record CrossSensitivityInput(long deviceId, long runId, double[][] measured, double[][] reference) {
+}
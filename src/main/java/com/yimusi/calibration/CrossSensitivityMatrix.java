@@ -0,0 +1,139 @@
+package com.yimusi.calibration;
+
+import com.yimusi.enums.GasType;
+import java.util.Arrays;
+
+/**
+ * 设备的气体交叉敏感矩阵.
+ * <p>
+ * 矩阵按 {@link GasType} 的声明顺序（CH4, C2H2, C2H4, C2H6, H2, CO, CO2, H2O）固定索引，
+ * 以行优先的一维 double 数组稠密存储：S[i][j] 表示油样中气体 j 每单位浓度引起的气体 i 通道读数，
+ * 对角线为各通道自身的灵敏度，非对角元素为交叉干扰.
+ * </p>
+ * <p>
+ * 读数模型为 m = S·r，对每一行 i 在全部运行上做最小二乘：
+ * 只求解在任一运行中出现过（参考浓度非零）的气体列，未出现的气体缺少激励，对应列为 NaN；
+ * 参考值缺失的气体视为浓度 0，读数缺失的运行不参与该行的拟合.
+ * 运行数不足以区分各气体（正规方程奇异）时该行为 NaN.
+ * </p>
+ */
+public final class CrossSensitivityMatrix {
+
+    /** 矩阵阶数 */
+    public static final int SIZE = GasType.COUNT;
+
+    private final long deviceId;
+    private final long runId;
+    private final int runCount;
+    private final double[] values;
+
+    private CrossSensitivityMatrix(long deviceId, long runId, int runCount, double[] values) {
+        this.deviceId = deviceId;
+        this.runId = runId;
+        this.runCount = runCount;
+        this.values = values;
+    }
+
+    /**
+     * 由各次运行的读数与参考浓度计算交叉敏感矩阵
+     *
+     * @param input 分析输入
+     * @return 交叉敏感矩阵
+     */
+    public static CrossSensitivityMatrix compute(CrossSensitivityInput input) {
+        double[][] measured = input.measured();
+        double[][] reference = input.reference();
+        int runs = measured.length;
+
+        // 参与求解的气体列（被激励过的气体）
+        int[] columns = new int[SIZE];
+        int width = 0;
+        for (int j = 0; j < SIZE; j++) {
+            for (int k = 0; k < runs; k++) {
+                double r = reference[k][j];
+                if (Double.isFinite(r) && r != 0) {
+                    columns[width++] = j;
+                    break;
+                }
+            }
+        }
+
+        double[] values = new double[SIZE * SIZE];
+        Arrays.fill(values, Double.NaN);
+        if (width > 0) {
+            double[][] gram = new double[width][width];
+            double[] rhs = new double[width];
+            for (int i = 0; i < SIZE; i++) {
+                for (double[] row : gram) {
+                    Arrays.fill(row, 0);
+                }
+                Arrays.fill(rhs, 0);
+                int used = 0;
+                for (int k = 0; k < runs; k++) {
+                    double m = measured[k][i];
+                    if (!Double.isFinite(m)) {
+                        continue;
+                    }
+                    used++;
+                    double[] r = reference[k];
+                    for (int a = 0; a < width; a++) {
+                        double ra = concentration(r[columns[a]]);
+                        rhs[a] += ra * m;
+                        for (int b = 0; b < width; b++) {
+                            gram[a][b] += ra * concentration(r[columns[b]]);
+                        }
+                    }
+                }
+                double[] solution = used < width ? null : LeastSquares.solve(gram, rhs);
+                if (solution != null) {
+                    for (int a = 0; a < width; a++) {
+                        values[i * SIZE + columns[a]] = solution[a];
+                    }
+                }
+            }
+        }
+        return new CrossSensitivityMatrix(input.deviceId(), input.runId(), runs, values);
+    }
+
+    private static double concentration(double reference) {
+        return Double.isFinite(reference) ? reference : 0;
+    }
+
+    public long getDeviceId() {
+        return deviceId;
+    }
+
+    /**
+     * @return 参与分析的最新一次测试运行ID
+     */
+    public long getRunId() {
+        return runId;
+    }
+
+    /**
+     * @return 参与分析的运行次数
+     */
+    public int getRunCount() {
+        return runCount;
+    }
+
+    /**
+     * @param row    读数通道的气体序号
+     * @param column 油样中激励气体的序号
+     * @return 灵敏度，未能求解时为 NaN
+     */
+    public double get(int row, int column) {
+        return values[row * SIZE + column];
+    }
+
+    /**
+     * @return 按行展开的二维数组副本
+     */
+    public double[][] toArray() {
+        double[][] rows = new double[SIZE][];
+        for (int i = 0; i < SIZE; i++) {
+            rows[i] = Arrays.copyOfRange(values, i * SIZE, (i + 1) * SIZE);
+        }
+        return rows;
+    }
+}
@@ -0,0 +1,12 @@
+package com.yimusi.calibration;
+
+import java.util.List;
+
+/**
+ * 一台设备的标定结果
+ *
+ * @param deviceId 检测设备ID
+ * @param fits     拟合成功的各气体结果，没有可用标定点时为空
+ */
+public record DeviceCalibrationResult(long deviceId, List<CalibrationFit> fits) {
+}
@@ -0,0 +1,139 @@
+package com.yimusi.calibration;
+
+/**
+ * 多项式最小二乘拟合.
+ * <p>
+ * 通过正规方程求解，方程阶数只有 2~3，直接用带部分主元的高斯消元.
+ * 为避免读数量级较大时 x 的高次幂放大舍入误差，先将 x 按最大绝对值缩放到 [-1, 1]，
+ * 解出系数后再换算回原始尺度：c<sub>k</sub> = c'<sub>k</sub> / s<sup>k</sup>.
+ * 全部运算基于基本类型数组，不产生中间对象.
+ * </p>
+ */
+public final class LeastSquares {
+
+    private static final double PIVOT_EPSILON = 1e-12;
+
+    private LeastSquares() {
+    }
+
+    /**
+     * 拟合 y = c0 + c1·x + ... + c<sub>degree</sub>·x<sup>degree</sup>
+     *
+     * @param x      自变量（设备读数）
+     * @param y      因变量（参考值）
+     * @param n      参与拟合的点数（数组前 n 个元素）
+     * @param degree 多项式次数
+     * @return 按次数升序排列的系数；点数不足或自变量不可区分时返回 null
+     */
+    public static double[] fit(double[] x, double[] y, int n, int degree) {
+        int size = degree + 1;
+        if (degree < 1 || n < size) {
+            return null;
+        }
+        double scale = 0;
+        for (int i = 0; i < n; i++) {
+            scale = Math.max(scale, Math.abs(x[i]));
+        }
+        if (scale == 0) {
+            return null;
+        }
+
+        // 幂和 Σu^k (k = 0..2d) 与 Σu^k·y (k = 0..d)
+        double[] powerSums = new double[2 * degree + 1];
+        double[] rhs = new double[size];
+        for (int i = 0; i < n; i++) {
+            double u = x[i] / scale;
+            double p = 1;
+            for (int k = 0; k < powerSums.length; k++) {
+                powerSums[k] += p;
+                if (k < size) {
+                    rhs[k] += p * y[i];
+                }
+                p *= u;
+            }
+        }
+        double[][] a = new double[size][size];
+        for (int r = 0; r < size; r++) {
+            for (int c = 0; c < size; c++) {
+                a[r][c] = powerSums[r + c];
+            }
+        }
+
+        double[] coefficients = solve(a, rhs);
+        if (coefficients == null) {
+            return null;
+        }
+        double factor = 1;
+        for (int k = 0; k < size; k++) {
+            coefficients[k] /= factor;
+            factor *= scale;
+        }
+        return coefficients;
+    }
+
+    /**
+     * 按升序系数计算多项式的值（Horner 法）
+     *
+     * @param coefficients 系数
+     * @param x            自变量
+     * @return 多项式的值
+     */
+    public static double evaluate(double[] coefficients, double x) {
+        double value = 0;
+        for (int k = coefficients.length - 1; k >= 0; k--) {
+            value = value * x + coefficients[k];
+        }
+        return value;
+    }
+
+    /**
+     * 高斯消元求解 a·c = b，会原地修改入参
+     *
+     * @param a 系数矩阵（方阵）
+     * @param b 右端向量
+     * @return 解向量；矩阵奇异时返回 null
+     */
+    public static double[] solve(double[][] a, double[] b) {
+        int size = b.length;
+        double norm = 0;
+        for (double[] row : a) {
+            for (double v : row) {
+                norm = Math.max(norm, Math.abs(v));
+            }
+        }
+        for (int col = 0; col < size; col++) {
+            int pivot = col;
+            for (int r = col + 1; r < size; r++) {
+                if (Math.abs(a[r][col]) > Math.abs(a[pivot][col])) {
+                    pivot = r;
+                }
+            }
+            if (Math.abs(a[pivot][col]) <= PIVOT_EPSILON * norm) {
+                return null;
+            }
+            double[] rowTmp = a[col];
+            a[col] = a[pivot];
+            a[pivot] = rowTmp;
+            double bTmp = b[col];
+            b[col] = b[pivot];
+            b[pivot] = bTmp;
+
+            for (int r = col + 1; r < size; r++) {
+                double f = a[r][col] / a[col][col];
+                for (int c = col; c < size; c++) {
+                    a[r][c] -= f * a[col][c];
+                }
+                b[r] -= f * b[col];
+            }
+        }
+        double[] result = new double[size];
+        for (int r = size - 1; r >= 0; r--) {
+            double sum = b[r];
+            for (int c = r + 1; c < size; c++) {
+                sum -= a[r][c] * result[c];
+            }
+            result[r] = sum / a[r][r];
+        }
+        return result;
+    }
+}
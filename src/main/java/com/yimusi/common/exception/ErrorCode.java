@@ -11,6 +11,8 @@ public enum ErrorCode {
     INTERNAL_SERVER_ERROR(HttpStatus.INTERNAL_SERVER_ERROR, 50000, "Internal Server Error"),
     BAD_REQUEST(HttpStatus.BAD_REQUEST, 40000, "Bad Request"),
     METHOD_NOT_ALLOWED(HttpStatus.METHOD_NOT_ALLOWED, 40500, "Request method not supported"),
+    TOO_MANY_REQUESTS(HttpStatus.TOO_MANY_REQUESTS, 42900, "请求过多，请稍后重试"),
+    SERVICE_UNAVAILABLE(HttpStatus.SERVICE_UNAVAILABLE, 50300, "服务繁忙，请稍后重试"),
 
     // --- 参数校验错误 ---
     VALIDATION_ERROR(HttpStatus.BAD_REQUEST, 40001, "Validation failed"),
@@ -29,6 +31,13 @@ public enum ErrorCode {
     DEVICE_MISMATCH(HttpStatus.UNAUTHORIZED, 40105, "设备信息不匹配"),
     CONCURRENT_LOGIN(HttpStatus.UNAUTHORIZED, 40106, "账号在其他设备登录，当前设备已下线"),
 
+    // --- 设备通信相关错误 ---
+    VALVE_CONTROLLER_ERROR(HttpStatus.BAD_GATEWAY, 50201, "电磁阀控制器通信失败"),
+    VALVE_CONTROLLER_TIMEOUT(HttpStatus.GATEWAY_TIMEOUT, 50401, "电磁阀控制器响应超时"),
+
+    // --- 测试执行相关错误 ---
+    TEST_RUN_FAILED(HttpStatus.INTERNAL_SERVER_ERROR, 50003, "测试执行失败"),
+
     // --- 序列号生成相关错误 ---
     SEQUENCE_LOCK_TIMEOUT(HttpStatus.INTERNAL_SERVER_ERROR, 50001, "获取序列号生成锁超时"),
     SEQUENCE_LOCK_INTERRUPTED(HttpStatus.INTERNAL_SERVER_ERROR, 50002, "获取序列号生成锁被中断");
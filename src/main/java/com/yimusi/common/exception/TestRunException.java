@@ -0,0 +1,12 @@
+package com.yimusi.common.exception;
+
+/**
+ * 测试执行异常
+ * 用于测试步骤无法完成的场景，如阀门切换失败、读数未在限定时间内稳定、缺少读数等
+ */
+public class TestRunException extends BusinessException {
+
+    public TestRunException(String customMessage) {
+        super(ErrorCode.TEST_RUN_FAILED, customMessage);
+    }
+}
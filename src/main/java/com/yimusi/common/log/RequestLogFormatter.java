@@ -0,0 +1,102 @@
+package com.yimusi.common.log;
+
+import com.yimusi.common.model.ApiResponse;
+import com.yimusi.dto.common.PageResult;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
+import java.lang.reflect.Array;
+import java.util.Collection;
+import java.util.Map;
+import java.util.regex.Pattern;
+import org.springframework.core.io.InputStreamSource;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+
+/**
+ * 请求日志中参数与返回值的摘要格式化.
+ * <p>
+ * 只在确定要输出日志时调用：
+ * <ul>
+ *   <li>超过 maxCollectionSize 的集合、Map、数组和分页结果只输出类型和元素数，不展开元素</li>
+ *   <li>密码、token 等敏感字段的值替换为 ***</li>
+ *   <li>单个值的文本超过 maxLength 时截断</li>
+ *   <li>Servlet 请求响应、文件、SSE 等对象只输出类型名</li>
+ * </ul>
+ * </p>
+ */
+public class RequestLogFormatter {
+
+    private static final Pattern SENSITIVE = Pattern.compile(
+        "(?i)((?:password|passwd|secret|token|authorization)\\w*)(=|\"\\s*:\\s*\"?)[^,)}\"\\]]*");
+
+    private final int maxLength;
+    private final int maxCollectionSize;
+
+    public RequestLogFormatter(int maxLength, int maxCollectionSize) {
+        this.maxLength = maxLength;
+        this.maxCollectionSize = maxCollectionSize;
+    }
+
+    /**
+     * 格式化方法参数
+     *
+     * @param args 参数
+     * @return 摘要文本
+     */
+    public String formatArgs(Object[] args) {
+        if (args == null || args.length == 0) {
+            return "[]";
+        }
+        StringBuilder builder = new StringBuilder("[");
+        for (int i = 0; i < args.length; i++) {
+            if (i > 0) {
+                builder.append(", ");
+            }
+            builder.append(format(args[i]));
+        }
+        return builder.append(']').toString();
+    }
+
+    /**
+     * 格式化单个值
+     *
+     * @param value 参数或返回值
+     * @return 摘要文本
+     */
+    public String format(Object value) {
+        if (value == null) {
+            return "null";
+        }
+        if (value instanceof ApiResponse<?> response) {
+            return "ApiResponse(code=" + response.getCode() + ", data=" + format(response.getData()) + ")";
+        }
+        if (value instanceof PageResult<?> page) {
+            int size = page.getContent() == null ? 0 : page.getContent().size();
+            return "PageResult(total=" + page.getTotal() + ", page=" + page.getPage() + ", size=" + size + ")";
+        }
+        if (value instanceof Collection<?> collection && collection.size() > maxCollectionSize) {
+            return value.getClass().getSimpleName() + "(size=" + collection.size() + ")";
+        }
+        if (value instanceof Map<?, ?> map && map.size() > maxCollectionSize) {
+            return value.getClass().getSimpleName() + "(size=" + map.size() + ")";
+        }
+        if (value.getClass().isArray()) {
+            return value.getClass().getComponentType().getSimpleName() + "[" + Array.getLength(value) + "]";
+        }
+        if (value instanceof ServletRequest || value instanceof ServletResponse
+            || value instanceof InputStreamSource || value instanceof ResponseBodyEmitter) {
+            return value.getClass().getSimpleName();
+        }
+        return truncate(redact(String.valueOf(value)));
+    }
+
+    static String redact(String text) {
+        return SENSITIVE.matcher(text).replaceAll("$1$2***");
+    }
+
+    private String truncate(String text) {
+        if (text.length() <= maxLength) {
+            return text;
+        }
+        return text.substring(0, maxLength) + "...(" + text.length() + " chars)";
+    }
+}
@@ -0,0 +1,243 @@
+package com.yimusi.common.log;
+
+import jakarta.servlet.http.HttpServletRequest;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * 请求追踪上下文：追踪ID与客户端IP解析.
+ * <p>
+ * 追踪ID优先取 W3C {@code traceparent} 中的 trace-id，其次兼容 X-Trace-ID / X-Request-ID，
+ * 都没有时用线程本地随机数生成 32 位小写十六进制（与 W3C trace-id 格式一致），不经过 SecureRandom.
+ * 请求头传入的追踪ID只接受有限长度的字母、数字、'-' 和 '_'，避免日志注入.
+ * </p>
+ * <p>
+ * 客户端IP只在直连地址属于可信代理时才读取 X-Forwarded-For：从右向左跳过可信代理，
+ * 第一个不可信的地址即为客户端；直连地址不可信时直接使用直连地址，客户端无法伪造.
+ * 可信代理支持精确地址和 IPv4 CIDR.
+ * </p>
+ */
+@Component
+public class TraceContext {
+
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+    private static final int MAX_TRACE_ID_LENGTH = 64;
+    private static final int TRACEPARENT_LENGTH = 55;
+    /** 生成追踪ID的字符缓冲区，按线程复用；new String 会复制内容，复用不影响已返回的ID */
+    private static final ThreadLocal<char[]> TRACE_ID_BUFFER = ThreadLocal.withInitial(() -> new char[32]);
+
+    private final Set<String> trustedAddresses = new HashSet<>();
+    private final List<int[]> trustedNetworks = new ArrayList<>();
+
+    public TraceContext(
+        @Value("${yimusi.trace.trusted-proxies:127.0.0.1,::1,0:0:0:0:0:0:0:1,10.0.0.0/8,172.16.0.0/12,192.168.0.0/16}")
+        List<String> trustedProxies
+    ) {
+        for (String proxy : trustedProxies) {
+            String value = proxy.trim();
+            int slash = value.indexOf('/');
+            if (slash < 0) {
+                if (!value.isEmpty()) {
+                    trustedAddresses.add(value);
+                }
+                continue;
+            }
+            long network = parseIpv4(value, 0, slash);
+            int prefix = Integer.parseInt(value.substring(slash + 1));
+            if (network < 0 || prefix < 0 || prefix > 32) {
+                throw new IllegalArgumentException("无效的可信代理网段: " + value);
+            }
+            int mask = prefix == 0 ? 0 : -1 << (32 - prefix);
+            trustedNetworks.add(new int[] {(int) network & mask, mask});
+        }
+    }
+
+    /**
+     * 获取请求的追踪ID，请求头未携带有效值时生成新的ID
+     *
+     * @param request HTTP 请求
+     * @return 追踪ID
+     */
+    public String resolveTraceId(HttpServletRequest request) {
+        String traceId = parseTraceparent(request.getHeader("traceparent"));
+        if (traceId == null) {
+            traceId = sanitize(request.getHeader("X-Trace-ID"));
+        }
+        if (traceId == null) {
+            traceId = sanitize(request.getHeader("X-Request-ID"));
+        }
+        return traceId != null ? traceId : newTraceId();
+    }
+
+    /**
+     * 生成 32 位小写十六进制的追踪ID，字符缓冲区按线程复用
+     *
+     * @return 追踪ID
+     */
+    public static String newTraceId() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long high = random.nextLong();
+        long low = random.nextLong();
+        if (high == 0 && low == 0) {
+            low = 1;
+        }
+        char[] buffer = TRACE_ID_BUFFER.get();
+        writeHex(buffer, 0, high);
+        writeHex(buffer, 16, low);
+        return new String(buffer);
+    }
+
+    /**
+     * 解析 W3C traceparent 头（{@code 00-<32位 trace-id>-<16位 parent-id>-<2位 flags>}）
+     *
+     * @param header 请求头值，可为 null
+     * @return trace-id，格式不合法时返回 null
+     */
+    static String parseTraceparent(String header) {
+        if (header == null || header.length() < TRACEPARENT_LENGTH
+            || header.charAt(2) != '-' || header.charAt(35) != '-' || header.charAt(52) != '-') {
+            return null;
+        }
+        // 版本 ff 无效；版本 00 长度必须为 55，未来版本允许在末尾追加字段
+        if (header.startsWith("ff") || (header.startsWith("00") && header.length() != TRACEPARENT_LENGTH)) {
+            return null;
+        }
+        if (!isLowerHex(header, 0, 2) || !isLowerHex(header, 3, 35) || !isLowerHex(header, 36, 52)
+            || !isLowerHex(header, 53, 55)) {
+            return null;
+        }
+        if (isAllZero(header, 3, 35) || isAllZero(header, 36, 52)) {
+            return null;
+        }
+        return header.substring(3, 35);
+    }
+
+    /**
+     * 解析客户端IP
+     *
+     * @param request HTTP 请求
+     * @return 客户端IP
+     */
+    public String resolveClientIp(HttpServletRequest request) {
+        String remoteAddr = request.getRemoteAddr();
+        if (!isTrusted(remoteAddr, 0, remoteAddr == null ? 0 : remoteAddr.length())) {
+            return remoteAddr;
+        }
+        String forwarded = request.getHeader("X-Forwarded-For");
+        if (forwarded == null || forwarded.isEmpty()) {
+            return remoteAddr;
+        }
+        // 从右向左遍历，一次扫描，不拆分数组
+        int end = forwarded.length();
+        String leftmost = remoteAddr;
+        while (end > 0) {
+            int start = forwarded.lastIndexOf(',', end - 1) + 1;
+            int from = start;
+            int to = end;
+            while (from < to && forwarded.charAt(from) == ' ') {
+                from++;
+            }
+            while (to > from && forwarded.charAt(to - 1) == ' ') {
+                to--;
+            }
+            if (from < to) {
+                if (!isTrusted(forwarded, from, to)) {
+                    return forwarded.substring(from, to);
+                }
+                leftmost = forwarded.substring(from, to);
+            }
+            end = start - 1;
+        }
+        return leftmost;
+    }
+
+    private boolean isTrusted(String address, int from, int to) {
+        if (address == null || from >= to) {
+            return false;
+        }
+        long ip = parseIpv4(address, from, to);
+        if (ip >= 0) {
+            for (int[] network : trustedNetworks) {
+                if (((int) ip & network[1]) == network[0]) {
+                    return true;
+                }
+            }
+        }
+        return trustedAddresses.contains(from == 0 && to == address.length() ? address : address.substring(from, to));
+    }
+
+    /**
+     * 解析点分十进制 IPv4 地址
+     *
+     * @return 无符号 32 位地址，不是 IPv4 地址时返回 -1
+     */
+    static long parseIpv4(String text, int from, int to) {
+        long result = 0;
+        int octet = -1;
+        int dots = 0;
+        for (int i = from; i < to; i++) {
+            char c = text.charAt(i);
+            if (c >= '0' && c <= '9') {
+                octet = (octet < 0 ? 0 : octet * 10) + (c - '0');
+                if (octet > 255) {
+                    return -1;
+                }
+            } else if (c == '.' && octet >= 0 && dots < 3) {
+                result = (result << 8) | octet;
+                octet = -1;
+                dots++;
+            } else {
+                return -1;
+            }
+        }
+        if (dots != 3 || octet < 0) {
+            return -1;
+        }
+        return (result << 8) | octet;
+    }
+
+    private static String sanitize(String traceId) {
+        if (traceId == null || traceId.isEmpty() || traceId.length() > MAX_TRACE_ID_LENGTH) {
+            return null;
+        }
+        for (int i = 0; i < traceId.length(); i++) {
+            char c = traceId.charAt(i);
+            boolean valid = (c >= '0' && c <= '9') || (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || c == '-' || c == '_';
+            if (!valid) {
+                return null;
+            }
+        }
+        return traceId;
+    }
+
+    private static void writeHex(char[] buffer, int offset, long value) {
+        for (int i = 15; i >= 0; i--) {
+            buffer[offset + i] = HEX[(int) (value & 0xF)];
+            value >>>= 4;
+        }
+    }
+
+    private static boolean isLowerHex(String text, int from, int to) {
+        for (int i = from; i < to; i++) {
+            char c = text.charAt(i);
+            if (!((c >= '0' && c <= '9') || (c >= 'a' && c <= 'f'))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isAllZero(String text, int from, int to) {
+        for (int i = from; i < to; i++) {
+            if (text.charAt(i) != '0') {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -1,56 +1,142 @@
 package com.yimusi.common.log;
 
-import java.util.Arrays;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.aspectj.lang.ProceedingJoinPoint;
 import org.aspectj.lang.annotation.Around;
 import org.aspectj.lang.annotation.Aspect;
 import org.aspectj.lang.annotation.Pointcut;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 /**
  * Web 层日志切面
- * 用于记录 Controller 层的请求参数、响应结果和执行耗时
+ * 记录 Controller 层的执行耗时，并按采样输出请求参数和响应结果摘要
  *
  * 配合 MDCFilter 使用，MDCFilter 负责记录基础请求信息(IP, URL, Method)，
- * 本切面负责记录业务处理细节(Class, Method, Args, Result)。
+ * 本切面负责记录业务处理细节(Class, Method, Args, Result)：
+ * 1. 每次调用都计入 controller.requests 计时器（按接口和结果打标签）
+ * 2. 失败和慢请求总是输出日志，其余请求按接口采样率输出
+ * 3. 只有输出日志时才格式化参数和结果，由 {@link RequestLogFormatter} 截断、脱敏并跳过大集合
  */
 @Aspect
 @Component
 @Slf4j
+@RequiredArgsConstructor
 public class WebLogAspect {
 
+    private final MeterRegistry meterRegistry;
+
+    @Value("${yimusi.request-log.sample-rate:0.1}")
+    private double sampleRate;
+
+    @Value("${yimusi.request-log.endpoint-sample-rates:}")
+    private List<String> endpointSampleRates;
+
+    @Value("${yimusi.request-log.slow-threshold:PT1S}")
+    private Duration slowThreshold;
+
+    @Value("${yimusi.request-log.max-length:512}")
+    private int maxLength;
+
+    @Value("${yimusi.request-log.max-collection-size:20}")
+    private int maxCollectionSize;
+
+    private final Map<String, Double> sampleRates = new HashMap<>();
+    private final Map<String, Timer> timers = new ConcurrentHashMap<>();
+    private RequestLogFormatter formatter;
+
+    @PostConstruct
+    public void init() {
+        formatter = new RequestLogFormatter(maxLength, maxCollectionSize);
+        if (endpointSampleRates == null) {
+            return;
+        }
+        for (String entry : endpointSampleRates) {
+            if (entry.isBlank()) {
+                continue;
+            }
+            int separator = entry.lastIndexOf('=');
+            if (separator <= 0) {
+                log.warn("忽略格式错误的接口采样率配置: {}", entry);
+                continue;
+            }
+            sampleRates.put(entry.substring(0, separator).trim(), Double.parseDouble(entry.substring(separator + 1).trim()));
+        }
+    }
+
     // 定义切点：扫描 controller 包及其子包下的所有 public 方法
     @Pointcut("execution(public * com.yimusi.controller..*.*(..))")
     public void webLog() {}
 
     @Around("webLog()")
     public Object doAround(ProceedingJoinPoint joinPoint) throws Throwable {
-        long startTime = System.currentTimeMillis();
-
-        String classMethod = joinPoint.getSignature().getDeclaringTypeName() + "." + joinPoint.getSignature().getName();
-        Object[] args = joinPoint.getArgs();
-
-        // 打印请求参数日志
-        // 注意：如果参数包含敏感信息（如密码），建议在此处进行脱敏处理
-        log.info("Request Process: {} | Args: {}", classMethod, Arrays.toString(args));
-
+        long startTime = System.nanoTime();
         Object result;
         try {
             result = joinPoint.proceed();
         } catch (Throwable e) {
-            long duration = System.currentTimeMillis() - startTime;
-            // 异常日志，记录耗时和错误信息
-            log.error("Request Failed: {} | Duration: {}ms | Error: {}", classMethod, duration, e.getMessage());
+            long duration = System.nanoTime() - startTime;
+            String endpoint = endpoint(joinPoint);
+            record(endpoint, "error", duration);
+            // 失败请求总是记录
+            log.error("Request Failed: {} | Duration: {}ms | Args: {} | Error: {}", endpoint,
+                TimeUnit.NANOSECONDS.toMillis(duration), formatter.formatArgs(joinPoint.getArgs()), e.getMessage());
             throw e;
         }
 
-        long duration = System.currentTimeMillis() - startTime;
+        long duration = System.nanoTime() - startTime;
+        String endpoint = endpoint(joinPoint);
+        record(endpoint, "success", duration);
+        if (duration >= slowThreshold.toNanos()) {
+            log.warn("Slow Request: {} | Duration: {}ms | Args: {} | Result: {}", endpoint,
+                TimeUnit.NANOSECONDS.toMillis(duration), formatter.formatArgs(joinPoint.getArgs()), formatter.format(result));
+        } else if (log.isInfoEnabled() && sampled(endpoint)) {
+            log.info("Request Success: {} | Duration: {}ms | Args: {} | Result: {}", endpoint,
+                TimeUnit.NANOSECONDS.toMillis(duration), formatter.formatArgs(joinPoint.getArgs()), formatter.format(result));
+        }
+        return result;
+    }
+
+    /**
+     * 获取接口的采样率：先匹配 "类名.方法名"，再匹配 "类名.*"，都未配置时使用默认采样率
+     *
+     * @param endpoint 接口，格式为 "类名.方法名"
+     * @return 采样率（0~1）
+     */
+    double sampleRate(String endpoint) {
+        Double rate = sampleRates.get(endpoint);
+        if (rate == null) {
+            rate = sampleRates.get(endpoint.substring(0, endpoint.lastIndexOf('.') + 1) + "*");
+        }
+        return rate != null ? rate : sampleRate;
+    }
+
+    private boolean sampled(String endpoint) {
+        double rate = sampleRate(endpoint);
+        return rate >= 1 || (rate > 0 && ThreadLocalRandom.current().nextDouble() < rate);
+    }
 
-        // 打印响应日志
-        // 注意：如果响应体过大，建议截断或不打印 Result
-        log.info("Request Success: {} | Duration: {}ms | Result: {}", classMethod, duration, result);
+    private void record(String endpoint, String outcome, long durationNanos) {
+        timers.computeIfAbsent(endpoint + '|' + outcome, key -> Timer.builder("controller.requests")
+                .description("Controller 方法执行耗时")
+                .tag("endpoint", endpoint)
+                .tag("outcome", outcome)
+                .register(meterRegistry))
+            .record(durationNanos, TimeUnit.NANOSECONDS);
+    }
 
-        return result;
+    private static String endpoint(ProceedingJoinPoint joinPoint) {
+        return joinPoint.getSignature().getDeclaringType().getSimpleName() + "." + joinPoint.getSignature().getName();
     }
 }
@@ -0,0 +1,283 @@
+package com.yimusi.common.model;
+
+import com.yimusi.entity.OilSampleParameter;
+import com.yimusi.enums.GasType;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.function.ObjDoubleConsumer;
+
+/**
+ * 按 {@link GasType} 序号索引的气体含量向量.
+ * <p>
+ * 用 double 数组加存在位掩码表示一组气体含量，查找为一次数组访问，运算不涉及装箱和 {@link BigDecimal}.
+ * 持久化与接口仍使用 {@link OilSampleParameter} 列表格式，通过 {@link #fromParameters(List)} 和
+ * {@link #toParameters()} 在边界处转换；未识别的参数名、空值和非有限数值视为缺失.
+ * 实例不可变，可在线程间共享.
+ * </p>
+ */
+public final class GasVector {
+
+    /**
+     * 不含任何气体的向量
+     */
+    public static final GasVector EMPTY = new GasVector(nanArray(), 0);
+
+    private final double[] values;
+    private final int mask;
+
+    private GasVector(double[] values, int mask) {
+        this.values = values;
+        this.mask = mask;
+    }
+
+    /**
+     * 由 JSON 参数列表转换，重复的参数名以最后一个为准
+     *
+     * @param parameters 油样参数或采样结果，可为 null
+     * @return 气体向量
+     */
+    public static GasVector fromParameters(List<OilSampleParameter> parameters) {
+        if (parameters == null || parameters.isEmpty()) {
+            return EMPTY;
+        }
+        Builder builder = builder();
+        for (OilSampleParameter parameter : parameters) {
+            BigDecimal value = parameter.getValue();
+            if (value != null) {
+                GasType.findByKey(parameter.getKey()).ifPresent(gas -> builder.set(gas, value.doubleValue()));
+            }
+        }
+        return builder.build();
+    }
+
+    /**
+     * 由按气体索引的 Map 转换
+     *
+     * @param values 气体含量，可为 null
+     * @return 气体向量
+     */
+    public static GasVector of(Map<GasType, Double> values) {
+        if (values == null || values.isEmpty()) {
+            return EMPTY;
+        }
+        Builder builder = builder();
+        values.forEach((gas, value) -> {
+            if (value != null) {
+                builder.set(gas, value);
+            }
+        });
+        return builder.build();
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * @param gas 气体
+     * @return 是否含有该气体的值
+     */
+    public boolean has(GasType gas) {
+        return (mask & bit(gas.ordinal())) != 0;
+    }
+
+    /**
+     * @param gas 气体
+     * @return 该气体的值，缺失时为 NaN
+     */
+    public double get(GasType gas) {
+        return values[gas.ordinal()];
+    }
+
+    /**
+     * @param gas          气体
+     * @param defaultValue 缺失时的默认值
+     * @return 该气体的值
+     */
+    public double getOrDefault(GasType gas, double defaultValue) {
+        return has(gas) ? values[gas.ordinal()] : defaultValue;
+    }
+
+    /**
+     * @return 含有值的气体数量
+     */
+    public int size() {
+        return Integer.bitCount(mask);
+    }
+
+    public boolean isEmpty() {
+        return mask == 0;
+    }
+
+    /**
+     * @return 含有值的气体，按 {@link GasType} 声明顺序
+     */
+    public List<GasType> gases() {
+        List<GasType> gases = new ArrayList<>(size());
+        for (int bits = mask; bits != 0; bits &= bits - 1) {
+            gases.add(GasType.ofIndex(Integer.numberOfTrailingZeros(bits)));
+        }
+        return Collections.unmodifiableList(gases);
+    }
+
+    /**
+     * 按 {@link GasType} 声明顺序遍历含有值的气体
+     *
+     * @param action 回调
+     */
+    public void forEach(ObjDoubleConsumer<GasType> action) {
+        for (int bits = mask; bits != 0; bits &= bits - 1) {
+            int index = Integer.numberOfTrailingZeros(bits);
+            action.accept(GasType.ofIndex(index), values[index]);
+        }
+    }
+
+    /**
+     * @return 长度为 {@link GasType#COUNT} 的数组副本，缺失的气体为 NaN
+     */
+    public double[] toArray() {
+        return values.clone();
+    }
+
+    /**
+     * 转换为 JSON 参数列表格式，按 {@link GasType} 声明顺序
+     *
+     * @return 参数列表
+     */
+    public List<OilSampleParameter> toParameters() {
+        List<OilSampleParameter> parameters = new ArrayList<>(size());
+        forEach((gas, value) -> parameters.add(new OilSampleParameter(gas.name(), BigDecimal.valueOf(value))));
+        return parameters;
+    }
+
+    /**
+     * 逐气体相加，结果只包含两个向量都有值的气体
+     *
+     * @param other 另一个向量
+     * @return 新向量
+     */
+    public GasVector plus(GasVector other) {
+        int common = mask & other.mask;
+        double[] result = nanArray();
+        for (int bits = common; bits != 0; bits &= bits - 1) {
+            int index = Integer.numberOfTrailingZeros(bits);
+            result[index] = values[index] + other.values[index];
+        }
+        return new GasVector(result, common);
+    }
+
+    /**
+     * 逐气体相减，结果只包含两个向量都有值的气体
+     *
+     * @param other 减数向量
+     * @return 新向量
+     */
+    public GasVector minus(GasVector other) {
+        int common = mask & other.mask;
+        double[] result = nanArray();
+        for (int bits = common; bits != 0; bits &= bits - 1) {
+            int index = Integer.numberOfTrailingZeros(bits);
+            result[index] = values[index] - other.values[index];
+        }
+        return new GasVector(result, common);
+    }
+
+    /**
+     * 所有气体乘以同一系数
+     *
+     * @param factor 系数
+     * @return 新向量
+     */
+    public GasVector scale(double factor) {
+        Builder builder = builder();
+        forEach((gas, value) -> builder.set(gas, value * factor));
+        return builder.build();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof GasVector other) || mask != other.mask) {
+            return false;
+        }
+        for (int bits = mask; bits != 0; bits &= bits - 1) {
+            int index = Integer.numberOfTrailingZeros(bits);
+            if (Double.compare(values[index], other.values[index]) != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public int hashCode() {
+        int hash = mask;
+        for (int bits = mask; bits != 0; bits &= bits - 1) {
+            hash = 31 * hash + Double.hashCode(values[Integer.numberOfTrailingZeros(bits)]);
+        }
+        return hash;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder("GasVector{");
+        forEach((gas, value) -> {
+            if (builder.length() > "GasVector{".length()) {
+                builder.append(", ");
+            }
+            builder.append(gas.name()).append('=').append(value);
+        });
+        return builder.append('}').toString();
+    }
+
+    private static int bit(int index) {
+        return 1 << index;
+    }
+
+    private static double[] nanArray() {
+        double[] array = new double[GasType.COUNT];
+        Arrays.fill(array, Double.NaN);
+        return array;
+    }
+
+    /**
+     * 可变构建器，单线程使用
+     */
+    public static final class Builder {
+
+        private final double[] values = nanArray();
+        private int mask;
+
+        private Builder() {
+        }
+
+        /**
+         * 设置气体的值，非有限数值视为清除
+         *
+         * @param gas   气体
+         * @param value 含量
+         * @return this
+         */
+        public Builder set(GasType gas, double value) {
+            int index = gas.ordinal();
+            if (Double.isFinite(value)) {
+                values[index] = value;
+                mask |= bit(index);
+            } else {
+                values[index] = Double.NaN;
+                mask &= ~bit(index);
+            }
+            return this;
+        }
+
+        public GasVector build() {
+            return mask == 0 ? EMPTY : new GasVector(values.clone(), mask);
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.yimusi.common.security;
+
+import cn.dev33.satoken.exception.NotLoginException;
+import cn.dev33.satoken.jwt.SaJwtUtil;
+import cn.dev33.satoken.jwt.StpLogicJwtForStateless;
+import cn.dev33.satoken.jwt.error.SaJwtErrorCode;
+import cn.dev33.satoken.jwt.exception.SaJwtException;
+import cn.dev33.satoken.util.SaFoxUtil;
+import cn.hutool.json.JSONObject;
+
+/**
+ * 带验签缓存的无状态 JWT 模式.
+ * <p>
+ * 解析登录ID时先查 {@link TokenClaimsCache}，未命中再验签并解析载荷，把登录ID缓存到 token 过期；
+ * 验签失败、过期等结果不缓存，仍按 {@link StpLogicJwtForStateless} 的语义返回.
+ * 注销时吊销当前 token，避免无状态模式下注销后的 token 在过期前仍可使用.
+ * </p>
+ */
+public class CachingStpLogicJwtForStateless extends StpLogicJwtForStateless {
+
+    private final TokenClaimsCache cache;
+
+    public CachingStpLogicJwtForStateless(TokenClaimsCache cache) {
+        this.cache = cache;
+    }
+
+    @Override
+    public String getLoginIdNotHandle(String tokenValue) {
+        String key = TokenClaimsCache.key(tokenValue);
+        if (cache.isRevoked(key)) {
+            return null;
+        }
+        String loginId = cache.get(key);
+        if (loginId != null) {
+            return loginId;
+        }
+        try {
+            JSONObject payloads = SaJwtUtil.getPayloads(tokenValue, loginType, jwtSecretKey());
+            loginId = String.valueOf(payloads.get(SaJwtUtil.LOGIN_ID));
+            cache.put(key, loginId, expiresAt(payloads));
+            return loginId;
+        } catch (SaJwtException e) {
+            return e.getCode() == SaJwtErrorCode.CODE_30204 ? NotLoginException.TOKEN_TIMEOUT : null;
+        }
+    }
+
+    @Override
+    public void logout() {
+        String tokenValue = getTokenValue();
+        if (SaFoxUtil.isNotEmpty(tokenValue)) {
+            try {
+                cache.revoke(tokenValue, expiresAt(SaJwtUtil.getPayloadsNotCheck(tokenValue, loginType, jwtSecretKey())));
+            } catch (SaJwtException ignored) {
+                // 无效 token 无需吊销
+            }
+        }
+        super.logout();
+    }
+
+    private static long expiresAt(JSONObject payloads) {
+        long eff = payloads.getLong(SaJwtUtil.EFF, SaJwtUtil.NEVER_EXPIRE);
+        return eff == SaJwtUtil.NEVER_EXPIRE ? Long.MAX_VALUE : eff;
+    }
+}
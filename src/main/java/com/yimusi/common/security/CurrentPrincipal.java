@@ -0,0 +1,54 @@
+package com.yimusi.common.security;
+
+/**
+ * 当前请求的登录主体.
+ * <p>
+ * 由 {@link PrincipalFilter} 在过滤器链入口校验一次 JWT 后绑定到处理线程，请求结束时清除；
+ * 审计、MDC、拦截器和业务代码从这里读取登录用户，不再重复解析和验签 token.
+ * 线程未绑定（定时任务、异步线程、单元测试）时 {@link #isBound()} 为 false，调用方自行回退.
+ * </p>
+ */
+public final class CurrentPrincipal {
+
+    /**
+     * 已绑定但未登录（无 token 或 token 无效）
+     */
+    private static final Long ANONYMOUS = -1L;
+
+    private static final ThreadLocal<Long> HOLDER = new ThreadLocal<>();
+
+    private CurrentPrincipal() {
+        // 工具类，私有构造函数
+    }
+
+    /**
+     * 绑定当前线程的登录用户
+     *
+     * @param userId 登录用户ID，未登录时为 null
+     */
+    public static void bind(Long userId) {
+        HOLDER.set(userId != null ? userId : ANONYMOUS);
+    }
+
+    /**
+     * 清除当前线程的绑定
+     */
+    public static void clear() {
+        HOLDER.remove();
+    }
+
+    /**
+     * @return 当前线程是否已由过滤器绑定登录主体（含未登录）
+     */
+    public static boolean isBound() {
+        return HOLDER.get() != null;
+    }
+
+    /**
+     * @return 已绑定的登录用户ID，未绑定或未登录时为 null
+     */
+    public static Long getUserId() {
+        Long userId = HOLDER.get();
+        return userId == null || ANONYMOUS.equals(userId) ? null : userId;
+    }
+}
@@ -0,0 +1,133 @@
+package com.yimusi.common.security;
+
+import cn.hutool.crypto.digest.BCrypt;
+import com.yimusi.common.exception.BusinessException;
+import com.yimusi.common.exception.ErrorCode;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * 密码哈希与校验执行器.
+ * <p>
+ * BCrypt 是刻意耗费 CPU 的运算，集中登录时若在请求线程上执行会占满 Tomcat 线程，拖慢其他接口.
+ * 这里把哈希和校验放到与 CPU 核数相当的专用线程池执行，队列有界：
+ * <ul>
+ *   <li>队列已满时立即拒绝，返回 429</li>
+ *   <li>排队加执行超过 timeout 时放弃等待，返回 503</li>
+ * </ul>
+ * 同时等待的请求线程数不超过线程数加队列容量，其余请求快速失败，不会堆积.
+ * </p>
+ */
+@Slf4j
+@Component
+public class PasswordHasher {
+
+    private final ThreadPoolExecutor executor;
+    private final Duration timeout;
+    private final Timer hashTimer;
+    private final Timer verifyTimer;
+    private final Counter rejectedCounter;
+    private final Counter timeoutCounter;
+
+    public PasswordHasher(
+        @Value("${yimusi.auth.password.threads:0}") int threads,
+        @Value("${yimusi.auth.password.queue-capacity:64}") int queueCapacity,
+        @Value("${yimusi.auth.password.timeout:PT5S}") Duration timeout,
+        MeterRegistry meterRegistry
+    ) {
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger sequence = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+                Thread thread = new Thread(runnable, "password-hasher-" + sequence.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            }, new ThreadPoolExecutor.AbortPolicy());
+        this.timeout = timeout;
+        this.hashTimer = Timer.builder("auth.password.hash").tag("op", "hash")
+            .description("密码哈希耗时（不含排队）")
+            .register(meterRegistry);
+        this.verifyTimer = Timer.builder("auth.password.hash").tag("op", "verify")
+            .description("密码校验耗时（不含排队）")
+            .register(meterRegistry);
+        this.rejectedCounter = Counter.builder("auth.password.rejected").tag("reason", "queue_full")
+            .description("密码运算队列已满被拒绝的请求数")
+            .register(meterRegistry);
+        this.timeoutCounter = Counter.builder("auth.password.rejected").tag("reason", "timeout")
+            .description("密码运算等待超时的请求数")
+            .register(meterRegistry);
+        Gauge.builder("auth.password.queue.depth", executor, e -> e.getQueue().size()).register(meterRegistry);
+        Gauge.builder("auth.password.active", executor, ThreadPoolExecutor::getActiveCount).register(meterRegistry);
+        log.info("密码运算线程池已创建: threads={}, queueCapacity={}, timeout={}", poolSize, queueCapacity, timeout);
+    }
+
+    /**
+     * 计算密码的 BCrypt 哈希
+     *
+     * @param plainPassword 明文密码
+     * @return 哈希值
+     * @throws BusinessException 线程池繁忙（429）或等待超时（503）时
+     */
+    public String hash(String plainPassword) {
+        return run(hashTimer.wrap((Callable<String>) () -> BCrypt.hashpw(plainPassword)));
+    }
+
+    /**
+     * 校验明文密码与 BCrypt 哈希是否匹配
+     *
+     * @param plainPassword  明文密码
+     * @param hashedPassword 哈希值
+     * @return 是否匹配
+     * @throws BusinessException 线程池繁忙（429）或等待超时（503）时
+     */
+    public boolean verify(String plainPassword, String hashedPassword) {
+        return run(verifyTimer.wrap((Callable<Boolean>) () -> BCrypt.checkpw(plainPassword, hashedPassword)));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private <T> T run(Callable<T> task) {
+        Future<T> future;
+        try {
+            future = executor.submit(task);
+        } catch (RejectedExecutionException e) {
+            rejectedCounter.increment();
+            throw new BusinessException(ErrorCode.TOO_MANY_REQUESTS, "登录请求过多，请稍后重试");
+        }
+        try {
+            return future.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            timeoutCounter.increment();
+            throw new BusinessException(ErrorCode.SERVICE_UNAVAILABLE, "密码校验繁忙，请稍后重试");
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new BusinessException(ErrorCode.SERVICE_UNAVAILABLE, "密码校验被中断，请稍后重试");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.yimusi.common.security;
+
+import cn.dev33.satoken.stp.StpUtil;
+import jakarta.servlet.*;
+import java.io.IOException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+/**
+ * 登录主体过滤器
+ *
+ * 在过滤器链入口解析并校验一次 JWT，把登录用户绑定到 {@link CurrentPrincipal}，请求结束时清除.
+ * 之后的 MDC、登录拦截器、JPA 审计和业务代码直接读取绑定结果，一次请求内批量保存多个实体
+ * 也只校验一次 token.
+ */
+@Slf4j
+@Component
+public class PrincipalFilter implements Filter {
+
+    @Override
+    public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain)
+        throws IOException, ServletException {
+        CurrentPrincipal.bind(resolveUserId());
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            CurrentPrincipal.clear();
+        }
+    }
+
+    /**
+     * 无 token、token 无效或过期时返回 null，由登录拦截器决定是否拒绝请求
+     */
+    private Long resolveUserId() {
+        try {
+            Object loginId = StpUtil.getLoginIdDefaultNull();
+            return loginId == null ? null : Long.valueOf(loginId.toString());
+        } catch (Exception e) {
+            // 忽略 Sa-Token 未初始化、登录ID格式不符等异常，按未登录处理
+            log.debug("解析登录主体失败: {}", e.getMessage());
+            return null;
+        }
+    }
+}
@@ -0,0 +1,270 @@
+package com.yimusi.common.security;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BiConsumer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * 已验签 JWT 的登录ID缓存.
+ * <p>
+ * 以 token 的 SHA-256 摘要为键，缓存验签通过的登录ID直到 token 过期，命中时跳过 HMAC 验签和 JSON 解析；
+ * 摘要为完整 token 的哈希，篡改过载荷的 token 不会命中. 摘要器按线程复用，缓存为无全局锁的 {@link ConcurrentHashMap}，
+ * 命中只更新该项的最近访问时间. 容量有上限，超出时由一个线程先清理已过期的项，再按最近访问时间批量淘汰最旧的约 10%，
+ * 因此淘汰顺序是近似的 LRU.
+ * </p>
+ * <p>
+ * 注销时由 {@link CachingStpLogicJwtForStateless#logout()} 把 token 加入吊销表直到其过期，
+ * 吊销的 token 即使签名有效也按无效处理；吊销表在查找时和定时任务中清理已过期的项.
+ * 吊销通过 {@link #onRevoke(BiConsumer)} 注册的监听器同步到其他节点（见 {@link TokenRevocationSync}），
+ * 未同步到的节点在 token 过期前仍会接受它. 用户被禁用等场景可调用 {@link #evictLoginId(String)} 丢弃该用户的缓存项.
+ * </p>
+ */
+@Component
+public class TokenClaimsCache {
+
+    private static final ThreadLocal<MessageDigest> SHA256 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("JVM 不支持 SHA-256", e);
+        }
+    });
+
+    private final int maxSize;
+    private final Map<String, CachedClaims> entries = new ConcurrentHashMap<>();
+    private final Map<String, Long> revoked = new ConcurrentHashMap<>();
+    private final ReentrantLock evictLock = new ReentrantLock();
+    private final Counter hitCounter;
+    private final Counter missCounter;
+    private final Counter evictedCounter;
+    private final Counter revokedCounter;
+    private volatile BiConsumer<String, Long> revocationListener;
+
+    public TokenClaimsCache(@Value("${yimusi.auth.token-cache.max-size:10000}") int maxSize, MeterRegistry meterRegistry) {
+        this.maxSize = maxSize;
+        this.hitCounter = Counter.builder("auth.token.cache").tag("result", "hit")
+            .description("JWT 验签缓存命中次数")
+            .register(meterRegistry);
+        this.missCounter = Counter.builder("auth.token.cache").tag("result", "miss")
+            .description("JWT 验签缓存未命中次数")
+            .register(meterRegistry);
+        this.evictedCounter = Counter.builder("auth.token.cache.evicted")
+            .description("JWT 验签缓存因容量淘汰的项数")
+            .register(meterRegistry);
+        this.revokedCounter = Counter.builder("auth.token.revoked")
+            .description("吊销的 token 数")
+            .register(meterRegistry);
+        Gauge.builder("auth.token.cached", this, TokenClaimsCache::size).register(meterRegistry);
+        Gauge.builder("auth.token.revocations", revoked, Map::size).register(meterRegistry);
+    }
+
+    /**
+     * 计算 token 的缓存键
+     *
+     * @param token JWT
+     * @return SHA-256 摘要的 Base64 形式
+     */
+    public static String key(String token) {
+        MessageDigest digest = SHA256.get();
+        digest.reset();
+        return Base64.getEncoder().withoutPadding().encodeToString(digest.digest(token.getBytes(StandardCharsets.US_ASCII)));
+    }
+
+    /**
+     * 查找未过期的缓存项
+     *
+     * @param key 缓存键
+     * @return 登录ID，未缓存或已过期时返回 null
+     */
+    public String get(String key) {
+        CachedClaims claims = entries.get(key);
+        if (claims != null) {
+            if (claims.expiresAt > System.currentTimeMillis()) {
+                claims.lastAccess = System.nanoTime();
+                hitCounter.increment();
+                return claims.loginId;
+            }
+            entries.remove(key, claims);
+        }
+        missCounter.increment();
+        return null;
+    }
+
+    /**
+     * 缓存验签通过的登录ID
+     *
+     * @param key       缓存键
+     * @param loginId   登录ID
+     * @param expiresAt token 过期时间（毫秒时间戳），永不过期时为 {@link Long#MAX_VALUE}
+     */
+    public void put(String key, String loginId, long expiresAt) {
+        if (maxSize <= 0 || expiresAt <= System.currentTimeMillis()) {
+            return;
+        }
+        entries.put(key, new CachedClaims(loginId, expiresAt, System.nanoTime()));
+        if (entries.size() > maxSize) {
+            evictOverflow();
+        }
+    }
+
+    /**
+     * @param key 缓存键
+     * @return token 是否已吊销且尚未过期
+     */
+    public boolean isRevoked(String key) {
+        if (revoked.isEmpty()) {
+            return false;
+        }
+        Long expiresAt = revoked.get(key);
+        if (expiresAt == null) {
+            return false;
+        }
+        if (expiresAt <= System.currentTimeMillis()) {
+            revoked.remove(key, expiresAt);
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * 吊销 token 直到其过期，丢弃缓存项，并通知吊销监听器
+     *
+     * @param token     JWT
+     * @param expiresAt token 过期时间（毫秒时间戳），永不过期时为 {@link Long#MAX_VALUE}
+     */
+    public void revoke(String token, long expiresAt) {
+        if (expiresAt <= System.currentTimeMillis()) {
+            return;
+        }
+        String key = key(token);
+        applyRevocation(key, expiresAt);
+        revokedCounter.increment();
+        BiConsumer<String, Long> listener = revocationListener;
+        if (listener != null) {
+            listener.accept(key, expiresAt);
+        }
+    }
+
+    /**
+     * 在本节点记录吊销（不通知监听器），用于应用其他节点同步来的吊销
+     *
+     * @param key       缓存键
+     * @param expiresAt token 过期时间（毫秒时间戳）
+     */
+    public void applyRevocation(String key, long expiresAt) {
+        if (expiresAt <= System.currentTimeMillis()) {
+            return;
+        }
+        revoked.merge(key, expiresAt, Math::max);
+        entries.remove(key);
+    }
+
+    /**
+     * 注册吊销监听器，本节点每次吊销 token 后调用
+     *
+     * @param listener 参数为缓存键与 token 过期时间
+     */
+    public void onRevoke(BiConsumer<String, Long> listener) {
+        this.revocationListener = listener;
+    }
+
+    /**
+     * 丢弃 token 的缓存项，下次请求重新验签
+     *
+     * @param token JWT
+     */
+    public void evict(String token) {
+        entries.remove(key(token));
+    }
+
+    /**
+     * 丢弃某个用户的全部缓存项
+     *
+     * @param loginId 登录ID
+     */
+    public void evictLoginId(String loginId) {
+        entries.values().removeIf(claims -> Objects.equals(claims.loginId, loginId));
+    }
+
+    /**
+     * 定时清理已过期的缓存项与吊销记录
+     */
+    @Scheduled(fixedDelayString = "${yimusi.auth.token-cache.prune-interval:PT1M}")
+    public void pruneExpired() {
+        long now = System.currentTimeMillis();
+        revoked.values().removeIf(expiresAt -> expiresAt <= now);
+        entries.values().removeIf(claims -> claims.expiresAt <= now);
+    }
+
+    /**
+     * @return 缓存项数
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * @return 未过期的吊销记录数（含尚未清理的过期记录）
+     */
+    public int revocationCount() {
+        return revoked.size();
+    }
+
+    /**
+     * 超出容量时清理过期项，仍超出则按最近访问时间淘汰最旧的项，使缓存回落到容量的 90%.
+     * 同一时刻只有一个线程执行淘汰，其他线程直接返回.
+     */
+    private void evictOverflow() {
+        if (!evictLock.tryLock()) {
+            return;
+        }
+        try {
+            long now = System.currentTimeMillis();
+            entries.values().removeIf(claims -> claims.expiresAt <= now);
+            int excess = entries.size() - (maxSize - maxSize / 10);
+            if (excess <= 0) {
+                return;
+            }
+            List<Map.Entry<String, CachedClaims>> snapshot = new ArrayList<>(entries.entrySet());
+            snapshot.sort(Comparator.comparingLong(entry -> entry.getValue().lastAccess));
+            int evicted = 0;
+            for (int i = 0; i < snapshot.size() && evicted < excess; i++) {
+                Map.Entry<String, CachedClaims> entry = snapshot.get(i);
+                if (entries.remove(entry.getKey(), entry.getValue())) {
+                    evicted++;
+                }
+            }
+            evictedCounter.increment(evicted);
+        } finally {
+            evictLock.unlock();
+        }
+    }
+
+    private static final class CachedClaims {
+
+        private final String loginId;
+        private final long expiresAt;
+        private volatile long lastAccess;
+
+        private CachedClaims(String loginId, long expiresAt, long lastAccess) {
+            this.loginId = loginId;
+            this.expiresAt = expiresAt;
+            this.lastAccess = lastAccess;
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package com.yimusi.common.security;
+
+import jakarta.annotation.PostConstruct;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RMapCache;
+import org.redisson.api.RTopic;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.codec.StringCodec;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * 通过 Redis 在节点间同步 token 吊销.
+ * <p>
+ * 本节点吊销 token 时，把 "缓存键 → 过期时间" 写入带 TTL 的 Redis Map 并在频道上广播，其他节点收到后立即加入本地吊销表；
+ * 启动时和每个 revocation-sync-interval 周期从 Redis Map 全量加载一次，补上节点重启或断线期间错过的广播.
+ * 因此吊销在其他节点上通常立即生效，最长延迟一个同步周期；Redis 不可用期间吊销只在本节点生效.
+ * </p>
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(value = "yimusi.lock.redisson.enabled", havingValue = "true")
+public class TokenRevocationSync {
+
+    static final String REVOCATIONS = "yimusi:auth:token-revocations";
+    static final String CHANNEL = "yimusi:auth:token-revoked";
+
+    private final RedissonClient redissonClient;
+    private final TokenClaimsCache tokenClaimsCache;
+
+    private RMapCache<String, String> revocations;
+    private RTopic topic;
+
+    @PostConstruct
+    public void init() {
+        revocations = redissonClient.getMapCache(REVOCATIONS, StringCodec.INSTANCE);
+        topic = redissonClient.getTopic(CHANNEL, StringCodec.INSTANCE);
+        try {
+            topic.addListener(String.class, (channel, message) -> apply(message));
+        } catch (RuntimeException e) {
+            log.warn("订阅 token 吊销频道失败，依赖定时同步: {}", e.getMessage());
+        }
+        tokenClaimsCache.onRevoke(this::publish);
+        reload();
+    }
+
+    /**
+     * 从 Redis 全量加载未过期的吊销记录
+     */
+    @Scheduled(fixedDelayString = "${yimusi.auth.token-cache.revocation-sync-interval:PT1M}")
+    public void reload() {
+        try {
+            for (Map.Entry<String, String> entry : revocations.readAllMap().entrySet()) {
+                tokenClaimsCache.applyRevocation(entry.getKey(), Long.parseLong(entry.getValue()));
+            }
+        } catch (RuntimeException e) {
+            log.warn("加载 token 吊销记录失败: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 保存并广播本节点的吊销，失败只记录日志，不影响注销
+     */
+    void publish(String key, long expiresAt) {
+        String message = key + ':' + expiresAt;
+        if (expiresAt != Long.MAX_VALUE) {
+            long ttl = expiresAt - System.currentTimeMillis();
+            if (ttl <= 0) {
+                return;
+            }
+            revocations.fastPutAsync(key, Long.toString(expiresAt), ttl, TimeUnit.MILLISECONDS)
+                .whenComplete((ignored, e) -> logFailure("保存", e));
+        } else {
+            revocations.fastPutAsync(key, Long.toString(expiresAt))
+                .whenComplete((ignored, e) -> logFailure("保存", e));
+        }
+        topic.publishAsync(message).whenComplete((ignored, e) -> logFailure("广播", e));
+    }
+
+    private void apply(String message) {
+        int separator = message.lastIndexOf(':');
+        if (separator <= 0) {
+            return;
+        }
+        try {
+            tokenClaimsCache.applyRevocation(message.substring(0, separator), Long.parseLong(message.substring(separator + 1)));
+        } catch (NumberFormatException e) {
+            log.warn("忽略格式错误的 token 吊销消息: {}", message);
+        }
+    }
+
+    private static void logFailure(String action, Throwable e) {
+        if (e != null) {
+            log.warn("{} token 吊销记录失败，其他节点在同步前仍会接受该 token: {}", action, e.getMessage());
+        }
+    }
+}
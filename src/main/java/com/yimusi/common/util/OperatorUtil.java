@@ -1,6 +1,7 @@
 package com.yimusi.common.util;
 
 import cn.dev33.satoken.stp.StpUtil;
+import com.yimusi.common.security.CurrentPrincipal;
 
 /**
  * 操作者工具类
@@ -14,11 +15,16 @@ public class OperatorUtil {
 
     /**
      * 获取当前操作者ID
-     * 优先从 SaToken 获取登录用户ID，失败时返回 0 (表示系统操作)
+     * 优先读取过滤器已绑定的登录主体，未绑定时（定时任务、异步线程等）再从 SaToken 获取，
+     * 未登录或获取失败时返回 0 (表示系统操作)
      *
      * @return 操作者用户ID
      */
     public static Long getOperator() {
+        if (CurrentPrincipal.isBound()) {
+            Long userId = CurrentPrincipal.getUserId();
+            return userId != null ? userId : 0L;
+        }
         try {
             return StpUtil.isLogin() ? StpUtil.getLoginIdAsLong() : 0L;
         } catch (Exception e) {
@@ -0,0 +1,60 @@
+package com.yimusi.common.web;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import jakarta.persistence.Table;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * JPA 实体监听器：实体写入后标记所在表的版本失效.
+ * <p>
+ * 写入刷新到数据库时立即标记一次，事务提交后再标记一次，
+ * 避免提交前并发请求加载到旧快照并一直缓存到刷新间隔结束.
+ * 由 Hibernate 通过 Spring Bean 容器创建，构造器注入 {@link CollectionVersionRegistry}.
+ * </p>
+ */
+public class CollectionVersionListener {
+
+    private static final Map<Class<?>, Optional<String>> TABLES = new ConcurrentHashMap<>();
+
+    private final CollectionVersionRegistry registry;
+
+    public CollectionVersionListener(CollectionVersionRegistry registry) {
+        this.registry = registry;
+    }
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void onChange(Object entity) {
+        Optional<String> table = TABLES.computeIfAbsent(entity.getClass(), CollectionVersionListener::tableName);
+        if (table.isEmpty()) {
+            return;
+        }
+        String name = table.get();
+        registry.markChanged(name);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    registry.markChanged(name);
+                }
+            });
+        }
+    }
+
+    private static Optional<String> tableName(Class<?> type) {
+        for (Class<?> current = type; current != null; current = current.getSuperclass()) {
+            Table table = current.getAnnotation(Table.class);
+            if (table != null && !table.name().isEmpty()) {
+                return Optional.of(table.name());
+            }
+        }
+        return Optional.empty();
+    }
+}
@@ -0,0 +1,106 @@
+package com.yimusi.common.web;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * 数据表版本登记，用于生成 ETag.
+ * <p>
+ * 表版本由未删除行数和最大 updated_at 组成，加载后缓存在内存：
+ * 本节点通过 JPA 写入时由 {@link CollectionVersionListener} 在提交后标记失效，下次请求重新加载；
+ * 其他节点或 JdbcTemplate 的写入由 refresh-interval 兜底，最多在该时长内返回旧版本.
+ * 加载期间表被标记失效时不缓存加载结果，避免把提交前的快照当作最新版本.
+ * </p>
+ */
+@Component
+public class CollectionVersionRegistry {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final long refreshMillis;
+    private final Map<String, CachedVersion> versions = new ConcurrentHashMap<>();
+    private final Map<String, AtomicLong> generations = new ConcurrentHashMap<>();
+    private final Counter loadCounter;
+
+    public CollectionVersionRegistry(
+        JdbcTemplate jdbcTemplate,
+        @Value("${yimusi.etag.refresh-interval:PT5S}") Duration refreshInterval,
+        MeterRegistry meterRegistry
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.refreshMillis = refreshInterval.toMillis();
+        this.loadCounter = Counter.builder("etag.collection.loaded")
+            .description("从数据库加载表版本的次数")
+            .register(meterRegistry);
+    }
+
+    /**
+     * 获取表版本
+     *
+     * @param table 表名
+     * @return 版本字符串（未删除行数-最大 updated_at 微秒）
+     */
+    public String collectionVersion(String table) {
+        long now = System.currentTimeMillis();
+        CachedVersion cached = versions.get(table);
+        if (cached != null && now - cached.loadedAt() < refreshMillis) {
+            return cached.version();
+        }
+        AtomicLong generation = generation(table);
+        long before = generation.get();
+        String version = jdbcTemplate.queryForObject(
+            "SELECT COUNT(*), MAX(updated_at) FROM " + table + " WHERE deleted = false",
+            (rs, rowNum) -> rs.getLong(1) + "-" + micros(rs.getTimestamp(2)));
+        if (generation.get() == before) {
+            versions.put(table, new CachedVersion(version, now));
+        }
+        loadCounter.increment();
+        return version;
+    }
+
+    /**
+     * 获取单行版本
+     *
+     * @param table 表名
+     * @param id    行ID
+     * @return updated_at 微秒，行不存在或已删除时返回 null
+     */
+    public String entityVersion(String table, Object id) {
+        List<String> versions = jdbcTemplate.query(
+            "SELECT updated_at FROM " + table + " WHERE id = ? AND deleted = false",
+            (rs, rowNum) -> String.valueOf(micros(rs.getTimestamp(1))), id);
+        return versions.isEmpty() ? null : versions.get(0);
+    }
+
+    /**
+     * 标记表已变更，下次请求重新加载版本
+     *
+     * @param table 表名
+     */
+    public void markChanged(String table) {
+        generation(table).incrementAndGet();
+        versions.remove(table);
+    }
+
+    private AtomicLong generation(String table) {
+        return generations.computeIfAbsent(table, key -> new AtomicLong());
+    }
+
+    private static long micros(Timestamp timestamp) {
+        if (timestamp == null) {
+            return 0;
+        }
+        return timestamp.getTime() / 1000 * 1_000_000 + timestamp.getNanos() / 1000;
+    }
+
+    private record CachedVersion(String version, long loadedAt) {
+    }
+}
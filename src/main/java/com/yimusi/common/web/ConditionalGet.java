@@ -0,0 +1,31 @@
+package com.yimusi.common.web;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 为 GET 接口启用 ETag 条件请求.
+ * <p>
+ * 详情接口（指定 {@link #idVariable()}）的 ETag 由该行的 updated_at 生成；
+ * 列表和分页接口的 ETag 由整张表的版本（未删除行数与最大 updated_at）加请求路径和查询参数生成.
+ * 请求头 If-None-Match 与当前 ETag 匹配时由 {@link ConditionalGetInterceptor} 直接返回 304，不执行查询和序列化.
+ * </p>
+ */
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface ConditionalGet {
+
+    /**
+     * @return 数据表名，表需包含 updated_at 和 deleted 列
+     */
+    String table();
+
+    /**
+     * @return 行ID所在的路径变量名，为空表示列表或分页接口
+     */
+    String idVariable() default "";
+}
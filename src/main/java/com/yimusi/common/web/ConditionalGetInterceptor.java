@@ -0,0 +1,106 @@
+package com.yimusi.common.web;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.util.Map;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * ETag 条件请求拦截器.
+ * <p>
+ * 对标注 {@link ConditionalGet} 的 GET 接口在执行前计算 ETag：与 If-None-Match 匹配时直接返回 304，
+ * 否则写入 ETag 响应头后继续执行. ETag 在查询前计算，查询期间数据变更时客户端拿到较新的数据和较旧的 ETag，
+ * 下次请求会重新获取，不会漏掉更新.
+ * 详情接口的行版本同时写入请求属性 {@link #VERSION_ATTRIBUTE}，供 {@link ResponseBodyCache} 复用.
+ * </p>
+ */
+@Component
+public class ConditionalGetInterceptor implements HandlerInterceptor {
+
+    /**
+     * 请求属性名：详情接口的行版本
+     */
+    public static final String VERSION_ATTRIBUTE = ConditionalGetInterceptor.class.getName() + ".version";
+
+    private final CollectionVersionRegistry registry;
+    private final Counter notModifiedCounter;
+
+    public ConditionalGetInterceptor(CollectionVersionRegistry registry, MeterRegistry meterRegistry) {
+        this.registry = registry;
+        this.notModifiedCounter = Counter.builder("etag.not.modified")
+            .description("If-None-Match 命中返回 304 的请求数")
+            .register(meterRegistry);
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!"GET".equals(request.getMethod()) || !(handler instanceof HandlerMethod method)) {
+            return true;
+        }
+        ConditionalGet conditionalGet = method.getMethodAnnotation(ConditionalGet.class);
+        if (conditionalGet == null) {
+            return true;
+        }
+        String etag = etag(conditionalGet, request);
+        if (etag == null) {
+            return true;
+        }
+        response.setHeader(HttpHeaders.ETAG, etag);
+        response.setHeader(HttpHeaders.CACHE_CONTROL, "no-cache");
+        if (matches(request.getHeader(HttpHeaders.IF_NONE_MATCH), etag)) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            notModifiedCounter.increment();
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * @return 弱 ETag，详情接口的行不存在或已删除时返回 null（交由接口返回 404）
+     */
+    private String etag(ConditionalGet conditionalGet, HttpServletRequest request) {
+        String table = conditionalGet.table();
+        if (conditionalGet.idVariable().isEmpty()) {
+            String query = request.getQueryString();
+            String key = query == null ? request.getRequestURI() : request.getRequestURI() + '?' + query;
+            return "W/\"" + table + '-' + registry.collectionVersion(table) + '-' + Integer.toHexString(key.hashCode()) + '"';
+        }
+        @SuppressWarnings("unchecked")
+        Map<String, String> variables =
+            (Map<String, String>) request.getAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE);
+        String id = variables == null ? null : variables.get(conditionalGet.idVariable());
+        if (id == null || id.isEmpty() || !id.chars().allMatch(Character::isDigit)) {
+            return null;
+        }
+        String version = registry.entityVersion(table, Long.valueOf(id));
+        request.setAttribute(VERSION_ATTRIBUTE, version);
+        return version == null ? null : "W/\"" + table + '-' + id + '-' + version + '"';
+    }
+
+    /**
+     * 按弱比较判断 If-None-Match 是否包含当前 ETag
+     */
+    static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null || ifNoneMatch.isEmpty()) {
+            return false;
+        }
+        String opaque = stripWeak(etag);
+        for (String candidate : ifNoneMatch.split(",")) {
+            String value = candidate.trim();
+            if ("*".equals(value) || stripWeak(value).equals(opaque)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String stripWeak(String etag) {
+        return etag.startsWith("W/") ? etag.substring(2) : etag;
+    }
+}
@@ -0,0 +1,229 @@
+package com.yimusi.common.web;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+import java.util.zip.GZIPOutputStream;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+
+/**
+ * 详情接口的序列化响应缓存.
+ * <p>
+ * 以 "表名:行ID" 为键缓存 JSON 字节（可选同时缓存 gzip 压缩后的字节），并与行版本（updated_at）绑定：
+ * 版本由 {@link ConditionalGetInterceptor} 在接口执行前查询，版本不一致时重新加载和序列化，
+ * 因此其他节点的修改也不会返回旧数据；本节点的写入方法调用 {@link #evict(String, Long)} 及时释放旧字节.
+ * 命中时跳过查询、MapStruct 映射和 Jackson 序列化，直接把字节写入 Servlet 输出流.
+ * 缓存为无全局锁的 {@link ConcurrentHashMap}，命中只更新该项的最近访问时间；容量有上限，超出时由一个线程
+ * 按最近访问时间批量淘汰最旧的约 10%，淘汰顺序是近似的 LRU.
+ * </p>
+ */
+@Component
+public class ResponseBodyCache {
+
+    private final ObjectMapper objectMapper;
+    private final boolean enabled;
+    private final int maxEntries;
+    private final boolean gzipEnabled;
+    private final int gzipMinSize;
+    private final Map<String, CachedBody> entries = new ConcurrentHashMap<>();
+    private final ReentrantLock evictLock = new ReentrantLock();
+    private final Counter hitCounter;
+    private final Counter missCounter;
+
+    public ResponseBodyCache(
+        ObjectMapper objectMapper,
+        @Value("${yimusi.response-cache.enabled:true}") boolean enabled,
+        @Value("${yimusi.response-cache.max-entries:2000}") int maxEntries,
+        @Value("${yimusi.response-cache.gzip:true}") boolean gzipEnabled,
+        @Value("${yimusi.response-cache.gzip-min-size:1024}") int gzipMinSize,
+        MeterRegistry meterRegistry
+    ) {
+        this.objectMapper = objectMapper;
+        this.enabled = enabled;
+        this.maxEntries = maxEntries;
+        this.gzipEnabled = gzipEnabled;
+        this.gzipMinSize = gzipMinSize;
+        this.hitCounter = Counter.builder("response.cache").tag("result", "hit")
+            .description("序列化响应缓存命中次数")
+            .register(meterRegistry);
+        this.missCounter = Counter.builder("response.cache").tag("result", "miss")
+            .description("序列化响应缓存未命中次数")
+            .register(meterRegistry);
+        Gauge.builder("response.cache.entries", this, ResponseBodyCache::size).register(meterRegistry);
+    }
+
+    /**
+     * 输出详情接口的 JSON 响应，版本一致时直接使用缓存的字节
+     *
+     * @param request  HTTP 请求，行版本从请求属性 {@link ConditionalGetInterceptor#VERSION_ATTRIBUTE} 读取
+     * @param response HTTP 响应
+     * @param table    表名
+     * @param id       行ID
+     * @param loader   未命中时加载响应体，资源不存在时抛出的异常由全局异常处理器处理
+     * @throws IOException 写入输出流失败时
+     */
+    public void write(HttpServletRequest request, HttpServletResponse response, String table, Long id, Supplier<?> loader)
+        throws IOException {
+        Object version = request.getAttribute(ConditionalGetInterceptor.VERSION_ATTRIBUTE);
+        String key = table + ':' + id;
+        CachedBody body = enabled && version != null ? lookup(key, version.toString()) : null;
+        if (body == null) {
+            body = serialize(version == null ? null : version.toString(), loader.get());
+            if (enabled && version != null && maxEntries > 0) {
+                entries.put(key, body);
+                if (entries.size() > maxEntries) {
+                    evictOverflow();
+                }
+            }
+        }
+        writeBody(request, response, body);
+    }
+
+    /**
+     * 丢弃行的缓存项
+     *
+     * @param table 表名
+     * @param id    行ID
+     */
+    public void evict(String table, Long id) {
+        entries.remove(table + ':' + id);
+    }
+
+    /**
+     * @return 缓存项数
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    private CachedBody lookup(String key, String version) {
+        CachedBody body = entries.get(key);
+        if (body != null && version.equals(body.version)) {
+            body.lastAccess = System.nanoTime();
+            hitCounter.increment();
+            return body;
+        }
+        missCounter.increment();
+        return null;
+    }
+
+    private CachedBody serialize(String version, Object value) {
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(value);
+            byte[] gzip = null;
+            if (gzipEnabled && json.length >= gzipMinSize) {
+                ByteArrayOutputStream buffer = new ByteArrayOutputStream(json.length / 4 + 64);
+                try (GZIPOutputStream out = new GZIPOutputStream(buffer)) {
+                    out.write(json);
+                }
+                gzip = buffer.toByteArray();
+            }
+            return new CachedBody(version, json, gzip, System.nanoTime());
+        } catch (IOException e) {
+            throw new UncheckedIOException("序列化响应失败", e);
+        }
+    }
+
+    private static void writeBody(HttpServletRequest request, HttpServletResponse response, CachedBody body)
+        throws IOException {
+        byte[] bytes = body.json;
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        if (body.gzip != null) {
+            response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+            if (acceptsGzip(request.getHeader(HttpHeaders.ACCEPT_ENCODING))) {
+                response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+                bytes = body.gzip;
+            }
+        }
+        response.setContentLength(bytes.length);
+        response.getOutputStream().write(bytes);
+    }
+
+    /**
+     * 判断 Accept-Encoding 是否接受 gzip（q=0 表示拒绝）
+     */
+    static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.trim().split(";");
+            if (!"gzip".equalsIgnoreCase(parts[0].trim())) {
+                continue;
+            }
+            for (int i = 1; i < parts.length; i++) {
+                String param = parts[i].trim().replace(" ", "");
+                if (param.startsWith("q=") && isZero(param.substring(2))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        return false;
+    }
+
+    private static boolean isZero(String quality) {
+        try {
+            return Double.parseDouble(quality) == 0;
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+
+    /**
+     * 超出容量时按最近访问时间淘汰最旧的项，使缓存回落到容量的 90%.
+     * 同一时刻只有一个线程执行淘汰，其他线程直接返回.
+     */
+    private void evictOverflow() {
+        if (!evictLock.tryLock()) {
+            return;
+        }
+        try {
+            int excess = entries.size() - (maxEntries - maxEntries / 10);
+            if (excess <= 0) {
+                return;
+            }
+            List<Map.Entry<String, CachedBody>> snapshot = new ArrayList<>(entries.entrySet());
+            snapshot.sort(Comparator.comparingLong(entry -> entry.getValue().lastAccess));
+            for (int i = 0; i < snapshot.size() && excess > 0; i++) {
+                Map.Entry<String, CachedBody> entry = snapshot.get(i);
+                if (entries.remove(entry.getKey(), entry.getValue())) {
+                    excess--;
+                }
+            }
+        } finally {
+            evictLock.unlock();
+        }
+    }
+
+    private static final class CachedBody {
+
+        private final String version;
+        private final byte[] json;
+        private final byte[] gzip;
+        private volatile long lastAccess;
+
+        private CachedBody(String version, byte[] json, byte[] gzip, long lastAccess) {
+            this.version = version;
+            this.json = json;
+            this.gzip = gzip;
+            this.lastAccess = lastAccess;
+        }
+    }
+}
@@ -1,24 +1,35 @@
 package com.yimusi.config;
 
 import com.yimusi.common.log.MDCFilter;
+import com.yimusi.common.security.PrincipalFilter;
 import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
 /**
  * 过滤器配置类
- * 配置全局过滤器：MDC Filter
+ * 配置全局过滤器：Principal Filter、MDC Filter
  */
 @Configuration
 public class FilterConfig {
 
+    @Bean
+    public FilterRegistrationBean<PrincipalFilter> principalFilterRegistration(PrincipalFilter principalFilter) {
+        FilterRegistrationBean<PrincipalFilter> registration = new FilterRegistrationBean<>();
+        registration.setFilter(principalFilter);
+        registration.addUrlPatterns("/*");
+        registration.setName("PrincipalFilter");
+        registration.setOrder(0); // 最先执行，校验一次 token 供后续使用
+        return registration;
+    }
+
     @Bean
     public FilterRegistrationBean<MDCFilter> mdCFilterRegistration(MDCFilter mdcFilter) {
         FilterRegistrationBean<MDCFilter> registration = new FilterRegistrationBean<>();
         registration.setFilter(mdcFilter);
         registration.addUrlPatterns("/*");
         registration.setName("MDCFilter");
-        registration.setOrder(1); // 最先执行
+        registration.setOrder(1); // 在 PrincipalFilter 之后执行
         return registration;
     }
 }
\ No newline at end of file
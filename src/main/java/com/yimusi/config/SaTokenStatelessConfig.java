@@ -2,6 +2,9 @@ package com.yimusi.config;
 
 import cn.dev33.satoken.jwt.StpLogicJwtForStateless;
 import cn.dev33.satoken.stp.StpLogic;
+import com.yimusi.common.security.CachingStpLogicJwtForStateless;
+import com.yimusi.common.security.TokenClaimsCache;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
@@ -10,12 +13,16 @@ import org.springframework.context.annotation.Configuration;
  *
  * StpLogicJwtForSimple 完全基于 JWT 自包含信息，不再依赖服务端 Session/存储，
  * 适用于前后端分离的 Bearer Token 认证。
+ * 默认启用验签缓存，同一 token 在过期前只验签一次，见 {@link TokenClaimsCache}。
  */
 @Configuration
 public class SaTokenStatelessConfig {
 
     @Bean
-    public StpLogic stpLogic() {
-        return new StpLogicJwtForStateless();
+    public StpLogic stpLogic(
+        TokenClaimsCache tokenClaimsCache,
+        @Value("${yimusi.auth.token-cache.enabled:true}") boolean tokenCacheEnabled
+    ) {
+        return tokenCacheEnabled ? new CachingStpLogicJwtForStateless(tokenClaimsCache) : new StpLogicJwtForStateless();
     }
 }
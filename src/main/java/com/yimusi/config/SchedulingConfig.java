@@ -0,0 +1,13 @@
+package com.yimusi.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * 定时任务配置类
+ * 启用 Spring 的 @Scheduled 注解支持，具体任务的执行周期与开关在各自的配置项中定义
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -2,6 +2,7 @@ package com.yimusi.config;
 
 import cn.dev33.satoken.interceptor.SaInterceptor;
 import cn.dev33.satoken.stp.StpUtil;
+import com.yimusi.common.security.CurrentPrincipal;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Profile;
 import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
@@ -20,9 +21,14 @@ public class SecurityConfig implements WebMvcConfigurer {
      */
     @Override
     public void addInterceptors(InterceptorRegistry registry) {
-        // 注册注解拦截器
+        // 注册注解拦截器，PrincipalFilter 已校验过 token 的请求直接放行，
+        // 未登录时再调用 checkLogin 抛出带具体原因（无 token、过期、无效）的 NotLoginException
         registry
-            .addInterceptor(new SaInterceptor(handle -> StpUtil.checkLogin()))
+            .addInterceptor(new SaInterceptor(handle -> {
+                if (CurrentPrincipal.getUserId() == null) {
+                    StpUtil.checkLogin();
+                }
+            }))
             .addPathPatterns("/api/**")
             .excludePathPatterns("/api/auth/login", "/api/auth/register");
     }
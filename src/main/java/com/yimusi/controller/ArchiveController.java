@@ -0,0 +1,30 @@
+package com.yimusi.controller;
+
+import com.yimusi.common.model.ApiResponse;
+import com.yimusi.dto.archive.ArchiveRunResult;
+import com.yimusi.service.SoftDeleteArchiveService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * 软删除归档接口
+ */
+@RestController
+@RequestMapping("/api/archive")
+@RequiredArgsConstructor
+public class ArchiveController {
+
+    private final SoftDeleteArchiveService softDeleteArchiveService;
+
+    /**
+     * 立即执行一轮归档
+     *
+     * @return 归档结果
+     */
+    @PostMapping("/run")
+    public ApiResponse<ArchiveRunResult> run() {
+        return ApiResponse.success(softDeleteArchiveService.archiveNow());
+    }
+}
@@ -3,6 +3,7 @@ package com.yimusi.controller;
 import cn.dev33.satoken.stp.SaTokenInfo;
 import cn.dev33.satoken.stp.StpUtil;
 import com.yimusi.common.model.ApiResponse;
+import com.yimusi.common.security.CurrentPrincipal;
 import com.yimusi.dto.auth.LoginRequest;
 import com.yimusi.dto.auth.LoginResponse;
 import com.yimusi.dto.user.UserResponse;
@@ -85,7 +86,11 @@ public class AuthController {
      */
     @GetMapping("/me")
     public ApiResponse<UserResponse> getCurrentUser() {
-        Long userId = Long.parseLong(StpUtil.getLoginIdAsString());
+        Long userId = CurrentPrincipal.getUserId();
+        if (userId == null) {
+            // 未登录时由 Sa-Token 抛出带具体原因的 NotLoginException
+            userId = StpUtil.getLoginIdAsLong();
+        }
         User user = userService.getUserById(userId);
         return ApiResponse.success(userMapper.toResponse(user));
     }
@@ -0,0 +1,77 @@
+package com.yimusi.controller;
+
+import com.yimusi.common.model.ApiResponse;
+import com.yimusi.dto.calibration.CalibrationBatchRequest;
+import com.yimusi.dto.calibration.CalibrationBatchResult;
+import com.yimusi.dto.calibration.CrossSensitivityBatchRequest;
+import com.yimusi.dto.calibration.CrossSensitivityResponse;
+import com.yimusi.dto.calibration.DeviceCalibrationResponse;
+import com.yimusi.service.CalibrationService;
+import com.yimusi.service.CrossSensitivityService;
+import jakarta.validation.Valid;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * 设备标定接口
+ * 提供批量拟合标定曲线、标定系数查询与交叉敏感矩阵查询
+ */
+@RestController
+@RequestMapping("/api/calibrations")
+@RequiredArgsConstructor
+public class CalibrationController {
+
+    private final CalibrationService calibrationService;
+    private final CrossSensitivityService crossSensitivityService;
+
+    /**
+     * 批量重新标定设备
+     *
+     * @param request 标定请求
+     * @return 标定结果统计
+     */
+    @PostMapping("/batch")
+    public ApiResponse<CalibrationBatchResult> recalibrate(@Valid @RequestBody CalibrationBatchRequest request) {
+        return ApiResponse.success(calibrationService.recalibrate(request));
+    }
+
+    /**
+     * 获取设备各气体的标定系数
+     *
+     * @param deviceId 设备 ID
+     * @return 标定系数列表
+     */
+    @GetMapping("/devices/{deviceId}")
+    public ApiResponse<List<DeviceCalibrationResponse>> getDeviceCalibrations(@PathVariable Long deviceId) {
+        return ApiResponse.success(calibrationService.getDeviceCalibrations(deviceId));
+    }
+
+    /**
+     * 获取设备的交叉敏感矩阵
+     *
+     * @param deviceId 设备 ID
+     * @return 交叉敏感矩阵
+     */
+    @GetMapping("/devices/{deviceId}/cross-sensitivity")
+    public ApiResponse<CrossSensitivityResponse> getCrossSensitivity(@PathVariable Long deviceId) {
+        return ApiResponse.success(crossSensitivityService.getDeviceMatrix(deviceId));
+    }
+
+    /**
+     * 批量获取设备的交叉敏感矩阵
+     *
+     * @param request 查询请求
+     * @return 交叉敏感矩阵列表
+     */
+    @PostMapping("/cross-sensitivity")
+    public ApiResponse<List<CrossSensitivityResponse>> getCrossSensitivities(
+            @Valid @RequestBody CrossSensitivityBatchRequest request) {
+        return ApiResponse.success(crossSensitivityService.getDeviceMatrices(request));
+    }
+}
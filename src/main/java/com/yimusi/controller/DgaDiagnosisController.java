@@ -0,0 +1,57 @@
+package com.yimusi.controller;
+
+import com.yimusi.common.model.ApiResponse;
+import com.yimusi.dto.diagnosis.DgaDiagnosisRequest;
+import com.yimusi.dto.diagnosis.DgaDiagnosisResponse;
+import com.yimusi.dto.diagnosis.DgaHistoryResponse;
+import com.yimusi.service.DgaDiagnosisService;
+import jakarta.validation.Valid;
+import java.time.Instant;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * DGA 故障诊断接口
+ * 提供单条读数诊断与设备历史读数的批量诊断（Duval 三角形/五边形、Rogers、IEC 60599）
+ */
+@RestController
+@RequestMapping("/api/diagnosis/dga")
+@RequiredArgsConstructor
+public class DgaDiagnosisController {
+
+    private final DgaDiagnosisService dgaDiagnosisService;
+
+    /**
+     * 诊断单条读数
+     *
+     * @param request 气体含量
+     * @return 各诊断方法的结论
+     */
+    @PostMapping
+    public ApiResponse<DgaDiagnosisResponse> diagnose(@Valid @RequestBody DgaDiagnosisRequest request) {
+        return ApiResponse.success(dgaDiagnosisService.diagnose(request));
+    }
+
+    /**
+     * 诊断设备在时间范围内的历史读数
+     *
+     * @param deviceNo 设备编号
+     * @param from     起始时间（包含，ISO-8601）
+     * @param to       结束时间（不包含，ISO-8601）
+     * @return 各诊断方法的统计结果
+     */
+    @GetMapping("/devices/{deviceNo}")
+    public ApiResponse<DgaHistoryResponse> diagnoseHistory(
+        @PathVariable String deviceNo,
+        @RequestParam Instant from,
+        @RequestParam Instant to
+    ) {
+        return ApiResponse.success(dgaDiagnosisService.diagnoseHistory(deviceNo, from, to));
+    }
+}
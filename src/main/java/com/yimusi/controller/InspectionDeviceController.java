@@ -1,6 +1,7 @@
 package com.yimusi.controller;
 
 import com.yimusi.common.model.ApiResponse;
+import com.yimusi.common.web.ConditionalGet;
 import com.yimusi.dto.common.PageResult;
 import com.yimusi.dto.inspection.CreateInspectionDeviceRequest;
 import com.yimusi.dto.inspection.InspectionDevicePageRequest;
@@ -30,6 +31,7 @@ public class InspectionDeviceController {
      *
      * @return {@link InspectionDeviceResponse} 列表
      */
+    @ConditionalGet(table = "inspection_devices")
     @GetMapping
     public ApiResponse<List<InspectionDeviceResponse>> getAllDevices() {
         List<InspectionDeviceResponse> responses = deviceService
@@ -46,6 +48,7 @@ public class InspectionDeviceController {
      * @param request 分页查询请求参数
      * @return 分页结果，包含检测设备列表及分页信息
      */
+    @ConditionalGet(table = "inspection_devices")
     @GetMapping("/page")
     public ApiResponse<PageResult<InspectionDeviceResponse>> getDevicesPage(
         @Valid InspectionDevicePageRequest request
@@ -60,6 +63,7 @@ public class InspectionDeviceController {
      * @param id 设备 ID
      * @return 查询到的 {@link InspectionDeviceResponse}
      */
+    @ConditionalGet(table = "inspection_devices", idVariable = "id")
     @GetMapping("/{id}")
     public ApiResponse<InspectionDeviceResponse> getDeviceById(@PathVariable Long id) {
         InspectionDeviceResponse response = deviceMapper.toResponse(deviceService.getDeviceById(id));
@@ -0,0 +1,39 @@
+package com.yimusi.controller;
+
+import com.yimusi.service.LiveStateService;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * 实时状态推送接口
+ * 以 Server-Sent Events 推送检测设备状态、工位启用状态与可达性的变化，替代前端轮询分页接口
+ */
+@RestController
+@RequestMapping("/api/live")
+@RequiredArgsConstructor
+public class LiveStateController {
+
+    private final LiveStateService liveStateService;
+
+    /**
+     * 订阅实时状态
+     * 连接建立后先收到 snapshot 事件，之后收到 state 事件；每 15 秒一次注释行心跳
+     *
+     * @param projectIds 订阅的项目ID列表（推送项目下的检测设备）
+     * @param stationIds 订阅的工位ID列表
+     * @return SSE 连接
+     */
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter stream(
+        @RequestParam(required = false) List<Long> projectIds,
+        @RequestParam(required = false) List<Long> stationIds
+    ) {
+        return liveStateService.subscribe(projectIds, stationIds);
+    }
+}
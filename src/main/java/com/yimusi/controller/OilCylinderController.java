@@ -0,0 +1,83 @@
+package com.yimusi.controller;
+
+import com.yimusi.common.model.ApiResponse;
+import com.yimusi.dto.cylinder.CreateOilCylinderRequest;
+import com.yimusi.dto.cylinder.OilCylinderResponse;
+import com.yimusi.dto.cylinder.RefillOilCylinderRequest;
+import com.yimusi.service.OilCylinderService;
+import jakarta.validation.Valid;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * 油缸库存接口
+ * 提供油缸登记、补油以及剩余油量与低库存查询
+ */
+@RestController
+@RequestMapping("/api/oil-cylinders")
+@RequiredArgsConstructor
+public class OilCylinderController {
+
+    private final OilCylinderService oilCylinderService;
+
+    /**
+     * 获取全部已登记油缸
+     *
+     * @return 油缸列表
+     */
+    @GetMapping
+    public ApiResponse<List<OilCylinderResponse>> listCylinders() {
+        return ApiResponse.success(oilCylinderService.listCylinders());
+    }
+
+    /**
+     * 获取低于告警阈值的油缸
+     *
+     * @return 低库存油缸列表
+     */
+    @GetMapping("/low-stock")
+    public ApiResponse<List<OilCylinderResponse>> listLowStockCylinders() {
+        return ApiResponse.success(oilCylinderService.listLowStockCylinders());
+    }
+
+    /**
+     * 获取单个油缸
+     *
+     * @param cylinderNo 油缸编号
+     * @return 油缸库存
+     */
+    @GetMapping("/{cylinderNo}")
+    public ApiResponse<OilCylinderResponse> getCylinder(@PathVariable Integer cylinderNo) {
+        return ApiResponse.success(oilCylinderService.getCylinder(cylinderNo));
+    }
+
+    /**
+     * 登记油缸库存
+     *
+     * @param request 登记请求
+     * @return 油缸库存
+     */
+    @PostMapping
+    public ApiResponse<OilCylinderResponse> createCylinder(@Valid @RequestBody CreateOilCylinderRequest request) {
+        return ApiResponse.success(oilCylinderService.createCylinder(request));
+    }
+
+    /**
+     * 为油缸补油
+     *
+     * @param cylinderNo 油缸编号
+     * @param request    补油请求
+     * @return 补油后的油缸库存
+     */
+    @PostMapping("/{cylinderNo}/refill")
+    public ApiResponse<OilCylinderResponse> refillCylinder(@PathVariable Integer cylinderNo,
+                                                           @Valid @RequestBody RefillOilCylinderRequest request) {
+        return ApiResponse.success(oilCylinderService.refillCylinder(cylinderNo, request));
+    }
+}
@@ -1,13 +1,18 @@
 package com.yimusi.controller;
 
 import com.yimusi.common.model.ApiResponse;
+import com.yimusi.common.web.ConditionalGet;
+import com.yimusi.common.web.ResponseBodyCache;
 import com.yimusi.dto.common.PageResult;
 import com.yimusi.dto.oilsample.CreateOilSampleRequest;
 import com.yimusi.dto.oilsample.OilSamplePageRequest;
 import com.yimusi.dto.oilsample.OilSampleResponse;
 import com.yimusi.dto.oilsample.UpdateOilSampleRequest;
 import com.yimusi.service.OilSampleService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
+import java.io.IOException;
 import lombok.RequiredArgsConstructor;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -29,6 +34,7 @@ import org.springframework.web.bind.annotation.RestController;
 public class OilSampleController {
 
     private final OilSampleService oilSampleService;
+    private final ResponseBodyCache responseBodyCache;
 
     /**
      * 分页查询油样列表
@@ -36,6 +42,7 @@ public class OilSampleController {
      * @param request 分页查询请求参数
      * @return 分页结果，包含油样列表及分页信息
      */
+    @ConditionalGet(table = "oil_samples")
     @GetMapping("/page")
     public ApiResponse<PageResult<OilSampleResponse>> getOilSamplesPage(@Valid OilSamplePageRequest request) {
         PageResult<OilSampleResponse> pageResult = oilSampleService.getOilSamplesPage(request);
@@ -45,13 +52,19 @@ public class OilSampleController {
     /**
      * 获取单条油样详情
      *
-     * @param id 油样 ID
-     * @return 查询到的 {@link OilSampleResponse}
+     * 响应体按油样版本缓存序列化后的字节，直接写入输出流
+     *
+     * @param id       油样 ID
+     * @param request  HTTP 请求
+     * @param response HTTP 响应，内容为 {@link OilSampleResponse}
+     * @throws IOException 写入输出流失败时
      */
+    @ConditionalGet(table = "oil_samples", idVariable = "id")
     @GetMapping("/{id}")
-    public ApiResponse<OilSampleResponse> getOilSampleById(@PathVariable Long id) {
-        OilSampleResponse response = oilSampleService.getOilSampleById(id);
-        return ApiResponse.success(response);
+    public void getOilSampleById(@PathVariable Long id, HttpServletRequest request, HttpServletResponse response)
+        throws IOException {
+        responseBodyCache.write(request, response, "oil_samples", id,
+            () -> ApiResponse.success(oilSampleService.getOilSampleById(id)));
     }
 
     /**
@@ -1,6 +1,7 @@
 package com.yimusi.controller;
 
 import com.yimusi.common.model.ApiResponse;
+import com.yimusi.common.web.ConditionalGet;
 import com.yimusi.dto.project.CreateProjectRequest;
 import com.yimusi.dto.common.PageResult;
 import com.yimusi.dto.project.ProjectPageRequest;
@@ -30,6 +31,7 @@ public class ProjectController {
      *
      * @return {@link ProjectResponse} 列表
      */
+    @ConditionalGet(table = "projects")
     @GetMapping
     public ApiResponse<List<ProjectResponse>> getAllProjects() {
         List<ProjectResponse> responses = projectService
@@ -46,6 +48,7 @@ public class ProjectController {
      * @param request 分页查询请求参数
      * @return 分页结果，包含项目列表及分页信息
      */
+    @ConditionalGet(table = "projects")
     @GetMapping("/page")
     public ApiResponse<PageResult<ProjectResponse>> getProjectsPage(@Valid ProjectPageRequest request) {
         PageResult<ProjectResponse> pageResult = projectService.getProjectsPage(request);
@@ -58,6 +61,7 @@ public class ProjectController {
      * @param id 项目 ID
      * @return 查询到的 {@link ProjectResponse}
      */
+    @ConditionalGet(table = "projects", idVariable = "id")
     @GetMapping("/{id}")
     public ApiResponse<ProjectResponse> getProjectById(@PathVariable Long id) {
         ProjectResponse response = projectMapper.toResponse(projectService.getProjectById(id));
@@ -0,0 +1,70 @@
+package com.yimusi.controller;
+
+import com.yimusi.common.model.ApiResponse;
+import com.yimusi.dto.telemetry.ReadingIngestRequest;
+import com.yimusi.dto.telemetry.ReadingIngestResponse;
+import com.yimusi.dto.telemetry.ReadingSeriesResponse;
+import com.yimusi.enums.GasType;
+import com.yimusi.enums.ReadingResolution;
+import com.yimusi.service.ReadingStorageService;
+import com.yimusi.service.TelemetryIngestService;
+import jakarta.validation.Valid;
+import java.time.Instant;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * 设备遥测接口
+ * 提供检测设备气体读数的批量上报与时间序列查询功能
+ */
+@RestController
+@RequestMapping("/api/telemetry")
+@RequiredArgsConstructor
+public class TelemetryController {
+
+    private final TelemetryIngestService telemetryIngestService;
+    private final ReadingStorageService readingStorageService;
+
+    /**
+     * 批量上报设备读数
+     * 写入队列已满时返回 429，调用方应稍后重试
+     *
+     * @param request 批量上报请求
+     * @return 接收结果
+     */
+    @PostMapping("/readings")
+    public ApiResponse<ReadingIngestResponse> ingestReadings(@Valid @RequestBody ReadingIngestRequest request) {
+        ReadingIngestResponse response = telemetryIngestService.ingest(request);
+        return ApiResponse.success(response);
+    }
+
+    /**
+     * 查询设备指定气体在时间范围内的读数
+     * 未指定精度时按时间范围与点数预算自动选择原始读数或 1 分钟 / 1 小时 / 1 天汇总
+     *
+     * @param deviceNo   设备编号
+     * @param gas        气体组分
+     * @param from       起始时间（包含，ISO-8601）
+     * @param to         结束时间（不包含，ISO-8601）
+     * @param resolution 指定精度（可选）
+     * @param maxPoints  点数预算（可选）
+     * @return 读数时间序列
+     */
+    @GetMapping("/devices/{deviceNo}/readings")
+    public ApiResponse<ReadingSeriesResponse> getReadings(
+        @PathVariable String deviceNo,
+        @RequestParam GasType gas,
+        @RequestParam Instant from,
+        @RequestParam Instant to,
+        @RequestParam(required = false) ReadingResolution resolution,
+        @RequestParam(required = false) Integer maxPoints
+    ) {
+        return ApiResponse.success(readingStorageService.getReadings(deviceNo, gas, from, to, resolution, maxPoints));
+    }
+}
@@ -0,0 +1,82 @@
+package com.yimusi.controller;
+
+import com.yimusi.common.model.ApiResponse;
+import com.yimusi.dto.testjob.CreateTestJobRequest;
+import com.yimusi.dto.testjob.TestJobResponse;
+import com.yimusi.dto.testjob.TestJobScheduleResult;
+import com.yimusi.service.TestJobService;
+import jakarta.validation.Valid;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * 测试作业接口
+ * 提供作业提交、查询、取消及手动触发调度
+ */
+@RestController
+@RequestMapping("/api/test-jobs")
+@RequiredArgsConstructor
+public class TestJobController {
+
+    private final TestJobService testJobService;
+
+    /**
+     * 提交测试作业
+     *
+     * @param request 提交请求
+     * @return 创建的作业列表
+     */
+    @PostMapping
+    public ApiResponse<List<TestJobResponse>> submitJobs(@Valid @RequestBody CreateTestJobRequest request) {
+        return ApiResponse.success(testJobService.submitJobs(request));
+    }
+
+    /**
+     * 获取作业详情
+     *
+     * @param id 作业 ID
+     * @return 作业详情
+     */
+    @GetMapping("/{id}")
+    public ApiResponse<TestJobResponse> getJobById(@PathVariable Long id) {
+        return ApiResponse.success(testJobService.getJobById(id));
+    }
+
+    /**
+     * 取消作业
+     *
+     * @param id 作业 ID
+     * @return 取消后的作业详情
+     */
+    @PostMapping("/{id}/cancel")
+    public ApiResponse<TestJobResponse> cancelJob(@PathVariable Long id) {
+        return ApiResponse.success(testJobService.cancelJob(id));
+    }
+
+    /**
+     * 取消工位上的全部测试作业
+     *
+     * @param stationId 工位 ID
+     * @return 取消的作业数
+     */
+    @PostMapping("/stations/{stationId}/cancel")
+    public ApiResponse<Integer> cancelStationJobs(@PathVariable Long stationId) {
+        return ApiResponse.success(testJobService.cancelStationJobs(stationId));
+    }
+
+    /**
+     * 立即执行一轮调度
+     *
+     * @return 调度结果
+     */
+    @PostMapping("/schedule")
+    public ApiResponse<TestJobScheduleResult> schedule() {
+        return ApiResponse.success(testJobService.scheduleNow());
+    }
+}
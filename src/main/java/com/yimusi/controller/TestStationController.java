@@ -1,6 +1,8 @@
 package com.yimusi.controller;
 
 import com.yimusi.common.model.ApiResponse;
+import com.yimusi.common.web.ConditionalGet;
+import com.yimusi.common.web.ResponseBodyCache;
 import com.yimusi.dto.common.PageResult;
 import com.yimusi.dto.teststation.CreateTestStationRequest;
 import com.yimusi.dto.teststation.TestStationPageRequest;
@@ -8,7 +10,10 @@ import com.yimusi.dto.teststation.TestStationResponse;
 import com.yimusi.dto.teststation.UpdateTestStationRequest;
 import com.yimusi.mapper.TestStationMapper;
 import com.yimusi.service.TestStationService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
+import java.io.IOException;
 import java.util.List;
 import lombok.RequiredArgsConstructor;
 import org.springframework.web.bind.annotation.*;
@@ -24,12 +29,14 @@ public class TestStationController {
 
     private final TestStationService testStationService;
     private final TestStationMapper testStationMapper;
+    private final ResponseBodyCache responseBodyCache;
 
     /**
      * 获取所有测试工位列表
      *
      * @return {@link TestStationResponse} 列表
      */
+    @ConditionalGet(table = "test_stations")
     @GetMapping
     public ApiResponse<List<TestStationResponse>> getAllStations() {
         List<TestStationResponse> responses = testStationService
@@ -46,6 +53,7 @@ public class TestStationController {
      * @param request 分页查询请求参数
      * @return 分页结果，包含测试工位列表及分页信息
      */
+    @ConditionalGet(table = "test_stations")
     @GetMapping("/page")
     public ApiResponse<PageResult<TestStationResponse>> getStationsPage(
         @Valid TestStationPageRequest request
@@ -57,13 +65,19 @@ public class TestStationController {
     /**
      * 根据ID查询测试工位详情
      *
-     * @param id 工位 ID
-     * @return 查询到的 {@link TestStationResponse}
+     * 响应体按工位版本缓存序列化后的字节，直接写入输出流
+     *
+     * @param id       工位 ID
+     * @param request  HTTP 请求
+     * @param response HTTP 响应，内容为 {@link TestStationResponse}
+     * @throws IOException 写入输出流失败时
      */
+    @ConditionalGet(table = "test_stations", idVariable = "id")
     @GetMapping("/{id}")
-    public ApiResponse<TestStationResponse> getStationById(@PathVariable Long id) {
-        TestStationResponse response = testStationMapper.toResponse(testStationService.getStationById(id));
-        return ApiResponse.success(response);
+    public void getStationById(@PathVariable Long id, HttpServletRequest request, HttpServletResponse response)
+        throws IOException {
+        responseBodyCache.write(request, response, "test_stations", id,
+            () -> ApiResponse.success(testStationMapper.toResponse(testStationService.getStationById(id))));
     }
 
     /**
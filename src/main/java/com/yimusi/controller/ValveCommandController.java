@@ -0,0 +1,65 @@
+package com.yimusi.controller;
+
+import com.yimusi.common.model.ApiResponse;
+import com.yimusi.service.ValveCommandService;
+import java.util.concurrent.CompletableFuture;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * 测试工位电磁阀控制
+ * 命令在工位的命令队列中串行执行，接口在命令执行完成（或被合并）后异步返回
+ */
+@RestController
+@RequestMapping("/api/test-stations/{stationId}/valves")
+@RequiredArgsConstructor
+public class ValveCommandController {
+
+    private final ValveCommandService valveCommandService;
+
+    /**
+     * 打开阀门
+     *
+     * @param stationId 工位 ID
+     * @param valve     阀门编号
+     */
+    @PostMapping("/{valve}/open")
+    public CompletableFuture<ApiResponse<Void>> openValve(@PathVariable Long stationId, @PathVariable int valve) {
+        return valveCommandService.setValve(stationId, valve, true).thenApply(ignored -> ApiResponse.success());
+    }
+
+    /**
+     * 关闭阀门
+     *
+     * @param stationId 工位 ID
+     * @param valve     阀门编号
+     */
+    @PostMapping("/{valve}/close")
+    public CompletableFuture<ApiResponse<Void>> closeValve(@PathVariable Long stationId, @PathVariable int valve) {
+        return valveCommandService.setValve(stationId, valve, false).thenApply(ignored -> ApiResponse.success());
+    }
+
+    /**
+     * 切换到油样通道
+     *
+     * @param stationId 工位 ID
+     * @param channel   油样通道
+     */
+    @PostMapping("/channels/{channel}")
+    public CompletableFuture<ApiResponse<Void>> switchChannel(@PathVariable Long stationId, @PathVariable String channel) {
+        return valveCommandService.switchChannel(stationId, channel).thenApply(ignored -> ApiResponse.success());
+    }
+
+    /**
+     * 关闭全部阀门
+     *
+     * @param stationId 工位 ID
+     */
+    @PostMapping("/close-all")
+    public CompletableFuture<ApiResponse<Void>> closeAll(@PathVariable Long stationId) {
+        return valveCommandService.closeAllValves(stationId).thenApply(ignored -> ApiResponse.success());
+    }
+}
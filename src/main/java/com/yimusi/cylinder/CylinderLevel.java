@@ -0,0 +1,17 @@
+package com.yimusi.cylinder;
+
+/**
+ * 油缸当前油量
+ *
+ * @param remaining         剩余油量（mL）
+ * @param lowStockThreshold 低库存告警阈值（mL）
+ */
+public record CylinderLevel(long remaining, long lowStockThreshold) {
+
+    /**
+     * @return 是否低于告警阈值
+     */
+    public boolean lowStock() {
+        return remaining < lowStockThreshold;
+    }
+}
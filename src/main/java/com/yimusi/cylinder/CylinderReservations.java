@@ -0,0 +1,78 @@
+package com.yimusi.cylinder;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import org.springframework.stereotype.Component;
+
+/**
+ * 调度用的油缸油量预留账本.
+ * <p>
+ * 每个油缸一个独立的原子计数器，保存可供新作业预留的油量，不同油缸的预留互不竞争；
+ * 同一油缸的预留以 CAS 完成“判断余量并扣减”，高并发下也不会预留出负数.
+ * 账本只是调度时的估算，每轮调度前按数据库剩余油量减去已分配未执行作业的用量重建；
+ * 实际抽油以 {@link com.yimusi.repository.OilCylinderJdbcRepository#consume} 的条件 UPDATE 为准.
+ * 未登记库存的油缸不在账本中，预留总是成功.
+ * </p>
+ */
+@Component
+public class CylinderReservations {
+
+    private final Map<Integer, AtomicLong> available = new ConcurrentHashMap<>();
+
+    /**
+     * 以新的可预留油量替换账本，快照中没有的油缸视为未登记
+     *
+     * @param snapshot 油缸编号 → 可预留油量（mL），负数按 0 处理
+     */
+    public void reset(Map<Integer, Long> snapshot) {
+        available.keySet().retainAll(snapshot.keySet());
+        snapshot.forEach((cylinderNo, amount) ->
+            available.computeIfAbsent(cylinderNo, no -> new AtomicLong()).set(Math.max(amount, 0)));
+    }
+
+    /**
+     * 预留油量，余量不足时不做任何修改
+     *
+     * @param cylinderNo 油缸编号
+     * @param amount     预留油量（mL）
+     * @return 是否预留成功
+     */
+    public boolean tryReserve(int cylinderNo, long amount) {
+        AtomicLong counter = available.get(cylinderNo);
+        if (counter == null) {
+            return true;
+        }
+        while (true) {
+            long current = counter.get();
+            if (current < amount) {
+                return false;
+            }
+            if (counter.compareAndSet(current, current - amount)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * 释放之前的预留
+     *
+     * @param cylinderNo 油缸编号
+     * @param amount     释放油量（mL）
+     */
+    public void release(int cylinderNo, long amount) {
+        AtomicLong counter = available.get(cylinderNo);
+        if (counter != null) {
+            counter.addAndGet(amount);
+        }
+    }
+
+    /**
+     * @param cylinderNo 油缸编号
+     * @return 可预留油量（mL），未登记的油缸为 {@link Long#MAX_VALUE}
+     */
+    public long available(int cylinderNo) {
+        AtomicLong counter = available.get(cylinderNo);
+        return counter == null ? Long.MAX_VALUE : counter.get();
+    }
+}
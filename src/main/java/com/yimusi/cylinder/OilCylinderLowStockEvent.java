@@ -0,0 +1,11 @@
+package com.yimusi.cylinder;
+
+/**
+ * 油缸剩余油量降到告警阈值以下时发布的应用事件，每次跌破阈值只发布一次
+ *
+ * @param cylinderNo        油缸编号
+ * @param remaining         剩余油量（mL）
+ * @param lowStockThreshold 告警阈值（mL）
+ */
+public record OilCylinderLowStockEvent(int cylinderNo, long remaining, long lowStockThreshold) {
+}
@@ -0,0 +1,68 @@
+package com.yimusi.diagnosis;
+
+import com.yimusi.enums.DgaFault;
+import com.yimusi.enums.DgaMethod;
+
+/**
+ * DGA 故障诊断入口.
+ * <p>
+ * 单条与批量诊断都只做基本类型运算与查表，不分配对象；批量诊断把方法分派放在循环外，
+ * 结果写入调用方提供的数组（枚举常量引用），便于在大批量历史读数上重复使用同一缓冲区.
+ * </p>
+ */
+public final class DgaDiagnosis {
+
+    private DgaDiagnosis() {
+    }
+
+    /**
+     * 诊断单条读数
+     *
+     * @param method 诊断方法
+     * @return 故障类型
+     */
+    public static DgaFault diagnose(DgaMethod method, double h2, double ch4, double c2h6, double c2h4, double c2h2) {
+        return switch (method) {
+            case DUVAL_TRIANGLE -> DuvalTriangle.diagnose(ch4, c2h4, c2h2);
+            case DUVAL_PENTAGON -> DuvalPentagon.diagnose(h2, c2h6, ch4, c2h4, c2h2);
+            case ROGERS -> GasRatios.rogers(h2, ch4, c2h6, c2h4, c2h2);
+            case IEC_60599 -> GasRatios.iec60599(h2, ch4, c2h6, c2h4, c2h2);
+        };
+    }
+
+    /**
+     * 批量诊断
+     *
+     * @param method   诊断方法
+     * @param readings 读数
+     * @param out      结果数组，长度不小于读数条数
+     */
+    public static void diagnose(DgaMethod method, DgaReadings readings, DgaFault[] out) {
+        int n = readings.size();
+        switch (method) {
+            case DUVAL_TRIANGLE -> {
+                for (int i = 0; i < n; i++) {
+                    out[i] = DuvalTriangle.diagnose(readings.ch4(i), readings.c2h4(i), readings.c2h2(i));
+                }
+            }
+            case DUVAL_PENTAGON -> {
+                for (int i = 0; i < n; i++) {
+                    out[i] = DuvalPentagon.diagnose(readings.h2(i), readings.c2h6(i), readings.ch4(i), readings.c2h4(i),
+                        readings.c2h2(i));
+                }
+            }
+            case ROGERS -> {
+                for (int i = 0; i < n; i++) {
+                    out[i] = GasRatios.rogers(readings.h2(i), readings.ch4(i), readings.c2h6(i), readings.c2h4(i),
+                        readings.c2h2(i));
+                }
+            }
+            case IEC_60599 -> {
+                for (int i = 0; i < n; i++) {
+                    out[i] = GasRatios.iec60599(readings.h2(i), readings.ch4(i), readings.c2h6(i), readings.c2h4(i),
+                        readings.c2h2(i));
+                }
+            }
+        }
+    }
+}
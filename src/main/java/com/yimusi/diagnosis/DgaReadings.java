@@ -0,0 +1,118 @@
+package com.yimusi.diagnosis;
+
+import com.yimusi.telemetry.ReadingSeries;
+import java.util.Arrays;
+
+/**
+ * 按列存储的一批 DGA 读数（μL/L），每种参与诊断的气体一个 double 数组，避免逐点装箱.
+ */
+public final class DgaReadings {
+
+    private long[] timestamps;
+    private double[] h2;
+    private double[] ch4;
+    private double[] c2h6;
+    private double[] c2h4;
+    private double[] c2h2;
+    private int size;
+
+    public DgaReadings(int initialCapacity) {
+        int capacity = Math.max(1, initialCapacity);
+        timestamps = new long[capacity];
+        h2 = new double[capacity];
+        ch4 = new double[capacity];
+        c2h6 = new double[capacity];
+        c2h4 = new double[capacity];
+        c2h2 = new double[capacity];
+    }
+
+    /**
+     * 将设备各气体独立上报的读数序列按时间对齐：在任一气体出现读数的时刻取各气体最近一次读数，
+     * 五种气体都出现过读数之后的时刻才参与诊断.
+     *
+     * @return 对齐后的读数
+     */
+    public static DgaReadings align(ReadingSeries h2, ReadingSeries ch4, ReadingSeries c2h6, ReadingSeries c2h4,
+                                    ReadingSeries c2h2) {
+        ReadingSeries[] series = {h2, ch4, c2h6, c2h4, c2h2};
+        int[] cursors = new int[series.length];
+        double[] latest = new double[series.length];
+        Arrays.fill(latest, Double.NaN);
+        int capacity = 0;
+        for (ReadingSeries s : series) {
+            capacity = Math.max(capacity, s.size());
+        }
+        DgaReadings readings = new DgaReadings(capacity);
+        while (true) {
+            long next = Long.MAX_VALUE;
+            for (int g = 0; g < series.length; g++) {
+                if (cursors[g] < series[g].size()) {
+                    next = Math.min(next, series[g].timestampAt(cursors[g]));
+                }
+            }
+            if (next == Long.MAX_VALUE) {
+                return readings;
+            }
+            boolean complete = true;
+            for (int g = 0; g < series.length; g++) {
+                while (cursors[g] < series[g].size() && series[g].timestampAt(cursors[g]) == next) {
+                    latest[g] = series[g].valueAt(cursors[g]++);
+                }
+                complete &= !Double.isNaN(latest[g]);
+            }
+            if (complete) {
+                readings.add(next, latest[0], latest[1], latest[2], latest[3], latest[4]);
+            }
+        }
+    }
+
+    /**
+     * 追加一条读数
+     */
+    public void add(long timestamp, double h2Value, double ch4Value, double c2h6Value, double c2h4Value, double c2h2Value) {
+        if (size == timestamps.length) {
+            int capacity = size << 1;
+            timestamps = Arrays.copyOf(timestamps, capacity);
+            h2 = Arrays.copyOf(h2, capacity);
+            ch4 = Arrays.copyOf(ch4, capacity);
+            c2h6 = Arrays.copyOf(c2h6, capacity);
+            c2h4 = Arrays.copyOf(c2h4, capacity);
+            c2h2 = Arrays.copyOf(c2h2, capacity);
+        }
+        timestamps[size] = timestamp;
+        h2[size] = h2Value;
+        ch4[size] = ch4Value;
+        c2h6[size] = c2h6Value;
+        c2h4[size] = c2h4Value;
+        c2h2[size] = c2h2Value;
+        size++;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public long timestampAt(int index) {
+        return timestamps[index];
+    }
+
+    double h2(int index) {
+        return h2[index];
+    }
+
+    double ch4(int index) {
+        return ch4[index];
+    }
+
+    double c2h6(int index) {
+        return c2h6[index];
+    }
+
+    double c2h4(int index) {
+        return c2h4[index];
+    }
+
+    double c2h2(int index) {
+        return c2h2[index];
+    }
+}
@@ -0,0 +1,115 @@
+package com.yimusi.diagnosis;
+
+import com.yimusi.enums.DgaFault;
+
+/**
+ * Duval 五边形法（五边形 1）.
+ * <p>
+ * H2、C2H6、CH4、C2H4、C2H2 五种气体的相对百分比分别画在五边形的五条轴上
+ * （H2 朝上，其余按逆时针间隔 72°），五个点围成的多边形形心即为诊断点.
+ * 形心坐标落在半径 40 的五边形内，查找表以 0.1 为步长覆盖 [-40, 40]²，按格子中心判定所属区域.
+ * </p>
+ */
+public final class DuvalPentagon {
+
+    private static final double STEP = 0.1;
+    private static final double RADIUS = 40;
+
+    /** 各轴方向的单位向量，顺序为 H2、C2H6、CH4、C2H4、C2H2 */
+    private static final double[] AXIS_X = new double[5];
+    private static final double[] AXIS_Y = new double[5];
+
+    static {
+        for (int k = 0; k < 5; k++) {
+            double angle = Math.toRadians(90 + 72 * k);
+            AXIS_X[k] = Math.cos(angle);
+            AXIS_Y[k] = Math.sin(angle);
+        }
+    }
+
+    /** 五边形 1 的区域顶点，按判定优先级排列 */
+    private static final DgaFault[] ZONES = {DgaFault.PD, DgaFault.D1, DgaFault.D2, DgaFault.T3, DgaFault.T2, DgaFault.T1, DgaFault.S};
+    private static final double[][][] POLYGONS = {
+        {{0, 33}, {-1, 33}, {-1, 24.5}, {0, 24.5}},
+        {{0, 40}, {38, 12.4}, {32, -6.1}, {4, 16}, {0, 1.5}},
+        {{4, 16}, {32, -6.1}, {24.3, -30}, {0, -3}, {0, 1.5}},
+        {{0, -3}, {24.3, -30}, {23.5, -32.4}, {1, -32.4}, {-6, -4}},
+        {{-6, -4}, {1, -32.4}, {-22.5, -32.4}},
+        {{-6, -4}, {-22.5, -32.4}, {-23.5, -32.4}, {-35, 3.1}, {0, 1.5}, {0, -3}},
+        {{0, 1.5}, {-35, 3.1}, {-38, 12.4}, {0, 40}, {0, 33}, {-1, 33}, {-1, 24.5}, {0, 24.5}}
+    };
+
+    private static final ZoneTable TABLE = new ZoneTable(-RADIUS, -RADIUS, RADIUS, RADIUS, STEP, true, DuvalPentagon::classify);
+
+    private DuvalPentagon() {
+    }
+
+    /**
+     * 诊断一组气体含量（μL/L）
+     *
+     * @return 故障类型，五者之和为 0 或存在无效值时返回 {@link DgaFault#UNDETERMINED}
+     */
+    public static DgaFault diagnose(double h2, double c2h6, double ch4, double c2h4, double c2h2) {
+        double total = h2 + c2h6 + ch4 + c2h4 + c2h2;
+        if (!(total > 0) || h2 < 0 || c2h6 < 0 || ch4 < 0 || c2h4 < 0 || c2h2 < 0) {
+            return DgaFault.UNDETERMINED;
+        }
+        double scale = 100 / total;
+        double x0 = AXIS_X[0] * h2 * scale;
+        double y0 = AXIS_Y[0] * h2 * scale;
+        double x1 = AXIS_X[1] * c2h6 * scale;
+        double y1 = AXIS_Y[1] * c2h6 * scale;
+        double x2 = AXIS_X[2] * ch4 * scale;
+        double y2 = AXIS_Y[2] * ch4 * scale;
+        double x3 = AXIS_X[3] * c2h4 * scale;
+        double y3 = AXIS_Y[3] * c2h4 * scale;
+        double x4 = AXIS_X[4] * c2h2 * scale;
+        double y4 = AXIS_Y[4] * c2h2 * scale;
+
+        // 多边形形心：Cx = Σ(xi + xi+1)·ci / 6A，ci = xi·yi+1 - xi+1·yi
+        double c01 = x0 * y1 - x1 * y0;
+        double c12 = x1 * y2 - x2 * y1;
+        double c23 = x2 * y3 - x3 * y2;
+        double c34 = x3 * y4 - x4 * y3;
+        double c40 = x4 * y0 - x0 * y4;
+        double area = (c01 + c12 + c23 + c34 + c40) / 2;
+        double cx;
+        double cy;
+        if (Math.abs(area) < 1e-9) {
+            // 只有一种或相邻两种气体时多边形退化，取顶点均值
+            cx = (x0 + x1 + x2 + x3 + x4) / 5;
+            cy = (y0 + y1 + y2 + y3 + y4) / 5;
+        } else {
+            double factor = 1 / (6 * area);
+            cx = ((x0 + x1) * c01 + (x1 + x2) * c12 + (x2 + x3) * c23 + (x3 + x4) * c34 + (x4 + x0) * c40) * factor;
+            cy = ((y0 + y1) * c01 + (y1 + y2) * c12 + (y2 + y3) * c23 + (y3 + y4) * c34 + (y4 + y0) * c40) * factor;
+        }
+        return TABLE.lookup(cx, cy);
+    }
+
+    /**
+     * 射线法判定点所在的区域，用于生成查找表
+     */
+    static DgaFault classify(double x, double y) {
+        for (int z = 0; z < POLYGONS.length; z++) {
+            if (contains(POLYGONS[z], x, y)) {
+                return ZONES[z];
+            }
+        }
+        return DgaFault.UNDETERMINED;
+    }
+
+    private static boolean contains(double[][] polygon, double x, double y) {
+        boolean inside = false;
+        for (int i = 0, j = polygon.length - 1; i < polygon.length; j = i++) {
+            double xi = polygon[i][0];
+            double yi = polygon[i][1];
+            double xj = polygon[j][0];
+            double yj = polygon[j][1];
+            if ((yi > y) != (yj > y) && x < (xj - xi) * (y - yi) / (yj - yi) + xi) {
+                inside = !inside;
+            }
+        }
+        return inside;
+    }
+}
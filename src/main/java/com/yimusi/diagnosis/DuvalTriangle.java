@@ -0,0 +1,65 @@
+package com.yimusi.diagnosis;
+
+import com.yimusi.enums.DgaFault;
+
+/**
+ * Duval 三角形法（三角形 1，适用于矿物油变压器）.
+ * <p>
+ * 以 CH4、C2H4、C2H2 三者之和为 100%，由 %C2H4 与 %C2H2 两个坐标确定三角形中的点.
+ * 各区域边界均为 0.1% 的整数倍，查找表以 0.1% 为步长、按格子左下角判定，边界判定与直接比较一致；
+ * 只有 PD 区域的斜边（%CH4 = 98%）不与网格对齐，查表前直接判断.
+ * </p>
+ */
+public final class DuvalTriangle {
+
+    private static final double STEP = 0.1;
+    private static final ZoneTable TABLE = new ZoneTable(0, 0, 100, 100, STEP, false, DuvalTriangle::classify);
+
+    private DuvalTriangle() {
+    }
+
+    /**
+     * 诊断一组气体含量（μL/L）
+     *
+     * @param ch4  甲烷
+     * @param c2h4 乙烯
+     * @param c2h2 乙炔
+     * @return 故障类型，三者之和为 0 或存在无效值时返回 {@link DgaFault#UNDETERMINED}
+     */
+    public static DgaFault diagnose(double ch4, double c2h4, double c2h2) {
+        double total = ch4 + c2h4 + c2h2;
+        if (!(total > 0) || ch4 < 0 || c2h4 < 0 || c2h2 < 0) {
+            return DgaFault.UNDETERMINED;
+        }
+        double scale = 100 / total;
+        if (ch4 * scale >= 98) {
+            return DgaFault.PD;
+        }
+        return TABLE.lookup(c2h4 * scale, c2h2 * scale);
+    }
+
+    /**
+     * 按 IEC 60599 附录中三角形 1 的区域边界判定，用于生成查找表
+     */
+    static DgaFault classify(double c2h4, double c2h2) {
+        if (c2h4 + c2h2 > 100 + 1e-9) {
+            return DgaFault.UNDETERMINED;
+        }
+        if (c2h2 < 4 && c2h4 < 20) {
+            return DgaFault.T1;
+        }
+        if (c2h2 < 4 && c2h4 < 50) {
+            return DgaFault.T2;
+        }
+        if (c2h2 < 15 && c2h4 >= 50) {
+            return DgaFault.T3;
+        }
+        if (c2h2 >= 13 && c2h4 < 23) {
+            return DgaFault.D1;
+        }
+        if (c2h2 >= 13 && (c2h2 >= 29 || c2h4 < 40)) {
+            return DgaFault.D2;
+        }
+        return DgaFault.DT;
+    }
+}
@@ -0,0 +1,82 @@
+package com.yimusi.diagnosis;
+
+import com.yimusi.enums.DgaFault;
+
+/**
+ * 气体比值诊断法：Rogers 比值法（IEEE C57.104）与 IEC 60599 三比值法.
+ * <p>
+ * 分母为 0 时比值按 IEEE 754 规则得到 +∞ 或 NaN，NaN 与任何阈值比较均不成立，自然落入"无法判断".
+ * </p>
+ */
+public final class GasRatios {
+
+    private GasRatios() {
+    }
+
+    /**
+     * Rogers 比值法
+     *
+     * @return 故障类型，比值组合不在判据表内时返回 {@link DgaFault#UNDETERMINED}
+     */
+    public static DgaFault rogers(double h2, double ch4, double c2h6, double c2h4, double c2h2) {
+        double r1 = ch4 / h2;
+        double r2 = c2h2 / c2h4;
+        double r5 = c2h4 / c2h6;
+        if (r2 < 0.1) {
+            if (r1 < 0.1 && r5 < 1) {
+                return DgaFault.PD;
+            }
+            if (r1 >= 0.1 && r1 <= 1) {
+                if (r5 < 1) {
+                    return DgaFault.NORMAL;
+                }
+                if (r5 <= 3) {
+                    return DgaFault.T1;
+                }
+            } else if (r1 > 1) {
+                if (r5 >= 1 && r5 <= 3) {
+                    return DgaFault.T2;
+                }
+                if (r5 > 3) {
+                    return DgaFault.T3;
+                }
+            }
+        } else if (r2 <= 3 && r1 >= 0.1 && r1 <= 1 && r5 > 3) {
+            return DgaFault.D2;
+        }
+        return DgaFault.UNDETERMINED;
+    }
+
+    /**
+     * IEC 60599 三比值法（C2H2/C2H4、CH4/H2、C2H4/C2H6）
+     *
+     * @return 故障类型，比值组合不在判据表内时返回 {@link DgaFault#UNDETERMINED}
+     */
+    public static DgaFault iec60599(double h2, double ch4, double c2h6, double c2h4, double c2h2) {
+        double acetyleneEthylene = c2h2 / c2h4;
+        double methaneHydrogen = ch4 / h2;
+        double ethyleneEthane = c2h4 / c2h6;
+        if (methaneHydrogen < 0.1 && ethyleneEthane < 0.2) {
+            return DgaFault.PD;
+        }
+        if (acetyleneEthylene > 1 && methaneHydrogen >= 0.1 && methaneHydrogen <= 0.5 && ethyleneEthane > 1) {
+            return DgaFault.D1;
+        }
+        if (acetyleneEthylene >= 0.6 && acetyleneEthylene <= 2.5 && methaneHydrogen >= 0.1 && methaneHydrogen <= 1
+                && ethyleneEthane > 2) {
+            return DgaFault.D2;
+        }
+        if (methaneHydrogen > 1) {
+            if (acetyleneEthylene < 0.2 && ethyleneEthane > 4) {
+                return DgaFault.T3;
+            }
+            if (acetyleneEthylene < 0.1 && ethyleneEthane >= 1 && ethyleneEthane <= 4) {
+                return DgaFault.T2;
+            }
+            if (ethyleneEthane < 1) {
+                return DgaFault.T1;
+            }
+        }
+        return DgaFault.UNDETERMINED;
+    }
+}
@@ -0,0 +1,73 @@
+package com.yimusi.diagnosis;
+
+import com.yimusi.enums.DgaFault;
+
+/**
+ * 二维平面上的故障区域查找表.
+ * <p>
+ * 启动时将平面按固定步长划分网格，逐格预先判定所属区域并以字节存储故障序号；
+ * 诊断时只需把坐标换算为格子下标后查表，不做任何多边形运算，也不分配对象.
+ * </p>
+ */
+final class ZoneTable {
+
+    /**
+     * 判定某一坐标所属的区域
+     */
+    @FunctionalInterface
+    interface Classifier {
+        DgaFault classify(double x, double y);
+    }
+
+    private final double minX;
+    private final double minY;
+    private final double inverseStep;
+    private final int width;
+    private final int height;
+    private final byte[] cells;
+
+    /**
+     * @param minX       网格左下角 x
+     * @param minY       网格左下角 y
+     * @param maxX       网格右上角 x
+     * @param maxY       网格右上角 y
+     * @param step       网格步长
+     * @param sampleAtCenter 以格子中心（true）或左下角（false）的坐标判定整个格子；
+     *                       区域边界落在网格线上时取左下角可使边界判定精确
+     * @param classifier 区域判定
+     */
+    ZoneTable(double minX, double minY, double maxX, double maxY, double step, boolean sampleAtCenter, Classifier classifier) {
+        this.minX = minX;
+        this.minY = minY;
+        this.inverseStep = 1 / step;
+        this.width = (int) Math.round((maxX - minX) / step) + 1;
+        this.height = (int) Math.round((maxY - minY) / step) + 1;
+        this.cells = new byte[width * height];
+        double offset = sampleAtCenter ? step / 2 : 0;
+        for (int i = 0; i < width; i++) {
+            for (int j = 0; j < height; j++) {
+                cells[i * height + j] = (byte) classifier.classify(minX + i * step + offset, minY + j * step + offset).ordinal();
+            }
+        }
+    }
+
+    /**
+     * 查找坐标所在格子的区域，超出网格范围时返回 {@link DgaFault#UNDETERMINED}
+     *
+     * @param x 横坐标
+     * @param y 纵坐标
+     * @return 故障类型
+     */
+    DgaFault lookup(double x, double y) {
+        // NaN 经 (int) 转换为 0，需单独排除
+        if (!(x >= minX && y >= minY)) {
+            return DgaFault.UNDETERMINED;
+        }
+        int i = (int) ((x - minX) * inverseStep + 1e-9);
+        int j = (int) ((y - minY) * inverseStep + 1e-9);
+        if (i >= width || j >= height) {
+            return DgaFault.UNDETERMINED;
+        }
+        return DgaFault.ofIndex(cells[i * height + j]);
+    }
+}
@@ -0,0 +1,36 @@
+package com.yimusi.dto.archive;
+
+import com.yimusi.enums.ArchiveTable;
+import java.util.Map;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 一轮软删除归档的结果 DTO
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ArchiveRunResult {
+
+    /**
+     * 各表本轮归档的行数
+     */
+    private Map<ArchiveTable, Integer> archivedRows;
+
+    /**
+     * 本轮执行的批次数（每批一个事务）
+     */
+    private int chunkCount;
+
+    /**
+     * 是否因达到单轮行数上限而提前结束，剩余行留待下一轮
+     */
+    private boolean truncated;
+
+    /**
+     * 归档耗时（毫秒，含批次间的限速等待）
+     */
+    private long elapsedMillis;
+}
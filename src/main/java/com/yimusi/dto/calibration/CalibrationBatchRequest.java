@@ -0,0 +1,25 @@
+package com.yimusi.dto.calibration;
+
+import com.yimusi.enums.CalibrationModel;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import java.util.List;
+import lombok.Data;
+
+/**
+ * 批量标定请求 DTO
+ */
+@Data
+public class CalibrationBatchRequest {
+
+    /**
+     * 参与标定的设备ID，为空时标定全部已标定状态的设备
+     */
+    @Size(max = 5000, message = "单次最多标定 5000 台设备")
+    private List<@NotNull(message = "设备ID不能为空") Long> deviceIds;
+
+    /**
+     * 标定模型，默认线性
+     */
+    private CalibrationModel model = CalibrationModel.LINEAR;
+}
@@ -0,0 +1,39 @@
+package com.yimusi.dto.calibration;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 批量标定结果 DTO
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CalibrationBatchResult {
+
+    /**
+     * 参与标定的设备数
+     */
+    private int deviceCount;
+
+    /**
+     * 至少一种气体拟合成功的设备数
+     */
+    private int calibratedCount;
+
+    /**
+     * 写入的气体标定条数
+     */
+    private int fitCount;
+
+    /**
+     * 并行拟合耗时（毫秒）
+     */
+    private long fitMillis;
+
+    /**
+     * 总耗时（毫秒，含加载标定点与写库）
+     */
+    private long elapsedMillis;
+}
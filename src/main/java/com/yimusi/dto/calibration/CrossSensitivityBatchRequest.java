@@ -0,0 +1,18 @@
+package com.yimusi.dto.calibration;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import java.util.List;
+import lombok.Data;
+
+/**
+ * 批量查询交叉敏感矩阵请求 DTO
+ */
+@Data
+public class CrossSensitivityBatchRequest {
+
+    @NotEmpty(message = "设备ID列表不能为空")
+    @Size(max = 5000, message = "单次最多查询 5000 台设备")
+    private List<@NotNull(message = "设备ID不能为空") Long> deviceIds;
+}
@@ -0,0 +1,37 @@
+package com.yimusi.dto.calibration;
+
+import com.yimusi.enums.GasType;
+import java.util.List;
+import lombok.Data;
+
+/**
+ * 设备交叉敏感矩阵响应 DTO
+ */
+@Data
+public class CrossSensitivityResponse {
+
+    /**
+     * 检测设备ID
+     */
+    private Long deviceId;
+
+    /**
+     * 参与分析的最新一次测试运行（作业）ID
+     */
+    private Long runId;
+
+    /**
+     * 参与分析的运行次数
+     */
+    private int runCount;
+
+    /**
+     * 矩阵行列对应的气体顺序
+     */
+    private List<GasType> gases;
+
+    /**
+     * 交叉敏感矩阵，matrix[i][j] 为气体 j 每单位浓度引起的气体 i 通道读数；缺少激励无法求解的元素为 null
+     */
+    private List<List<Double>> matrix;
+}
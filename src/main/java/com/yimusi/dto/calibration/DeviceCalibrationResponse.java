@@ -0,0 +1,59 @@
+package com.yimusi.dto.calibration;
+
+import com.yimusi.enums.CalibrationModel;
+import com.yimusi.enums.GasType;
+import java.time.Instant;
+import java.util.List;
+import lombok.Data;
+
+/**
+ * 设备气体标定系数响应 DTO
+ */
+@Data
+public class DeviceCalibrationResponse {
+
+    /**
+     * 检测设备ID
+     */
+    private Long deviceId;
+
+    /**
+     * 气体组分
+     */
+    private GasType gas;
+
+    /**
+     * 标定模型
+     */
+    private CalibrationModel model;
+
+    /**
+     * 按次数升序排列的曲线系数，参考值 = Σ c[k]·读数^k
+     */
+    private List<Double> coefficients;
+
+    /**
+     * 各标定点残差（参考值 - 拟合值）
+     */
+    private List<Double> residuals;
+
+    /**
+     * 标定点数
+     */
+    private int pointCount;
+
+    /**
+     * 残差均方根
+     */
+    private double rmse;
+
+    /**
+     * 最大绝对残差
+     */
+    private double maxResidual;
+
+    /**
+     * 标定时间
+     */
+    private Instant calibratedAt;
+}
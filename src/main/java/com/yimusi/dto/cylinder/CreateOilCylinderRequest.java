@@ -0,0 +1,30 @@
+package com.yimusi.dto.cylinder;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.PositiveOrZero;
+import lombok.Data;
+
+/**
+ * 登记油缸库存请求 DTO
+ */
+@Data
+public class CreateOilCylinderRequest {
+
+    @NotNull(message = "油缸编号不能为空")
+    private Integer cylinderNo;
+
+    @NotNull(message = "容量不能为空")
+    @Positive(message = "容量必须大于 0")
+    private Long capacity;
+
+    /**
+     * 剩余油量（mL），为空时按容量（满缸）登记
+     */
+    @PositiveOrZero(message = "剩余油量不能小于 0")
+    private Long remaining;
+
+    @NotNull(message = "低库存告警阈值不能为空")
+    @PositiveOrZero(message = "低库存告警阈值不能小于 0")
+    private Long lowStockThreshold;
+}
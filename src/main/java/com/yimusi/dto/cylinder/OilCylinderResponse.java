@@ -0,0 +1,51 @@
+package com.yimusi.dto.cylinder;
+
+import java.time.Instant;
+import lombok.Data;
+
+/**
+ * 油缸库存响应 DTO
+ */
+@Data
+public class OilCylinderResponse {
+
+    /**
+     * 主键ID
+     */
+    private Long id;
+
+    /**
+     * 油缸编号
+     */
+    private Integer cylinderNo;
+
+    /**
+     * 容量（mL）
+     */
+    private Long capacity;
+
+    /**
+     * 剩余油量（mL）
+     */
+    private Long remaining;
+
+    /**
+     * 低库存告警阈值（mL）
+     */
+    private Long lowStockThreshold;
+
+    /**
+     * 是否低于告警阈值
+     */
+    private boolean lowStock;
+
+    /**
+     * 创建时间
+     */
+    private Instant createdAt;
+
+    /**
+     * 更新时间
+     */
+    private Instant updatedAt;
+}
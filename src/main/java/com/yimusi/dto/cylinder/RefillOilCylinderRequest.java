@@ -0,0 +1,17 @@
+package com.yimusi.dto.cylinder;
+
+import jakarta.validation.constraints.Positive;
+import lombok.Data;
+
+/**
+ * 油缸补油请求 DTO
+ */
+@Data
+public class RefillOilCylinderRequest {
+
+    /**
+     * 补充油量（mL），为空时补满；补充后不超过容量
+     */
+    @Positive(message = "补充油量必须大于 0")
+    private Long amount;
+}
@@ -0,0 +1,21 @@
+package com.yimusi.dto.diagnosis;
+
+import com.yimusi.enums.GasType;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.PositiveOrZero;
+import java.util.Map;
+import lombok.Data;
+
+/**
+ * 单条读数 DGA 诊断请求 DTO
+ */
+@Data
+public class DgaDiagnosisRequest {
+
+    /**
+     * 各气体含量（μL/L），参数名与油样参数一致；未提供的气体按 0 计
+     */
+    @NotEmpty(message = "气体含量不能为空")
+    private Map<GasType, @NotNull(message = "气体含量不能为空") @PositiveOrZero(message = "气体含量不能为负数") Double> gases;
+}
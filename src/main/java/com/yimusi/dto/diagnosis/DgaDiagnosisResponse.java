@@ -0,0 +1,22 @@
+package com.yimusi.dto.diagnosis;
+
+import com.yimusi.enums.DgaFault;
+import com.yimusi.enums.DgaMethod;
+import java.util.Map;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 单条读数 DGA 诊断结果 DTO
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DgaDiagnosisResponse {
+
+    /**
+     * 各诊断方法的结论
+     */
+    private Map<DgaMethod, DgaFault> results;
+}
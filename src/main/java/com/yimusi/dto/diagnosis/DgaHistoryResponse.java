@@ -0,0 +1,81 @@
+package com.yimusi.dto.diagnosis;
+
+import com.yimusi.enums.DgaFault;
+import com.yimusi.enums.DgaMethod;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 设备历史读数 DGA 诊断结果 DTO
+ */
+@Data
+public class DgaHistoryResponse {
+
+    private String deviceNo;
+
+    private Instant from;
+
+    private Instant to;
+
+    /**
+     * 参与诊断的读数条数（各气体按时间对齐后）
+     */
+    private int sampleCount;
+
+    /**
+     * 各诊断方法的统计结果
+     */
+    private Map<DgaMethod, MethodSummary> methods;
+
+    /**
+     * 单个诊断方法在时间范围内的统计
+     */
+    @Data
+    public static class MethodSummary {
+
+        /**
+         * 最近一条读数的结论
+         */
+        private DgaFault latest;
+
+        /**
+         * 各结论的读数条数
+         */
+        private Map<DgaFault, Integer> counts;
+
+        /**
+         * 结论连续相同的时间段，按时间升序
+         */
+        private List<Segment> segments;
+    }
+
+    /**
+     * 结论连续相同的一段读数
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Segment {
+
+        private DgaFault fault;
+
+        /**
+         * 首条读数时间
+         */
+        private Instant from;
+
+        /**
+         * 末条读数时间
+         */
+        private Instant to;
+
+        /**
+         * 读数条数
+         */
+        private int count;
+    }
+}
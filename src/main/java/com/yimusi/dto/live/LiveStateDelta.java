@@ -0,0 +1,98 @@
+package com.yimusi.dto.live;
+
+import com.yimusi.enums.InspectionDeviceStatus;
+import com.yimusi.enums.LiveTargetType;
+import java.time.Instant;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 检测设备 / 测试工位实时状态变更 DTO。
+ * <p>
+ * 既作为服务层发布的应用事件，也作为推送给订阅方的数据。
+ * 只携带发生变化的字段，未变化的字段为 null；同一对象在合并窗口内的多次变更会合并为一条。
+ * </p>
+ */
+@Data
+@NoArgsConstructor
+public class LiveStateDelta {
+
+    /**
+     * 对象类型
+     */
+    private LiveTargetType type;
+
+    /**
+     * 设备ID或工位ID
+     */
+    private Long id;
+
+    /**
+     * 设备所属项目ID，工位为 null
+     */
+    private Long projectId;
+
+    /**
+     * 设备编号或工位编号
+     */
+    private String code;
+
+    /**
+     * 设备状态
+     */
+    private InspectionDeviceStatus status;
+
+    /**
+     * 工位是否启用
+     */
+    private Boolean enabled;
+
+    /**
+     * 是否可达（最近是否有通信）
+     */
+    private Boolean reachable;
+
+    /**
+     * 是否已删除（或已移出订阅范围）
+     */
+    private Boolean removed;
+
+    /**
+     * 变更时间
+     */
+    private Instant changedAt;
+
+    public LiveStateDelta(LiveTargetType type, Long id) {
+        this.type = type;
+        this.id = id;
+        this.changedAt = Instant.now();
+    }
+
+    /**
+     * 构造检测设备状态变更
+     *
+     * @param id        设备ID
+     * @param projectId 所属项目ID
+     * @param deviceNo  设备编号
+     * @return 变更对象
+     */
+    public static LiveStateDelta device(Long id, Long projectId, String deviceNo) {
+        LiveStateDelta delta = new LiveStateDelta(LiveTargetType.DEVICE, id);
+        delta.setProjectId(projectId);
+        delta.setCode(deviceNo);
+        return delta;
+    }
+
+    /**
+     * 构造测试工位状态变更
+     *
+     * @param id        工位ID
+     * @param stationNo 工位编号
+     * @return 变更对象
+     */
+    public static LiveStateDelta station(Long id, Integer stationNo) {
+        LiveStateDelta delta = new LiveStateDelta(LiveTargetType.STATION, id);
+        delta.setCode(stationNo == null ? null : String.valueOf(stationNo));
+        return delta;
+    }
+}
@@ -1,7 +1,11 @@
 package com.yimusi.dto.oilsample;
 
 import com.yimusi.dto.common.PageRequest;
+import com.yimusi.enums.GasType;
 import com.yimusi.enums.OilSampleUsage;
+import java.math.BigDecimal;
+import java.util.EnumMap;
+import java.util.Map;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
 
@@ -36,4 +40,27 @@ public class OilSamplePageRequest extends PageRequest {
      * 油缸编号筛选
      */
     private Integer cylinderNo;
+
+    /**
+     * 气体含量范围筛选（闭区间），可同时指定多种气体，需全部满足。
+     * 查询参数形如 gasRanges[CH4].min=0.05&amp;gasRanges[CH4].max=0.2
+     */
+    private Map<GasType, GasRange> gasRanges = new EnumMap<>(GasType.class);
+
+    /**
+     * 单种气体的含量范围，上下限均可为空
+     */
+    @Data
+    public static class GasRange {
+
+        /**
+         * 下限（包含）
+         */
+        private BigDecimal min;
+
+        /**
+         * 上限（包含）
+         */
+        private BigDecimal max;
+    }
 }
@@ -0,0 +1,49 @@
+package com.yimusi.dto.telemetry;
+
+import com.yimusi.enums.GasType;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import lombok.Data;
+
+/**
+ * 批量上报设备读数请求 DTO，一次请求对应一台检测设备。
+ */
+@Data
+public class ReadingIngestRequest {
+
+    /**
+     * 检测设备编号
+     */
+    @NotBlank(message = "设备编号不能为空")
+    private String deviceNo;
+
+    /**
+     * 读数列表
+     */
+    @NotEmpty(message = "读数列表不能为空")
+    @Size(max = 10000, message = "单次上报的读数不能超过 10000 条")
+    @Valid
+    private List<ReadingItem> readings = new ArrayList<>();
+
+    /**
+     * 单条读数
+     */
+    @Data
+    public static class ReadingItem {
+
+        @NotNull(message = "气体组分不能为空")
+        private GasType gas;
+
+        @NotNull(message = "采样时间不能为空")
+        private Instant sampledAt;
+
+        @NotNull(message = "读数值不能为空")
+        private Double value;
+    }
+}
@@ -0,0 +1,24 @@
+package com.yimusi.dto.telemetry;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 批量上报设备读数响应 DTO
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReadingIngestResponse {
+
+    /**
+     * 设备编号
+     */
+    private String deviceNo;
+
+    /**
+     * 已进入写入队列的读数条数
+     */
+    private int accepted;
+}
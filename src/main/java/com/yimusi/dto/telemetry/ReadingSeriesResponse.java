@@ -0,0 +1,70 @@
+package com.yimusi.dto.telemetry;
+
+import com.yimusi.enums.GasType;
+import com.yimusi.enums.ReadingResolution;
+import java.time.Instant;
+import lombok.Data;
+
+/**
+ * 设备读数时间序列响应 DTO
+ * 时间戳与读数以等长数组返回，减少逐点对象的序列化开销；
+ * 汇总精度下 timestamps 为时间桶起始时间、values 为平均值，并额外返回最小值、最大值、点数与最晚读数
+ */
+@Data
+public class ReadingSeriesResponse {
+
+    /**
+     * 设备编号
+     */
+    private String deviceNo;
+
+    /**
+     * 气体组分
+     */
+    private GasType gas;
+
+    /**
+     * 实际使用的数据精度
+     */
+    private ReadingResolution resolution;
+
+    /**
+     * 查询起始时间（包含）
+     */
+    private Instant from;
+
+    /**
+     * 查询结束时间（不包含）
+     */
+    private Instant to;
+
+    /**
+     * 采样时间或时间桶起始时间（epoch 毫秒），升序排列
+     */
+    private long[] timestamps;
+
+    /**
+     * 读数值（汇总精度下为平均值），与 timestamps 一一对应
+     */
+    private double[] values;
+
+    /**
+     * 时间桶最小值，原始精度下为 null
+     */
+    private double[] minValues;
+
+    /**
+     * 时间桶最大值，原始精度下为 null
+     */
+    private double[] maxValues;
+
+    /**
+     * 时间桶读数点数，原始精度下为 null
+     */
+    private long[] counts;
+
+    /**
+     * 时间桶内最晚的读数，原始精度下为 null
+     */
+    private double[] lastValues;
+}
@@ -0,0 +1,34 @@
+package com.yimusi.dto.testjob;
+
+import com.yimusi.enums.OilSampleUsage;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import java.util.List;
+import lombok.Data;
+
+/**
+ * 提交测试作业请求 DTO，为每台设备创建一条作业
+ */
+@Data
+public class CreateTestJobRequest {
+
+    @NotEmpty(message = "设备ID列表不能为空")
+    @Size(max = 5000, message = "单次最多提交 5000 台设备")
+    private List<@NotNull(message = "设备ID不能为空") Long> deviceIds;
+
+    @NotNull(message = "测试类型不能为空")
+    private OilSampleUsage usage;
+
+    /**
+     * 优先级，数值越大越先调度
+     */
+    private Integer priority = 0;
+
+    /**
+     * 指定使用的油样ID，为空时使用任意同用途的启用油样
+     */
+    private Long oilSampleId;
+
+    private String remark;
+}
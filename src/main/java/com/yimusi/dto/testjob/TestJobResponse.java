@@ -0,0 +1,116 @@
+package com.yimusi.dto.testjob;
+
+import com.yimusi.entity.OilSampleParameter;
+import com.yimusi.enums.InspectionDeviceStatus;
+import com.yimusi.enums.OilSampleUsage;
+import com.yimusi.enums.TestJobStatus;
+import java.time.Instant;
+import java.util.List;
+import lombok.Data;
+
+/**
+ * 测试作业响应 DTO
+ */
+@Data
+public class TestJobResponse {
+
+    /**
+     * 主键ID
+     */
+    private Long id;
+
+    /**
+     * 检测设备ID
+     */
+    private Long deviceId;
+
+    /**
+     * 测试类型
+     */
+    private OilSampleUsage usage;
+
+    /**
+     * 优先级
+     */
+    private Integer priority;
+
+    /**
+     * 指定的油样ID
+     */
+    private Long requestedOilSampleId;
+
+    /**
+     * 作业状态
+     */
+    private TestJobStatus status;
+
+    /**
+     * 分配的工位ID
+     */
+    private Long stationId;
+
+    /**
+     * 分配的油样ID
+     */
+    private Long oilSampleId;
+
+    /**
+     * 分配的油缸编号
+     */
+    private Integer cylinderNo;
+
+    /**
+     * 已尝试执行次数
+     */
+    private Integer attempts;
+
+    /**
+     * 最大尝试次数
+     */
+    private Integer maxAttempts;
+
+    /**
+     * 执行节点
+     */
+    private String leaseOwner;
+
+    /**
+     * 测试结论
+     */
+    private InspectionDeviceStatus resultStatus;
+
+    /**
+     * 采样结果
+     */
+    private List<OilSampleParameter> measurements;
+
+    /**
+     * 分配时间
+     */
+    private Instant assignedAt;
+
+    /**
+     * 开始执行时间
+     */
+    private Instant startedAt;
+
+    /**
+     * 结束时间
+     */
+    private Instant finishedAt;
+
+    /**
+     * 备注
+     */
+    private String remark;
+
+    /**
+     * 创建时间
+     */
+    private Instant createdAt;
+
+    /**
+     * 更新时间
+     */
+    private Instant updatedAt;
+}
@@ -0,0 +1,29 @@
+package com.yimusi.dto.testjob;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 一轮调度的结果 DTO
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TestJobScheduleResult {
+
+    /**
+     * 本轮参与调度的待分配作业数
+     */
+    private int pendingCount;
+
+    /**
+     * 本轮成功分配的作业数
+     */
+    private int assignedCount;
+
+    /**
+     * 调度耗时（毫秒，含加载快照与写库）
+     */
+    private long elapsedMillis;
+}
@@ -0,0 +1,72 @@
+package com.yimusi.entity;
+
+import com.yimusi.enums.CalibrationModel;
+import com.yimusi.enums.GasType;
+import jakarta.persistence.*;
+import java.time.Instant;
+import java.util.List;
+import lombok.Data;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+/**
+ * 设备标定系数，对应数据库中的 "device_calibrations" 表。
+ * <p>
+ * 每台设备每种气体一行，保存最近一次批量标定拟合出的曲线系数与各标定点残差。
+ * 该表由 {@link com.yimusi.repository.DeviceCalibrationJdbcRepository} 以 upsert 方式批量写入。
+ * </p>
+ */
+@Data
+@Entity
+@Table(name = "device_calibrations",
+    uniqueConstraints = {
+        @UniqueConstraint(name = "uk_device_calibrations_device_gas", columnNames = { "device_id", "gas" })
+    }
+)
+public class DeviceCalibration {
+
+    /** 主键ID */
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /** 检测设备ID */
+    @Column(name = "device_id", nullable = false)
+    private Long deviceId;
+
+    /** 气体组分 */
+    @Enumerated(EnumType.STRING)
+    @Column(name = "gas", nullable = false, length = 10)
+    private GasType gas;
+
+    /** 标定模型 */
+    @Enumerated(EnumType.STRING)
+    @Column(name = "model", nullable = false, length = 20)
+    private CalibrationModel model;
+
+    /** 按次数升序排列的曲线系数(JSON) */
+    @JdbcTypeCode(SqlTypes.JSON)
+    @Column(name = "coefficients", nullable = false, columnDefinition = "json")
+    private List<Double> coefficients;
+
+    /** 各标定点残差(JSON)，参考值 - 拟合值 */
+    @JdbcTypeCode(SqlTypes.JSON)
+    @Column(name = "residuals", nullable = false, columnDefinition = "json")
+    private List<Double> residuals;
+
+    /** 标定点数 */
+    @Column(name = "point_count", nullable = false)
+    private int pointCount;
+
+    /** 残差均方根 */
+    @Column(name = "rmse", nullable = false)
+    private double rmse;
+
+    /** 最大绝对残差 */
+    @Column(name = "max_residual", nullable = false)
+    private double maxResidual;
+
+    /** 标定时间 */
+    @Column(name = "calibrated_at", nullable = false)
+    private Instant calibratedAt;
+}
@@ -0,0 +1,48 @@
+package com.yimusi.entity;
+
+import com.yimusi.enums.GasType;
+import jakarta.persistence.*;
+import java.time.Instant;
+import lombok.Data;
+
+/**
+ * 检测设备上报的单点气体读数，对应数据库中的 "device_readings" 表。
+ * <p>
+ * 该表只追加写入，由遥测写入线程通过多行 JDBC 批量插入，不参与审计与软删除。
+ * </p>
+ */
+@Data
+@Entity
+@Table(name = "device_readings",
+    indexes = {
+        @Index(name = "idx_device_readings_device_gas_time", columnList = "device_id,gas,sampled_at")
+    }
+)
+public class DeviceReading {
+
+    /** 主键ID */
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /** 检测设备ID，关联 inspection_devices 表 */
+    @Column(name = "device_id", nullable = false)
+    private Long deviceId;
+
+    /** 气体组分 */
+    @Enumerated(EnumType.STRING)
+    @Column(name = "gas", nullable = false, length = 10)
+    private GasType gas;
+
+    /** 采样时间（设备侧时间戳） */
+    @Column(name = "sampled_at", nullable = false)
+    private Instant sampledAt;
+
+    /** 读数值 */
+    @Column(name = "reading_value", nullable = false)
+    private double value;
+
+    /** 平台接收时间 */
+    @Column(name = "received_at", nullable = false)
+    private Instant receivedAt;
+}
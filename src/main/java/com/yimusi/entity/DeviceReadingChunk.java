@@ -0,0 +1,59 @@
+package com.yimusi.entity;
+
+import com.yimusi.enums.GasType;
+import jakarta.persistence.*;
+import java.time.Instant;
+import lombok.Data;
+
+/**
+ * 设备读数压缩数据块，对应数据库中的 "device_reading_chunks" 表。
+ * <p>
+ * 每个数据块保存一台设备、一种气体在一个固定时间窗口内的全部读数，
+ * 时间戳采用 delta-of-delta 编码、读数采用异或压缩（Gorilla 格式），
+ * 由 {@link com.yimusi.telemetry.codec.GorillaCodec} 负责编解码。
+ * </p>
+ */
+@Data
+@Entity
+@Table(name = "device_reading_chunks",
+    uniqueConstraints = {
+        @UniqueConstraint(name = "uk_device_reading_chunks_window", columnNames = { "device_id", "gas", "window_start" })
+    }
+)
+public class DeviceReadingChunk {
+
+    /** 主键ID */
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /** 检测设备ID */
+    @Column(name = "device_id", nullable = false)
+    private Long deviceId;
+
+    /** 气体组分 */
+    @Enumerated(EnumType.STRING)
+    @Column(name = "gas", nullable = false, length = 10)
+    private GasType gas;
+
+    /** 时间窗口起始时间（包含） */
+    @Column(name = "window_start", nullable = false)
+    private Instant windowStart;
+
+    /** 时间窗口结束时间（不包含） */
+    @Column(name = "window_end", nullable = false)
+    private Instant windowEnd;
+
+    /** 数据块内的点数 */
+    @Column(name = "point_count", nullable = false)
+    private int pointCount;
+
+    /** 压缩后的数据 */
+    @Lob
+    @Column(name = "payload", nullable = false, columnDefinition = "mediumblob")
+    private byte[] payload;
+
+    /** 最后一次压缩写入时间 */
+    @Column(name = "compacted_at", nullable = false)
+    private Instant compactedAt;
+}
@@ -0,0 +1,75 @@
+package com.yimusi.entity;
+
+import com.yimusi.enums.GasType;
+import com.yimusi.enums.ReadingResolution;
+import jakarta.persistence.*;
+import java.time.Instant;
+import lombok.Data;
+
+/**
+ * 设备读数汇总，对应数据库中的 "device_reading_rollups" 表。
+ * <p>
+ * 每行保存一台设备、一种气体在一个时间桶（1 分钟 / 1 小时 / 1 天）内读数的
+ * 最小值、最大值、总和、点数与最晚读数，平均值 = 总和 / 点数。
+ * 该表由 {@link com.yimusi.repository.DeviceReadingRollupJdbcRepository} 以 upsert 方式维护，实体类仅用于描述表结构。
+ * </p>
+ */
+@Data
+@Entity
+@Table(name = "device_reading_rollups",
+    uniqueConstraints = {
+        @UniqueConstraint(
+            name = "uk_device_reading_rollups_bucket",
+            columnNames = { "device_id", "gas", "resolution", "bucket_start" }
+        )
+    }
+)
+public class DeviceReadingRollup {
+
+    /** 主键ID */
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /** 检测设备ID */
+    @Column(name = "device_id", nullable = false)
+    private Long deviceId;
+
+    /** 气体组分 */
+    @Enumerated(EnumType.STRING)
+    @Column(name = "gas", nullable = false, length = 10)
+    private GasType gas;
+
+    /** 汇总精度 */
+    @Enumerated(EnumType.STRING)
+    @Column(name = "resolution", nullable = false, length = 10)
+    private ReadingResolution resolution;
+
+    /** 时间桶起始时间 */
+    @Column(name = "bucket_start", nullable = false)
+    private Instant bucketStart;
+
+    /** 最小值 */
+    @Column(name = "min_value", nullable = false)
+    private double minValue;
+
+    /** 最大值 */
+    @Column(name = "max_value", nullable = false)
+    private double maxValue;
+
+    /** 读数总和 */
+    @Column(name = "sum_value", nullable = false)
+    private double sumValue;
+
+    /** 读数点数 */
+    @Column(name = "sample_count", nullable = false)
+    private long sampleCount;
+
+    /** 时间桶内最晚的读数 */
+    @Column(name = "last_value", nullable = false)
+    private double lastValue;
+
+    /** 最晚读数的采样时间 */
+    @Column(name = "last_sampled_at", nullable = false)
+    private Instant lastSampledAt;
+}
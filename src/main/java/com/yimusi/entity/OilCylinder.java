@@ -0,0 +1,42 @@
+package com.yimusi.entity;
+
+import com.yimusi.entity.base.AuditableEntity;
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+
+/**
+ * 油缸库存实体，对应数据库中的 "oil_cylinders" 表。
+ * <p>
+ * 油缸以 {@link OilSample#getCylinderNo()} 关联油样，油量单位为 mL。
+ * 测试运行抽油时由 {@link com.yimusi.repository.OilCylinderJdbcRepository} 以条件 UPDATE 扣减剩余油量，
+ * 余量不足时扣减失败，剩余油量不会小于 0。未登记库存的油缸不限制用量。
+ * </p>
+ */
+@Data
+@EqualsAndHashCode(callSuper = true)
+@Entity
+@Table(name = "oil_cylinders")
+public class OilCylinder extends AuditableEntity {
+
+    /** 主键ID */
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /** 油缸编号，全局唯一 */
+    @Column(name = "cylinder_no", nullable = false, unique = true)
+    private Integer cylinderNo;
+
+    /** 容量（mL） */
+    @Column(name = "capacity", nullable = false)
+    private Long capacity;
+
+    /** 剩余油量（mL） */
+    @Column(name = "remaining", nullable = false)
+    private Long remaining;
+
+    /** 低库存告警阈值（mL），剩余油量低于该值时告警 */
+    @Column(name = "low_stock_threshold", nullable = false)
+    private Long lowStockThreshold;
+}
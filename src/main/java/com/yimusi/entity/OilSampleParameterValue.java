@@ -0,0 +1,45 @@
+package com.yimusi.entity;
+
+import com.yimusi.enums.GasType;
+import jakarta.persistence.*;
+import java.math.BigDecimal;
+import lombok.Data;
+
+/**
+ * 油样气体参数索引，对应数据库中的 "oil_sample_parameters" 表。
+ * <p>
+ * {@link OilSample#getParameters()} 以 JSON 存储，无法按气体含量走索引查询；
+ * 该表把每个已知气体参数展开为一行 (油样, 气体, 含量)，由 (gas, value) 索引支撑按含量范围筛选油样。
+ * 表内容由 {@link com.yimusi.service.impl.OilSampleServiceImpl} 在保存油样时同步重建，实体类仅用于描述表结构与 QueryDSL 查询。
+ * </p>
+ */
+@Data
+@Entity
+@Table(name = "oil_sample_parameters",
+    uniqueConstraints = {
+        @UniqueConstraint(name = "uk_oil_sample_parameters_sample_gas", columnNames = { "oil_sample_id", "gas" })
+    },
+    indexes = {
+        @Index(name = "idx_oil_sample_parameters_gas_value", columnList = "gas,value,oil_sample_id")
+    }
+)
+public class OilSampleParameterValue {
+
+    /** 主键ID */
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /** 油样ID */
+    @Column(name = "oil_sample_id", nullable = false)
+    private Long oilSampleId;
+
+    /** 气体组分 */
+    @Enumerated(EnumType.STRING)
+    @Column(name = "gas", nullable = false, length = 10)
+    private GasType gas;
+
+    /** 气体含量 */
+    @Column(name = "value", nullable = false, precision = 20, scale = 6)
+    private BigDecimal value;
+}
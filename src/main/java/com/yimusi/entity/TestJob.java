@@ -0,0 +1,121 @@
+package com.yimusi.entity;
+
+import com.yimusi.entity.base.AuditableEntity;
+import com.yimusi.enums.InspectionDeviceStatus;
+import com.yimusi.enums.OilSampleUsage;
+import com.yimusi.enums.TestJobStatus;
+import jakarta.persistence.*;
+import java.time.Instant;
+import java.util.List;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+/**
+ * 测试作业实体，对应数据库中的 "test_jobs" 表。
+ * 一条作业表示一台检测设备的一次测试，由调度器分配工位、油样与油缸后，由任一节点的执行器领取执行。
+ * 领取后作业持有租约，执行节点定期续约；节点失联、租约过期后作业可被其他节点重新领取。
+ */
+@Data
+@EqualsAndHashCode(callSuper = true)
+@Entity
+@Table(name = "test_jobs",
+    indexes = {
+        @Index(name = "idx_test_jobs_status_priority", columnList = "status,priority"),
+        @Index(name = "idx_test_jobs_device_id", columnList = "device_id"),
+        @Index(name = "idx_test_jobs_station_status", columnList = "station_id,status"),
+        @Index(name = "idx_test_jobs_status_lease", columnList = "status,lease_expires_at"),
+        @Index(name = "idx_test_jobs_lease_owner", columnList = "lease_owner")
+    }
+)
+public class TestJob extends AuditableEntity {
+
+    /** 主键ID */
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /** 检测设备ID */
+    @Column(name = "device_id", nullable = false)
+    private Long deviceId;
+
+    /** 测试类型，决定使用哪种用途的油样 */
+    @Enumerated(EnumType.STRING)
+    @Column(name = "usage_type", nullable = false, length = 50)
+    private OilSampleUsage usage;
+
+    /** 优先级，数值越大越先调度 */
+    @Column(name = "priority", nullable = false)
+    private Integer priority = 0;
+
+    /** 指定使用的油样ID，为空时使用任意同用途的启用油样 */
+    @Column(name = "requested_oil_sample_id")
+    private Long requestedOilSampleId;
+
+    /** 作业状态 */
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 30)
+    private TestJobStatus status = TestJobStatus.PENDING;
+
+    /** 分配的工位ID */
+    @Column(name = "station_id")
+    private Long stationId;
+
+    /** 分配的油样ID */
+    @Column(name = "oil_sample_id")
+    private Long oilSampleId;
+
+    /** 分配的油缸编号 */
+    @Column(name = "cylinder_no")
+    private Integer cylinderNo;
+
+    /** 分配时间 */
+    @Column(name = "assigned_at")
+    private Instant assignedAt;
+
+    /** 开始执行时间 */
+    @Column(name = "started_at")
+    private Instant startedAt;
+
+    /** 结束时间 */
+    @Column(name = "finished_at")
+    private Instant finishedAt;
+
+    /** 已尝试执行次数（每次领取加一） */
+    @Column(name = "attempts", nullable = false)
+    private Integer attempts = 0;
+
+    /** 最大尝试次数，超过后作业失败 */
+    @Column(name = "max_attempts", nullable = false)
+    private Integer maxAttempts = 3;
+
+    /** 持有租约的执行节点 */
+    @Column(name = "lease_owner", length = 100)
+    private String leaseOwner;
+
+    /** 租约到期时间 */
+    @Column(name = "lease_expires_at")
+    private Instant leaseExpiresAt;
+
+    /** 失败重试前不早于该时间再次领取 */
+    @Column(name = "next_attempt_at")
+    private Instant nextAttemptAt;
+
+    /** 测试结论（执行成功后写入设备的状态） */
+    @Enumerated(EnumType.STRING)
+    @Column(name = "result_status", length = 30)
+    private InspectionDeviceStatus resultStatus;
+
+    /**
+     * 采样结果(JSON)，各气体在采样窗口内的读数均值。
+     * 与油样参数相同，以 [{"key": "H2", "value": 101.5}] 格式存储。
+     */
+    @JdbcTypeCode(SqlTypes.JSON)
+    @Column(name = "measurements", columnDefinition = "json")
+    private List<OilSampleParameter> measurements;
+
+    /** 备注 / 失败原因 */
+    @Column(name = "remark", length = 500)
+    private String remark;
+}
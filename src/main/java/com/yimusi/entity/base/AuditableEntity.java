@@ -1,5 +1,6 @@
 package com.yimusi.entity.base;
 
+import com.yimusi.common.web.CollectionVersionListener;
 import jakarta.persistence.Column;
 import jakarta.persistence.EntityListeners;
 import jakarta.persistence.MappedSuperclass;
@@ -14,11 +15,12 @@ import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 
 /**
  * 审计基类，统一追踪创建人与更新人信息。
+ * 写入后通过 {@link CollectionVersionListener} 使所在表的 ETag 版本失效。
  */
 @Getter
 @Setter
 @MappedSuperclass
-@EntityListeners(AuditingEntityListener.class)
+@EntityListeners({AuditingEntityListener.class, CollectionVersionListener.class})
 public abstract class AuditableEntity {
 
     @CreatedBy
@@ -0,0 +1,46 @@
+package com.yimusi.enums;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 参与软删除归档的表枚举。
+ * 每张表对应一张 {表名}_archive 归档表和一个 {表名}_all 联合视图；
+ * 附属表中引用被归档行的记录随归档一并删除（可为空）。
+ */
+@Getter
+@AllArgsConstructor
+public enum ArchiveTable {
+
+    PROJECTS("项目", "projects", null, null),
+
+    INSPECTION_DEVICES("检测设备", "inspection_devices", null, null),
+
+    TEST_STATIONS("测试工位", "test_stations", null, null),
+
+    OIL_SAMPLES("油样", "oil_samples", "oil_sample_parameters", "oil_sample_id"),
+
+    USERS("用户", "users", null, null);
+
+    private final String description;
+
+    private final String tableName;
+
+    /**
+     * 随主表行一并删除的附属表
+     */
+    private final String childTable;
+
+    /**
+     * 附属表中引用主表 ID 的列
+     */
+    private final String childColumn;
+
+    public String getArchiveTableName() {
+        return tableName + "_archive";
+    }
+
+    public String getViewName() {
+        return tableName + "_all";
+    }
+}
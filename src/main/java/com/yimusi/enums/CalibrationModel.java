@@ -0,0 +1,29 @@
+package com.yimusi.enums;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 标定曲线模型枚举
+ */
+@Getter
+@AllArgsConstructor
+public enum CalibrationModel {
+
+    /**
+     * 线性：参考值 = c0 + c1·读数
+     */
+    LINEAR(1, "线性"),
+
+    /**
+     * 二次多点：参考值 = c0 + c1·读数 + c2·读数²
+     */
+    QUADRATIC(2, "二次多点");
+
+    /**
+     * 多项式次数
+     */
+    private final int degree;
+
+    private final String description;
+}
@@ -0,0 +1,76 @@
+package com.yimusi.enums;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 油中溶解气体分析（DGA）故障类型枚举，代号与 IEC 60599 / Duval 图形法一致
+ */
+@Getter
+@AllArgsConstructor
+public enum DgaFault {
+
+    /**
+     * 局部放电
+     */
+    PD("局部放电"),
+
+    /**
+     * 低能放电
+     */
+    D1("低能放电"),
+
+    /**
+     * 高能放电
+     */
+    D2("高能放电"),
+
+    /**
+     * 放电与过热混合
+     */
+    DT("放电与过热混合"),
+
+    /**
+     * 低温过热（低于 300℃）
+     */
+    T1("低温过热"),
+
+    /**
+     * 中温过热（300℃ ~ 700℃）
+     */
+    T2("中温过热"),
+
+    /**
+     * 高温过热（高于 700℃）
+     */
+    T3("高温过热"),
+
+    /**
+     * 杂散产气（仅 Duval 五边形法）
+     */
+    S("杂散产气"),
+
+    /**
+     * 正常（仅 Rogers 比值法）
+     */
+    NORMAL("正常"),
+
+    /**
+     * 气体含量不足或比值组合不在判据内，无法判断
+     */
+    UNDETERMINED("无法判断");
+
+    private final String description;
+
+    private static final DgaFault[] VALUES = values();
+
+    /**
+     * 根据序号获取故障枚举（避免 values() 每次复制数组）
+     *
+     * @param index 枚举序号
+     * @return 对应的故障枚举
+     */
+    public static DgaFault ofIndex(int index) {
+        return VALUES[index];
+    }
+}
@@ -0,0 +1,34 @@
+package com.yimusi.enums;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * DGA 故障诊断方法枚举
+ */
+@Getter
+@AllArgsConstructor
+public enum DgaMethod {
+
+    /**
+     * Duval 三角形法（CH4、C2H4、C2H2 相对百分比）
+     */
+    DUVAL_TRIANGLE("Duval 三角形法"),
+
+    /**
+     * Duval 五边形法（H2、C2H6、CH4、C2H4、C2H2 相对百分比的形心）
+     */
+    DUVAL_PENTAGON("Duval 五边形法"),
+
+    /**
+     * Rogers 比值法（IEEE C57.104）
+     */
+    ROGERS("Rogers 比值法"),
+
+    /**
+     * IEC 60599 三比值法
+     */
+    IEC_60599("IEC 60599 三比值法");
+
+    private final String description;
+}
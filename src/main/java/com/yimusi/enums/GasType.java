@@ -0,0 +1,68 @@
+package com.yimusi.enums;
+
+import java.util.Optional;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 溶解气体组分枚举。
+ * 枚举名称与 {@link com.yimusi.entity.OilSampleParameter#getKey()} 的取值保持一致，
+ * 声明顺序即分析计算中使用的固定气体索引顺序。
+ */
+@Getter
+@AllArgsConstructor
+public enum GasType {
+
+    CH4("甲烷"),
+
+    C2H2("乙炔"),
+
+    C2H4("乙烯"),
+
+    C2H6("乙烷"),
+
+    H2("氢气"),
+
+    CO("一氧化碳"),
+
+    CO2("二氧化碳"),
+
+    H2O("微水");
+
+    private final String description;
+
+    private static final GasType[] VALUES = values();
+
+    /**
+     * 气体种类数量
+     */
+    public static final int COUNT = VALUES.length;
+
+    /**
+     * 根据索引获取气体枚举（避免 values() 每次复制数组）
+     *
+     * @param index 枚举序号
+     * @return 对应的气体枚举
+     */
+    public static GasType ofIndex(int index) {
+        return VALUES[index];
+    }
+
+    /**
+     * 根据参数名查找气体枚举（找不到返回 Optional.empty，不抛异常）
+     *
+     * @param key 参数名，例如 CH4
+     * @return 找到则返回 Optional 包装的枚举值
+     */
+    public static Optional<GasType> findByKey(String key) {
+        if (key == null) {
+            return Optional.empty();
+        }
+        for (GasType gas : VALUES) {
+            if (gas.name().equals(key)) {
+                return Optional.of(gas);
+            }
+        }
+        return Optional.empty();
+    }
+}
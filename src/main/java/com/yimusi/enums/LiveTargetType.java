@@ -0,0 +1,18 @@
+package com.yimusi.enums;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 实时状态推送对象类型枚举。
+ */
+@Getter
+@AllArgsConstructor
+public enum LiveTargetType {
+
+    DEVICE("检测设备"),
+
+    STATION("测试工位");
+
+    private final String description;
+}
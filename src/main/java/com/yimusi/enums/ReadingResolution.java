@@ -0,0 +1,73 @@
+package com.yimusi.enums;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 设备读数查询精度枚举。
+ * RAW 表示原始采样点，其余为按固定时间桶预聚合的汇总精度，声明顺序由细到粗。
+ */
+@Getter
+@AllArgsConstructor
+public enum ReadingResolution {
+
+    RAW("原始", 0L),
+
+    MINUTE("1分钟", 60_000L),
+
+    HOUR("1小时", 3_600_000L),
+
+    DAY("1天", 86_400_000L);
+
+    private final String description;
+
+    /**
+     * 时间桶长度（毫秒），RAW 为 0
+     */
+    private final long bucketMillis;
+
+    /**
+     * 是否为预聚合精度
+     *
+     * @return RAW 返回 false
+     */
+    public boolean isRollup() {
+        return bucketMillis > 0;
+    }
+
+    /**
+     * 计算时间戳所在时间桶的起始时间（按 UTC epoch 对齐）
+     *
+     * @param timestamp epoch 毫秒
+     * @return 时间桶起始时间（epoch 毫秒）
+     */
+    public long bucketStart(long timestamp) {
+        return Math.floorDiv(timestamp, bucketMillis) * bucketMillis;
+    }
+
+    /**
+     * 在点数预算内选择最细的精度：时间范围越长，精度越粗，
+     * 超出 DAY 精度的点数预算时仍返回 DAY。
+     *
+     * @param rangeMillis       查询时间范围（毫秒）
+     * @param rawIntervalMillis 设备的标称采样间隔（毫秒），用于估算原始点数
+     * @param maxPoints         点数预算
+     * @return 选中的精度
+     */
+    public static ReadingResolution select(long rangeMillis, long rawIntervalMillis, int maxPoints) {
+        if (rangeMillis / Math.max(1L, rawIntervalMillis) <= maxPoints) {
+            return RAW;
+        }
+        if (ceilDiv(rangeMillis, MINUTE.bucketMillis) <= maxPoints) {
+            return MINUTE;
+        }
+        if (ceilDiv(rangeMillis, HOUR.bucketMillis) <= maxPoints) {
+            return HOUR;
+        }
+        return DAY;
+    }
+
+    private static long ceilDiv(long dividend, long divisor) {
+        return -Math.floorDiv(-dividend, divisor);
+    }
+}
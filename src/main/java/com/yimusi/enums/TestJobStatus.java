@@ -0,0 +1,44 @@
+package com.yimusi.enums;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 测试作业状态枚举。
+ */
+@Getter
+@AllArgsConstructor
+public enum TestJobStatus {
+
+    /**
+     * 待分配：等待调度器分配工位与油样
+     */
+    PENDING("待分配"),
+
+    /**
+     * 已分配：已占用工位与油缸，等待执行
+     */
+    ASSIGNED("已分配"),
+
+    /**
+     * 执行中
+     */
+    RUNNING("执行中"),
+
+    /**
+     * 已完成
+     */
+    SUCCEEDED("已完成"),
+
+    /**
+     * 失败
+     */
+    FAILED("失败"),
+
+    /**
+     * 已取消
+     */
+    CANCELLED("已取消");
+
+    private final String description;
+}
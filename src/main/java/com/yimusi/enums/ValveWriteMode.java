@@ -0,0 +1,18 @@
+package com.yimusi.enums;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 电磁阀在控制器上的寻址方式枚举。
+ */
+@Getter
+@AllArgsConstructor
+public enum ValveWriteMode {
+
+    COIL("线圈"),
+
+    REGISTER("保持寄存器");
+
+    private final String description;
+}
@@ -0,0 +1,222 @@
+package com.yimusi.live;
+
+import com.yimusi.dto.live.LiveStateDelta;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * 检测设备 / 测试工位实时状态广播器.
+ * <p>
+ * 服务层通过 {@link org.springframework.context.ApplicationEventPublisher} 发布 {@link LiveStateDelta}，
+ * 广播器在事务提交后（无事务时立即）接收变更，先按对象合并到全局待广播集合，
+ * 再由定时线程每个 coalesce-window 统一分发给匹配的订阅；每个订阅在虚拟线程上独立发送.
+ * 推送完全基于内存中的变更，订阅数量不影响数据库负载.
+ * </p>
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class LiveStateBroadcaster implements SmartLifecycle {
+
+    private final MeterRegistry meterRegistry;
+
+    @Value("${yimusi.live.coalesce-window:PT0.25S}")
+    private Duration coalesceWindow;
+
+    @Value("${yimusi.live.heartbeat-interval:PT15S}")
+    private Duration heartbeatInterval;
+
+    private final Map<String, LiveStateDelta> pending = new ConcurrentHashMap<>();
+    private final Set<LiveSubscription> subscriptions = ConcurrentHashMap.newKeySet();
+
+    private ScheduledExecutorService ticker;
+    private ExecutorService sender;
+    private volatile boolean running;
+
+    private Counter publishedCounter;
+    private Counter deliveredCounter;
+
+    /**
+     * 接收服务层发布的状态变更
+     *
+     * @param delta 状态变更
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStateChanged(LiveStateDelta delta) {
+        pending.merge(key(delta), delta, LiveStateBroadcaster::merge);
+        if (publishedCounter != null) {
+            publishedCounter.increment();
+        }
+    }
+
+    /**
+     * 注册订阅并发送初始快照.
+     * 先注册再加载快照：加载期间产生的变更会暂存在订阅中，快照发送完成后再补发，保证客户端最终一致.
+     *
+     * @param emitter        SSE 连接
+     * @param projectIds     订阅的项目ID集合（设备按所属项目匹配）
+     * @param stationIds     订阅的工位ID集合
+     * @param snapshotLoader 初始快照加载函数
+     */
+    public void subscribe(
+        SseEmitter emitter,
+        Set<Long> projectIds,
+        Set<Long> stationIds,
+        Supplier<List<LiveStateDelta>> snapshotLoader
+    ) {
+        LiveSubscription[] holder = new LiveSubscription[1];
+        LiveSubscription subscription = new LiveSubscription(
+            emitter,
+            Set.copyOf(projectIds),
+            Set.copyOf(stationIds),
+            sender,
+            () -> subscriptions.remove(holder[0])
+        );
+        holder[0] = subscription;
+        emitter.onCompletion(subscription::close);
+        emitter.onTimeout(subscription::close);
+        emitter.onError(e -> subscription.close());
+        subscriptions.add(subscription);
+        try {
+            subscription.activate(snapshotLoader.get());
+        } catch (IOException | RuntimeException e) {
+            subscription.close();
+            emitter.completeWithError(e);
+        }
+    }
+
+    /**
+     * 获取当前订阅数量
+     *
+     * @return 订阅数量
+     */
+    public int getSubscriberCount() {
+        return subscriptions.size();
+    }
+
+    /**
+     * 将合并窗口内积累的变更分发给匹配的订阅
+     */
+    void broadcastPending() {
+        if (pending.isEmpty()) {
+            return;
+        }
+        List<LiveStateDelta> batch = new ArrayList<>(pending.size());
+        Iterator<String> keys = pending.keySet().iterator();
+        while (keys.hasNext()) {
+            LiveStateDelta delta = pending.remove(keys.next());
+            if (delta != null) {
+                batch.add(delta);
+            }
+        }
+        for (LiveSubscription subscription : subscriptions) {
+            for (LiveStateDelta delta : batch) {
+                if (subscription.matches(delta)) {
+                    subscription.enqueue(key(delta), delta);
+                    deliveredCounter.increment();
+                }
+            }
+        }
+    }
+
+    @Override
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        publishedCounter = meterRegistry.counter("live.state.published");
+        deliveredCounter = meterRegistry.counter("live.state.delivered");
+        Gauge.builder("live.subscribers", this, LiveStateBroadcaster::getSubscriberCount).register(meterRegistry);
+
+        sender = Executors.newVirtualThreadPerTaskExecutor();
+        ticker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "live-state-broadcaster");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long windowMillis = coalesceWindow.toMillis();
+        ticker.scheduleWithFixedDelay(this::safeBroadcast, windowMillis, windowMillis, TimeUnit.MILLISECONDS);
+        long heartbeatMillis = heartbeatInterval.toMillis();
+        ticker.scheduleWithFixedDelay(this::heartbeat, heartbeatMillis, heartbeatMillis, TimeUnit.MILLISECONDS);
+        running = true;
+        log.info("实时状态广播器已启动: coalesceWindow={}, heartbeatInterval={}", coalesceWindow, heartbeatInterval);
+    }
+
+    @Override
+    public synchronized void stop() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        ticker.shutdownNow();
+        for (LiveSubscription subscription : subscriptions) {
+            subscription.close();
+            subscription.getEmitter().complete();
+        }
+        sender.shutdown();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * 合并同一对象的两次变更：以较新的变更为准，较新变更中为 null 的字段沿用旧值
+     *
+     * @param older 旧变更
+     * @param newer 新变更
+     * @return 合并结果（新对象，不修改入参）
+     */
+    static LiveStateDelta merge(LiveStateDelta older, LiveStateDelta newer) {
+        LiveStateDelta merged = new LiveStateDelta(newer.getType(), newer.getId());
+        merged.setProjectId(newer.getProjectId() != null ? newer.getProjectId() : older.getProjectId());
+        merged.setCode(newer.getCode() != null ? newer.getCode() : older.getCode());
+        merged.setStatus(newer.getStatus() != null ? newer.getStatus() : older.getStatus());
+        merged.setEnabled(newer.getEnabled() != null ? newer.getEnabled() : older.getEnabled());
+        merged.setReachable(newer.getReachable() != null ? newer.getReachable() : older.getReachable());
+        merged.setRemoved(newer.getRemoved() != null ? newer.getRemoved() : older.getRemoved());
+        merged.setChangedAt(newer.getChangedAt());
+        return merged;
+    }
+
+    private static String key(LiveStateDelta delta) {
+        // 设备换项目时新旧项目各有一条变更，需分别保留
+        return delta.getType().name() + ':' + delta.getId() + ':' + delta.getProjectId();
+    }
+
+    private void safeBroadcast() {
+        try {
+            broadcastPending();
+        } catch (RuntimeException e) {
+            log.error("实时状态广播失败", e);
+        }
+    }
+
+    private void heartbeat() {
+        for (LiveSubscription subscription : subscriptions) {
+            subscription.heartbeat();
+        }
+    }
+}
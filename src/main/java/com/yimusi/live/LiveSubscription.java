@@ -0,0 +1,151 @@
+package com.yimusi.live;
+
+import com.yimusi.dto.live.LiveStateDelta;
+import com.yimusi.enums.LiveTargetType;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * 单个 SSE 订阅.
+ * <p>
+ * 待发送的变更按对象合并保存，同一时刻最多只有一个发送任务在执行：
+ * 慢客户端只会让自己的待发送集合合并得更充分，不会阻塞广播线程或其他订阅.
+ * </p>
+ */
+@Slf4j
+final class LiveSubscription {
+
+    static final String STATE_EVENT = "state";
+    static final String SNAPSHOT_EVENT = "snapshot";
+
+    private final SseEmitter emitter;
+    private final Set<Long> projectIds;
+    private final Set<Long> stationIds;
+    private final Executor sender;
+    private final Runnable onClose;
+
+    /** 以下字段由 this 保护；sending 初始为 true，快照发送完成前暂停增量发送 */
+    private final Map<String, LiveStateDelta> pending = new LinkedHashMap<>();
+    private boolean heartbeatDue;
+    private boolean sending = true;
+    private boolean closed;
+
+    LiveSubscription(SseEmitter emitter, Set<Long> projectIds, Set<Long> stationIds, Executor sender, Runnable onClose) {
+        this.emitter = emitter;
+        this.projectIds = projectIds;
+        this.stationIds = stationIds;
+        this.sender = sender;
+        this.onClose = onClose;
+    }
+
+    SseEmitter getEmitter() {
+        return emitter;
+    }
+
+    /**
+     * 判断变更是否属于本订阅的范围
+     */
+    boolean matches(LiveStateDelta delta) {
+        if (delta.getType() == LiveTargetType.STATION) {
+            return stationIds.contains(delta.getId());
+        }
+        return delta.getProjectId() != null && projectIds.contains(delta.getProjectId());
+    }
+
+    /**
+     * 加入待发送变更，必要时启动发送任务
+     */
+    void enqueue(String key, LiveStateDelta delta) {
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            pending.merge(key, delta, LiveStateBroadcaster::merge);
+        }
+        scheduleSend();
+    }
+
+    /**
+     * 请求发送一次心跳，用于及时发现已断开的连接
+     */
+    void heartbeat() {
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            heartbeatDue = true;
+        }
+        scheduleSend();
+    }
+
+    /**
+     * 同步发送初始快照，然后开始发送快照期间积累的增量
+     */
+    void activate(List<LiveStateDelta> snapshot) throws IOException {
+        emitter.send(SseEmitter.event().name(SNAPSHOT_EVENT).data(snapshot));
+        synchronized (this) {
+            sending = false;
+        }
+        scheduleSend();
+    }
+
+    void close() {
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            pending.clear();
+        }
+        onClose.run();
+    }
+
+    private void scheduleSend() {
+        synchronized (this) {
+            if (sending || closed) {
+                return;
+            }
+            sending = true;
+        }
+        sender.execute(this::drain);
+    }
+
+    private void drain() {
+        while (true) {
+            List<LiveStateDelta> batch;
+            boolean ping;
+            synchronized (this) {
+                if (closed || (pending.isEmpty() && !heartbeatDue)) {
+                    sending = false;
+                    return;
+                }
+                batch = new ArrayList<>(pending.values());
+                pending.clear();
+                ping = heartbeatDue;
+                heartbeatDue = false;
+            }
+            try {
+                if (!batch.isEmpty()) {
+                    emitter.send(SseEmitter.event().name(STATE_EVENT).data(batch));
+                } else if (ping) {
+                    emitter.send(SseEmitter.event().comment("ping"));
+                }
+            } catch (IOException | IllegalStateException e) {
+                log.debug("实时状态推送失败，关闭订阅: {}", e.getMessage());
+                synchronized (this) {
+                    sending = false;
+                }
+                close();
+                emitter.completeWithError(e);
+                return;
+            }
+        }
+    }
+}
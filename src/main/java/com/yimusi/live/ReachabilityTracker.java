@@ -0,0 +1,119 @@
+package com.yimusi.live;
+
+import com.yimusi.dto.live.LiveStateDelta;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * 检测设备 / 测试工位可达性跟踪器.
+ * <p>
+ * 设备以最近一次上报读数的时间判断是否在线，超过 device-timeout 未上报即视为离线；
+ * 工位的可达性由通信模块直接上报.
+ * 只有可达性发生翻转时才发布 {@link LiveStateDelta}，状态保存在内存中，不访问数据库.
+ * </p>
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ReachabilityTracker {
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${yimusi.live.device-timeout:PT1M}")
+    private Duration deviceTimeout;
+
+    private final Map<Long, DeviceContact> devices = new ConcurrentHashMap<>();
+    private final Map<Long, Boolean> stations = new ConcurrentHashMap<>();
+
+    /**
+     * 记录设备的一次通信
+     *
+     * @param deviceId  设备ID
+     * @param projectId 所属项目ID
+     * @param deviceNo  设备编号
+     */
+    public void markDeviceSeen(Long deviceId, Long projectId, String deviceNo) {
+        long now = System.currentTimeMillis();
+        DeviceContact contact = devices.computeIfAbsent(deviceId, id -> new DeviceContact());
+        contact.projectId = projectId;
+        contact.deviceNo = deviceNo;
+        contact.lastSeenAt = now;
+        if (!contact.reachable) {
+            contact.reachable = true;
+            publishDevice(deviceId, contact, true);
+        }
+    }
+
+    /**
+     * 更新工位的可达性
+     *
+     * @param stationId 工位ID
+     * @param stationNo 工位编号
+     * @param reachable 是否可达
+     */
+    public void markStationReachable(Long stationId, Integer stationNo, boolean reachable) {
+        Boolean previous = stations.put(stationId, reachable);
+        if (previous == null || previous != reachable) {
+            LiveStateDelta delta = LiveStateDelta.station(stationId, stationNo);
+            delta.setReachable(reachable);
+            eventPublisher.publishEvent(delta);
+        }
+    }
+
+    /**
+     * 查询设备当前是否可达
+     *
+     * @param deviceId 设备ID
+     * @return 未知设备返回 false
+     */
+    public boolean isDeviceReachable(Long deviceId) {
+        DeviceContact contact = devices.get(deviceId);
+        return contact != null && contact.reachable;
+    }
+
+    /**
+     * 查询工位当前是否可达
+     *
+     * @param stationId 工位ID
+     * @return 未知工位返回 null
+     */
+    public Boolean isStationReachable(Long stationId) {
+        return stations.get(stationId);
+    }
+
+    /**
+     * 定时检查超时未通信的设备并标记为离线
+     */
+    @Scheduled(fixedDelayString = "${yimusi.live.reachability-check-interval:PT5S}")
+    public void expireSilentDevices() {
+        long deadline = System.currentTimeMillis() - deviceTimeout.toMillis();
+        devices.forEach((deviceId, contact) -> {
+            if (contact.reachable && contact.lastSeenAt < deadline) {
+                contact.reachable = false;
+                publishDevice(deviceId, contact, false);
+                log.debug("设备超时未通信，标记为离线: deviceId={}", deviceId);
+            }
+        });
+    }
+
+    private void publishDevice(Long deviceId, DeviceContact contact, boolean reachable) {
+        LiveStateDelta delta = LiveStateDelta.device(deviceId, contact.projectId, contact.deviceNo);
+        delta.setReachable(reachable);
+        eventPublisher.publishEvent(delta);
+    }
+
+    private static final class DeviceContact {
+
+        private volatile Long projectId;
+        private volatile String deviceNo;
+        private volatile long lastSeenAt;
+        private volatile boolean reachable;
+    }
+}
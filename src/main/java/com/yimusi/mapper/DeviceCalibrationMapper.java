@@ -0,0 +1,17 @@
+package com.yimusi.mapper;
+
+import com.yimusi.dto.calibration.DeviceCalibrationResponse;
+import com.yimusi.entity.DeviceCalibration;
+import org.mapstruct.Mapper;
+
+/**
+ * 设备标定系数 Mapper
+ */
+@Mapper(componentModel = "spring", config = BaseMapperConfig.class)
+public interface DeviceCalibrationMapper {
+
+    /**
+     * Entity 转 Response
+     */
+    DeviceCalibrationResponse toResponse(DeviceCalibration deviceCalibration);
+}
@@ -0,0 +1,27 @@
+package com.yimusi.mapper;
+
+import com.yimusi.dto.cylinder.CreateOilCylinderRequest;
+import com.yimusi.dto.cylinder.OilCylinderResponse;
+import com.yimusi.entity.OilCylinder;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+
+/**
+ * 油缸库存 Mapper
+ */
+@Mapper(componentModel = "spring", config = BaseMapperConfig.class)
+public interface OilCylinderMapper {
+
+    /**
+     * Entity 转 Response
+     */
+    @Mapping(target = "lowStock", expression = "java(cylinder.getRemaining() < cylinder.getLowStockThreshold())")
+    OilCylinderResponse toResponse(OilCylinder cylinder);
+
+    /**
+     * CreateRequest 转 Entity
+     */
+    @Mapping(target = "id", ignore = true)
+    @Mapping(target = "remaining", expression = "java(request.getRemaining() == null ? request.getCapacity() : request.getRemaining())")
+    OilCylinder toEntity(CreateOilCylinderRequest request);
+}
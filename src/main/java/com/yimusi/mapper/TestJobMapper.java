@@ -0,0 +1,17 @@
+package com.yimusi.mapper;
+
+import com.yimusi.dto.testjob.TestJobResponse;
+import com.yimusi.entity.TestJob;
+import org.mapstruct.Mapper;
+
+/**
+ * 测试作业 Mapper
+ */
+@Mapper(componentModel = "spring", config = BaseMapperConfig.class)
+public interface TestJobMapper {
+
+    /**
+     * Entity 转 Response
+     */
+    TestJobResponse toResponse(TestJob testJob);
+}
@@ -0,0 +1,143 @@
+package com.yimusi.modbus;
+
+import com.yimusi.common.exception.BadRequestException;
+import com.yimusi.entity.TestStation;
+import com.yimusi.entity.TestStationParameter;
+import com.yimusi.enums.ValveCommType;
+import com.yimusi.modbus.rtu.SerialLineSettings;
+import java.util.List;
+
+/**
+ * 测试工位电磁阀控制器的通信地址，从 {@link TestStation#getValveControlParams()} 中的保留参数解析.
+ * <p>
+ * TCP_MODBUS 使用的参数：
+ * <ul>
+ *   <li>{@code host}：控制器 IP 或主机名（必填）；</li>
+ *   <li>{@code port}：端口，默认 502；</li>
+ *   <li>{@code unitId}：从站地址，默认 1。</li>
+ * </ul>
+ * SERIAL_MODBUS 使用的参数：
+ * <ul>
+ *   <li>{@code serialPort}：串口设备路径，如 /dev/ttyUSB0（必填），同一串口上的多个工位共享一条总线；</li>
+ *   <li>{@code baudRate}：波特率，默认 9600；</li>
+ *   <li>{@code dataBits}：数据位，默认 8；</li>
+ *   <li>{@code parity}：校验位 N / E / O，默认 N；</li>
+ *   <li>{@code stopBits}：停止位，默认 1；</li>
+ *   <li>{@code unitId}：从站地址，默认 1。</li>
+ * </ul>
+ * </p>
+ *
+ * @param commType 通信类型
+ * @param host     主机（仅 TCP）
+ * @param port     端口（仅 TCP）
+ * @param unitId   从站地址
+ * @param serial   串口参数（仅串口）
+ */
+public record ModbusEndpoint(ValveCommType commType, String host, int port, int unitId, SerialLineSettings serial) {
+
+    public static final String KEY_HOST = "host";
+    public static final String KEY_PORT = "port";
+    public static final String KEY_UNIT_ID = "unitId";
+    public static final String KEY_SERIAL_PORT = "serialPort";
+    public static final String KEY_BAUD_RATE = "baudRate";
+    public static final String KEY_DATA_BITS = "dataBits";
+    public static final String KEY_PARITY = "parity";
+    public static final String KEY_STOP_BITS = "stopBits";
+
+    private static final int DEFAULT_TCP_PORT = 502;
+    private static final int DEFAULT_UNIT_ID = 1;
+    private static final int DEFAULT_BAUD_RATE = 9600;
+    private static final int DEFAULT_DATA_BITS = 8;
+    private static final String DEFAULT_PARITY = "N";
+    private static final int DEFAULT_STOP_BITS = 1;
+
+    /**
+     * 解析工位的控制器通信地址
+     *
+     * @param station 测试工位
+     * @return 通信地址
+     * @throws BadRequestException 参数缺失或格式错误时
+     */
+    public static ModbusEndpoint from(TestStation station) {
+        List<TestStationParameter> params = station.getValveControlParams();
+        int unitId = parseInt(params, KEY_UNIT_ID, DEFAULT_UNIT_ID, 0, 247);
+        if (station.getValveCommType() == ValveCommType.TCP_MODBUS) {
+            String host = find(params, KEY_HOST);
+            if (host == null || host.isBlank()) {
+                throw new BadRequestException(String.format("工位 %s 未配置控制器地址参数 %s", station.getStationNo(), KEY_HOST));
+            }
+            int port = parseInt(params, KEY_PORT, DEFAULT_TCP_PORT, 1, 65535);
+            return new ModbusEndpoint(ValveCommType.TCP_MODBUS, host.trim(), port, unitId, null);
+        }
+        if (station.getValveCommType() == ValveCommType.SERIAL_MODBUS) {
+            String device = find(params, KEY_SERIAL_PORT);
+            if (device == null || device.isBlank()) {
+                throw new BadRequestException(String.format("工位 %s 未配置串口参数 %s", station.getStationNo(), KEY_SERIAL_PORT));
+            }
+            String parity = find(params, KEY_PARITY);
+            parity = parity == null || parity.isBlank() ? DEFAULT_PARITY : parity.trim();
+            if (parity.length() != 1) {
+                throw new BadRequestException(String.format("参数 %s 只能为 N / E / O: %s", KEY_PARITY, parity));
+            }
+            try {
+                SerialLineSettings serial = new SerialLineSettings(
+                    device.trim(),
+                    parseInt(params, KEY_BAUD_RATE, DEFAULT_BAUD_RATE, 300, 4_000_000),
+                    parseInt(params, KEY_DATA_BITS, DEFAULT_DATA_BITS, 7, 8),
+                    parity.charAt(0),
+                    parseInt(params, KEY_STOP_BITS, DEFAULT_STOP_BITS, 1, 2)
+                );
+                return new ModbusEndpoint(ValveCommType.SERIAL_MODBUS, null, 0, unitId, serial);
+            } catch (IllegalArgumentException e) {
+                throw new BadRequestException(e.getMessage());
+            }
+        }
+        throw new BadRequestException(String.format("工位 %s 的通信类型 %s 暂不支持", station.getStationNo(), station.getValveCommType()));
+    }
+
+    /**
+     * 查找参数值
+     *
+     * @param params 参数列表
+     * @param key    参数名
+     * @return 参数值，不存在时返回 null
+     */
+    public static String find(List<TestStationParameter> params, String key) {
+        if (params == null) {
+            return null;
+        }
+        for (TestStationParameter param : params) {
+            if (key.equals(param.getKey())) {
+                return param.getValue();
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 解析整数参数
+     *
+     * @param params       参数列表
+     * @param key          参数名
+     * @param defaultValue 参数缺失时的默认值
+     * @param min          最小值
+     * @param max          最大值
+     * @return 参数值
+     * @throws BadRequestException 格式错误或超出范围时
+     */
+    public static int parseInt(List<TestStationParameter> params, String key, int defaultValue, int min, int max) {
+        String value = find(params, key);
+        if (value == null || value.isBlank()) {
+            return defaultValue;
+        }
+        try {
+            int parsed = Integer.parseInt(value.trim());
+            if (parsed < min || parsed > max) {
+                throw new BadRequestException(String.format("参数 %s 超出范围 [%d, %d]: %s", key, min, max, value));
+            }
+            return parsed;
+        } catch (NumberFormatException e) {
+            throw new BadRequestException(String.format("参数 %s 不是合法的整数: %s", key, value));
+        }
+    }
+}
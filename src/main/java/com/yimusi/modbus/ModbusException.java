@@ -0,0 +1,35 @@
+package com.yimusi.modbus;
+
+/**
+ * Modbus 通信异常：从站返回的异常响应，或连接、协议层面的错误.
+ */
+public class ModbusException extends RuntimeException {
+
+    /** 从站异常码，非异常响应时为 0 */
+    private final int exceptionCode;
+
+    public ModbusException(String message) {
+        super(message);
+        this.exceptionCode = 0;
+    }
+
+    public ModbusException(String message, Throwable cause) {
+        super(message, cause);
+        this.exceptionCode = 0;
+    }
+
+    /**
+     * 从站异常响应
+     *
+     * @param functionCode  请求功能码
+     * @param exceptionCode 异常码
+     */
+    public ModbusException(int functionCode, int exceptionCode) {
+        super(String.format("从站返回异常响应: 功能码=0x%02X, 异常码=%d", functionCode, exceptionCode));
+        this.exceptionCode = exceptionCode;
+    }
+
+    public int getExceptionCode() {
+        return exceptionCode;
+    }
+}
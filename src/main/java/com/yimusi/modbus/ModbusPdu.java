@@ -0,0 +1,171 @@
+package com.yimusi.modbus;
+
+import java.nio.ByteBuffer;
+
+/**
+ * 预编码的 Modbus 请求 PDU（功能码 + 数据），不可变.
+ * <p>
+ * PDU 在构造时一次性编码为字节数组，发送时由传输层直接追加 MBAP 头（TCP）或地址与 CRC（RTU），
+ * 同一个 PDU 可以被反复发送而无需重新编码，写入计划（write plan）即由一组预编码的 PDU 组成.
+ * 地址均为从 0 开始的协议地址.
+ * </p>
+ */
+public final class ModbusPdu {
+
+    public static final int FC_READ_COILS = 0x01;
+    public static final int FC_READ_HOLDING_REGISTERS = 0x03;
+    public static final int FC_WRITE_SINGLE_COIL = 0x05;
+    public static final int FC_WRITE_SINGLE_REGISTER = 0x06;
+    public static final int FC_WRITE_MULTIPLE_COILS = 0x0F;
+    public static final int FC_WRITE_MULTIPLE_REGISTERS = 0x10;
+
+    /** 协议规定的 PDU 最大长度 */
+    public static final int MAX_LENGTH = 253;
+
+    public static final int MAX_READ_COILS = 2000;
+    public static final int MAX_READ_REGISTERS = 125;
+    public static final int MAX_WRITE_COILS = 1968;
+    public static final int MAX_WRITE_REGISTERS = 123;
+
+    private static final int MAX_ADDRESS = 0xFFFF;
+
+    private final byte[] bytes;
+
+    private ModbusPdu(byte[] bytes) {
+        this.bytes = bytes;
+    }
+
+    /**
+     * FC01 读线圈
+     */
+    public static ModbusPdu readCoils(int address, int quantity) {
+        checkRange(address, quantity, MAX_READ_COILS);
+        return new ModbusPdu(new byte[] {
+            (byte) FC_READ_COILS, hi(address), lo(address), hi(quantity), lo(quantity)
+        });
+    }
+
+    /**
+     * FC03 读保持寄存器
+     */
+    public static ModbusPdu readHoldingRegisters(int address, int quantity) {
+        checkRange(address, quantity, MAX_READ_REGISTERS);
+        return new ModbusPdu(new byte[] {
+            (byte) FC_READ_HOLDING_REGISTERS, hi(address), lo(address), hi(quantity), lo(quantity)
+        });
+    }
+
+    /**
+     * FC05 写单个线圈
+     */
+    public static ModbusPdu writeSingleCoil(int address, boolean on) {
+        checkRange(address, 1, 1);
+        return new ModbusPdu(new byte[] {
+            (byte) FC_WRITE_SINGLE_COIL, hi(address), lo(address), on ? (byte) 0xFF : 0, 0
+        });
+    }
+
+    /**
+     * FC06 写单个保持寄存器
+     */
+    public static ModbusPdu writeSingleRegister(int address, int value) {
+        checkRange(address, 1, 1);
+        return new ModbusPdu(new byte[] {
+            (byte) FC_WRITE_SINGLE_REGISTER, hi(address), lo(address), hi(value), lo(value)
+        });
+    }
+
+    /**
+     * FC15 写多个线圈
+     *
+     * @param address 起始地址
+     * @param values  线圈值
+     */
+    public static ModbusPdu writeMultipleCoils(int address, boolean[] values) {
+        int quantity = values.length;
+        checkRange(address, quantity, MAX_WRITE_COILS);
+        int byteCount = (quantity + 7) >>> 3;
+        byte[] bytes = new byte[6 + byteCount];
+        bytes[0] = (byte) FC_WRITE_MULTIPLE_COILS;
+        bytes[1] = hi(address);
+        bytes[2] = lo(address);
+        bytes[3] = hi(quantity);
+        bytes[4] = lo(quantity);
+        bytes[5] = (byte) byteCount;
+        for (int i = 0; i < quantity; i++) {
+            if (values[i]) {
+                bytes[6 + (i >>> 3)] |= (byte) (1 << (i & 7));
+            }
+        }
+        return new ModbusPdu(bytes);
+    }
+
+    /**
+     * FC16 写多个保持寄存器
+     *
+     * @param address 起始地址
+     * @param values  寄存器值（取低 16 位）
+     */
+    public static ModbusPdu writeMultipleRegisters(int address, int[] values) {
+        int quantity = values.length;
+        checkRange(address, quantity, MAX_WRITE_REGISTERS);
+        byte[] bytes = new byte[6 + quantity * 2];
+        bytes[0] = (byte) FC_WRITE_MULTIPLE_REGISTERS;
+        bytes[1] = hi(address);
+        bytes[2] = lo(address);
+        bytes[3] = hi(quantity);
+        bytes[4] = lo(quantity);
+        bytes[5] = (byte) (quantity * 2);
+        for (int i = 0; i < quantity; i++) {
+            bytes[6 + i * 2] = hi(values[i]);
+            bytes[7 + i * 2] = lo(values[i]);
+        }
+        return new ModbusPdu(bytes);
+    }
+
+    public int getFunctionCode() {
+        return bytes[0] & 0xFF;
+    }
+
+    /**
+     * 起始地址
+     */
+    public int getAddress() {
+        return ((bytes[1] & 0xFF) << 8) | (bytes[2] & 0xFF);
+    }
+
+    public int length() {
+        return bytes.length;
+    }
+
+    /**
+     * 将 PDU 写入缓冲区当前位置
+     *
+     * @param buffer 目标缓冲区
+     */
+    public void writeTo(ByteBuffer buffer) {
+        buffer.put(bytes);
+    }
+
+    @Override
+    public String toString() {
+        return "ModbusPdu{fc=" + getFunctionCode() + ", address=" + getAddress() + ", length=" + bytes.length + '}';
+    }
+
+    private static void checkRange(int address, int quantity, int maxQuantity) {
+        if (quantity < 1 || quantity > maxQuantity) {
+            throw new IllegalArgumentException("数量超出范围: " + quantity);
+        }
+        if (address < 0 || address + quantity - 1 > MAX_ADDRESS) {
+            throw new IllegalArgumentException("地址超出范围: " + address);
+        }
+    }
+
+    private static byte hi(int value) {
+        return (byte) (value >>> 8);
+    }
+
+    private static byte lo(int value) {
+        return (byte) value;
+    }
+}
@@ -0,0 +1,101 @@
+package com.yimusi.modbus;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Modbus 响应.
+ * 写操作的响应只是请求的回显，解码时校验后返回按功能码缓存的共享实例，不分配对象；
+ * 读操作的响应才复制数据区.
+ */
+public final class ModbusResponse {
+
+    private static final byte[] NO_DATA = new byte[0];
+    private static final ModbusResponse[] ACKS = new ModbusResponse[0x80];
+
+    static {
+        for (int fc = 0; fc < ACKS.length; fc++) {
+            ACKS[fc] = new ModbusResponse(fc, NO_DATA);
+        }
+    }
+
+    private final int functionCode;
+    private final byte[] data;
+
+    private ModbusResponse(int functionCode, byte[] data) {
+        this.functionCode = functionCode;
+        this.data = data;
+    }
+
+    /**
+     * 从缓冲区当前位置解码一个响应 PDU，解码后 position 前进 length 个字节.
+     *
+     * @param buffer             响应缓冲区
+     * @param length             PDU 长度
+     * @param expectedFunction   请求功能码
+     * @return 响应
+     * @throws ModbusException 异常响应、功能码不匹配或长度不合法时
+     */
+    public static ModbusResponse decode(ByteBuffer buffer, int length, int expectedFunction) {
+        int end = buffer.position() + length;
+        try {
+            if (length < 2) {
+                throw new ModbusException("响应 PDU 长度不合法: " + length);
+            }
+            int functionCode = buffer.get() & 0xFF;
+            if ((functionCode & 0x80) != 0) {
+                throw new ModbusException(functionCode & 0x7F, buffer.get() & 0xFF);
+            }
+            if (functionCode != expectedFunction) {
+                throw new ModbusException(String.format("响应功能码不匹配: 期望=0x%02X, 实际=0x%02X", expectedFunction, functionCode));
+            }
+            return switch (functionCode) {
+                case ModbusPdu.FC_READ_COILS, ModbusPdu.FC_READ_HOLDING_REGISTERS -> {
+                    int byteCount = buffer.get() & 0xFF;
+                    if (byteCount != length - 2) {
+                        throw new ModbusException("响应字节数与 PDU 长度不一致");
+                    }
+                    byte[] data = new byte[byteCount];
+                    buffer.get(data);
+                    yield new ModbusResponse(functionCode, data);
+                }
+                default -> ACKS[functionCode];
+            };
+        } finally {
+            buffer.position(end);
+        }
+    }
+
+    /**
+     * 写操作的确认响应（共享实例），用于无响应的广播写入
+     *
+     * @param functionCode 写功能码
+     */
+    public static ModbusResponse acknowledged(int functionCode) {
+        return ACKS[functionCode & 0x7F];
+    }
+
+    public int getFunctionCode() {
+        return functionCode;
+    }
+
+    /**
+     * 读线圈响应中第 index 个线圈的值
+     */
+    public boolean getCoil(int index) {
+        return (data[index >>> 3] & (1 << (index & 7))) != 0;
+    }
+
+    /**
+     * 读寄存器响应中第 index 个寄存器的值（无符号 16 位）
+     */
+    public int getRegister(int index) {
+        return ((data[index * 2] & 0xFF) << 8) | (data[index * 2 + 1] & 0xFF);
+    }
+
+    /**
+     * 读寄存器响应中的寄存器个数
+     */
+    public int getRegisterCount() {
+        return data.length / 2;
+    }
+}
@@ -0,0 +1,25 @@
+package com.yimusi.modbus;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Modbus 传输层：负责将 PDU 封装为 ADU 发送给从站并匹配响应.
+ * 实现类必须是线程安全的；返回的 Future 在超时后以 {@link java.util.concurrent.TimeoutException} 异常完成.
+ */
+public interface ModbusTransport extends AutoCloseable {
+
+    /**
+     * 异步发送请求
+     *
+     * @param unitId 从站地址
+     * @param pdu    请求 PDU
+     * @return 响应 Future
+     */
+    CompletableFuture<ModbusResponse> execute(int unitId, ModbusPdu pdu);
+
+    /**
+     * 关闭传输层，未完成的请求以 {@link ModbusException} 异常完成
+     */
+    @Override
+    void close();
+}
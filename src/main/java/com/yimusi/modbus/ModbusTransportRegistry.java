@@ -0,0 +1,163 @@
+package com.yimusi.modbus;
+
+import com.yimusi.live.ReachabilityTracker;
+import com.yimusi.modbus.rtu.ModbusRtuLine;
+import com.yimusi.modbus.rtu.ModbusRtuSettings;
+import com.yimusi.modbus.rtu.ModbusRtuTransport;
+import com.yimusi.modbus.tcp.ModbusTcpConnectionPool;
+import com.yimusi.modbus.tcp.ModbusTcpSettings;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * 按测试工位管理 Modbus 传输层实例.
+ * 每个工位一个传输层（TCP 为一个连接池），通信地址变化时关闭旧实例并重建.
+ * 串口工位按串口设备共享线路（一条 RS-485 总线一个线路线程），线路按引用计数在最后一个工位释放时关闭.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ModbusTransportRegistry implements DisposableBean {
+
+    private final ReachabilityTracker reachabilityTracker;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${yimusi.modbus.tcp.pool-size:2}")
+    private int tcpPoolSize;
+
+    @Value("${yimusi.modbus.tcp.max-in-flight:8}")
+    private int tcpMaxInFlight;
+
+    @Value("${yimusi.modbus.request-timeout:PT1S}")
+    private Duration requestTimeout;
+
+    @Value("${yimusi.modbus.tcp.connect-timeout:PT2S}")
+    private Duration connectTimeout;
+
+    @Value("${yimusi.modbus.reconnect-backoff:PT5S}")
+    private Duration reconnectBackoff;
+
+    @Value("${yimusi.modbus.rtu.queue-capacity:64}")
+    private int rtuQueueCapacity;
+
+    @Value("${yimusi.modbus.rtu.max-batch:16}")
+    private int rtuMaxBatch;
+
+    private final Map<Long, Registration> transports = new ConcurrentHashMap<>();
+    private final Map<String, LineRegistration> serialLines = new ConcurrentHashMap<>();
+    private ModbusTcpSettings tcpSettings;
+    private ModbusRtuSettings rtuSettings;
+
+    @PostConstruct
+    void init() {
+        tcpSettings = new ModbusTcpSettings(tcpPoolSize, tcpMaxInFlight, requestTimeout, connectTimeout, reconnectBackoff);
+        rtuSettings = new ModbusRtuSettings(requestTimeout, rtuQueueCapacity, rtuMaxBatch, reconnectBackoff);
+        Gauge.builder("modbus.transports", transports, Map::size).register(meterRegistry);
+        Gauge.builder("modbus.rtu.lines", serialLines, Map::size).register(meterRegistry);
+        Gauge.builder("modbus.rtu.queue.depth", serialLines,
+                lines -> lines.values().stream().mapToInt(line -> line.line().getQueueDepth()).sum())
+            .register(meterRegistry);
+    }
+
+    /**
+     * 获取工位的传输层，不存在或通信地址已变化时创建
+     *
+     * @param stationId 工位ID
+     * @param stationNo 工位编号
+     * @param endpoint  通信地址
+     * @return 传输层
+     */
+    public ModbusTransport getTransport(Long stationId, Integer stationNo, ModbusEndpoint endpoint) {
+        Registration registration = transports.get(stationId);
+        if (registration != null && registration.endpoint().equals(endpoint)) {
+            return registration.transport();
+        }
+        Registration updated = transports.compute(stationId, (id, current) -> {
+            if (current != null && current.endpoint().equals(endpoint)) {
+                return current;
+            }
+            if (current != null) {
+                log.info("工位 {} 的控制器地址变更，重建传输层: {} -> {}", stationNo, current.endpoint(), endpoint);
+                current.transport().close();
+            }
+            return new Registration(endpoint, createTransport(stationId, stationNo, endpoint));
+        });
+        return updated.transport();
+    }
+
+    /**
+     * 关闭并移除工位的传输层
+     *
+     * @param stationId 工位ID
+     */
+    public void evict(Long stationId) {
+        Registration registration = transports.remove(stationId);
+        if (registration != null) {
+            registration.transport().close();
+        }
+    }
+
+    @Override
+    public void destroy() {
+        transports.values().forEach(registration -> registration.transport().close());
+        transports.clear();
+        serialLines.values().forEach(registration -> registration.line().close());
+        serialLines.clear();
+    }
+
+    private ModbusTransport createTransport(Long stationId, Integer stationNo, ModbusEndpoint endpoint) {
+        return switch (endpoint.commType()) {
+            case TCP_MODBUS -> new ModbusTcpConnectionPool(
+                endpoint.host(),
+                endpoint.port(),
+                tcpSettings,
+                reachable -> reachabilityTracker.markStationReachable(stationId, stationNo, reachable)
+            );
+            case SERIAL_MODBUS -> new ModbusRtuTransport(
+                acquireLine(endpoint),
+                reachable -> reachabilityTracker.markStationReachable(stationId, stationNo, reachable),
+                () -> releaseLine(endpoint.serial().device())
+            );
+        };
+    }
+
+    private ModbusRtuLine acquireLine(ModbusEndpoint endpoint) {
+        LineRegistration registration = serialLines.compute(endpoint.serial().device(), (device, current) -> {
+            if (current == null) {
+                return new LineRegistration(new ModbusRtuLine(endpoint.serial(), rtuSettings), 1);
+            }
+            if (!current.line().getLineSettings().equals(endpoint.serial())) {
+                throw new ModbusException(String.format("串口 %s 已按 %s 打开，与参数 %s 冲突",
+                    device, current.line().getLineSettings(), endpoint.serial()));
+            }
+            return new LineRegistration(current.line(), current.references() + 1);
+        });
+        return registration.line();
+    }
+
+    private void releaseLine(String device) {
+        serialLines.computeIfPresent(device, (key, current) -> {
+            if (current.references() > 1) {
+                return new LineRegistration(current.line(), current.references() - 1);
+            }
+            log.info("串口 {} 上已无工位，关闭线路", device);
+            current.line().close();
+            return null;
+        });
+    }
+
+    private record Registration(ModbusEndpoint endpoint, ModbusTransport transport) {
+    }
+
+    private record LineRegistration(ModbusRtuLine line, int references) {
+    }
+}
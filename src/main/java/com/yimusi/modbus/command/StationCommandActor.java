@@ -0,0 +1,248 @@
+package com.yimusi.modbus.command;
+
+import com.yimusi.common.exception.BusinessException;
+import com.yimusi.modbus.ModbusPdu;
+import com.yimusi.modbus.ModbusTransport;
+import com.yimusi.modbus.plan.ValveWritePlan;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Timer;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 单个测试工位的电磁阀命令执行者（actor）.
+ * <p>
+ * 命令进入无锁邮箱，由单个消费者串行处理：有命令时向执行器（虚拟线程）提交一次排空任务，
+ * 邮箱为空后任务结束，空闲工位不占用线程. 各工位互不加锁，吞吐量随工位数线性扩展.
+ * </p>
+ * <p>
+ * 每次取出一批命令后合并为最终的目标阀门状态：后到的命令覆盖先到的，全量命令覆盖之前的全部命令，
+ * 再与已知的阀门状态比较，只写入有变化的阀门（例如同一阀门先开后关会相互抵消，不产生任何写入）.
+ * 批内所有命令共享同一次写入的结果. 写入失败后清空已知状态，下一批按全量写入.
+ * </p>
+ */
+@Slf4j
+public class StationCommandActor {
+
+    private final Long stationId;
+    private final Supplier<ValveWritePlan> planSupplier;
+    private final Function<ValveWritePlan, ModbusTransport> transportResolver;
+    private final Executor executor;
+    private final int maxBatch;
+    private final Meters meters;
+    private final Queue<PendingCommand> mailbox = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger queueDepth = new AtomicInteger();
+    private final AtomicBoolean draining = new AtomicBoolean();
+    private volatile boolean closed;
+
+    // 以下字段仅由排空任务访问
+    private final Map<Integer, Boolean> knownStates = new HashMap<>();
+    private Instant knownVersion;
+
+    /**
+     * @param stationId         工位ID
+     * @param planSupplier      加载工位当前的写入计划（每批调用一次）
+     * @param transportResolver 根据写入计划获取传输层
+     * @param executor          排空任务执行器
+     * @param maxBatch          每批最多合并的命令数
+     * @param meters            指标
+     */
+    public StationCommandActor(Long stationId, Supplier<ValveWritePlan> planSupplier,
+                               Function<ValveWritePlan, ModbusTransport> transportResolver, Executor executor,
+                               int maxBatch, Meters meters) {
+        this.stationId = stationId;
+        this.planSupplier = planSupplier;
+        this.transportResolver = transportResolver;
+        this.executor = executor;
+        this.maxBatch = maxBatch;
+        this.meters = meters;
+    }
+
+    /**
+     * 提交命令
+     *
+     * @param command 命令
+     * @return 命令执行（或被合并）完成的 Future
+     */
+    public CompletableFuture<Void> submit(ValveCommand command) {
+        CompletableFuture<Void> future = new CompletableFuture<>();
+        if (closed) {
+            future.completeExceptionally(new IllegalStateException("工位命令队列已关闭: " + stationId));
+            return future;
+        }
+        mailbox.add(new PendingCommand(command, future, System.nanoTime()));
+        queueDepth.incrementAndGet();
+        scheduleDrain();
+        return future;
+    }
+
+    /**
+     * 当前排队的命令数
+     */
+    public int getQueueDepth() {
+        return queueDepth.get();
+    }
+
+    /**
+     * 关闭 actor，排队中的命令以异常完成
+     */
+    public void close() {
+        closed = true;
+        PendingCommand pending;
+        while ((pending = mailbox.poll()) != null) {
+            queueDepth.decrementAndGet();
+            pending.future().completeExceptionally(new IllegalStateException("工位命令队列已关闭: " + stationId));
+        }
+    }
+
+    private void scheduleDrain() {
+        if (!draining.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            executor.execute(this::drain);
+        } catch (RejectedExecutionException e) {
+            draining.set(false);
+            close();
+        }
+    }
+
+    private void drain() {
+        List<PendingCommand> batch = new ArrayList<>(maxBatch);
+        while (true) {
+            PendingCommand pending;
+            while (batch.size() < maxBatch && (pending = mailbox.poll()) != null) {
+                batch.add(pending);
+            }
+            if (batch.isEmpty()) {
+                draining.set(false);
+                // 释放排空权后再检查一次，避免与 submit 竞争时丢失唤醒
+                if (mailbox.isEmpty() || !draining.compareAndSet(false, true)) {
+                    return;
+                }
+                continue;
+            }
+            queueDepth.addAndGet(-batch.size());
+            try {
+                process(batch);
+            } catch (BusinessException e) {
+                log.warn("工位 {} 的阀门命令被拒绝: {}", stationId, e.getMessage());
+                completeAll(batch, e);
+            } catch (RuntimeException e) {
+                log.error("工位 {} 的阀门命令处理异常", stationId, e);
+                completeAll(batch, e);
+            }
+            batch.clear();
+        }
+    }
+
+    private void process(List<PendingCommand> batch) {
+        ValveWritePlan plan = planSupplier.get();
+        if (!Objects.equals(plan.getVersion(), knownVersion)) {
+            // 工位参数变化后阀门地址可能改变，已知状态作废
+            knownStates.clear();
+            knownVersion = plan.getVersion();
+        }
+
+        Map<Integer, Boolean> desired = new TreeMap<>();
+        ValveCommand fullCommand = null;
+        for (PendingCommand pending : batch) {
+            switch (pending.command()) {
+                case ValveCommand.SetValve set -> {
+                    desired.put(set.valve(), set.open());
+                    // 全量命令之后又有单阀命令，不能再直接使用预编译的全量写入
+                    fullCommand = null;
+                }
+                case ValveCommand.SwitchChannel switchChannel -> {
+                    desired.clear();
+                    Set<Integer> open = plan.getChannelValves(switchChannel.channel());
+                    plan.getValves().forEach(valve -> desired.put(valve, open.contains(valve)));
+                    fullCommand = pending.command();
+                }
+                case ValveCommand.CloseAll closeAll -> {
+                    desired.clear();
+                    plan.getValves().forEach(valve -> desired.put(valve, false));
+                    fullCommand = pending.command();
+                }
+            }
+        }
+
+        Map<Integer, Boolean> changes = new TreeMap<>();
+        desired.forEach((valve, open) -> {
+            if (!open.equals(knownStates.get(valve))) {
+                changes.put(valve, open);
+            }
+        });
+        if (changes.isEmpty()) {
+            meters.coalesced().increment(batch.size());
+            completeAll(batch, null);
+            return;
+        }
+
+        List<ModbusPdu> writes = switch (fullCommand) {
+            case ValveCommand.SwitchChannel switchChannel -> plan.getChannelWrites(switchChannel.channel());
+            case ValveCommand.CloseAll closeAll -> plan.getCloseAllWrites();
+            case null, default -> plan.compileValveStates(changes);
+        };
+        ModbusTransport transport = transportResolver.apply(plan);
+        int unitId = plan.getEndpoint().unitId();
+        long start = System.nanoTime();
+        try {
+            for (ModbusPdu write : writes) {
+                transport.execute(unitId, write).join();
+            }
+        } catch (CompletionException e) {
+            knownStates.clear();
+            completeAll(batch, e.getCause() != null ? e.getCause() : e);
+            return;
+        } finally {
+            meters.execution().record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+        knownStates.putAll(desired);
+        meters.coalesced().increment(batch.size() - 1);
+        completeAll(batch, null);
+    }
+
+    private void completeAll(List<PendingCommand> batch, Throwable error) {
+        long now = System.nanoTime();
+        for (PendingCommand pending : batch) {
+            meters.latency().record(now - pending.enqueuedNanos(), TimeUnit.NANOSECONDS);
+            if (error == null) {
+                pending.future().complete(null);
+            } else {
+                pending.future().completeExceptionally(error);
+            }
+        }
+    }
+
+    /**
+     * actor 使用的指标
+     *
+     * @param latency   命令从入队到完成的耗时
+     * @param execution 每批写入的耗时
+     * @param coalesced 被合并（未单独产生写入）的命令数
+     */
+    public record Meters(Timer latency, Timer execution, Counter coalesced) {
+    }
+
+    private record PendingCommand(ValveCommand command, CompletableFuture<Void> future, long enqueuedNanos) {
+    }
+}
@@ -0,0 +1,31 @@
+package com.yimusi.modbus.command;
+
+/**
+ * 电磁阀控制命令.
+ * {@link SwitchChannel} 与 {@link CloseAll} 是全量状态命令，会覆盖队列中排在它之前的所有命令.
+ */
+public sealed interface ValveCommand {
+
+    /**
+     * 打开或关闭单个阀门
+     *
+     * @param valve 阀门编号
+     * @param open  是否打开
+     */
+    record SetValve(int valve, boolean open) implements ValveCommand {
+    }
+
+    /**
+     * 切换到油样通道：打开该通道的阀门，关闭其余阀门
+     *
+     * @param channel 油样通道
+     */
+    record SwitchChannel(String channel) implements ValveCommand {
+    }
+
+    /**
+     * 关闭全部阀门
+     */
+    record CloseAll() implements ValveCommand {
+    }
+}
@@ -0,0 +1,150 @@
+package com.yimusi.modbus.plan;
+
+import com.yimusi.common.exception.BadRequestException;
+import com.yimusi.enums.ValveWriteMode;
+import com.yimusi.modbus.ModbusEndpoint;
+import com.yimusi.modbus.ModbusPdu;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * 测试工位编译后的电磁阀写入计划（不可变）.
+ * <p>
+ * 包含控制器通信地址、每个阀门的寄存器地址，以及预先编译好的
+ * “切换到某油样通道”与“关闭全部阀门”的 PDU 序列；PDU 已按地址连续性合并为 FC15 / FC16 多写帧.
+ * 计划与工位版本（updatedAt）绑定，发送命令时不再解析工位参数.
+ * </p>
+ */
+public final class ValveWritePlan {
+
+    private final Long stationId;
+    private final Integer stationNo;
+    private final Instant version;
+    private final ModbusEndpoint endpoint;
+    private final ValveWriteMode mode;
+    private final int onValue;
+    private final int offValue;
+    private final Map<Integer, Integer> valveAddresses;
+    private final Map<String, Set<Integer>> channelValves;
+    private final Map<String, List<ModbusPdu>> channelWrites;
+    private final List<ModbusPdu> closeAllWrites;
+
+    ValveWritePlan(Long stationId, Integer stationNo, Instant version, ModbusEndpoint endpoint, ValveWriteMode mode,
+                   int onValue, int offValue, Map<Integer, Integer> valveAddresses,
+                   Map<String, Set<Integer>> channelValves, Map<String, List<ModbusPdu>> channelWrites,
+                   List<ModbusPdu> closeAllWrites) {
+        this.stationId = stationId;
+        this.stationNo = stationNo;
+        this.version = version;
+        this.endpoint = endpoint;
+        this.mode = mode;
+        this.onValue = onValue;
+        this.offValue = offValue;
+        this.valveAddresses = Map.copyOf(valveAddresses);
+        this.channelValves = Map.copyOf(channelValves);
+        this.channelWrites = Map.copyOf(channelWrites);
+        this.closeAllWrites = List.copyOf(closeAllWrites);
+    }
+
+    public Long getStationId() {
+        return stationId;
+    }
+
+    public Integer getStationNo() {
+        return stationNo;
+    }
+
+    /**
+     * 编译时工位的版本（updatedAt）
+     */
+    public Instant getVersion() {
+        return version;
+    }
+
+    public ModbusEndpoint getEndpoint() {
+        return endpoint;
+    }
+
+    public ValveWriteMode getMode() {
+        return mode;
+    }
+
+    /**
+     * 油-阀对应关系中配置的全部油样通道
+     */
+    public Set<String> getChannels() {
+        return channelWrites.keySet();
+    }
+
+    /**
+     * 全部阀门编号
+     */
+    public Set<Integer> getValves() {
+        return valveAddresses.keySet();
+    }
+
+    /**
+     * 指定油样通道需要打开的阀门编号
+     *
+     * @param channel 油样通道
+     * @return 阀门编号集合
+     * @throws BadRequestException 通道未配置时
+     */
+    public Set<Integer> getChannelValves(String channel) {
+        Set<Integer> valves = channelValves.get(channel);
+        if (valves == null) {
+            throw new BadRequestException(String.format("工位 ID %s 未配置油样通道 %s 的阀门映射", stationId, channel));
+        }
+        return valves;
+    }
+
+    /**
+     * 切换到指定油样通道：打开该通道的阀门，关闭其余阀门
+     *
+     * @param channel 油样通道
+     * @return 写入 PDU 序列
+     * @throws BadRequestException 通道未配置时
+     */
+    public List<ModbusPdu> getChannelWrites(String channel) {
+        List<ModbusPdu> writes = channelWrites.get(channel);
+        if (writes == null) {
+            throw new BadRequestException(String.format("工位 ID %s 未配置油样通道 %s 的阀门映射", stationId, channel));
+        }
+        return writes;
+    }
+
+    /**
+     * 关闭全部阀门
+     */
+    public List<ModbusPdu> getCloseAllWrites() {
+        return closeAllWrites;
+    }
+
+    /**
+     * 编译任意阀门状态组合的写入序列，地址连续的阀门合并为一帧
+     *
+     * @param states 阀门编号 -> 是否打开
+     * @return 写入 PDU 序列
+     * @throws BadRequestException 存在未配置的阀门编号时
+     */
+    public List<ModbusPdu> compileValveStates(Map<Integer, Boolean> states) {
+        TreeMap<Integer, Integer> addressValues = new TreeMap<>();
+        states.forEach((valve, open) -> {
+            Integer address = valveAddresses.get(valve);
+            if (address == null) {
+                throw new BadRequestException(String.format("阀门 %d 未配置", valve));
+            }
+            addressValues.put(address, open ? onValue : offValue);
+        });
+        return ValveWritePlanCompiler.merge(mode, addressValues);
+    }
+
+    @Override
+    public String toString() {
+        return "ValveWritePlan{stationId=" + stationId + ", version=" + version + ", mode=" + mode
+            + ", valves=" + valveAddresses.size() + ", channels=" + channelWrites.keySet() + "}";
+    }
+}
@@ -0,0 +1,65 @@
+package com.yimusi.modbus.plan;
+
+import com.yimusi.entity.TestStation;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+/**
+ * 按工位缓存编译后的阀门写入计划.
+ * <p>
+ * 缓存项与工位版本（updatedAt）绑定：版本不一致时重新编译，覆盖其他节点修改工位的情况；
+ * 本节点修改工位参数时由 {@code updateStation} 主动失效.
+ * </p>
+ */
+@Slf4j
+@Component
+public class ValveWritePlanCache {
+
+    private final Map<Long, ValveWritePlan> plans = new ConcurrentHashMap<>();
+    private final Counter compileCounter;
+
+    public ValveWritePlanCache(MeterRegistry meterRegistry) {
+        this.compileCounter = Counter.builder("modbus.plan.compiled")
+            .description("阀门写入计划编译次数")
+            .register(meterRegistry);
+        Gauge.builder("modbus.plan.cached", plans, Map::size).register(meterRegistry);
+    }
+
+    /**
+     * 获取工位的写入计划，未缓存或版本变化时重新编译
+     *
+     * @param station 测试工位
+     * @return 写入计划
+     * @throws com.yimusi.common.exception.BadRequestException 工位参数不合法时
+     */
+    public ValveWritePlan getPlan(TestStation station) {
+        ValveWritePlan plan = plans.get(station.getId());
+        if (plan != null && Objects.equals(plan.getVersion(), station.getUpdatedAt())) {
+            return plan;
+        }
+        return plans.compute(station.getId(), (id, current) -> {
+            if (current != null && Objects.equals(current.getVersion(), station.getUpdatedAt())) {
+                return current;
+            }
+            ValveWritePlan compiled = ValveWritePlanCompiler.compile(station);
+            compileCounter.increment();
+            log.debug("编译工位 {} 的阀门写入计划: {}", station.getStationNo(), compiled);
+            return compiled;
+        });
+    }
+
+    /**
+     * 使工位的写入计划失效
+     *
+     * @param stationId 工位ID
+     */
+    public void evict(Long stationId) {
+        plans.remove(stationId);
+    }
+}
@@ -0,0 +1,226 @@
+package com.yimusi.modbus.plan;
+
+import com.yimusi.common.exception.BadRequestException;
+import com.yimusi.entity.TestStation;
+import com.yimusi.entity.TestStationParameter;
+import com.yimusi.enums.ValveWriteMode;
+import com.yimusi.modbus.ModbusEndpoint;
+import com.yimusi.modbus.ModbusPdu;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * 将测试工位的 valveControlParams / oilValveMapping 编译为 {@link ValveWritePlan}.
+ * <p>
+ * valveControlParams 中除通信参数（见 {@link ModbusEndpoint}）外使用的参数：
+ * <ul>
+ *   <li>{@code valveType}：COIL（默认）或 REGISTER；</li>
+ *   <li>{@code valveBaseAddress}：1 号阀门的线圈 / 寄存器地址，默认 0，n 号阀门地址为 base + n - 1；</li>
+ *   <li>{@code valve.<n>}：单独指定 n 号阀门的地址，覆盖默认地址；</li>
+ *   <li>{@code valveCount}：阀门总数，默认取映射与单独指定中的最大编号；</li>
+ *   <li>{@code valveOnValue} / {@code valveOffValue}：REGISTER 模式下开 / 关写入的值，默认 1 / 0。</li>
+ * </ul>
+ * oilValveMapping 的 key 为油样通道，value 为该通道需要打开的阀门编号，多个以逗号分隔，如 {@code "3,4"}.
+ * </p>
+ * <p>
+ * 每个通道编译为“打开本通道阀门、关闭其余阀门”的全量写入，地址连续的阀门合并为一个 FC15 / FC16 帧，
+ * 超出单帧上限时拆分，孤立的单个地址使用更短的 FC05 / FC06.
+ * </p>
+ */
+public final class ValveWritePlanCompiler {
+
+    public static final String KEY_VALVE_TYPE = "valveType";
+    public static final String KEY_VALVE_BASE_ADDRESS = "valveBaseAddress";
+    public static final String KEY_VALVE_COUNT = "valveCount";
+    public static final String KEY_VALVE_ON_VALUE = "valveOnValue";
+    public static final String KEY_VALVE_OFF_VALUE = "valveOffValue";
+    public static final String VALVE_ADDRESS_PREFIX = "valve.";
+
+    private static final int MAX_ADDRESS = 0xFFFF;
+    private static final int MAX_VALVES = 1024;
+
+    private ValveWritePlanCompiler() {
+    }
+
+    /**
+     * 编译工位的阀门写入计划
+     *
+     * @param station 测试工位
+     * @return 写入计划
+     * @throws BadRequestException 参数缺失或格式错误时
+     */
+    public static ValveWritePlan compile(TestStation station) {
+        ModbusEndpoint endpoint = ModbusEndpoint.from(station);
+        List<TestStationParameter> params = station.getValveControlParams();
+        ValveWriteMode mode = parseMode(ModbusEndpoint.find(params, KEY_VALVE_TYPE));
+        int onValue = mode == ValveWriteMode.COIL ? 1 : ModbusEndpoint.parseInt(params, KEY_VALVE_ON_VALUE, 1, 0, 0xFFFF);
+        int offValue = mode == ValveWriteMode.COIL ? 0 : ModbusEndpoint.parseInt(params, KEY_VALVE_OFF_VALUE, 0, 0, 0xFFFF);
+
+        Map<String, int[]> channels = parseChannels(station);
+        Map<Integer, Integer> overrides = parseAddressOverrides(params);
+        int valveCount = ModbusEndpoint.parseInt(params, KEY_VALVE_COUNT, 0, 0, MAX_VALVES);
+        for (int[] valves : channels.values()) {
+            for (int valve : valves) {
+                valveCount = Math.max(valveCount, valve);
+            }
+        }
+        for (int valve : overrides.keySet()) {
+            valveCount = Math.max(valveCount, valve);
+        }
+        if (valveCount == 0) {
+            throw new BadRequestException(String.format("工位 %s 未配置任何阀门", station.getStationNo()));
+        }
+
+        int baseAddress = ModbusEndpoint.parseInt(params, KEY_VALVE_BASE_ADDRESS, 0, 0, MAX_ADDRESS);
+        Map<Integer, Integer> valveAddresses = new TreeMap<>();
+        Map<Integer, Integer> addressOwners = new TreeMap<>();
+        for (int valve = 1; valve <= valveCount; valve++) {
+            int address = overrides.getOrDefault(valve, baseAddress + valve - 1);
+            if (address > MAX_ADDRESS) {
+                throw new BadRequestException(String.format("阀门 %d 的地址超出范围: %d", valve, address));
+            }
+            Integer owner = addressOwners.putIfAbsent(address, valve);
+            if (owner != null) {
+                throw new BadRequestException(String.format("阀门 %d 与阀门 %d 的地址重复: %d", owner, valve, address));
+            }
+            valveAddresses.put(valve, address);
+        }
+
+        TreeMap<Integer, Integer> allOff = new TreeMap<>();
+        valveAddresses.values().forEach(address -> allOff.put(address, offValue));
+
+        Map<String, Set<Integer>> channelValves = new LinkedHashMap<>();
+        Map<String, List<ModbusPdu>> channelWrites = new LinkedHashMap<>();
+        channels.forEach((channel, valves) -> {
+            TreeMap<Integer, Integer> state = new TreeMap<>(allOff);
+            Set<Integer> open = new TreeSet<>();
+            for (int valve : valves) {
+                state.put(valveAddresses.get(valve), onValue);
+                open.add(valve);
+            }
+            channelValves.put(channel, Set.copyOf(open));
+            channelWrites.put(channel, merge(mode, state));
+        });
+
+        return new ValveWritePlan(station.getId(), station.getStationNo(), station.getUpdatedAt(), endpoint, mode,
+            onValue, offValue, valveAddresses, channelValves, channelWrites, merge(mode, allOff));
+    }
+
+    /**
+     * 将按地址排序的写入值合并为最少的写入帧
+     *
+     * @param mode          寻址方式
+     * @param addressValues 地址 -> 写入值（线圈模式下非 0 为打开）
+     * @return 写入 PDU 序列
+     */
+    static List<ModbusPdu> merge(ValveWriteMode mode, NavigableMap<Integer, Integer> addressValues) {
+        int maxRun = mode == ValveWriteMode.COIL ? ModbusPdu.MAX_WRITE_COILS : ModbusPdu.MAX_WRITE_REGISTERS;
+        List<ModbusPdu> writes = new ArrayList<>();
+        int[] run = new int[maxRun];
+        int runStart = -1;
+        int runLength = 0;
+        for (Map.Entry<Integer, Integer> entry : addressValues.entrySet()) {
+            int address = entry.getKey();
+            if (runLength > 0 && (address != runStart + runLength || runLength == maxRun)) {
+                writes.add(toPdu(mode, runStart, run, runLength));
+                runLength = 0;
+            }
+            if (runLength == 0) {
+                runStart = address;
+            }
+            run[runLength++] = entry.getValue();
+        }
+        if (runLength > 0) {
+            writes.add(toPdu(mode, runStart, run, runLength));
+        }
+        return List.copyOf(writes);
+    }
+
+    private static ModbusPdu toPdu(ValveWriteMode mode, int address, int[] values, int length) {
+        if (mode == ValveWriteMode.COIL) {
+            if (length == 1) {
+                return ModbusPdu.writeSingleCoil(address, values[0] != 0);
+            }
+            boolean[] coils = new boolean[length];
+            for (int i = 0; i < length; i++) {
+                coils[i] = values[i] != 0;
+            }
+            return ModbusPdu.writeMultipleCoils(address, coils);
+        }
+        if (length == 1) {
+            return ModbusPdu.writeSingleRegister(address, values[0]);
+        }
+        int[] registers = new int[length];
+        System.arraycopy(values, 0, registers, 0, length);
+        return ModbusPdu.writeMultipleRegisters(address, registers);
+    }
+
+    private static ValveWriteMode parseMode(String value) {
+        if (value == null || value.isBlank()) {
+            return ValveWriteMode.COIL;
+        }
+        try {
+            return ValveWriteMode.valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException(String.format("参数 %s 只能为 COIL 或 REGISTER: %s", KEY_VALVE_TYPE, value));
+        }
+    }
+
+    private static Map<String, int[]> parseChannels(TestStation station) {
+        Map<String, int[]> channels = new LinkedHashMap<>();
+        List<TestStationParameter> mapping = station.getOilValveMapping();
+        if (mapping == null) {
+            return channels;
+        }
+        for (TestStationParameter entry : mapping) {
+            if (entry.getKey() == null || entry.getKey().isBlank()) {
+                throw new BadRequestException(String.format("工位 %s 的油-阀对应关系存在空通道", station.getStationNo()));
+            }
+            String value = entry.getValue() == null ? "" : entry.getValue().trim();
+            String[] parts = value.isEmpty() ? new String[0] : value.split(",");
+            int[] valves = new int[parts.length];
+            for (int i = 0; i < parts.length; i++) {
+                valves[i] = parseValveNumber(parts[i], "油样通道 " + entry.getKey());
+            }
+            if (channels.put(entry.getKey().trim(), valves) != null) {
+                throw new BadRequestException(String.format("油样通道 %s 重复配置", entry.getKey()));
+            }
+        }
+        return channels;
+    }
+
+    private static Map<Integer, Integer> parseAddressOverrides(List<TestStationParameter> params) {
+        Map<Integer, Integer> overrides = new TreeMap<>();
+        if (params == null) {
+            return overrides;
+        }
+        for (TestStationParameter param : params) {
+            String key = param.getKey();
+            if (key == null || !key.startsWith(VALVE_ADDRESS_PREFIX)) {
+                continue;
+            }
+            int valve = parseValveNumber(key.substring(VALVE_ADDRESS_PREFIX.length()), "参数 " + key);
+            overrides.put(valve, ModbusEndpoint.parseInt(params, key, 0, 0, MAX_ADDRESS));
+        }
+        return overrides;
+    }
+
+    private static int parseValveNumber(String text, String source) {
+        try {
+            int valve = Integer.parseInt(text.trim());
+            if (valve < 1 || valve > MAX_VALVES) {
+                throw new BadRequestException(String.format("%s 的阀门编号超出范围 [1, %d]: %s", source, MAX_VALVES, text));
+            }
+            return valve;
+        } catch (NumberFormatException e) {
+            throw new BadRequestException(String.format("%s 的阀门编号不是合法的整数: %s", source, text));
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.yimusi.modbus.rtu;
+
+/**
+ * Modbus RTU 帧校验（CRC-16/MODBUS，多项式 0xA001 反射形式，初值 0xFFFF）.
+ * 查表实现，每字节一次查表与移位，不分配对象.
+ */
+public final class Crc16 {
+
+    private static final char[] TABLE = new char[256];
+
+    static {
+        for (int i = 0; i < 256; i++) {
+            int crc = i;
+            for (int bit = 0; bit < 8; bit++) {
+                crc = (crc & 1) != 0 ? (crc >>> 1) ^ 0xA001 : crc >>> 1;
+            }
+            TABLE[i] = (char) crc;
+        }
+    }
+
+    private Crc16() {
+    }
+
+    /**
+     * 计算校验值
+     *
+     * @param buffer 数据
+     * @param offset 起始位置
+     * @param length 长度
+     * @return 16 位校验值，帧中按低字节在前写入
+     */
+    public static int compute(byte[] buffer, int offset, int length) {
+        int crc = 0xFFFF;
+        for (int i = offset, end = offset + length; i < end; i++) {
+            crc = (crc >>> 8) ^ TABLE[(crc ^ buffer[i]) & 0xFF];
+        }
+        return crc;
+    }
+
+    /**
+     * 在 buffer[offset, offset + length) 之后追加校验值（低字节在前）
+     *
+     * @return 追加校验值后的帧长度（相对 offset）
+     */
+    public static int append(byte[] buffer, int offset, int length) {
+        int crc = compute(buffer, offset, length);
+        buffer[offset + length] = (byte) crc;
+        buffer[offset + length + 1] = (byte) (crc >>> 8);
+        return length + 2;
+    }
+
+    /**
+     * 校验以 CRC 结尾的完整帧
+     *
+     * @param buffer 数据
+     * @param offset 帧起始位置
+     * @param length 帧长度（含 2 字节校验值）
+     * @return 校验是否通过
+     */
+    public static boolean verify(byte[] buffer, int offset, int length) {
+        if (length < 4) {
+            return false;
+        }
+        int crc = compute(buffer, offset, length - 2);
+        return (buffer[offset + length - 2] & 0xFF) == (crc & 0xFF)
+            && (buffer[offset + length - 1] & 0xFF) == (crc >>> 8);
+    }
+}
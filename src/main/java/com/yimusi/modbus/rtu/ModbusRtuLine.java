@@ -0,0 +1,347 @@
+package com.yimusi.modbus.rtu;
+
+import com.yimusi.modbus.ModbusException;
+import com.yimusi.modbus.ModbusPdu;
+import com.yimusi.modbus.ModbusResponse;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.locks.LockSupport;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 一条 Modbus RTU 串口总线.
+ * <p>
+ * RS-485 总线是半双工、一问一答的，同一总线上的多个从站（多个工位）共享一个请求队列，
+ * 由该线路专属的平台线程串行执行. 每条线路一个线程，慢线路（低波特率、从站超时）不会阻塞其他线路.
+ * </p>
+ * <p>
+ * 帧时序：发送前保证距上一次线路活动至少 t3.5 的静默；等待时先 park 到截止时间前 {@value #SPIN_THRESHOLD_NANOS}ns，
+ * 再自旋到截止时间，避免 park 的唤醒抖动（通常在数十到数百微秒）吃掉 9600bps 下约 4ms 的帧间隔余量.
+ * 线程以最高优先级运行，收发缓冲区与 CRC 计算均不分配对象.
+ * </p>
+ * <p>
+ * 批量执行：线程每次唤醒后一次性取出最多 maxBatch 个请求并背靠背发送，串口状态检查与队列唤醒按批摊销.
+ * </p>
+ */
+@Slf4j
+public class ModbusRtuLine implements AutoCloseable {
+
+    /** RTU 帧最大长度：地址 1 + PDU 253 + CRC 2 */
+    private static final int MAX_FRAME_LENGTH = 256;
+    private static final int BROADCAST_UNIT_ID = 0;
+    private static final long SPIN_THRESHOLD_NANOS = 100_000L;
+    private static final long MIN_POLL_NANOS = 50_000L;
+    /** 广播写入后等待从站处理的转换延时 */
+    private static final long BROADCAST_TURNAROUND_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+    private static final long IDLE_POLL_MILLIS = 500;
+
+    private final SerialLineSettings lineSettings;
+    private final long requestTimeoutNanos;
+    private final long reopenBackoffNanos;
+    private final int maxBatch;
+    private final long charNanos;
+    private final long frameGapNanos;
+    private final BlockingQueue<RtuRequest> queue;
+    private final Thread worker;
+
+    // 以下字段仅由线路线程访问
+    private final byte[] txFrame = new byte[MAX_FRAME_LENGTH];
+    private final byte[] rxFrame = new byte[MAX_FRAME_LENGTH];
+    private final ByteBuffer txView = ByteBuffer.wrap(txFrame);
+    private final ByteBuffer rxView = ByteBuffer.wrap(rxFrame);
+    private TtySerialPort port;
+    private long lastActivityNanos;
+    private long reopenNotBefore;
+
+    private volatile boolean closed;
+
+    /**
+     * 创建线路并启动线路线程，串口在首次执行请求时打开
+     *
+     * @param lineSettings 串口参数
+     * @param settings     线路参数
+     */
+    public ModbusRtuLine(SerialLineSettings lineSettings, ModbusRtuSettings settings) {
+        this.lineSettings = lineSettings;
+        this.requestTimeoutNanos = settings.requestTimeout().toNanos();
+        this.reopenBackoffNanos = settings.reopenBackoff().toNanos();
+        this.maxBatch = settings.maxBatch();
+        this.charNanos = lineSettings.charNanos();
+        this.frameGapNanos = lineSettings.frameGapNanos();
+        this.queue = new ArrayBlockingQueue<>(settings.queueCapacity());
+        this.lastActivityNanos = System.nanoTime();
+        this.worker = Thread.ofPlatform()
+            .name("modbus-rtu-" + lineSettings.device())
+            .daemon(true)
+            .priority(Thread.MAX_PRIORITY)
+            .start(this::runLoop);
+    }
+
+    /**
+     * 提交请求，按提交顺序在线路上执行
+     *
+     * @param unitId 从站地址，0 为广播（仅允许写操作，不等待响应）
+     * @param pdu    请求 PDU
+     * @return 响应 Future，超时以 {@link TimeoutException} 异常完成
+     */
+    public CompletableFuture<ModbusResponse> submit(int unitId, ModbusPdu pdu) {
+        if (closed) {
+            return CompletableFuture.failedFuture(new ModbusException("串口线路已关闭: " + lineSettings.device()));
+        }
+        if (unitId == BROADCAST_UNIT_ID && !isWrite(pdu.getFunctionCode())) {
+            return CompletableFuture.failedFuture(new ModbusException("广播地址只允许写操作: " + pdu));
+        }
+        RtuRequest request = new RtuRequest(unitId, pdu, new CompletableFuture<>());
+        if (!queue.offer(request)) {
+            return CompletableFuture.failedFuture(new ModbusException("串口线路请求队列已满: " + lineSettings.device()));
+        }
+        return request.future();
+    }
+
+    public SerialLineSettings getLineSettings() {
+        return lineSettings;
+    }
+
+    /**
+     * 当前排队的请求数
+     */
+    public int getQueueDepth() {
+        return queue.size();
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        worker.interrupt();
+        try {
+            worker.join(TimeUnit.NANOSECONDS.toMillis(requestTimeoutNanos) + 1000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        failQueued();
+    }
+
+    private void runLoop() {
+        List<RtuRequest> batch = new ArrayList<>(maxBatch);
+        try {
+            while (!closed) {
+                RtuRequest first = queue.poll(IDLE_POLL_MILLIS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, maxBatch - 1);
+                executeBatch(batch);
+                batch.clear();
+            }
+        } catch (InterruptedException e) {
+            // 关闭线路
+        } finally {
+            for (RtuRequest request : batch) {
+                request.future().completeExceptionally(new ModbusException("串口线路已关闭: " + lineSettings.device()));
+            }
+            closePort();
+        }
+    }
+
+    private void executeBatch(List<RtuRequest> batch) {
+        if (!ensurePortOpen()) {
+            ModbusException error = new ModbusException("无法打开串口: " + lineSettings.device());
+            batch.forEach(request -> request.future().completeExceptionally(error));
+            return;
+        }
+        for (RtuRequest request : batch) {
+            // 调用方已取消的请求不再占用总线
+            if (!request.future().isDone() && !closed) {
+                execute(request);
+            }
+        }
+    }
+
+    private void execute(RtuRequest request) {
+        int functionCode = request.pdu().getFunctionCode();
+        try {
+            int frameLength = encode(request.unitId(), request.pdu());
+            sleepUntil(lastActivityNanos + frameGapNanos);
+            // 丢弃超时请求迟到的响应等残留数据
+            port.discardInput(rxFrame);
+            long sendStart = System.nanoTime();
+            port.write(txFrame, 0, frameLength);
+            // write 返回时数据仅进入内核缓冲区，按波特率估算实际发送完毕的时刻
+            long sendEnd = sendStart + frameLength * charNanos;
+            lastActivityNanos = sendEnd;
+            if (request.unitId() == BROADCAST_UNIT_ID) {
+                sleepUntil(sendEnd + BROADCAST_TURNAROUND_NANOS);
+                lastActivityNanos = System.nanoTime();
+                request.future().complete(ModbusResponse.acknowledged(functionCode));
+                return;
+            }
+            int responseLength = receive(sendEnd + requestTimeoutNanos);
+            if (responseLength == 0) {
+                request.future().completeExceptionally(new TimeoutException(
+                    String.format("从站 %d 响应超时: %s", request.unitId(), lineSettings.device())));
+                return;
+            }
+            request.future().complete(decode(request.unitId(), functionCode, responseLength));
+        } catch (ModbusException e) {
+            request.future().completeExceptionally(e);
+        } catch (IOException e) {
+            log.warn("串口读写失败: {}, {}", lineSettings.device(), e.getMessage());
+            closePort();
+            request.future().completeExceptionally(new ModbusException("串口读写失败: " + lineSettings.device(), e));
+        }
+    }
+
+    /**
+     * 在发送缓冲区中组帧：地址 + PDU + CRC
+     *
+     * @return 帧长度
+     */
+    private int encode(int unitId, ModbusPdu pdu) {
+        txView.clear();
+        txView.put((byte) unitId);
+        pdu.writeTo(txView);
+        return Crc16.append(txFrame, 0, txView.position());
+    }
+
+    /**
+     * 接收一帧响应. 能从已收到的字节推断帧长度时收满即返回；
+     * 无法推断时以 t3.5 静默判定帧结束.
+     *
+     * @param deadline 首字节到达的截止时间
+     * @return 帧长度，超时未收到任何数据时返回 0
+     */
+    private int receive(long deadline) throws IOException {
+        int length = 0;
+        int expected = -1;
+        long lastByteNanos = 0;
+        long pollNanos = Math.max(charNanos, MIN_POLL_NANOS);
+        while (true) {
+            int read = port.read(rxFrame, length, MAX_FRAME_LENGTH - length);
+            long now = System.nanoTime();
+            if (read > 0) {
+                length += read;
+                lastByteNanos = now;
+                lastActivityNanos = now;
+                if (expected < 0) {
+                    expected = expectedLength(length);
+                }
+                if ((expected > 0 && length >= expected) || length == MAX_FRAME_LENGTH) {
+                    return length;
+                }
+                continue;
+            }
+            if (length == 0) {
+                if (now - deadline > 0) {
+                    return 0;
+                }
+            } else if (expected < 0 ? now - lastByteNanos > frameGapNanos : now - deadline > 0) {
+                return length;
+            }
+            LockSupport.parkNanos(pollNanos);
+        }
+    }
+
+    /**
+     * 根据已收到的帧头推断响应帧总长度
+     *
+     * @return 帧长度，字节不足或功能码未知时返回 -1
+     */
+    private int expectedLength(int received) {
+        if (received < 2) {
+            return -1;
+        }
+        int functionCode = rxFrame[1] & 0xFF;
+        if ((functionCode & 0x80) != 0) {
+            return 5;
+        }
+        return switch (functionCode) {
+            case ModbusPdu.FC_READ_COILS, ModbusPdu.FC_READ_HOLDING_REGISTERS ->
+                received < 3 ? -1 : 3 + (rxFrame[2] & 0xFF) + 2;
+            case ModbusPdu.FC_WRITE_SINGLE_COIL, ModbusPdu.FC_WRITE_SINGLE_REGISTER,
+                ModbusPdu.FC_WRITE_MULTIPLE_COILS, ModbusPdu.FC_WRITE_MULTIPLE_REGISTERS -> 8;
+            default -> -1;
+        };
+    }
+
+    private ModbusResponse decode(int unitId, int functionCode, int length) {
+        if (!Crc16.verify(rxFrame, 0, length)) {
+            throw new ModbusException("响应帧 CRC 校验失败: " + lineSettings.device());
+        }
+        int responseUnitId = rxFrame[0] & 0xFF;
+        if (responseUnitId != unitId) {
+            throw new ModbusException(String.format("响应从站地址不匹配: 期望=%d, 实际=%d", unitId, responseUnitId));
+        }
+        rxView.clear().position(1);
+        return ModbusResponse.decode(rxView, length - 3, functionCode);
+    }
+
+    private boolean ensurePortOpen() {
+        if (port != null) {
+            return true;
+        }
+        long now = System.nanoTime();
+        if (now - reopenNotBefore < 0) {
+            return false;
+        }
+        try {
+            port = TtySerialPort.open(lineSettings);
+            lastActivityNanos = System.nanoTime();
+            log.info("已打开 Modbus RTU 串口: {}", lineSettings);
+            return true;
+        } catch (IOException e) {
+            reopenNotBefore = now + reopenBackoffNanos;
+            log.warn("打开串口失败: {}, {}", lineSettings.device(), e.getMessage());
+            return false;
+        }
+    }
+
+    private void closePort() {
+        if (port == null) {
+            return;
+        }
+        try {
+            port.close();
+        } catch (IOException e) {
+            log.debug("关闭串口失败: {}", lineSettings.device(), e);
+        }
+        port = null;
+    }
+
+    private void failQueued() {
+        RtuRequest request;
+        while ((request = queue.poll()) != null) {
+            request.future().completeExceptionally(new ModbusException("串口线路已关闭: " + lineSettings.device()));
+        }
+    }
+
+    /**
+     * 等待到指定时刻：park 到截止前 {@value #SPIN_THRESHOLD_NANOS}ns，剩余时间自旋
+     */
+    private static void sleepUntil(long deadline) {
+        long remaining;
+        while ((remaining = deadline - System.nanoTime()) > SPIN_THRESHOLD_NANOS) {
+            LockSupport.parkNanos(remaining - SPIN_THRESHOLD_NANOS);
+        }
+        while (deadline - System.nanoTime() > 0) {
+            Thread.onSpinWait();
+        }
+    }
+
+    private static boolean isWrite(int functionCode) {
+        return functionCode == ModbusPdu.FC_WRITE_SINGLE_COIL
+            || functionCode == ModbusPdu.FC_WRITE_SINGLE_REGISTER
+            || functionCode == ModbusPdu.FC_WRITE_MULTIPLE_COILS
+            || functionCode == ModbusPdu.FC_WRITE_MULTIPLE_REGISTERS;
+    }
+
+    private record RtuRequest(int unitId, ModbusPdu pdu, CompletableFuture<ModbusResponse> future) {
+    }
+}
@@ -0,0 +1,28 @@
+package com.yimusi.modbus.rtu;
+
+import java.time.Duration;
+
+/**
+ * Modbus RTU 串口线路参数（与具体串口无关的部分）
+ *
+ * @param requestTimeout 发送完成后等待响应的超时时间
+ * @param queueCapacity  每条线路排队请求的上限，超出时快速失败
+ * @param maxBatch       线路线程一次取出并连续执行的最大请求数
+ * @param reopenBackoff  串口打开失败后再次尝试前的等待时间
+ */
+public record ModbusRtuSettings(
+    Duration requestTimeout,
+    int queueCapacity,
+    int maxBatch,
+    Duration reopenBackoff
+) {
+
+    public ModbusRtuSettings {
+        if (queueCapacity < 1) {
+            throw new IllegalArgumentException("queueCapacity 必须大于 0");
+        }
+        if (maxBatch < 1) {
+            throw new IllegalArgumentException("maxBatch 必须大于 0");
+        }
+    }
+}
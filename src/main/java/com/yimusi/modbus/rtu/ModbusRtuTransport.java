@@ -0,0 +1,70 @@
+package com.yimusi.modbus.rtu;
+
+import com.yimusi.modbus.ModbusException;
+import com.yimusi.modbus.ModbusPdu;
+import com.yimusi.modbus.ModbusResponse;
+import com.yimusi.modbus.ModbusTransport;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+/**
+ * 单个工位在共享串口总线上的传输层视图.
+ * <p>
+ * 请求提交到所在线路的队列；从站有应答（包括异常响应）视为可达，超时或串口故障视为不可达，
+ * 仅在可达性变化时回调. 关闭时只释放对线路的引用，线路由注册中心按引用计数关闭.
+ * </p>
+ */
+public class ModbusRtuTransport implements ModbusTransport {
+
+    private final ModbusRtuLine line;
+    private final Consumer<Boolean> reachabilityListener;
+    private final Runnable onClose;
+    private final AtomicReference<Boolean> reachable = new AtomicReference<>();
+    private volatile boolean closed;
+
+    /**
+     * @param line                 所在串口线路
+     * @param reachabilityListener 可达性变化回调
+     * @param onClose              关闭时的回调（释放线路引用）
+     */
+    public ModbusRtuTransport(ModbusRtuLine line, Consumer<Boolean> reachabilityListener, Runnable onClose) {
+        this.line = line;
+        this.reachabilityListener = reachabilityListener;
+        this.onClose = onClose;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CompletableFuture<ModbusResponse> execute(int unitId, ModbusPdu pdu) {
+        if (closed) {
+            return CompletableFuture.failedFuture(new ModbusException("传输层已关闭: " + line.getLineSettings().device()));
+        }
+        CompletableFuture<ModbusResponse> future = line.submit(unitId, pdu);
+        future.whenComplete((response, error) -> updateReachability(error == null || respondedWithException(error)));
+        return future;
+    }
+
+    @Override
+    public void close() {
+        if (!closed) {
+            closed = true;
+            onClose.run();
+        }
+    }
+
+    private void updateReachability(boolean current) {
+        Boolean previous = reachable.getAndSet(current);
+        if (previous == null || previous != current) {
+            reachabilityListener.accept(current);
+        }
+    }
+
+    private static boolean respondedWithException(Throwable error) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        return cause instanceof ModbusException modbusException && modbusException.getExceptionCode() > 0;
+    }
+}
@@ -0,0 +1,86 @@
+package com.yimusi.modbus.rtu;
+
+import java.util.List;
+
+/**
+ * 串口线路参数及由此推导的 Modbus RTU 帧时序.
+ * <p>
+ * 按 Modbus over Serial Line 规范：帧间静默 3.5 个字符时间、字符间隔不超过 1.5 个字符时间；
+ * 波特率高于 19200 时两者分别固定为 1750µs 与 750µs.
+ * </p>
+ *
+ * @param device   串口设备路径，如 /dev/ttyUSB0
+ * @param baudRate 波特率
+ * @param dataBits 数据位（7 或 8）
+ * @param parity   校验位：N / E / O
+ * @param stopBits 停止位（1 或 2）
+ */
+public record SerialLineSettings(String device, int baudRate, int dataBits, char parity, int stopBits) {
+
+    private static final int FIXED_TIMING_BAUD = 19200;
+    private static final long FIXED_FRAME_GAP_NANOS = 1_750_000L;
+    private static final long FIXED_CHAR_GAP_NANOS = 750_000L;
+
+    public SerialLineSettings {
+        if (device == null || device.isBlank()) {
+            throw new IllegalArgumentException("串口设备不能为空");
+        }
+        if (baudRate <= 0) {
+            throw new IllegalArgumentException("波特率必须为正数: " + baudRate);
+        }
+        if (dataBits != 7 && dataBits != 8) {
+            throw new IllegalArgumentException("数据位只能为 7 或 8: " + dataBits);
+        }
+        parity = Character.toUpperCase(parity);
+        if (parity != 'N' && parity != 'E' && parity != 'O') {
+            throw new IllegalArgumentException("校验位只能为 N / E / O: " + parity);
+        }
+        if (stopBits != 1 && stopBits != 2) {
+            throw new IllegalArgumentException("停止位只能为 1 或 2: " + stopBits);
+        }
+    }
+
+    /**
+     * 一个字符在线路上的位数：起始位 + 数据位 + 校验位 + 停止位
+     */
+    public int bitsPerChar() {
+        return 1 + dataBits + (parity == 'N' ? 0 : 1) + stopBits;
+    }
+
+    /**
+     * 传输一个字符所需的纳秒数
+     */
+    public long charNanos() {
+        return bitsPerChar() * 1_000_000_000L / baudRate;
+    }
+
+    /**
+     * 帧间最小静默时间（t3.5）
+     */
+    public long frameGapNanos() {
+        return baudRate > FIXED_TIMING_BAUD ? FIXED_FRAME_GAP_NANOS : charNanos() * 7 / 2;
+    }
+
+    /**
+     * 帧内字符最大间隔（t1.5）
+     */
+    public long charGapNanos() {
+        return baudRate > FIXED_TIMING_BAUD ? FIXED_CHAR_GAP_NANOS : charNanos() * 3 / 2;
+    }
+
+    /**
+     * 配置终端为原始模式、非阻塞读取的 stty 参数
+     */
+    List<String> sttyArguments() {
+        return List.of(
+            "-F", device,
+            Integer.toString(baudRate),
+            "cs" + dataBits,
+            parity == 'N' ? "-parenb" : "parenb",
+            parity == 'O' ? "parodd" : "-parodd",
+            stopBits == 2 ? "cstopb" : "-cstopb",
+            "raw", "-echo", "clocal", "-crtscts", "-ixon", "-ixoff",
+            "min", "0", "time", "0"
+        );
+    }
+}
@@ -0,0 +1,112 @@
+package com.yimusi.modbus.rtu;
+
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 基于 Linux 终端设备文件的串口.
+ * <p>
+ * 打开前通过 stty 将终端设为原始模式、MIN=0/TIME=0，读取变为非阻塞（无数据立即返回），
+ * 由线路线程自行控制轮询节奏与帧时序. 同样适用于伪终端（/dev/pts/N），便于无硬件测试.
+ * </p>
+ */
+class TtySerialPort implements AutoCloseable {
+
+    private static final long STTY_TIMEOUT_SECONDS = 5;
+
+    private final String device;
+    private final FileInputStream in;
+    private final FileOutputStream out;
+
+    private TtySerialPort(String device, FileInputStream in, FileOutputStream out) {
+        this.device = device;
+        this.in = in;
+        this.out = out;
+    }
+
+    /**
+     * 配置并打开串口
+     *
+     * @param settings 线路参数
+     * @return 串口
+     * @throws IOException stty 执行失败或设备无法打开时
+     */
+    static TtySerialPort open(SerialLineSettings settings) throws IOException {
+        configure(settings);
+        FileInputStream in = new FileInputStream(settings.device());
+        try {
+            return new TtySerialPort(settings.device(), in, new FileOutputStream(settings.device()));
+        } catch (IOException e) {
+            in.close();
+            throw e;
+        }
+    }
+
+    /**
+     * 非阻塞读取
+     *
+     * @return 读取的字节数，当前无数据时返回 0
+     */
+    int read(byte[] buffer, int offset, int length) throws IOException {
+        if (length == 0) {
+            return 0;
+        }
+        // MIN=0/TIME=0 下无数据时 read(2) 返回 0，FileInputStream 将其映射为 -1
+        int read = in.read(buffer, offset, length);
+        return Math.max(read, 0);
+    }
+
+    /**
+     * 写入数据（写入内核缓冲区即返回，实际发送耗时由调用方按波特率估算）
+     */
+    void write(byte[] buffer, int offset, int length) throws IOException {
+        out.write(buffer, offset, length);
+    }
+
+    /**
+     * 丢弃接收缓冲区中的残留数据
+     */
+    void discardInput(byte[] scratch) throws IOException {
+        while (read(scratch, 0, scratch.length) > 0) {
+            // 直到读空
+        }
+    }
+
+    String device() {
+        return device;
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            in.close();
+        } finally {
+            out.close();
+        }
+    }
+
+    private static void configure(SerialLineSettings settings) throws IOException {
+        List<String> command = new ArrayList<>();
+        command.add("stty");
+        command.addAll(settings.sttyArguments());
+        Process process = new ProcessBuilder(command).redirectErrorStream(true).start();
+        try {
+            if (!process.waitFor(STTY_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                process.destroyForcibly();
+                throw new IOException("配置串口超时: " + settings.device());
+            }
+            if (process.exitValue() != 0) {
+                String output = new String(process.getInputStream().readAllBytes()).trim();
+                throw new IOException("配置串口失败: " + settings.device() + ", " + output);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            process.destroyForcibly();
+            throw new IOException("配置串口被中断: " + settings.device(), e);
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.yimusi.modbus.tcp;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Modbus TCP 的 MBAP 报文头编解码：事务ID(2) + 协议ID(2，固定为 0) + 长度(2) + 单元ID(1).
+ * 直接读写调用方提供的缓冲区，不分配对象.
+ */
+final class MbapHeader {
+
+    /** MBAP 头长度 */
+    static final int LENGTH = 7;
+
+    /** ADU 最大长度：MBAP 头 + 最大 PDU */
+    static final int MAX_ADU_LENGTH = LENGTH + 253;
+
+    private MbapHeader() {
+        // 工具类，私有构造函数
+    }
+
+    /**
+     * 写入 MBAP 头
+     *
+     * @param buffer        目标缓冲区
+     * @param transactionId 事务ID
+     * @param unitId        单元ID
+     * @param pduLength     PDU 长度
+     */
+    static void write(ByteBuffer buffer, int transactionId, int unitId, int pduLength) {
+        buffer.putShort((short) transactionId);
+        buffer.putShort((short) 0);
+        buffer.putShort((short) (pduLength + 1));
+        buffer.put((byte) unitId);
+    }
+
+    /**
+     * 在不移动 position 的前提下，返回从当前位置开始的完整 ADU 长度；数据不足一个报文头时返回 -1
+     *
+     * @param buffer 读缓冲区（读模式）
+     * @return ADU 长度
+     */
+    static int peekAduLength(ByteBuffer buffer) {
+        if (buffer.remaining() < LENGTH) {
+            return -1;
+        }
+        int length = buffer.getShort(buffer.position() + 4) & 0xFFFF;
+        return 6 + length;
+    }
+
+    static int transactionId(ByteBuffer buffer) {
+        return buffer.getShort(buffer.position()) & 0xFFFF;
+    }
+
+    static int protocolId(ByteBuffer buffer) {
+        return buffer.getShort(buffer.position() + 2) & 0xFFFF;
+    }
+}
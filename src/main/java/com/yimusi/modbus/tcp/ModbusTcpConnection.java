@@ -0,0 +1,284 @@
+package com.yimusi.modbus.tcp;
+
+import com.yimusi.modbus.ModbusException;
+import com.yimusi.modbus.ModbusPdu;
+import com.yimusi.modbus.ModbusResponse;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.ReentrantLock;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 单个 Modbus TCP 连接，支持流水线：同一连接上可以有多个在途请求，按事务ID匹配响应.
+ * <p>
+ * 事务ID = (递增序号 &lt;&lt; 槽位位数 | 槽位号) &amp; 0xFFFF，响应按低位找到槽位，
+ * 再比较完整事务ID，超时后迟到的响应会因事务ID不一致被丢弃.
+ * 槽位由“将槽位置空”的一方负责释放许可，保证响应与超时并发时只释放一次.
+ * </p>
+ * <p>
+ * 写缓冲区与读缓冲区在连接建立时分配一次并反复使用；读取在独立的虚拟线程上阻塞进行.
+ * </p>
+ */
+@Slf4j
+final class ModbusTcpConnection implements AutoCloseable {
+
+    private final String endpoint;
+    private final SocketChannel channel;
+    private final int slotMask;
+    private final int slotBits;
+    private final AtomicReferenceArray<PendingRequest> slots;
+    private final Semaphore permits;
+    private final AtomicInteger sequence = new AtomicInteger();
+    private final ReentrantLock writeLock = new ReentrantLock();
+    private final ByteBuffer writeBuffer = ByteBuffer.allocateDirect(MbapHeader.MAX_ADU_LENGTH);
+    private final ByteBuffer readBuffer = ByteBuffer.allocateDirect(MbapHeader.MAX_ADU_LENGTH * 4);
+    private final Runnable onClose;
+    private volatile boolean closed;
+
+    private ModbusTcpConnection(String endpoint, SocketChannel channel, int maxInFlight, Runnable onClose) {
+        this.endpoint = endpoint;
+        this.channel = channel;
+        this.slotMask = maxInFlight - 1;
+        this.slotBits = Integer.numberOfTrailingZeros(maxInFlight);
+        this.slots = new AtomicReferenceArray<>(maxInFlight);
+        this.permits = new Semaphore(maxInFlight);
+        this.onClose = onClose;
+    }
+
+    /**
+     * 建立连接并启动读线程
+     *
+     * @param address     从站地址
+     * @param settings    连接参数
+     * @param onClose     连接关闭时的回调
+     * @return 已连接的连接对象
+     * @throws IOException 连接失败时
+     */
+    static ModbusTcpConnection open(InetSocketAddress address, ModbusTcpSettings settings, Runnable onClose)
+        throws IOException {
+        SocketChannel channel = SocketChannel.open();
+        try {
+            channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+            channel.setOption(StandardSocketOptions.SO_KEEPALIVE, true);
+            channel.socket().connect(address, (int) settings.connectTimeout().toMillis());
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+        String endpoint = address.getHostString() + ":" + address.getPort();
+        ModbusTcpConnection connection = new ModbusTcpConnection(endpoint, channel, settings.maxInFlight(), onClose);
+        Thread.ofVirtual().name("modbus-tcp-reader-" + endpoint).start(connection::readLoop);
+        return connection;
+    }
+
+    boolean isClosed() {
+        return closed;
+    }
+
+    /**
+     * 当前可用的在途槽位数
+     */
+    int availableSlots() {
+        return permits.availablePermits();
+    }
+
+    /**
+     * 发送请求，在途槽位已满时最多等待 timeout
+     *
+     * @param unitId  单元ID
+     * @param pdu     请求 PDU
+     * @param timeout 请求超时时间（毫秒），包含等待槽位的时间
+     * @return 响应 Future
+     */
+    CompletableFuture<ModbusResponse> send(int unitId, ModbusPdu pdu, long timeout) {
+        long start = System.nanoTime();
+        try {
+            if (!permits.tryAcquire(timeout, TimeUnit.MILLISECONDS)) {
+                return CompletableFuture.failedFuture(new TimeoutException("等待在途槽位超时: " + endpoint));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return CompletableFuture.failedFuture(new ModbusException("等待在途槽位被中断"));
+        }
+        if (closed) {
+            permits.release();
+            return CompletableFuture.failedFuture(new ModbusException("连接已关闭: " + endpoint));
+        }
+
+        int slot = claimSlot();
+        int transactionId = ((sequence.getAndIncrement() << slotBits) | slot) & 0xFFFF;
+        PendingRequest pending = new PendingRequest(transactionId, pdu.getFunctionCode());
+        slots.set(slot, pending);
+        if (closed) {
+            // 与 closeWithError 并发时，关闭方可能已经扫描过槽位
+            failPending(slot, pending, new ModbusException("连接已关闭: " + endpoint));
+            return pending.future;
+        }
+
+        long remaining = timeout - TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        pending.future
+            .orTimeout(Math.max(1L, remaining), TimeUnit.MILLISECONDS)
+            .whenComplete((response, error) -> {
+                if (error != null) {
+                    release(slot, pending);
+                }
+            });
+
+        writeLock.lock();
+        try {
+            writeBuffer.clear();
+            MbapHeader.write(writeBuffer, transactionId, unitId, pdu.length());
+            pdu.writeTo(writeBuffer);
+            writeBuffer.flip();
+            while (writeBuffer.hasRemaining()) {
+                channel.write(writeBuffer);
+            }
+        } catch (IOException e) {
+            ModbusException error = new ModbusException("发送请求失败: " + endpoint, e);
+            closeWithError(error);
+            failPending(slot, pending, error);
+        } finally {
+            writeLock.unlock();
+        }
+        return pending.future;
+    }
+
+    @Override
+    public void close() {
+        closeWithError(new ModbusException("连接已关闭: " + endpoint));
+    }
+
+    private int claimSlot() {
+        // 已持有许可，必然存在空槽位
+        while (true) {
+            for (int i = 0; i <= slotMask; i++) {
+                if (slots.get(i) == null && slots.compareAndSet(i, null, PendingRequest.RESERVED)) {
+                    return i;
+                }
+            }
+            Thread.onSpinWait();
+        }
+    }
+
+    private void failPending(int slot, PendingRequest pending, ModbusException error) {
+        if (release(slot, pending)) {
+            pending.future.completeExceptionally(error);
+        }
+    }
+
+    private boolean release(int slot, PendingRequest pending) {
+        if (slots.compareAndSet(slot, pending, null)) {
+            permits.release();
+            return true;
+        }
+        return false;
+    }
+
+    private void readLoop() {
+        try {
+            while (!closed) {
+                if (channel.read(readBuffer) < 0) {
+                    throw new IOException("从站关闭了连接");
+                }
+                readBuffer.flip();
+                while (true) {
+                    int aduLength = MbapHeader.peekAduLength(readBuffer);
+                    if (aduLength < 0) {
+                        break;
+                    }
+                    if (aduLength <= MbapHeader.LENGTH || aduLength > MbapHeader.MAX_ADU_LENGTH) {
+                        throw new IOException("响应长度不合法: " + aduLength);
+                    }
+                    if (readBuffer.remaining() < aduLength) {
+                        break;
+                    }
+                    handleFrame(aduLength);
+                }
+                readBuffer.compact();
+            }
+        } catch (IOException e) {
+            if (!closed) {
+                log.warn("Modbus TCP 连接断开: {}, {}", endpoint, e.getMessage());
+            }
+            closeWithError(new ModbusException("连接已断开: " + endpoint, e));
+        }
+    }
+
+    private void handleFrame(int aduLength) {
+        int frameEnd = readBuffer.position() + aduLength;
+        int transactionId = MbapHeader.transactionId(readBuffer);
+        int protocolId = MbapHeader.protocolId(readBuffer);
+        int slot = transactionId & slotMask;
+        PendingRequest pending = slots.get(slot);
+        if (protocolId != 0 || pending == null || pending.transactionId != transactionId) {
+            // 已超时请求的迟到响应，或非 Modbus 报文
+            readBuffer.position(frameEnd);
+            return;
+        }
+        readBuffer.position(readBuffer.position() + MbapHeader.LENGTH);
+        ModbusResponse response = null;
+        ModbusException error = null;
+        try {
+            response = ModbusResponse.decode(readBuffer, aduLength - MbapHeader.LENGTH, pending.functionCode);
+        } catch (ModbusException e) {
+            error = e;
+        } finally {
+            readBuffer.position(frameEnd);
+        }
+        if (release(slot, pending)) {
+            if (error != null) {
+                pending.future.completeExceptionally(error);
+            } else {
+                pending.future.complete(response);
+            }
+        }
+    }
+
+    private void closeWithError(ModbusException error) {
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+        }
+        try {
+            channel.close();
+        } catch (IOException e) {
+            log.debug("关闭 Modbus TCP 连接失败: {}", endpoint, e);
+        }
+        for (int i = 0; i <= slotMask; i++) {
+            PendingRequest pending = slots.get(i);
+            if (pending != null && pending != PendingRequest.RESERVED) {
+                failPending(i, pending, error);
+            }
+        }
+        onClose.run();
+    }
+
+    /**
+     * 在途请求
+     */
+    private static final class PendingRequest {
+
+        /** 槽位已被占用但请求尚未登记的占位对象 */
+        static final PendingRequest RESERVED = new PendingRequest(-1, -1);
+
+        final int transactionId;
+        final int functionCode;
+        final CompletableFuture<ModbusResponse> future = new CompletableFuture<>();
+
+        PendingRequest(int transactionId, int functionCode) {
+            this.transactionId = transactionId;
+            this.functionCode = functionCode;
+        }
+    }
+}
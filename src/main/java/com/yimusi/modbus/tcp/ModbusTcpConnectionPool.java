@@ -0,0 +1,148 @@
+package com.yimusi.modbus.tcp;
+
+import com.yimusi.modbus.ModbusException;
+import com.yimusi.modbus.ModbusPdu;
+import com.yimusi.modbus.ModbusResponse;
+import com.yimusi.modbus.ModbusTransport;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Consumer;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 单个 Modbus TCP 从站的持久连接池.
+ * <p>
+ * 连接在首次使用时建立并长期保持；每次请求选择空闲槽位最多的连接，
+ * 断开的连接在下次请求时重建，连续失败时在 reconnect-backoff 内不再重试，直接快速失败.
+ * 池中第一个连接建立 / 最后一个连接断开时通过回调上报从站可达性.
+ * </p>
+ */
+@Slf4j
+public class ModbusTcpConnectionPool implements ModbusTransport {
+
+    private final InetSocketAddress address;
+    private final ModbusTcpSettings settings;
+    private final Consumer<Boolean> reachabilityListener;
+    private final AtomicReferenceArray<ModbusTcpConnection> connections;
+    private final AtomicInteger openConnections = new AtomicInteger();
+    private final long requestTimeoutMillis;
+    private volatile long retryNotBefore;
+    private volatile boolean closed;
+
+    /**
+     * @param host                 从站主机
+     * @param port                 从站端口
+     * @param settings             连接池参数
+     * @param reachabilityListener 可达性变化回调，参数为当前是否可达
+     */
+    public ModbusTcpConnectionPool(String host, int port, ModbusTcpSettings settings, Consumer<Boolean> reachabilityListener) {
+        this.address = InetSocketAddress.createUnresolved(host, port);
+        this.settings = settings;
+        this.reachabilityListener = reachabilityListener;
+        this.connections = new AtomicReferenceArray<>(settings.poolSize());
+        this.requestTimeoutMillis = settings.requestTimeout().toMillis();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CompletableFuture<ModbusResponse> execute(int unitId, ModbusPdu pdu) {
+        if (closed) {
+            return CompletableFuture.failedFuture(new ModbusException("连接池已关闭: " + endpoint()));
+        }
+        ModbusTcpConnection connection = selectConnection();
+        if (connection == null) {
+            return CompletableFuture.failedFuture(new ModbusException("无法连接从站: " + endpoint()));
+        }
+        return connection.send(unitId, pdu, requestTimeoutMillis);
+    }
+
+    /**
+     * 当前已建立的连接数
+     */
+    public int getOpenConnections() {
+        return openConnections.get();
+    }
+
+    public String endpoint() {
+        return address.getHostString() + ":" + address.getPort();
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        for (int i = 0; i < connections.length(); i++) {
+            ModbusTcpConnection connection = connections.getAndSet(i, null);
+            if (connection != null) {
+                connection.close();
+            }
+        }
+    }
+
+    /**
+     * 选择空闲槽位最多的连接，必要时补建断开的连接
+     */
+    private ModbusTcpConnection selectConnection() {
+        ModbusTcpConnection best = null;
+        int bestAvailable = -1;
+        for (int i = 0; i < connections.length(); i++) {
+            ModbusTcpConnection connection = connections.get(i);
+            if (connection == null || connection.isClosed()) {
+                connection = reconnect(i, connection);
+                if (connection == null) {
+                    continue;
+                }
+            }
+            int available = connection.availableSlots();
+            if (available > bestAvailable) {
+                best = connection;
+                bestAvailable = available;
+            }
+            if (available == settings.maxInFlight()) {
+                // 完全空闲，无需继续比较
+                break;
+            }
+        }
+        return best;
+    }
+
+    private ModbusTcpConnection reconnect(int index, ModbusTcpConnection stale) {
+        if (closed || System.currentTimeMillis() < retryNotBefore) {
+            return null;
+        }
+        synchronized (this) {
+            ModbusTcpConnection current = connections.get(index);
+            if (current != stale) {
+                // 其他线程已完成重建
+                return current == null || current.isClosed() ? null : current;
+            }
+            try {
+                InetSocketAddress resolved = new InetSocketAddress(address.getHostString(), address.getPort());
+                ModbusTcpConnection connection = ModbusTcpConnection.open(resolved, settings, this::onConnectionClosed);
+                connections.set(index, connection);
+                if (openConnections.incrementAndGet() == 1) {
+                    reachabilityListener.accept(true);
+                }
+                log.info("已建立 Modbus TCP 连接: {}", endpoint());
+                return connection;
+            } catch (IOException e) {
+                retryNotBefore = System.currentTimeMillis() + settings.reconnectBackoff().toMillis();
+                log.warn("建立 Modbus TCP 连接失败: {}, {}", endpoint(), e.getMessage());
+                if (openConnections.get() == 0) {
+                    reachabilityListener.accept(false);
+                }
+                return null;
+            }
+        }
+    }
+
+    private void onConnectionClosed() {
+        if (openConnections.decrementAndGet() == 0) {
+            reachabilityListener.accept(false);
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.yimusi.modbus.tcp;
+
+import java.time.Duration;
+
+/**
+ * Modbus TCP 连接池参数
+ *
+ * @param poolSize         每个从站的连接数
+ * @param maxInFlight      每个连接同时在途的请求数（事务ID槽位数，必须为 2 的幂）
+ * @param requestTimeout   单个请求的超时时间
+ * @param connectTimeout   建立连接的超时时间
+ * @param reconnectBackoff 连接失败后再次尝试前的等待时间
+ */
+public record ModbusTcpSettings(
+    int poolSize,
+    int maxInFlight,
+    Duration requestTimeout,
+    Duration connectTimeout,
+    Duration reconnectBackoff
+) {
+
+    public ModbusTcpSettings {
+        if (poolSize < 1) {
+            throw new IllegalArgumentException("poolSize 必须大于 0");
+        }
+        if (maxInFlight < 1 || Integer.bitCount(maxInFlight) != 1 || maxInFlight > 256) {
+            throw new IllegalArgumentException("maxInFlight 必须是 1 到 256 之间的 2 的幂");
+        }
+    }
+}
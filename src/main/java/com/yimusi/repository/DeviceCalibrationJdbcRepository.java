@@ -0,0 +1,77 @@
+package com.yimusi.repository;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.yimusi.calibration.CalibrationFit;
+import com.yimusi.calibration.DeviceCalibrationResult;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+/**
+ * 设备标定系数批量写入仓储.
+ * 使用 MySQL 的 INSERT ... ON DUPLICATE KEY UPDATE 按 (device_id, gas) 覆盖上一次标定结果.
+ */
+@Repository
+@RequiredArgsConstructor
+public class DeviceCalibrationJdbcRepository {
+
+    private static final String UPSERT_SQL =
+        "INSERT INTO device_calibrations (device_id, gas, model, coefficients, residuals, point_count, rmse, max_residual, " +
+        "calibrated_at) VALUES (?,?,?,?,?,?,?,?,?) ON DUPLICATE KEY UPDATE " +
+        "model = VALUES(model), coefficients = VALUES(coefficients), residuals = VALUES(residuals), " +
+        "point_count = VALUES(point_count), rmse = VALUES(rmse), max_residual = VALUES(max_residual), " +
+        "calibrated_at = VALUES(calibrated_at)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * 批量写入标定结果
+     *
+     * @param results      各设备标定结果
+     * @param calibratedAt 标定时间
+     * @param batchSize    每批语句数
+     * @return 写入的气体标定条数
+     */
+    public int upsertBatch(List<DeviceCalibrationResult> results, Instant calibratedAt, int batchSize) {
+        List<Row> rows = new ArrayList<>();
+        for (DeviceCalibrationResult result : results) {
+            for (CalibrationFit fit : result.fits()) {
+                rows.add(new Row(result.deviceId(), fit));
+            }
+        }
+        if (rows.isEmpty()) {
+            return 0;
+        }
+        Timestamp now = Timestamp.from(calibratedAt);
+        jdbcTemplate.batchUpdate(UPSERT_SQL, rows, batchSize, (ps, row) -> {
+            CalibrationFit fit = row.fit();
+            ps.setLong(1, row.deviceId());
+            ps.setString(2, fit.gas().name());
+            ps.setString(3, fit.model().name());
+            ps.setString(4, toJson(fit.coefficients()));
+            ps.setString(5, toJson(fit.residuals()));
+            ps.setInt(6, fit.pointCount());
+            ps.setDouble(7, fit.rmse());
+            ps.setDouble(8, fit.maxResidual());
+            ps.setTimestamp(9, now);
+        });
+        return rows.size();
+    }
+
+    private String toJson(double[] values) {
+        try {
+            return objectMapper.writeValueAsString(values);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("标定结果序列化失败", e);
+        }
+    }
+
+    private record Row(long deviceId, CalibrationFit fit) {
+    }
+}
@@ -0,0 +1,19 @@
+package com.yimusi.repository;
+
+import com.yimusi.entity.DeviceCalibration;
+import java.util.List;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+/**
+ * 设备标定系数仓储接口。
+ */
+public interface DeviceCalibrationRepository extends JpaRepository<DeviceCalibration, Long> {
+
+    /**
+     * 查询设备的全部气体标定系数
+     *
+     * @param deviceId 设备ID
+     * @return 标定系数列表
+     */
+    List<DeviceCalibration> findByDeviceId(Long deviceId);
+}
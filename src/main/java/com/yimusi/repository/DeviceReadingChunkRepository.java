@@ -0,0 +1,40 @@
+package com.yimusi.repository;
+
+import com.yimusi.entity.DeviceReadingChunk;
+import com.yimusi.enums.GasType;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+/**
+ * 设备读数压缩数据块数据访问接口.
+ */
+public interface DeviceReadingChunkRepository extends JpaRepository<DeviceReadingChunk, Long> {
+
+    /**
+     * 查找指定时间窗口的数据块
+     *
+     * @param deviceId    设备ID
+     * @param gas         气体组分
+     * @param windowStart 窗口起始时间
+     * @return 数据块（如果存在）
+     */
+    Optional<DeviceReadingChunk> findByDeviceIdAndGasAndWindowStart(Long deviceId, GasType gas, Instant windowStart);
+
+    /**
+     * 查找与 [from, to) 有交集的数据块，按窗口时间升序排列
+     *
+     * @param deviceId 设备ID
+     * @param gas      气体组分
+     * @param from     起始时间（包含）
+     * @param to       结束时间（不包含）
+     * @return 数据块列表
+     */
+    @Query(
+        "SELECT c FROM DeviceReadingChunk c WHERE c.deviceId = :deviceId AND c.gas = :gas " +
+        "AND c.windowEnd > :from AND c.windowStart < :to ORDER BY c.windowStart"
+    )
+    List<DeviceReadingChunk> findOverlapping(Long deviceId, GasType gas, Instant from, Instant to);
+}
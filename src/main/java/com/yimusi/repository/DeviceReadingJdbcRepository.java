@@ -0,0 +1,180 @@
+package com.yimusi.repository;
+
+import com.yimusi.enums.GasType;
+import com.yimusi.telemetry.ReadingPoint;
+import com.yimusi.telemetry.ReadingSeries;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.Optional;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+/**
+ * 设备原始读数 JDBC 仓储.
+ * 绕过 JPA 实体管理，直接使用多行 INSERT 语句写入 device_readings 表，
+ * 一条语句携带多行数据，减少网络往返与语句解析开销；
+ * 查询时逐行回调写入原始类型序列，不创建实体对象.
+ */
+@Repository
+@RequiredArgsConstructor
+public class DeviceReadingJdbcRepository {
+
+    private static final String INSERT_PREFIX =
+        "INSERT INTO device_readings (device_id, gas, sampled_at, reading_value, received_at) VALUES ";
+    private static final String ROW_PLACEHOLDER = "(?,?,?,?,?)";
+    private static final int COLUMNS_PER_ROW = 5;
+    private static final String SELECT_RANGE_SQL =
+        "SELECT sampled_at, reading_value FROM device_readings " +
+        "WHERE device_id = ? AND gas = ? AND sampled_at >= ? AND sampled_at < ? ORDER BY sampled_at";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /** 最近一次使用的 SQL，满批写入时行数固定，可直接复用 */
+    private volatile CachedSql cachedSql = new CachedSql(0, "");
+
+    /**
+     * 以多行 INSERT 的方式写入一批读数.
+     * 调用方负责控制单批行数（参数个数 = 行数 × 5，需小于 MySQL 的 65535 占位符上限）.
+     *
+     * @param points     读数列表
+     * @param receivedAt 平台接收时间（epoch 毫秒）
+     * @return 写入的行数
+     */
+    public int insertBatch(List<ReadingPoint> points, long receivedAt) {
+        if (points.isEmpty()) {
+            return 0;
+        }
+        Timestamp received = new Timestamp(receivedAt);
+        return jdbcTemplate.update(insertSql(points.size()), (PreparedStatement ps) -> {
+            int index = 1;
+            for (ReadingPoint point : points) {
+                bindRow(ps, index, point, received);
+                index += COLUMNS_PER_ROW;
+            }
+        });
+    }
+
+    /**
+     * 按时间升序读取指定设备、气体在 [from, to) 内的原始读数
+     *
+     * @param deviceId 设备ID
+     * @param gas      气体组分
+     * @param from     起始时间（包含，epoch 毫秒）
+     * @param to       结束时间（不包含，epoch 毫秒）
+     * @return 读数序列
+     */
+    public ReadingSeries findSeries(long deviceId, GasType gas, long from, long to) {
+        return querySeries(SELECT_RANGE_SQL, deviceId, gas, from, to);
+    }
+
+    /**
+     * 与 {@link #findSeries} 相同，但对读取范围加锁（FOR UPDATE），
+     * 防止压缩过程中有新的迟到读数写入同一时间窗口.
+     * 必须在事务中调用.
+     *
+     * @param deviceId 设备ID
+     * @param gas      气体组分
+     * @param from     起始时间（包含，epoch 毫秒）
+     * @param to       结束时间（不包含，epoch 毫秒）
+     * @return 读数序列
+     */
+    public ReadingSeries findSeriesForUpdate(long deviceId, GasType gas, long from, long to) {
+        return querySeries(SELECT_RANGE_SQL + " FOR UPDATE", deviceId, gas, from, to);
+    }
+
+    /**
+     * 查询指定设备、气体最早的原始读数时间
+     *
+     * @param deviceId 设备ID
+     * @param gas      气体组分
+     * @return 最早采样时间（epoch 毫秒），无数据时为空
+     */
+    public Optional<Long> findOldestSampledAt(long deviceId, GasType gas) {
+        Timestamp oldest = jdbcTemplate.queryForObject(
+            "SELECT MIN(sampled_at) FROM device_readings WHERE device_id = ? AND gas = ?",
+            Timestamp.class,
+            deviceId,
+            gas.name()
+        );
+        return Optional.ofNullable(oldest).map(Timestamp::getTime);
+    }
+
+    /**
+     * 查询存在原始读数的设备ID列表
+     *
+     * @return 设备ID列表
+     */
+    public List<Long> findDeviceIds() {
+        return jdbcTemplate.queryForList("SELECT DISTINCT device_id FROM device_readings", Long.class);
+    }
+
+    /**
+     * 删除指定设备、气体在 [from, to) 内的原始读数
+     *
+     * @param deviceId 设备ID
+     * @param gas      气体组分
+     * @param from     起始时间（包含，epoch 毫秒）
+     * @param to       结束时间（不包含，epoch 毫秒）
+     * @return 删除的行数
+     */
+    public int deleteRange(long deviceId, GasType gas, long from, long to) {
+        return jdbcTemplate.update(
+            "DELETE FROM device_readings WHERE device_id = ? AND gas = ? AND sampled_at >= ? AND sampled_at < ?",
+            deviceId,
+            gas.name(),
+            new Timestamp(from),
+            new Timestamp(to)
+        );
+    }
+
+    private ReadingSeries querySeries(String sql, long deviceId, GasType gas, long from, long to) {
+        ReadingSeries series = new ReadingSeries();
+        jdbcTemplate.query(
+            sql,
+            rs -> {
+                series.add(rs.getTimestamp(1).getTime(), rs.getDouble(2));
+            },
+            deviceId,
+            gas.name(),
+            new Timestamp(from),
+            new Timestamp(to)
+        );
+        return series;
+    }
+
+    private void bindRow(PreparedStatement ps, int index, ReadingPoint point, Timestamp received) throws SQLException {
+        ps.setLong(index, point.deviceId());
+        ps.setString(index + 1, point.gas().name());
+        ps.setTimestamp(index + 2, new Timestamp(point.sampledAt()));
+        ps.setDouble(index + 3, point.value());
+        ps.setTimestamp(index + 4, received);
+    }
+
+    private String insertSql(int rows) {
+        CachedSql cached = cachedSql;
+        if (cached.rows() == rows) {
+            return cached.sql();
+        }
+        String sql = buildInsertSql(rows);
+        cachedSql = new CachedSql(rows, sql);
+        return sql;
+    }
+
+    private static String buildInsertSql(int rows) {
+        StringBuilder sql = new StringBuilder(INSERT_PREFIX.length() + rows * (ROW_PLACEHOLDER.length() + 1));
+        sql.append(INSERT_PREFIX);
+        for (int i = 0; i < rows; i++) {
+            if (i > 0) {
+                sql.append(',');
+            }
+            sql.append(ROW_PLACEHOLDER);
+        }
+        return sql.toString();
+    }
+
+    private record CachedSql(int rows, String sql) {
+    }
+}
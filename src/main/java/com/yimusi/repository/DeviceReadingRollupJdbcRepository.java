@@ -0,0 +1,132 @@
+package com.yimusi.repository;
+
+import com.yimusi.enums.GasType;
+import com.yimusi.enums.ReadingResolution;
+import com.yimusi.telemetry.RollupAccumulator;
+import com.yimusi.telemetry.RollupKey;
+import com.yimusi.telemetry.RollupSeries;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+/**
+ * 设备读数汇总 JDBC 仓储.
+ * 使用 MySQL 的 INSERT ... ON DUPLICATE KEY UPDATE 维护 device_reading_rollups 表：
+ * 增量合并时在数据库端完成 min/max/sum/count/last 的合并，重算时直接覆盖.
+ */
+@Repository
+@RequiredArgsConstructor
+public class DeviceReadingRollupJdbcRepository {
+
+    private static final String INSERT_SQL =
+        "INSERT INTO device_reading_rollups (device_id, gas, resolution, bucket_start, min_value, max_value, " +
+        "sum_value, sample_count, last_value, last_sampled_at) VALUES (?,?,?,?,?,?,?,?,?,?) ON DUPLICATE KEY UPDATE ";
+
+    /** 增量合并；last_value 必须在 last_sampled_at 之前赋值，MySQL 按书写顺序求值并使用已更新的列值 */
+    private static final String MERGE_SQL = INSERT_SQL +
+        "min_value = LEAST(min_value, VALUES(min_value)), " +
+        "max_value = GREATEST(max_value, VALUES(max_value)), " +
+        "sum_value = sum_value + VALUES(sum_value), " +
+        "sample_count = sample_count + VALUES(sample_count), " +
+        "last_value = IF(VALUES(last_sampled_at) >= last_sampled_at, VALUES(last_value), last_value), " +
+        "last_sampled_at = GREATEST(last_sampled_at, VALUES(last_sampled_at))";
+
+    private static final String REPLACE_SQL = INSERT_SQL +
+        "min_value = VALUES(min_value), max_value = VALUES(max_value), sum_value = VALUES(sum_value), " +
+        "sample_count = VALUES(sample_count), last_value = VALUES(last_value), last_sampled_at = VALUES(last_sampled_at)";
+
+    private static final String SELECT_RANGE_SQL =
+        "SELECT bucket_start, min_value, max_value, sum_value, sample_count, last_sampled_at, last_value " +
+        "FROM device_reading_rollups WHERE device_id = ? AND gas = ? AND resolution = ? " +
+        "AND bucket_start >= ? AND bucket_start < ? ORDER BY bucket_start";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * 将一批增量汇总合并到已有的时间桶中，不存在的时间桶直接插入.
+     * 按键的自然顺序写入，保证并发事务以相同顺序加锁.
+     *
+     * @param deltas 按时间桶分组的增量汇总
+     */
+    public void mergeBatch(SortedMap<RollupKey, RollupAccumulator> deltas) {
+        if (deltas.isEmpty()) {
+            return;
+        }
+        List<Map.Entry<RollupKey, RollupAccumulator>> entries = new ArrayList<>(deltas.entrySet());
+        jdbcTemplate.batchUpdate(MERGE_SQL, entries, entries.size(), (ps, entry) -> bindRow(ps, entry.getKey(), entry.getValue()));
+    }
+
+    /**
+     * 以重算结果覆盖时间桶；汇总为空时删除该时间桶
+     *
+     * @param key         时间桶
+     * @param accumulator 重算结果
+     */
+    public void replace(RollupKey key, RollupAccumulator accumulator) {
+        if (accumulator.isEmpty()) {
+            jdbcTemplate.update(
+                "DELETE FROM device_reading_rollups WHERE device_id = ? AND gas = ? AND resolution = ? AND bucket_start = ?",
+                key.deviceId(),
+                key.gas().name(),
+                key.resolution().name(),
+                new Timestamp(key.bucketStart())
+            );
+            return;
+        }
+        jdbcTemplate.update(REPLACE_SQL, ps -> bindRow(ps, key, accumulator));
+    }
+
+    /**
+     * 按时间桶升序查询 [from, to) 内起始的汇总
+     *
+     * @param deviceId   设备ID
+     * @param gas        气体组分
+     * @param resolution 汇总精度
+     * @param from       起始时间（包含，epoch 毫秒）
+     * @param to         结束时间（不包含，epoch 毫秒）
+     * @return 汇总序列
+     */
+    public RollupSeries findSeries(long deviceId, GasType gas, ReadingResolution resolution, long from, long to) {
+        RollupSeries series = new RollupSeries();
+        jdbcTemplate.query(
+            SELECT_RANGE_SQL,
+            rs -> {
+                series.add(
+                    rs.getTimestamp(1).getTime(),
+                    rs.getDouble(2),
+                    rs.getDouble(3),
+                    rs.getDouble(4),
+                    rs.getLong(5),
+                    rs.getTimestamp(6).getTime(),
+                    rs.getDouble(7)
+                );
+            },
+            deviceId,
+            gas.name(),
+            resolution.name(),
+            new Timestamp(from),
+            new Timestamp(to)
+        );
+        return series;
+    }
+
+    private void bindRow(PreparedStatement ps, RollupKey key, RollupAccumulator accumulator) throws SQLException {
+        ps.setLong(1, key.deviceId());
+        ps.setString(2, key.gas().name());
+        ps.setString(3, key.resolution().name());
+        ps.setTimestamp(4, new Timestamp(key.bucketStart()));
+        ps.setDouble(5, accumulator.getMin());
+        ps.setDouble(6, accumulator.getMax());
+        ps.setDouble(7, accumulator.getSum());
+        ps.setLong(8, accumulator.getCount());
+        ps.setDouble(9, accumulator.getLastValue());
+        ps.setTimestamp(10, new Timestamp(accumulator.getLastTimestamp()));
+    }
+}
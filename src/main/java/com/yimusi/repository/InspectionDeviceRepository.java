@@ -6,6 +6,7 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.querydsl.QuerydslPredicateExecutor;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -72,6 +73,14 @@ public interface InspectionDeviceRepository extends JpaRepository<InspectionDevi
      */
     List<InspectionDevice> findByProjectIdAndDeletedFalse(Long projectId);
 
+    /**
+     * 根据多个项目 ID 和未删除状态查找设备列表
+     *
+     * @param projectIds 项目 ID 集合
+     * @return 设备实体列表
+     */
+    List<InspectionDevice> findByProjectIdInAndDeletedFalse(Collection<Long> projectIds);
+
     /**
      * 根据状态和未删除状态查找设备列表
      *
@@ -93,21 +102,21 @@ public interface InspectionDeviceRepository extends JpaRepository<InspectionDevi
     /**
      * 根据项目 ID 查询项目内最大序号（包含所有设备，包括已删除的）
      * 用于生成新的项目内部序号，确保序号的连续性
-     * 注意：使用原生SQL绕过Hibernate的软删除限制，确保包含已删除设备的序号
+     * 注意：使用原生SQL绕过Hibernate的软删除限制，并查询包含归档表的联合视图，确保包含已删除及已归档设备的序号
      *
      * @param projectId 项目 ID
      * @return 项目内最大序号（包含已删除的设备）
      */
-    @Query(value = "SELECT MAX(d.project_internal_no) FROM inspection_devices d WHERE d.project_id = :projectId", nativeQuery = true)
+    @Query(value = "SELECT MAX(d.project_internal_no) FROM inspection_devices_all d WHERE d.project_id = :projectId", nativeQuery = true)
     Optional<Integer> findMaxProjectInternalNoIncludingDeletedByProjectId(Long projectId);
 
     /**
      * 根据 ID 查找设备（包含已删除的）
-     * 注意：使用原生SQL绕过Hibernate的软删除限制
+     * 注意：使用原生SQL绕过Hibernate的软删除限制，并查询包含归档表的联合视图
      *
      * @param id 设备 ID
      * @return 设备实体（如果存在）
      */
-    @Query(value = "SELECT * FROM inspection_devices WHERE id = :id", nativeQuery = true)
+    @Query(value = "SELECT * FROM inspection_devices_all WHERE id = :id", nativeQuery = true)
     Optional<InspectionDevice> findByIdIncludingDeleted(Long id);
 }
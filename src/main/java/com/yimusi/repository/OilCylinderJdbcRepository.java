@@ -0,0 +1,62 @@
+package com.yimusi.repository;
+
+import com.yimusi.cylinder.CylinderLevel;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * 油缸油量原子更新仓储.
+ * 扣减使用带余量条件的单条 UPDATE，行锁内完成判断与扣减，并发抽油不会使剩余油量小于 0；
+ * 扣减后的油量在同一事务内读取，此时仍持有 UPDATE 加的行锁，读到的正是本次扣减的结果.
+ */
+@Repository
+@RequiredArgsConstructor
+public class OilCylinderJdbcRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * 扣减剩余油量
+     *
+     * @param cylinderNo 油缸编号
+     * @param amount     扣减油量（mL）
+     * @param now        更新时间
+     * @return 本次扣减后的油量与告警阈值；油缸未登记或余量不足时为 null
+     */
+    @Transactional
+    public CylinderLevel consume(int cylinderNo, long amount, Instant now) {
+        int updated = jdbcTemplate.update(
+            "UPDATE oil_cylinders SET remaining = remaining - ?, updated_at = ? WHERE cylinder_no = ? AND remaining >= ?",
+            amount, Timestamp.from(now), cylinderNo, amount);
+        if (updated == 0) {
+            return null;
+        }
+        List<CylinderLevel> levels = jdbcTemplate.query(
+            "SELECT remaining, low_stock_threshold FROM oil_cylinders WHERE cylinder_no = ?",
+            (rs, rowNum) -> new CylinderLevel(rs.getLong(1), rs.getLong(2)), cylinderNo);
+        return levels.isEmpty() ? null : levels.get(0);
+    }
+
+    /**
+     * 补充油量，不超过容量
+     *
+     * @param cylinderNo 油缸编号
+     * @param amount     补充油量（mL），为 null 时补满
+     * @param now        更新时间
+     * @return 更新行数
+     */
+    public int refill(int cylinderNo, Long amount, Instant now) {
+        if (amount == null) {
+            return jdbcTemplate.update("UPDATE oil_cylinders SET remaining = capacity, updated_at = ? WHERE cylinder_no = ?",
+                Timestamp.from(now), cylinderNo);
+        }
+        return jdbcTemplate.update(
+            "UPDATE oil_cylinders SET remaining = LEAST(capacity, remaining + ?), updated_at = ? WHERE cylinder_no = ?",
+            amount, Timestamp.from(now), cylinderNo);
+    }
+}
@@ -0,0 +1,27 @@
+package com.yimusi.repository;
+
+import com.yimusi.entity.OilCylinder;
+import java.util.List;
+import java.util.Optional;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+/**
+ * 油缸库存仓储接口。
+ */
+public interface OilCylinderRepository extends JpaRepository<OilCylinder, Long> {
+
+    Optional<OilCylinder> findByCylinderNo(Integer cylinderNo);
+
+    boolean existsByCylinderNo(Integer cylinderNo);
+
+    List<OilCylinder> findAllByOrderByCylinderNoAsc();
+
+    /**
+     * 查询剩余油量低于告警阈值的油缸
+     *
+     * @return 低库存油缸，按剩余油量升序
+     */
+    @Query("SELECT c FROM OilCylinder c WHERE c.remaining < c.lowStockThreshold ORDER BY c.remaining ASC")
+    List<OilCylinder> findLowStock();
+}
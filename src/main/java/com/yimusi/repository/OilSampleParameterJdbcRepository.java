@@ -0,0 +1,82 @@
+package com.yimusi.repository;
+
+import com.yimusi.entity.OilSampleParameter;
+import com.yimusi.enums.GasType;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+/**
+ * 油样气体参数索引表（oil_sample_parameters）的 JDBC 仓储.
+ * 保存油样时整体替换该油样的索引行；首次启用索引表时从 oil_samples.parameters 一次性回填.
+ */
+@Repository
+@RequiredArgsConstructor
+public class OilSampleParameterJdbcRepository {
+
+    private static final String DELETE_SQL = "DELETE FROM oil_sample_parameters WHERE oil_sample_id = ?";
+
+    private static final String INSERT_SQL = "INSERT INTO oil_sample_parameters (oil_sample_id, gas, value) VALUES (?,?,?)";
+
+    /** 用 MySQL 8 的 JSON_TABLE 展开已有油样的参数，只回填已知气体；与 {@link #replace} 一致，重复的参数名取最后一个非空值 */
+    private static final String BACKFILL_SQL = """
+        INSERT INTO oil_sample_parameters (oil_sample_id, gas, value)
+        SELECT latest.id, latest.gas, latest.value
+          FROM (SELECT s.id, jt.gas, jt.value,
+                       ROW_NUMBER() OVER (PARTITION BY s.id, jt.gas ORDER BY jt.seq DESC) AS rn
+                  FROM oil_samples s,
+                       JSON_TABLE(s.parameters, '$[*]' COLUMNS (
+                           seq FOR ORDINALITY,
+                           gas VARCHAR(10) PATH '$.key',
+                           value DECIMAL(20, 6) PATH '$.value'
+                       )) jt
+                 WHERE jt.gas IN ('CH4', 'C2H2', 'C2H4', 'C2H6', 'H2', 'CO', 'CO2', 'H2O') AND jt.value IS NOT NULL) latest
+         WHERE latest.rn = 1
+        """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * 用油样当前的参数替换其索引行，无法识别的参数名与空值不建索引，重复的参数名以最后一个为准
+     *
+     * @param oilSampleId 油样ID
+     * @param parameters  油样参数
+     */
+    public void replace(Long oilSampleId, List<OilSampleParameter> parameters) {
+        jdbcTemplate.update(DELETE_SQL, oilSampleId);
+        BigDecimal[] values = new BigDecimal[GasType.COUNT];
+        if (parameters != null) {
+            for (OilSampleParameter parameter : parameters) {
+                if (parameter.getValue() != null) {
+                    GasType.findByKey(parameter.getKey()).ifPresent(gas -> values[gas.ordinal()] = parameter.getValue());
+                }
+            }
+        }
+        List<Object[]> rows = new ArrayList<>();
+        for (int gas = 0; gas < GasType.COUNT; gas++) {
+            if (values[gas] != null) {
+                rows.add(new Object[] {oilSampleId, GasType.ofIndex(gas).name(), values[gas]});
+            }
+        }
+        if (!rows.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_SQL, rows);
+        }
+    }
+
+    /**
+     * 索引表为空时从全部油样回填
+     *
+     * @return 回填的行数，索引表已有数据时返回 0
+     */
+    public int backfillIfEmpty() {
+        Integer existing = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM (SELECT 1 FROM oil_sample_parameters LIMIT 1) t",
+            Integer.class);
+        if (existing != null && existing > 0) {
+            return 0;
+        }
+        return jdbcTemplate.update(BACKFILL_SQL);
+    }
+}
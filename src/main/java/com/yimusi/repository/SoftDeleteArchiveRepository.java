@@ -0,0 +1,109 @@
+package com.yimusi.repository;
+
+import com.yimusi.enums.ArchiveTable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+/**
+ * 软删除归档仓储.
+ * <p>
+ * 归档表由主表 CREATE TABLE ... LIKE 生成，并去掉主键以外的唯一索引（同一编号可能被多次删除后归档）；
+ * 主表由 JPA 自动更新新增列后，启动时把缺少的列补到归档表. 联合视图以主表的列清单显式列出，
+ * 两张表列顺序不同也不影响.
+ * </p>
+ */
+@Repository
+@RequiredArgsConstructor
+public class SoftDeleteArchiveRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * 创建或补齐归档表，并重建联合视图
+     *
+     * @param table 归档表定义
+     * @return 主表列名（按定义顺序）
+     */
+    public List<String> syncSchema(ArchiveTable table) {
+        String archive = table.getArchiveTableName();
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + archive + " LIKE " + table.getTableName());
+
+        List<String> uniqueIndexes = jdbcTemplate.queryForList("""
+            SELECT DISTINCT INDEX_NAME FROM information_schema.STATISTICS
+            WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = ? AND NON_UNIQUE = 0 AND INDEX_NAME <> 'PRIMARY'
+            """, String.class, archive);
+        for (String index : uniqueIndexes) {
+            jdbcTemplate.execute("ALTER TABLE " + archive + " DROP INDEX `" + index + "`");
+        }
+
+        Map<String, String> columns = columns(table.getTableName());
+        Map<String, String> archiveColumns = columns(archive);
+        for (Map.Entry<String, String> column : columns.entrySet()) {
+            if (!archiveColumns.containsKey(column.getKey())) {
+                jdbcTemplate.execute("ALTER TABLE " + archive + " ADD COLUMN `" + column.getKey() + "` " + column.getValue() + " NULL");
+            }
+        }
+
+        String columnList = columnList(columns.keySet());
+        jdbcTemplate.execute("CREATE OR REPLACE VIEW " + table.getViewName() + " AS SELECT " + columnList + " FROM "
+            + table.getTableName() + " UNION ALL SELECT " + columnList + " FROM " + archive);
+        return new ArrayList<>(columns.keySet());
+    }
+
+    /**
+     * 在当前事务内归档一批行：按 ID 升序锁定删除时间早于保留期的行，复制到归档表后从主表删除
+     *
+     * @param table            归档表定义
+     * @param columns          主表列名
+     * @param retentionSeconds 保留期（秒），删除时间早于 NOW() 减去保留期的行才归档
+     * @param afterId          键集游标，只处理 ID 大于该值的行
+     * @param limit            本批最大行数
+     * @return 本批归档的行 ID（升序），没有可归档的行时为空
+     */
+    public List<Long> moveChunk(ArchiveTable table, List<String> columns, long retentionSeconds, long afterId, int limit) {
+        List<Long> ids = jdbcTemplate.queryForList("SELECT id FROM " + table.getTableName()
+                + " WHERE id > ? AND deleted = true AND deleted_at < DATE_SUB(NOW(), INTERVAL ? SECOND)"
+                + " ORDER BY id LIMIT ? FOR UPDATE",
+            Long.class, afterId, retentionSeconds, limit);
+        if (ids.isEmpty()) {
+            return ids;
+        }
+        Object[] args = ids.toArray();
+        String in = String.join(",", Collections.nCopies(ids.size(), "?"));
+        String columnList = columnList(columns);
+        jdbcTemplate.update("INSERT INTO " + table.getArchiveTableName() + " (" + columnList + ") SELECT " + columnList
+            + " FROM " + table.getTableName() + " WHERE id IN (" + in + ")", args);
+        if (table.getChildTable() != null) {
+            jdbcTemplate.update("DELETE FROM " + table.getChildTable() + " WHERE " + table.getChildColumn() + " IN (" + in + ")", args);
+        }
+        jdbcTemplate.update("DELETE FROM " + table.getTableName() + " WHERE id IN (" + in + ")", args);
+        return ids;
+    }
+
+    /**
+     * @return 列名 → 列类型，按定义顺序
+     */
+    private Map<String, String> columns(String tableName) {
+        Map<String, String> columns = new LinkedHashMap<>();
+        jdbcTemplate.query("""
+                SELECT COLUMN_NAME, COLUMN_TYPE FROM information_schema.COLUMNS
+                WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = ? ORDER BY ORDINAL_POSITION
+                """,
+            rs -> {
+                columns.put(rs.getString(1), rs.getString(2));
+            }, tableName);
+        return columns;
+    }
+
+    private static String columnList(Iterable<String> columns) {
+        List<String> quoted = new ArrayList<>();
+        columns.forEach(column -> quoted.add('`' + column + '`'));
+        return String.join(", ", quoted);
+    }
+}
@@ -0,0 +1,54 @@
+package com.yimusi.repository;
+
+import com.yimusi.testjob.JobAssignment;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+/**
+ * 测试作业批量写入仓储，绕过 JPA 逐条 merge，用 JDBC 批量更新调度结果.
+ */
+@Repository
+@RequiredArgsConstructor
+public class TestJobJdbcRepository {
+
+    private static final String ASSIGN_SQL = """
+        UPDATE test_jobs
+           SET status = 'ASSIGNED', station_id = ?, oil_sample_id = ?, cylinder_no = ?, assigned_at = ?, updated_at = ?
+         WHERE id = ? AND status = 'PENDING'
+        """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * 批量写入分配结果，只更新仍处于待分配状态的作业（并发取消的作业不会被覆盖）
+     *
+     * @param assignments 分配结果
+     * @param assignedAt  分配时间
+     * @param batchSize   每批语句数
+     * @return 实际更新的作业数
+     */
+    public int assignBatch(List<JobAssignment> assignments, Instant assignedAt, int batchSize) {
+        Timestamp now = Timestamp.from(assignedAt);
+        int[][] results = jdbcTemplate.batchUpdate(ASSIGN_SQL, assignments, batchSize, (ps, assignment) -> {
+            ps.setLong(1, assignment.stationId());
+            ps.setLong(2, assignment.oilSampleId());
+            ps.setInt(3, assignment.cylinderNo());
+            ps.setTimestamp(4, now);
+            ps.setTimestamp(5, now);
+            ps.setLong(6, assignment.jobId());
+        });
+        int updated = 0;
+        for (int[] batch : results) {
+            for (int count : batch) {
+                // 部分驱动批量执行时不返回影响行数（SUCCESS_NO_INFO）
+                updated += count == Statement.SUCCESS_NO_INFO ? 1 : count;
+            }
+        }
+        return updated;
+    }
+}
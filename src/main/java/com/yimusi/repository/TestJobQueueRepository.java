@@ -0,0 +1,306 @@
+package com.yimusi.repository;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.yimusi.common.model.GasVector;
+import com.yimusi.enums.InspectionDeviceStatus;
+import com.yimusi.enums.OilSampleUsage;
+import com.yimusi.testjob.ClaimedJob;
+import com.yimusi.testjob.TestJobResult;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+/**
+ * 测试作业持久化队列.
+ * <p>
+ * 执行节点用 {@code SELECT ... FOR UPDATE SKIP LOCKED} 领取一批已分配的作业并写入租约，
+ * 多个节点并发领取时互不等待、不会重复领取. 所有作业状态变更都以租约持有者为条件，
+ * 租约已被其他节点接管的旧执行结果不会覆盖新状态. 检测设备状态在同一事务中随作业状态推进.
+ * </p>
+ * 除 {@link #renewLeases} 外的方法都应在事务中调用.
+ */
+@Repository
+@RequiredArgsConstructor
+public class TestJobQueueRepository {
+
+    private static final int MAX_REMARK_LENGTH = 500;
+
+    private static final String SELECT_CLAIMABLE_SQL = """
+        SELECT id FROM test_jobs
+         WHERE (status = 'ASSIGNED' AND (next_attempt_at IS NULL OR next_attempt_at <= ?))
+            OR (status = 'RUNNING' AND lease_expires_at < ? AND attempts < max_attempts)
+         ORDER BY priority DESC, id
+         LIMIT ?
+           FOR UPDATE SKIP LOCKED
+        """;
+
+    private static final String SELECT_EXHAUSTED_SQL = """
+        SELECT id, device_id FROM test_jobs
+         WHERE status = 'RUNNING' AND lease_expires_at < ? AND attempts >= max_attempts
+         LIMIT ?
+           FOR UPDATE SKIP LOCKED
+        """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * 领取一批可执行的作业：已分配且到达重试时间的作业，以及租约已过期、仍可重试的执行中作业.
+     * 领取的作业进入执行中状态，尝试次数加一，对应设备进入在检状态.
+     *
+     * @param owner          执行节点标识
+     * @param limit          最多领取数量
+     * @param now            当前时间
+     * @param leaseExpiresAt 租约到期时间
+     * @return 领取到的作业
+     */
+    public List<ClaimedJob> claim(String owner, int limit, Instant now, Instant leaseExpiresAt) {
+        Timestamp nowTs = Timestamp.from(now);
+        List<Long> ids = jdbcTemplate.queryForList(SELECT_CLAIMABLE_SQL, Long.class, nowTs, nowTs, limit);
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        String in = placeholders(ids.size());
+        List<Object> args = new ArrayList<>(List.of(owner, Timestamp.from(leaseExpiresAt), nowTs, nowTs));
+        args.addAll(ids);
+        jdbcTemplate.update("""
+            UPDATE test_jobs
+               SET status = 'RUNNING', lease_owner = ?, lease_expires_at = ?, attempts = attempts + 1,
+                   next_attempt_at = NULL, started_at = COALESCE(started_at, ?), updated_at = ?
+             WHERE id IN (%s)
+            """.formatted(in), args.toArray());
+
+        List<ClaimedJob> claimed = jdbcTemplate.query("""
+            SELECT id, device_id, usage_type, station_id, oil_sample_id, cylinder_no, attempts, max_attempts
+              FROM test_jobs WHERE id IN (%s) ORDER BY priority DESC, id
+            """.formatted(in), (rs, rowNum) -> new ClaimedJob(
+            rs.getLong("id"),
+            rs.getLong("device_id"),
+            OilSampleUsage.valueOf(rs.getString("usage_type")),
+            rs.getLong("station_id"),
+            rs.getLong("oil_sample_id"),
+            rs.getInt("cylinder_no"),
+            rs.getInt("attempts"),
+            rs.getInt("max_attempts")
+        ), ids.toArray());
+
+        updateDeviceStatus(claimed.stream().map(ClaimedJob::deviceId).toList(), InspectionDeviceStatus.UNDER_INSPECTION, now);
+        return claimed;
+    }
+
+    /**
+     * 为仍由本节点持有的作业续约（单条语句，自动提交即可）
+     *
+     * @param owner          执行节点标识
+     * @param jobIds         本节点正在执行的作业
+     * @param leaseExpiresAt 新的租约到期时间
+     * @return 续约成功（仍由本节点持有）的作业ID
+     */
+    public Set<Long> renewLeases(String owner, Collection<Long> jobIds, Instant leaseExpiresAt) {
+        if (jobIds.isEmpty()) {
+            return Set.of();
+        }
+        String in = placeholders(jobIds.size());
+        List<Object> args = new ArrayList<>(jobIds.size() + 2);
+        args.add(Timestamp.from(leaseExpiresAt));
+        args.add(owner);
+        args.addAll(jobIds);
+        jdbcTemplate.update("""
+            UPDATE test_jobs SET lease_expires_at = ?
+             WHERE lease_owner = ? AND status = 'RUNNING' AND id IN (%s)
+            """.formatted(in), args.toArray());
+        List<Object> selectArgs = new ArrayList<>(args.subList(1, args.size()));
+        return new HashSet<>(jdbcTemplate.queryForList("""
+            SELECT id FROM test_jobs WHERE lease_owner = ? AND status = 'RUNNING' AND id IN (%s)
+            """.formatted(in), Long.class, selectArgs.toArray()));
+    }
+
+    /**
+     * 作业执行成功，写入测试结论与采样结果并更新设备状态
+     *
+     * @param job    作业
+     * @param owner  执行节点标识
+     * @param result 执行结果
+     * @param now    当前时间
+     * @return 是否仍由本节点持有并更新成功
+     */
+    public boolean complete(ClaimedJob job, String owner, TestJobResult result, Instant now) {
+        Timestamp nowTs = Timestamp.from(now);
+        int updated = jdbcTemplate.update("""
+            UPDATE test_jobs
+               SET status = 'SUCCEEDED', result_status = ?, measurements = ?, lease_owner = NULL, lease_expires_at = NULL,
+                   finished_at = ?, updated_at = ?
+             WHERE id = ? AND lease_owner = ? AND status = 'RUNNING'
+            """, result.status().name(), toJson(result.measurements()), nowTs, nowTs, job.jobId(), owner);
+        if (updated == 0) {
+            return false;
+        }
+        updateDeviceStatus(List.of(job.deviceId()), result.status(), now);
+        return true;
+    }
+
+    /**
+     * 作业执行失败，释放租约并在指定时间后重新进入可领取状态（保留工位与油缸分配）
+     *
+     * @param job           作业
+     * @param owner         执行节点标识
+     * @param error         失败原因
+     * @param nextAttemptAt 下次领取时间
+     * @return 是否仍由本节点持有并更新成功
+     */
+    public boolean retry(ClaimedJob job, String owner, String error, Instant nextAttemptAt) {
+        return jdbcTemplate.update("""
+            UPDATE test_jobs
+               SET status = 'ASSIGNED', lease_owner = NULL, lease_expires_at = NULL, next_attempt_at = ?,
+                   remark = ?, updated_at = ?
+             WHERE id = ? AND lease_owner = ? AND status = 'RUNNING'
+            """, Timestamp.from(nextAttemptAt), truncate(error), Timestamp.from(Instant.now()), job.jobId(), owner) > 0;
+    }
+
+    /**
+     * 作业执行失败且不再重试，设备退回待检状态
+     *
+     * @param job   作业
+     * @param owner 执行节点标识
+     * @param error 失败原因
+     * @param now   当前时间
+     * @return 是否仍由本节点持有并更新成功
+     */
+    public boolean fail(ClaimedJob job, String owner, String error, Instant now) {
+        Timestamp nowTs = Timestamp.from(now);
+        int updated = jdbcTemplate.update("""
+            UPDATE test_jobs
+               SET status = 'FAILED', lease_owner = NULL, lease_expires_at = NULL, finished_at = ?, remark = ?, updated_at = ?
+             WHERE id = ? AND lease_owner = ? AND status = 'RUNNING'
+            """, nowTs, truncate(error), nowTs, job.jobId(), owner);
+        if (updated == 0) {
+            return false;
+        }
+        updateDeviceStatus(List.of(job.deviceId()), InspectionDeviceStatus.PENDING_INSPECTION, now);
+        return true;
+    }
+
+    /**
+     * 租约已过期且尝试次数用尽的作业置为失败，设备退回待检状态
+     *
+     * @param now   当前时间
+     * @param limit 单次最多处理数量
+     * @return 对应的设备ID
+     */
+    public List<Long> failExpired(Instant now, int limit) {
+        Timestamp nowTs = Timestamp.from(now);
+        List<long[]> rows = jdbcTemplate.query(SELECT_EXHAUSTED_SQL,
+            (rs, rowNum) -> new long[]{rs.getLong("id"), rs.getLong("device_id")}, nowTs, limit);
+        if (rows.isEmpty()) {
+            return List.of();
+        }
+        List<Object> args = new ArrayList<>(List.of(nowTs, "执行节点租约过期且重试次数已用尽", nowTs));
+        List<Long> deviceIds = new ArrayList<>(rows.size());
+        for (long[] row : rows) {
+            args.add(row[0]);
+            deviceIds.add(row[1]);
+        }
+        jdbcTemplate.update("""
+            UPDATE test_jobs
+               SET status = 'FAILED', lease_owner = NULL, lease_expires_at = NULL, finished_at = ?, remark = ?, updated_at = ?
+             WHERE id IN (%s)
+            """.formatted(placeholders(rows.size())), args.toArray());
+        updateDeviceStatus(deviceIds, InspectionDeviceStatus.PENDING_INSPECTION, now);
+        return deviceIds;
+    }
+
+    /**
+     * 取消工位上已分配与执行中的作业，设备退回待检状态.
+     * 执行中作业的持有节点在下次续约时发现租约丢失并中断执行.
+     *
+     * @param stationId 工位ID
+     * @param now       当前时间
+     * @return 被取消作业对应的设备ID
+     */
+    public List<Long> cancelStation(long stationId, Instant now) {
+        Timestamp nowTs = Timestamp.from(now);
+        List<long[]> rows = jdbcTemplate.query("""
+            SELECT id, device_id FROM test_jobs
+             WHERE station_id = ? AND status IN ('ASSIGNED', 'RUNNING')
+               FOR UPDATE
+            """, (rs, rowNum) -> new long[]{rs.getLong("id"), rs.getLong("device_id")}, stationId);
+        if (rows.isEmpty()) {
+            return List.of();
+        }
+        List<Object> args = new ArrayList<>(List.of(nowTs, "工位测试已取消", nowTs));
+        List<Long> deviceIds = new ArrayList<>(rows.size());
+        for (long[] row : rows) {
+            args.add(row[0]);
+            deviceIds.add(row[1]);
+        }
+        jdbcTemplate.update("""
+            UPDATE test_jobs
+               SET status = 'CANCELLED', lease_owner = NULL, lease_expires_at = NULL, finished_at = ?, remark = ?, updated_at = ?
+             WHERE id IN (%s)
+            """.formatted(placeholders(rows.size())), args.toArray());
+        updateDeviceStatus(deviceIds, InspectionDeviceStatus.PENDING_INSPECTION, now);
+        return deviceIds;
+    }
+
+    /**
+     * 节点正常关闭时交还本节点持有的作业，其他节点可立即领取，不计入尝试次数
+     *
+     * @param owner 执行节点标识
+     * @param now   当前时间
+     * @return 交还的作业数
+     */
+    public int releaseLeases(String owner, Instant now) {
+        return jdbcTemplate.update("""
+            UPDATE test_jobs
+               SET status = 'ASSIGNED', lease_owner = NULL, lease_expires_at = NULL,
+                   attempts = GREATEST(attempts - 1, 0), updated_at = ?
+             WHERE lease_owner = ? AND status = 'RUNNING'
+            """, Timestamp.from(now), owner);
+    }
+
+    private void updateDeviceStatus(List<Long> deviceIds, InspectionDeviceStatus status, Instant now) {
+        if (deviceIds.isEmpty()) {
+            return;
+        }
+        List<Object> args = new ArrayList<>(deviceIds.size() + 2);
+        args.add(status.name());
+        args.add(Timestamp.from(now));
+        args.addAll(deviceIds);
+        jdbcTemplate.update("UPDATE inspection_devices SET status = ?, updated_at = ? WHERE id IN (%s)"
+            .formatted(placeholders(deviceIds.size())), args.toArray());
+    }
+
+    /**
+     * 采样结果按气体固定顺序序列化为与油样参数相同的 K-V 格式
+     */
+    private String toJson(GasVector measurements) {
+        if (measurements.isEmpty()) {
+            return null;
+        }
+        try {
+            return objectMapper.writeValueAsString(measurements.toParameters());
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("采样结果序列化失败", e);
+        }
+    }
+
+    private static String placeholders(int count) {
+        return String.join(",", Collections.nCopies(count, "?"));
+    }
+
+    private static String truncate(String error) {
+        if (error == null || error.length() <= MAX_REMARK_LENGTH) {
+            return error;
+        }
+        return error.substring(0, MAX_REMARK_LENGTH);
+    }
+}
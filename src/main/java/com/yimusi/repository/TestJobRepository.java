@@ -0,0 +1,42 @@
+package com.yimusi.repository;
+
+import com.yimusi.entity.TestJob;
+import com.yimusi.enums.OilSampleUsage;
+import com.yimusi.enums.TestJobStatus;
+import java.util.Collection;
+import java.util.List;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.querydsl.QuerydslPredicateExecutor;
+
+/**
+ * 测试作业仓储接口。
+ */
+public interface TestJobRepository extends JpaRepository<TestJob, Long>, QuerydslPredicateExecutor<TestJob> {
+
+    /**
+     * 查询指定状态的作业
+     *
+     * @param statuses 状态集合
+     * @return 作业列表
+     */
+    List<TestJob> findByStatusIn(Collection<TestJobStatus> statuses);
+
+    /**
+     * 查询设备中处于指定状态的作业所属设备ID，用于拒绝重复提交
+     *
+     * @param deviceIds 设备ID集合
+     * @param statuses  状态集合
+     * @return 作业列表
+     */
+    List<TestJob> findByDeviceIdInAndStatusIn(Collection<Long> deviceIds, Collection<TestJobStatus> statuses);
+
+    /**
+     * 查询设备指定类型与状态的作业
+     *
+     * @param usage     测试类型
+     * @param status    作业状态
+     * @param deviceIds 设备ID集合
+     * @return 作业列表
+     */
+    List<TestJob> findByUsageAndStatusAndDeviceIdIn(OilSampleUsage usage, TestJobStatus status, Collection<Long> deviceIds);
+}
@@ -2,7 +2,9 @@ package com.yimusi.runner;
 
 import com.yimusi.entity.SequenceGenerator;
 import com.yimusi.enums.SequenceBizType;
+import com.yimusi.repository.OilSampleParameterJdbcRepository;
 import com.yimusi.repository.SequenceGeneratorRepository;
+import com.yimusi.service.SoftDeleteArchiveService;
 import java.util.Arrays;
 import java.util.Optional;
 import lombok.RequiredArgsConstructor;
@@ -25,6 +27,8 @@ import org.springframework.stereotype.Component;
 public class DataInitializerRunner implements ApplicationRunner {
 
     private final SequenceGeneratorRepository sequenceGeneratorRepository;
+    private final OilSampleParameterJdbcRepository oilSampleParameterJdbcRepository;
+    private final SoftDeleteArchiveService softDeleteArchiveService;
 
     @Override
     public void run(ApplicationArguments args) {
@@ -33,6 +37,15 @@ public class DataInitializerRunner implements ApplicationRunner {
         // 遍历所有 SequenceBizType 枚举，为每一种类型都进行初始化检查
         Arrays.stream(SequenceBizType.values()).forEach(this::initializeSequence);
 
+        // 油样参数索引表首次启用时，从已有油样的 JSON 参数回填
+        int backfilled = oilSampleParameterJdbcRepository.backfillIfEmpty();
+        if (backfilled > 0) {
+            log.info("已回填油样参数索引 {} 条", backfilled);
+        }
+
+        // 创建或补齐软删除归档表与联合视图
+        softDeleteArchiveService.syncSchema();
+
         log.info("数据初始化任务执行完毕。");
     }
 
@@ -0,0 +1,28 @@
+package com.yimusi.service;
+
+import com.yimusi.dto.calibration.CalibrationBatchRequest;
+import com.yimusi.dto.calibration.CalibrationBatchResult;
+import com.yimusi.dto.calibration.DeviceCalibrationResponse;
+import java.util.List;
+
+/**
+ * 设备标定服务接口，根据标定运行的读数与油样参考值拟合各气体的标定曲线
+ */
+public interface CalibrationService {
+
+    /**
+     * 批量重新标定设备，标定点来自设备已完成的标定作业
+     *
+     * @param request 标定请求
+     * @return 标定结果统计
+     */
+    CalibrationBatchResult recalibrate(CalibrationBatchRequest request);
+
+    /**
+     * 获取设备各气体的标定系数
+     *
+     * @param deviceId 设备 ID
+     * @return 按气体顺序排列的标定系数
+     */
+    List<DeviceCalibrationResponse> getDeviceCalibrations(Long deviceId);
+}
@@ -0,0 +1,27 @@
+package com.yimusi.service;
+
+import com.yimusi.dto.calibration.CrossSensitivityBatchRequest;
+import com.yimusi.dto.calibration.CrossSensitivityResponse;
+import java.util.List;
+
+/**
+ * 交叉敏感分析服务接口，根据交叉敏感测试的读数计算设备各气体通道之间的干扰矩阵
+ */
+public interface CrossSensitivityService {
+
+    /**
+     * 获取设备的交叉敏感矩阵
+     *
+     * @param deviceId 设备 ID
+     * @return 交叉敏感矩阵
+     */
+    CrossSensitivityResponse getDeviceMatrix(Long deviceId);
+
+    /**
+     * 批量获取设备的交叉敏感矩阵，没有已完成交叉敏感测试的设备不出现在结果中
+     *
+     * @param request 查询请求
+     * @return 按请求顺序排列的交叉敏感矩阵
+     */
+    List<CrossSensitivityResponse> getDeviceMatrices(CrossSensitivityBatchRequest request);
+}
@@ -0,0 +1,30 @@
+package com.yimusi.service;
+
+import com.yimusi.dto.diagnosis.DgaDiagnosisRequest;
+import com.yimusi.dto.diagnosis.DgaDiagnosisResponse;
+import com.yimusi.dto.diagnosis.DgaHistoryResponse;
+import java.time.Instant;
+
+/**
+ * 油中溶解气体分析（DGA）故障诊断服务接口
+ */
+public interface DgaDiagnosisService {
+
+    /**
+     * 诊断单条读数
+     *
+     * @param request 气体含量
+     * @return 各诊断方法的结论
+     */
+    DgaDiagnosisResponse diagnose(DgaDiagnosisRequest request);
+
+    /**
+     * 诊断设备在 [from, to) 内的全部原始读数
+     *
+     * @param deviceNo 设备编号
+     * @param from     起始时间（包含）
+     * @param to       结束时间（不包含）
+     * @return 各诊断方法的统计结果
+     */
+    DgaHistoryResponse diagnoseHistory(String deviceNo, Instant from, Instant to);
+}
@@ -0,0 +1,20 @@
+package com.yimusi.service;
+
+import java.util.List;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * 检测设备 / 测试工位实时状态订阅服务接口。
+ */
+public interface LiveStateService {
+
+    /**
+     * 订阅项目下检测设备以及指定测试工位的实时状态。
+     * 连接建立后先推送一次 snapshot 事件（当前完整状态），之后只推送 state 事件（合并后的增量）。
+     *
+     * @param projectIds 项目ID列表，可为空
+     * @param stationIds 工位ID列表，可为空
+     * @return SSE 连接
+     */
+    SseEmitter subscribe(List<Long> projectIds, List<Long> stationIds);
+}
@@ -0,0 +1,84 @@
+package com.yimusi.service;
+
+import com.yimusi.dto.cylinder.CreateOilCylinderRequest;
+import com.yimusi.dto.cylinder.OilCylinderResponse;
+import com.yimusi.dto.cylinder.RefillOilCylinderRequest;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 油缸库存服务接口，跟踪各油缸的剩余油量，并为测试作业调度与执行提供预留和扣减
+ */
+public interface OilCylinderService {
+
+    /**
+     * 获取全部已登记油缸
+     *
+     * @return 按油缸编号排序的油缸列表
+     */
+    List<OilCylinderResponse> listCylinders();
+
+    /**
+     * 获取低于告警阈值的油缸
+     *
+     * @return 按剩余油量升序排列的油缸列表
+     */
+    List<OilCylinderResponse> listLowStockCylinders();
+
+    /**
+     * 获取单个油缸
+     *
+     * @param cylinderNo 油缸编号
+     * @return 油缸库存
+     */
+    OilCylinderResponse getCylinder(Integer cylinderNo);
+
+    /**
+     * 登记油缸库存
+     *
+     * @param request 登记请求
+     * @return 油缸库存
+     */
+    OilCylinderResponse createCylinder(CreateOilCylinderRequest request);
+
+    /**
+     * 为油缸补油
+     *
+     * @param cylinderNo 油缸编号
+     * @param request    补油请求
+     * @return 补油后的油缸库存
+     */
+    OilCylinderResponse refillCylinder(Integer cylinderNo, RefillOilCylinderRequest request);
+
+    /**
+     * 测试运行抽油时扣减一次运行的用量，跌破告警阈值时发布低库存告警
+     *
+     * @param cylinderNo 油缸编号
+     * @return 是否扣减成功；未登记的油缸总是成功，余量不足时失败
+     */
+    boolean consumeRun(int cylinderNo);
+
+    /**
+     * 退还一次运行的用量，用于扣减成功但阀门未能切换、实际没有抽油的运行
+     *
+     * @param cylinderNo 油缸编号
+     */
+    void refundRun(int cylinderNo);
+
+    /**
+     * 按数据库剩余油量重建调度预留账本
+     *
+     * @param assignedRuns 各油缸已分配但尚未抽油的作业数
+     * @return 余量不足一次运行的油缸编号，本轮调度不应使用
+     */
+    Set<Integer> refreshReservations(Map<Integer, Integer> assignedRuns);
+
+    /**
+     * 为一个新分配的作业预留一次运行的用量
+     *
+     * @param cylinderNo 油缸编号
+     * @return 是否预留成功
+     */
+    boolean reserveRun(int cylinderNo);
+}
@@ -0,0 +1,36 @@
+package com.yimusi.service;
+
+import com.yimusi.telemetry.ReadingPoint;
+import java.util.List;
+
+/**
+ * 设备读数汇总服务接口。
+ * <p>
+ * 按设备、气体维护 1 分钟 / 1 小时 / 1 天三种精度的汇总（最小值、最大值、平均值、点数、最晚读数），
+ * 供长时间范围的趋势查询使用，避免扫描原始读数。
+ * </p>
+ */
+public interface ReadingRollupService {
+
+    /**
+     * 接收已写入数据库的一批读数，增量更新汇总。
+     * 调用方线程不会执行数据库操作，汇总在后台异步完成。
+     *
+     * @param points 已持久化的读数
+     */
+    void onPersisted(List<ReadingPoint> points);
+
+    /**
+     * 立即处理已接收的读数：合并增量汇总并重算受迟到读数影响的时间桶。
+     *
+     * @return 写入的时间桶数量
+     */
+    int flush();
+
+    /**
+     * 获取等待重算的 1 分钟时间桶数量
+     *
+     * @return 时间桶数量
+     */
+    int getDirtyBucketCount();
+}
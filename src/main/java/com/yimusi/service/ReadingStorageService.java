@@ -0,0 +1,57 @@
+package com.yimusi.service;
+
+import com.yimusi.dto.telemetry.ReadingSeriesResponse;
+import com.yimusi.enums.GasType;
+import com.yimusi.enums.ReadingResolution;
+import com.yimusi.telemetry.ReadingSeries;
+import java.time.Instant;
+
+/**
+ * 设备读数时间序列存储服务接口。
+ * <p>
+ * 新写入的读数先落在 device_readings 原始表中；时间窗口关闭后由压缩任务
+ * 将窗口内的读数编码为压缩数据块写入 device_reading_chunks，并删除对应的原始行。
+ * 查询时合并压缩数据块与尚未压缩的原始读数。
+ * </p>
+ */
+public interface ReadingStorageService {
+
+    /**
+     * 查询指定设备、气体在 [from, to) 内的读数。
+     * 未指定精度时，在点数预算内选择最细的精度：短时间范围返回原始读数，长时间范围返回汇总。
+     *
+     * @param deviceNo   设备编号
+     * @param gas        气体组分
+     * @param from       起始时间（包含）
+     * @param to         结束时间（不包含）
+     * @param resolution 指定精度，可为 null
+     * @param maxPoints  点数预算，可为 null（使用默认值）
+     * @return 读数时间序列
+     */
+    ReadingSeriesResponse getReadings(
+        String deviceNo,
+        GasType gas,
+        Instant from,
+        Instant to,
+        ReadingResolution resolution,
+        Integer maxPoints
+    );
+
+    /**
+     * 按设备ID查询 [from, to) 内的原始精度读数，只解码与查询范围有交集的数据块。
+     *
+     * @param deviceId 设备ID
+     * @param gas      气体组分
+     * @param from     起始时间（包含，epoch 毫秒）
+     * @param to       结束时间（不包含，epoch 毫秒）
+     * @return 按时间升序排列的读数序列
+     */
+    ReadingSeries findSeries(long deviceId, GasType gas, long from, long to);
+
+    /**
+     * 压缩所有已关闭时间窗口内的原始读数。
+     *
+     * @return 本次写入（新建或合并）的数据块数量
+     */
+    int compactClosedWindows();
+}
@@ -0,0 +1,21 @@
+package com.yimusi.service;
+
+import com.yimusi.dto.archive.ArchiveRunResult;
+
+/**
+ * 软删除归档服务接口，把删除时间超过保留期的行分批移入归档表
+ */
+public interface SoftDeleteArchiveService {
+
+    /**
+     * 创建或补齐各表的归档表与联合视图，应用启动时执行
+     */
+    void syncSchema();
+
+    /**
+     * 立即执行一轮归档
+     *
+     * @return 归档结果
+     */
+    ArchiveRunResult archiveNow();
+}
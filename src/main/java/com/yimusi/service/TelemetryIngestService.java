@@ -0,0 +1,26 @@
+package com.yimusi.service;
+
+import com.yimusi.dto.telemetry.ReadingIngestRequest;
+import com.yimusi.dto.telemetry.ReadingIngestResponse;
+
+/**
+ * 设备遥测接入服务接口，负责接收检测设备上报的气体读数并异步批量持久化。
+ */
+public interface TelemetryIngestService {
+
+    /**
+     * 接收一批设备读数并放入写入队列。
+     * 队列已满且在等待时间内无法腾出空间时直接拒绝（背压），调用方应稍后重试。
+     *
+     * @param request 批量上报请求
+     * @return 接收结果
+     */
+    ReadingIngestResponse ingest(ReadingIngestRequest request);
+
+    /**
+     * 获取当前排队等待写入的读数条数。
+     *
+     * @return 排队中的读数条数
+     */
+    int getPendingCount();
+}
@@ -0,0 +1,51 @@
+package com.yimusi.service;
+
+import com.yimusi.dto.testjob.CreateTestJobRequest;
+import com.yimusi.dto.testjob.TestJobResponse;
+import com.yimusi.dto.testjob.TestJobScheduleResult;
+import java.util.List;
+
+/**
+ * 测试作业服务接口，负责作业提交及设备、工位与油样的分配调度
+ */
+public interface TestJobService {
+
+    /**
+     * 提交测试作业，每台设备一条，设备已有未结束的作业时拒绝
+     *
+     * @param request 提交请求
+     * @return 创建的作业
+     */
+    List<TestJobResponse> submitJobs(CreateTestJobRequest request);
+
+    /**
+     * 获取作业详情
+     *
+     * @param id 作业 ID
+     * @return 作业详情
+     */
+    TestJobResponse getJobById(Long id);
+
+    /**
+     * 取消尚未开始执行的作业
+     *
+     * @param id 作业 ID
+     * @return 取消后的作业详情
+     */
+    TestJobResponse cancelJob(Long id);
+
+    /**
+     * 取消工位上已分配与执行中的全部作业，执行中的测试运行被中断，设备退回待检
+     *
+     * @param stationId 工位 ID
+     * @return 取消的作业数
+     */
+    int cancelStationJobs(Long stationId);
+
+    /**
+     * 立即执行一轮调度，集群内同一时刻只有一个节点在调度
+     *
+     * @return 调度结果
+     */
+    TestJobScheduleResult scheduleNow();
+}
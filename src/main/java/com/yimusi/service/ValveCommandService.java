@@ -0,0 +1,37 @@
+package com.yimusi.service;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * 测试工位电磁阀控制服务接口。
+ * 同一工位的命令按提交顺序串行执行，排队中的冗余命令会被合并；不同工位之间互不阻塞。
+ */
+public interface ValveCommandService {
+
+    /**
+     * 打开或关闭单个阀门。
+     *
+     * @param stationId 工位ID
+     * @param valve     阀门编号
+     * @param open      是否打开
+     * @return 命令完成的 Future
+     */
+    CompletableFuture<Void> setValve(Long stationId, int valve, boolean open);
+
+    /**
+     * 切换到油样通道：打开该通道对应的阀门，关闭其余阀门。
+     *
+     * @param stationId 工位ID
+     * @param channel   油样通道
+     * @return 命令完成的 Future
+     */
+    CompletableFuture<Void> switchChannel(Long stationId, String channel);
+
+    /**
+     * 关闭工位的全部阀门。
+     *
+     * @param stationId 工位ID
+     * @return 命令完成的 Future
+     */
+    CompletableFuture<Void> closeAllValves(Long stationId);
+}
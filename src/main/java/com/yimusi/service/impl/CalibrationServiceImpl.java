@@ -0,0 +1,195 @@
+package com.yimusi.service.impl;
+
+import com.yimusi.calibration.CalibrationEngine;
+import com.yimusi.calibration.CalibrationPoints;
+import com.yimusi.calibration.DeviceCalibrationResult;
+import com.yimusi.common.model.GasVector;
+import com.yimusi.common.exception.BadRequestException;
+import com.yimusi.common.exception.ResourceNotFoundException;
+import com.yimusi.dto.calibration.CalibrationBatchRequest;
+import com.yimusi.dto.calibration.CalibrationBatchResult;
+import com.yimusi.dto.calibration.DeviceCalibrationResponse;
+import com.yimusi.entity.DeviceCalibration;
+import com.yimusi.entity.InspectionDevice;
+import com.yimusi.entity.OilSample;
+import com.yimusi.entity.TestJob;
+import com.yimusi.enums.CalibrationModel;
+import com.yimusi.enums.InspectionDeviceStatus;
+import com.yimusi.enums.OilSampleUsage;
+import com.yimusi.enums.TestJobStatus;
+import com.yimusi.mapper.DeviceCalibrationMapper;
+import com.yimusi.repository.DeviceCalibrationJdbcRepository;
+import com.yimusi.repository.DeviceCalibrationRepository;
+import com.yimusi.repository.InspectionDeviceRepository;
+import com.yimusi.repository.OilSampleRepository;
+import com.yimusi.repository.TestJobRepository;
+import com.yimusi.service.CalibrationService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * 设备标定服务实现类
+ * <p>
+ * 一次批量标定分三步：先一次性加载设备的已完成标定作业及所用油样，
+ * 油样参考值按油样只转换一次为 double 数组，组装成各设备的标定点；
+ * 再由 {@link CalibrationEngine} 在独立的 ForkJoin 池中并行拟合；
+ * 最后在一个短事务内以 JDBC 批量 upsert 写回，拟合期间不占用数据库连接.
+ * </p>
+ */
+@Slf4j
+@Service
+public class CalibrationServiceImpl implements CalibrationService {
+
+    private static final Comparator<DeviceCalibration> BY_GAS = Comparator.comparing(c -> c.getGas().ordinal());
+
+    private final InspectionDeviceRepository inspectionDeviceRepository;
+    private final TestJobRepository testJobRepository;
+    private final OilSampleRepository oilSampleRepository;
+    private final DeviceCalibrationRepository deviceCalibrationRepository;
+    private final DeviceCalibrationJdbcRepository deviceCalibrationJdbcRepository;
+    private final DeviceCalibrationMapper deviceCalibrationMapper;
+    private final CalibrationEngine calibrationEngine;
+    private final TransactionTemplate transactionTemplate;
+    private final Timer batchTimer;
+
+    @Value("${yimusi.calibration.batch-size:500}")
+    private int batchSize;
+
+    public CalibrationServiceImpl(InspectionDeviceRepository inspectionDeviceRepository,
+                                  TestJobRepository testJobRepository,
+                                  OilSampleRepository oilSampleRepository,
+                                  DeviceCalibrationRepository deviceCalibrationRepository,
+                                  DeviceCalibrationJdbcRepository deviceCalibrationJdbcRepository,
+                                  DeviceCalibrationMapper deviceCalibrationMapper,
+                                  CalibrationEngine calibrationEngine,
+                                  TransactionTemplate transactionTemplate,
+                                  MeterRegistry meterRegistry) {
+        this.inspectionDeviceRepository = inspectionDeviceRepository;
+        this.testJobRepository = testJobRepository;
+        this.oilSampleRepository = oilSampleRepository;
+        this.deviceCalibrationRepository = deviceCalibrationRepository;
+        this.deviceCalibrationJdbcRepository = deviceCalibrationJdbcRepository;
+        this.deviceCalibrationMapper = deviceCalibrationMapper;
+        this.calibrationEngine = calibrationEngine;
+        this.transactionTemplate = transactionTemplate;
+        this.batchTimer = Timer.builder("calibration.batch")
+            .description("一次批量标定的耗时")
+            .register(meterRegistry);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CalibrationBatchResult recalibrate(CalibrationBatchRequest request) {
+        return batchTimer.record(() -> runBatch(request));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<DeviceCalibrationResponse> getDeviceCalibrations(Long deviceId) {
+        if (!inspectionDeviceRepository.existsById(deviceId)) {
+            throw new ResourceNotFoundException("InspectionDevice not found with id: " + deviceId);
+        }
+        return deviceCalibrationRepository.findByDeviceId(deviceId).stream()
+            .sorted(BY_GAS)
+            .map(deviceCalibrationMapper::toResponse)
+            .toList();
+    }
+
+    private CalibrationBatchResult runBatch(CalibrationBatchRequest request) {
+        long start = System.nanoTime();
+        CalibrationModel model = request.getModel() == null ? CalibrationModel.LINEAR : request.getModel();
+        Set<Long> deviceIds = resolveDevices(request.getDeviceIds());
+        if (deviceIds.isEmpty()) {
+            return new CalibrationBatchResult(0, 0, 0, 0, elapsedMillis(start));
+        }
+
+        List<TestJob> jobs = testJobRepository.findByUsageAndStatusAndDeviceIdIn(
+            OilSampleUsage.CALIBRATION, TestJobStatus.SUCCEEDED, deviceIds);
+        Set<Long> sampleIds = jobs.stream()
+            .filter(job -> job.getOilSampleId() != null && job.getMeasurements() != null)
+            .map(TestJob::getOilSampleId)
+            .collect(Collectors.toSet());
+        Map<Long, GasVector> references = new HashMap<>();
+        for (OilSample sample : oilSampleRepository.findAllById(sampleIds)) {
+            references.put(sample.getId(), GasVector.fromParameters(sample.getParameters()));
+        }
+
+        Map<Long, CalibrationPoints> points = new LinkedHashMap<>();
+        for (Long deviceId : deviceIds) {
+            points.put(deviceId, new CalibrationPoints(deviceId));
+        }
+        // 按作业先后添加标定点，残差顺序与作业顺序一致
+        for (TestJob job : jobs.stream().sorted(Comparator.comparing(TestJob::getId)).toList()) {
+            GasVector reference = references.get(job.getOilSampleId());
+            if (reference != null && job.getMeasurements() != null) {
+                points.get(job.getDeviceId()).add(GasVector.fromParameters(job.getMeasurements()), reference);
+            }
+        }
+
+        long fitStart = System.nanoTime();
+        List<DeviceCalibrationResult> results = calibrationEngine.calibrate(new ArrayList<>(points.values()), model);
+        long fitMillis = elapsedMillis(fitStart);
+
+        List<DeviceCalibrationResult> calibrated = results.stream().filter(r -> !r.fits().isEmpty()).toList();
+        Instant now = Instant.now();
+        int fitCount = calibrated.isEmpty() ? 0 : transactionTemplate.execute(
+            status -> deviceCalibrationJdbcRepository.upsertBatch(calibrated, now, batchSize));
+
+        CalibrationBatchResult result =
+            new CalibrationBatchResult(deviceIds.size(), calibrated.size(), fitCount, fitMillis, elapsedMillis(start));
+        log.info("批量标定完成: 设备 {} 台, 成功 {} 台, 气体曲线 {} 条, 拟合 {} ms, 总耗时 {} ms",
+            result.getDeviceCount(), result.getCalibratedCount(), fitCount, fitMillis, result.getElapsedMillis());
+        return result;
+    }
+
+    /**
+     * 未指定设备时取全部已标定状态的设备；指定设备时校验设备存在且处于已标定状态
+     */
+    private Set<Long> resolveDevices(List<Long> requested) {
+        if (requested == null || requested.isEmpty()) {
+            return inspectionDeviceRepository.findByStatusAndDeletedFalse(InspectionDeviceStatus.CALIBRATED).stream()
+                .map(InspectionDevice::getId)
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+        }
+        Set<Long> deviceIds = new LinkedHashSet<>(requested);
+        List<InspectionDevice> devices = inspectionDeviceRepository.findAllById(deviceIds).stream()
+            .filter(device -> !Boolean.TRUE.equals(device.getDeleted()))
+            .toList();
+        if (devices.size() != deviceIds.size()) {
+            Set<Long> missing = new LinkedHashSet<>(deviceIds);
+            devices.forEach(device -> missing.remove(device.getId()));
+            throw new ResourceNotFoundException("InspectionDevice not found with ids: " + missing);
+        }
+        Set<Long> notCalibrated = devices.stream()
+            .filter(device -> device.getStatus() != InspectionDeviceStatus.CALIBRATED)
+            .map(InspectionDevice::getId)
+            .collect(Collectors.toCollection(LinkedHashSet::new));
+        if (!notCalibrated.isEmpty()) {
+            throw new BadRequestException("设备不处于已标定状态: " + notCalibrated);
+        }
+        return deviceIds;
+    }
+
+    private static long elapsedMillis(long startNanos) {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+    }
+}
@@ -0,0 +1,157 @@
+package com.yimusi.service.impl;
+
+import com.yimusi.calibration.CalibrationEngine;
+import com.yimusi.calibration.CrossSensitivityCache;
+import com.yimusi.calibration.CrossSensitivityInput;
+import com.yimusi.calibration.CrossSensitivityMatrix;
+import com.yimusi.common.model.GasVector;
+import com.yimusi.common.exception.ResourceNotFoundException;
+import com.yimusi.dto.calibration.CrossSensitivityBatchRequest;
+import com.yimusi.dto.calibration.CrossSensitivityResponse;
+import com.yimusi.entity.InspectionDevice;
+import com.yimusi.entity.OilSample;
+import com.yimusi.entity.TestJob;
+import com.yimusi.enums.GasType;
+import com.yimusi.enums.OilSampleUsage;
+import com.yimusi.enums.TestJobStatus;
+import com.yimusi.repository.InspectionDeviceRepository;
+import com.yimusi.repository.OilSampleRepository;
+import com.yimusi.repository.TestJobRepository;
+import com.yimusi.service.CrossSensitivityService;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+/**
+ * 交叉敏感分析服务实现类
+ * <p>
+ * 一次性加载设备已完成的交叉敏感测试作业，以设备最新一次运行的作业ID作为矩阵版本查询缓存；
+ * 未命中的设备才加载油样参考值，在标定引擎的 ForkJoin 池中并行计算后写回缓存.
+ * </p>
+ */
+@Service
+@RequiredArgsConstructor
+public class CrossSensitivityServiceImpl implements CrossSensitivityService {
+
+    private static final List<GasType> GAS_ORDER = List.of(GasType.values());
+
+    private final InspectionDeviceRepository inspectionDeviceRepository;
+    private final TestJobRepository testJobRepository;
+    private final OilSampleRepository oilSampleRepository;
+    private final CalibrationEngine calibrationEngine;
+    private final CrossSensitivityCache crossSensitivityCache;
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CrossSensitivityResponse getDeviceMatrix(Long deviceId) {
+        if (!inspectionDeviceRepository.existsById(deviceId)) {
+            throw new ResourceNotFoundException("InspectionDevice not found with id: " + deviceId);
+        }
+        CrossSensitivityMatrix matrix = computeMatrices(List.of(deviceId)).get(deviceId);
+        if (matrix == null) {
+            throw new ResourceNotFoundException(String.format("设备 %s 没有已完成的交叉敏感测试", deviceId));
+        }
+        return toResponse(matrix);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<CrossSensitivityResponse> getDeviceMatrices(CrossSensitivityBatchRequest request) {
+        Set<Long> deviceIds = new LinkedHashSet<>(request.getDeviceIds());
+        Set<Long> existing = inspectionDeviceRepository.findAllById(deviceIds).stream()
+            .map(InspectionDevice::getId)
+            .collect(Collectors.toSet());
+        if (existing.size() != deviceIds.size()) {
+            Set<Long> missing = new LinkedHashSet<>(deviceIds);
+            missing.removeAll(existing);
+            throw new ResourceNotFoundException("InspectionDevice not found with ids: " + missing);
+        }
+        return computeMatrices(deviceIds).values().stream().map(CrossSensitivityServiceImpl::toResponse).toList();
+    }
+
+    /**
+     * 计算设备的交叉敏感矩阵，版本未变化的设备直接使用缓存
+     *
+     * @return 按入参顺序排列的设备矩阵，没有运行记录的设备不在结果中
+     */
+    private Map<Long, CrossSensitivityMatrix> computeMatrices(Collection<Long> deviceIds) {
+        Map<Long, List<TestJob>> runsByDevice = new HashMap<>();
+        for (TestJob job : testJobRepository.findByUsageAndStatusAndDeviceIdIn(
+                OilSampleUsage.CROSS_SENSITIVITY_TEST, TestJobStatus.SUCCEEDED, deviceIds)) {
+            if (job.getOilSampleId() != null && job.getMeasurements() != null) {
+                runsByDevice.computeIfAbsent(job.getDeviceId(), id -> new ArrayList<>()).add(job);
+            }
+        }
+
+        Map<Long, CrossSensitivityMatrix> result = new LinkedHashMap<>();
+        List<List<TestJob>> stale = new ArrayList<>();
+        for (Long deviceId : deviceIds) {
+            List<TestJob> runs = runsByDevice.get(deviceId);
+            if (runs == null) {
+                continue;
+            }
+            runs.sort(Comparator.comparing(TestJob::getId));
+            CrossSensitivityMatrix cached = crossSensitivityCache.get(deviceId, runs.get(runs.size() - 1).getId());
+            result.put(deviceId, cached);
+            if (cached == null) {
+                stale.add(runs);
+            }
+        }
+        if (stale.isEmpty()) {
+            return result;
+        }
+
+        Set<Long> sampleIds = stale.stream().flatMap(List::stream).map(TestJob::getOilSampleId).collect(Collectors.toSet());
+        Map<Long, double[]> references = new HashMap<>();
+        for (OilSample sample : oilSampleRepository.findAllById(sampleIds)) {
+            references.put(sample.getId(), GasVector.fromParameters(sample.getParameters()).toArray());
+        }
+        List<CrossSensitivityInput> inputs = new ArrayList<>(stale.size());
+        for (List<TestJob> runs : stale) {
+            List<double[]> measured = new ArrayList<>(runs.size());
+            List<double[]> reference = new ArrayList<>(runs.size());
+            for (TestJob run : runs) {
+                double[] sampleReference = references.get(run.getOilSampleId());
+                if (sampleReference != null) {
+                    measured.add(GasVector.fromParameters(run.getMeasurements()).toArray());
+                    reference.add(sampleReference);
+                }
+            }
+            TestJob latest = runs.get(runs.size() - 1);
+            inputs.add(new CrossSensitivityInput(latest.getDeviceId(), latest.getId(),
+                measured.toArray(double[][]::new), reference.toArray(double[][]::new)));
+        }
+
+        for (CrossSensitivityMatrix matrix : calibrationEngine.parallelMap(inputs, CrossSensitivityMatrix::compute)) {
+            crossSensitivityCache.put(matrix);
+            result.put(matrix.getDeviceId(), matrix);
+        }
+        return result;
+    }
+
+    private static CrossSensitivityResponse toResponse(CrossSensitivityMatrix matrix) {
+        CrossSensitivityResponse response = new CrossSensitivityResponse();
+        response.setDeviceId(matrix.getDeviceId());
+        response.setRunId(matrix.getRunId());
+        response.setRunCount(matrix.getRunCount());
+        response.setGases(GAS_ORDER);
+        response.setMatrix(Arrays.stream(matrix.toArray())
+            .map(row -> Arrays.stream(row).mapToObj(v -> Double.isNaN(v) ? null : v).toList())
+            .toList());
+        return response;
+    }
+}
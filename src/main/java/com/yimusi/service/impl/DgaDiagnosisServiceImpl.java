@@ -0,0 +1,147 @@
+package com.yimusi.service.impl;
+
+import com.yimusi.common.exception.BadRequestException;
+import com.yimusi.common.exception.ResourceNotFoundException;
+import com.yimusi.common.model.GasVector;
+import com.yimusi.diagnosis.DgaDiagnosis;
+import com.yimusi.diagnosis.DgaReadings;
+import com.yimusi.dto.diagnosis.DgaDiagnosisRequest;
+import com.yimusi.dto.diagnosis.DgaDiagnosisResponse;
+import com.yimusi.dto.diagnosis.DgaHistoryResponse;
+import com.yimusi.entity.InspectionDevice;
+import com.yimusi.enums.DgaFault;
+import com.yimusi.enums.DgaMethod;
+import com.yimusi.enums.GasType;
+import com.yimusi.repository.InspectionDeviceRepository;
+import com.yimusi.service.DgaDiagnosisService;
+import com.yimusi.service.ReadingStorageService;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+/**
+ * DGA 故障诊断服务实现类
+ * <p>
+ * 历史诊断先加载五种特征气体在时间范围内的原始读数并按时间对齐，
+ * 再对每种方法在同一个结果缓冲区上批量诊断，按结论统计条数并合并为连续时间段返回，
+ * 避免把逐条结论全部返回给前端.
+ * </p>
+ */
+@Service
+public class DgaDiagnosisServiceImpl implements DgaDiagnosisService {
+
+    private static final DgaMethod[] METHODS = DgaMethod.values();
+
+    private final InspectionDeviceRepository inspectionDeviceRepository;
+    private final ReadingStorageService readingStorageService;
+    private final DistributionSummary historySamples;
+
+    @Value("${yimusi.diagnosis.max-history-range:P7D}")
+    private Duration maxHistoryRange;
+
+    public DgaDiagnosisServiceImpl(InspectionDeviceRepository inspectionDeviceRepository,
+                                   ReadingStorageService readingStorageService,
+                                   MeterRegistry meterRegistry) {
+        this.inspectionDeviceRepository = inspectionDeviceRepository;
+        this.readingStorageService = readingStorageService;
+        this.historySamples = DistributionSummary.builder("dga.history.samples")
+            .description("一次历史诊断参与的读数条数")
+            .register(meterRegistry);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public DgaDiagnosisResponse diagnose(DgaDiagnosisRequest request) {
+        GasVector gases = GasVector.of(request.getGases());
+        double h2 = gases.getOrDefault(GasType.H2, 0d);
+        double ch4 = gases.getOrDefault(GasType.CH4, 0d);
+        double c2h6 = gases.getOrDefault(GasType.C2H6, 0d);
+        double c2h4 = gases.getOrDefault(GasType.C2H4, 0d);
+        double c2h2 = gases.getOrDefault(GasType.C2H2, 0d);
+        Map<DgaMethod, DgaFault> results = new EnumMap<>(DgaMethod.class);
+        for (DgaMethod method : METHODS) {
+            results.put(method, DgaDiagnosis.diagnose(method, h2, ch4, c2h6, c2h4, c2h2));
+        }
+        return new DgaDiagnosisResponse(results);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public DgaHistoryResponse diagnoseHistory(String deviceNo, Instant from, Instant to) {
+        if (from == null || to == null) {
+            throw new BadRequestException("查询起止时间不能为空");
+        }
+        if (!from.isBefore(to)) {
+            throw new BadRequestException("查询起始时间必须早于结束时间");
+        }
+        if (Duration.between(from, to).compareTo(maxHistoryRange) > 0) {
+            throw new BadRequestException("诊断时间范围不能超过 " + maxHistoryRange.toDays() + " 天");
+        }
+        InspectionDevice device = inspectionDeviceRepository.findByDeviceNoAndDeletedFalse(deviceNo)
+            .orElseThrow(() -> new ResourceNotFoundException(String.format("设备编号 %s 不存在", deviceNo)));
+
+        long deviceId = device.getId();
+        long fromMillis = from.toEpochMilli();
+        long toMillis = to.toEpochMilli();
+        DgaReadings readings = DgaReadings.align(
+            readingStorageService.findSeries(deviceId, GasType.H2, fromMillis, toMillis),
+            readingStorageService.findSeries(deviceId, GasType.CH4, fromMillis, toMillis),
+            readingStorageService.findSeries(deviceId, GasType.C2H6, fromMillis, toMillis),
+            readingStorageService.findSeries(deviceId, GasType.C2H4, fromMillis, toMillis),
+            readingStorageService.findSeries(deviceId, GasType.C2H2, fromMillis, toMillis)
+        );
+        historySamples.record(readings.size());
+
+        Map<DgaMethod, DgaHistoryResponse.MethodSummary> methods = new EnumMap<>(DgaMethod.class);
+        DgaFault[] faults = new DgaFault[readings.size()];
+        for (DgaMethod method : METHODS) {
+            DgaDiagnosis.diagnose(method, readings, faults);
+            methods.put(method, summarize(readings, faults));
+        }
+
+        DgaHistoryResponse response = new DgaHistoryResponse();
+        response.setDeviceNo(deviceNo);
+        response.setFrom(from);
+        response.setTo(to);
+        response.setSampleCount(readings.size());
+        response.setMethods(methods);
+        return response;
+    }
+
+    private static DgaHistoryResponse.MethodSummary summarize(DgaReadings readings, DgaFault[] faults) {
+        int[] counts = new int[DgaFault.values().length];
+        List<DgaHistoryResponse.Segment> segments = new ArrayList<>();
+        int n = readings.size();
+        int segmentStart = 0;
+        for (int i = 0; i < n; i++) {
+            counts[faults[i].ordinal()]++;
+            if (i == n - 1 || faults[i + 1] != faults[i]) {
+                segments.add(new DgaHistoryResponse.Segment(faults[i], Instant.ofEpochMilli(readings.timestampAt(segmentStart)),
+                    Instant.ofEpochMilli(readings.timestampAt(i)), i - segmentStart + 1));
+                segmentStart = i + 1;
+            }
+        }
+        Map<DgaFault, Integer> countMap = new EnumMap<>(DgaFault.class);
+        for (int f = 0; f < counts.length; f++) {
+            if (counts[f] > 0) {
+                countMap.put(DgaFault.ofIndex(f), counts[f]);
+            }
+        }
+        DgaHistoryResponse.MethodSummary summary = new DgaHistoryResponse.MethodSummary();
+        summary.setLatest(n == 0 ? null : faults[n - 1]);
+        summary.setCounts(countMap);
+        summary.setSegments(segments);
+        return summary;
+    }
+}
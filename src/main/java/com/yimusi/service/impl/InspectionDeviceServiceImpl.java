@@ -11,8 +11,10 @@ import com.yimusi.dto.inspection.CreateInspectionDeviceRequest;
 import com.yimusi.dto.inspection.InspectionDevicePageRequest;
 import com.yimusi.dto.inspection.InspectionDeviceResponse;
 import com.yimusi.dto.inspection.UpdateInspectionDeviceRequest;
+import com.yimusi.dto.live.LiveStateDelta;
 import com.yimusi.entity.InspectionDevice;
 import com.yimusi.entity.QInspectionDevice;
+import com.yimusi.enums.InspectionDeviceStatus;
 import com.yimusi.enums.SequenceBizType;
 import com.yimusi.mapper.InspectionDeviceMapper;
 import com.yimusi.repository.InspectionDeviceRepository;
@@ -21,11 +23,13 @@ import com.yimusi.service.InspectionDeviceService;
 import com.yimusi.service.SequenceGeneratorService;
 import java.time.Instant;
 import java.util.List;
+import java.util.Objects;
 import java.util.concurrent.TimeUnit;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.redisson.api.RLock;
 import org.redisson.api.RedissonClient;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.lang.NonNull;
 import org.springframework.stereotype.Service;
@@ -45,6 +49,7 @@ public class InspectionDeviceServiceImpl implements InspectionDeviceService {
     private final SequenceGeneratorService sequenceGeneratorService;
     private final ProjectRepository projectRepository;
     private final RedissonClient redissonClient;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * {@inheritDoc}
@@ -128,6 +133,7 @@ public class InspectionDeviceServiceImpl implements InspectionDeviceService {
 
         InspectionDevice savedDevice = deviceRepository.save(device);
         log.info("创建待检设备: {}", savedDevice.getDeviceNo());
+        publishStatus(savedDevice);
 
         return deviceMapper.toResponse(savedDevice);
     }
@@ -160,12 +166,23 @@ public class InspectionDeviceServiceImpl implements InspectionDeviceService {
             }
         }
 
+        Long previousProjectId = device.getProjectId();
+        InspectionDeviceStatus previousStatus = device.getStatus();
+
         // 更新实体
         deviceMapper.updateEntityFromRequest(updateRequest, device);
 
         InspectionDevice savedDevice = deviceRepository.save(device);
         log.info("更新检测设备: {}", savedDevice.getDeviceNo());
 
+        // 换项目时原项目的订阅方需要移除该设备
+        if (!Objects.equals(previousProjectId, savedDevice.getProjectId())) {
+            publishRemoved(savedDevice.getId(), previousProjectId, savedDevice.getDeviceNo());
+            publishStatus(savedDevice);
+        } else if (previousStatus != savedDevice.getStatus()) {
+            publishStatus(savedDevice);
+        }
+
         return deviceMapper.toResponse(savedDevice);
     }
 
@@ -182,6 +199,7 @@ public class InspectionDeviceServiceImpl implements InspectionDeviceService {
         markDeleted(device);
         deviceRepository.save(device);
         log.info("删除检测设备: {}", device.getDeviceNo());
+        publishRemoved(device.getId(), device.getProjectId(), device.getDeviceNo());
     }
 
     /**
@@ -217,6 +235,36 @@ public class InspectionDeviceServiceImpl implements InspectionDeviceService {
         device.setDeletedBy(OperatorUtil.getOperator());
     }
 
+    /**
+     * 发布设备状态变更，事务提交后由实时状态广播器推送
+     *
+     * @param device 设备实体
+     */
+    private void publishStatus(InspectionDevice device) {
+        if (device.getProjectId() == null) {
+            return;
+        }
+        LiveStateDelta delta = LiveStateDelta.device(device.getId(), device.getProjectId(), device.getDeviceNo());
+        delta.setStatus(device.getStatus());
+        eventPublisher.publishEvent(delta);
+    }
+
+    /**
+     * 发布设备移除（删除或移出项目）
+     *
+     * @param deviceId  设备ID
+     * @param projectId 原项目ID
+     * @param deviceNo  设备编号
+     */
+    private void publishRemoved(Long deviceId, Long projectId, String deviceNo) {
+        if (projectId == null) {
+            return;
+        }
+        LiveStateDelta delta = LiveStateDelta.device(deviceId, projectId, deviceNo);
+        delta.setRemoved(true);
+        eventPublisher.publishEvent(delta);
+    }
+
     /**
      * 生成项目内部序号
      * <p>
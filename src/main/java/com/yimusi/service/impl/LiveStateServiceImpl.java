@@ -0,0 +1,103 @@
+package com.yimusi.service.impl;
+
+import com.yimusi.common.exception.BadRequestException;
+import com.yimusi.common.exception.BusinessException;
+import com.yimusi.common.exception.ErrorCode;
+import com.yimusi.dto.live.LiveStateDelta;
+import com.yimusi.entity.InspectionDevice;
+import com.yimusi.entity.TestStation;
+import com.yimusi.live.LiveStateBroadcaster;
+import com.yimusi.live.ReachabilityTracker;
+import com.yimusi.repository.InspectionDeviceRepository;
+import com.yimusi.repository.TestStationRepository;
+import com.yimusi.service.LiveStateService;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * 检测设备 / 测试工位实时状态订阅服务实现类.
+ * 每个连接只在建立时查询一次数据库生成快照，之后的增量全部来自 {@link LiveStateBroadcaster}.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class LiveStateServiceImpl implements LiveStateService {
+
+    private final LiveStateBroadcaster broadcaster;
+    private final ReachabilityTracker reachabilityTracker;
+    private final InspectionDeviceRepository deviceRepository;
+    private final TestStationRepository stationRepository;
+
+    @Value("${yimusi.live.emitter-timeout:PT30M}")
+    private Duration emitterTimeout;
+
+    @Value("${yimusi.live.max-subscribers:2000}")
+    private int maxSubscribers;
+
+    @Value("${yimusi.live.max-targets:500}")
+    private int maxTargets;
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public SseEmitter subscribe(List<Long> projectIds, List<Long> stationIds) {
+        Set<Long> projects = toSet(projectIds);
+        Set<Long> stations = toSet(stationIds);
+        if (projects.isEmpty() && stations.isEmpty()) {
+            throw new BadRequestException("至少需要订阅一个项目或工位");
+        }
+        if (projects.size() + stations.size() > maxTargets) {
+            throw new BadRequestException("单个连接订阅的项目与工位总数不能超过 " + maxTargets);
+        }
+        if (broadcaster.getSubscriberCount() >= maxSubscribers) {
+            throw new BusinessException(ErrorCode.SERVICE_UNAVAILABLE, "实时状态订阅数已达上限，请稍后重试");
+        }
+
+        SseEmitter emitter = new SseEmitter(emitterTimeout.toMillis());
+        broadcaster.subscribe(emitter, projects, stations, () -> loadSnapshot(projects, stations));
+        log.debug("新增实时状态订阅: projects={}, stations={}", projects, stations);
+        return emitter;
+    }
+
+    private List<LiveStateDelta> loadSnapshot(Set<Long> projectIds, Set<Long> stationIds) {
+        List<LiveStateDelta> snapshot = new ArrayList<>();
+        if (!projectIds.isEmpty()) {
+            for (InspectionDevice device : deviceRepository.findByProjectIdInAndDeletedFalse(projectIds)) {
+                LiveStateDelta delta = LiveStateDelta.device(device.getId(), device.getProjectId(), device.getDeviceNo());
+                delta.setStatus(device.getStatus());
+                delta.setReachable(reachabilityTracker.isDeviceReachable(device.getId()));
+                snapshot.add(delta);
+            }
+        }
+        if (!stationIds.isEmpty()) {
+            for (TestStation station : stationRepository.findAllById(stationIds)) {
+                LiveStateDelta delta = LiveStateDelta.station(station.getId(), station.getStationNo());
+                delta.setEnabled(station.getEnabled());
+                delta.setReachable(reachabilityTracker.isStationReachable(station.getId()));
+                snapshot.add(delta);
+            }
+        }
+        return snapshot;
+    }
+
+    private static Set<Long> toSet(List<Long> ids) {
+        Set<Long> set = new LinkedHashSet<>();
+        if (ids != null) {
+            for (Long id : ids) {
+                if (id != null) {
+                    set.add(id);
+                }
+            }
+        }
+        return set;
+    }
+}
@@ -0,0 +1,193 @@
+package com.yimusi.service.impl;
+
+import com.yimusi.common.exception.BadRequestException;
+import com.yimusi.common.exception.BusinessException;
+import com.yimusi.common.exception.ErrorCode;
+import com.yimusi.common.exception.ResourceNotFoundException;
+import com.yimusi.cylinder.CylinderLevel;
+import com.yimusi.cylinder.CylinderReservations;
+import com.yimusi.cylinder.OilCylinderLowStockEvent;
+import com.yimusi.dto.cylinder.CreateOilCylinderRequest;
+import com.yimusi.dto.cylinder.OilCylinderResponse;
+import com.yimusi.dto.cylinder.RefillOilCylinderRequest;
+import com.yimusi.entity.OilCylinder;
+import com.yimusi.mapper.OilCylinderMapper;
+import com.yimusi.repository.OilCylinderJdbcRepository;
+import com.yimusi.repository.OilCylinderRepository;
+import com.yimusi.service.OilCylinderService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * 油缸库存服务实现类
+ * <p>
+ * 两层保护防止油缸被超量使用：调度时在 {@link CylinderReservations} 账本中为每个新分配的作业预留用量，
+ * 余量不足的油缸不再分配作业；测试运行真正抽油时以数据库条件 UPDATE 扣减，余量不足则运行失败，不切换阀门.
+ * 扣减使剩余油量跌破告警阈值时发布 {@link OilCylinderLowStockEvent} 并记录告警日志；阀门切换失败时退还本次扣减.
+ * </p>
+ * 指标：oil.cylinder.consume（扣减次数，按结果）、oil.cylinder.refund（退还次数）、oil.cylinder.reserve（预留次数，按结果）、oil.cylinder.low.stock（低库存告警次数）.
+ */
+@Slf4j
+@Service
+public class OilCylinderServiceImpl implements OilCylinderService {
+
+    private final OilCylinderRepository oilCylinderRepository;
+    private final OilCylinderJdbcRepository oilCylinderJdbcRepository;
+    private final OilCylinderMapper oilCylinderMapper;
+    private final CylinderReservations reservations;
+    private final ApplicationEventPublisher eventPublisher;
+    private final MeterRegistry meterRegistry;
+    private final Counter lowStockCounter;
+
+    @Value("${yimusi.oil-cylinder.consumption-per-run:50}")
+    private long consumptionPerRun;
+
+    public OilCylinderServiceImpl(OilCylinderRepository oilCylinderRepository,
+                                  OilCylinderJdbcRepository oilCylinderJdbcRepository,
+                                  OilCylinderMapper oilCylinderMapper,
+                                  CylinderReservations reservations,
+                                  ApplicationEventPublisher eventPublisher,
+                                  MeterRegistry meterRegistry) {
+        this.oilCylinderRepository = oilCylinderRepository;
+        this.oilCylinderJdbcRepository = oilCylinderJdbcRepository;
+        this.oilCylinderMapper = oilCylinderMapper;
+        this.reservations = reservations;
+        this.eventPublisher = eventPublisher;
+        this.meterRegistry = meterRegistry;
+        this.lowStockCounter = Counter.builder("oil.cylinder.low.stock")
+            .description("油缸剩余油量跌破告警阈值的次数")
+            .register(meterRegistry);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<OilCylinderResponse> listCylinders() {
+        return oilCylinderRepository.findAllByOrderByCylinderNoAsc().stream().map(oilCylinderMapper::toResponse).toList();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<OilCylinderResponse> listLowStockCylinders() {
+        return oilCylinderRepository.findLowStock().stream().map(oilCylinderMapper::toResponse).toList();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public OilCylinderResponse getCylinder(Integer cylinderNo) {
+        return oilCylinderMapper.toResponse(findCylinder(cylinderNo));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Transactional
+    public OilCylinderResponse createCylinder(CreateOilCylinderRequest request) {
+        if (oilCylinderRepository.existsByCylinderNo(request.getCylinderNo())) {
+            throw new BusinessException(ErrorCode.BAD_REQUEST, "油缸已登记: " + request.getCylinderNo());
+        }
+        if (request.getRemaining() != null && request.getRemaining() > request.getCapacity()) {
+            throw new BadRequestException("剩余油量不能大于容量");
+        }
+        OilCylinder cylinder = oilCylinderRepository.save(oilCylinderMapper.toEntity(request));
+        return oilCylinderMapper.toResponse(cylinder);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Transactional
+    public OilCylinderResponse refillCylinder(Integer cylinderNo, RefillOilCylinderRequest request) {
+        if (oilCylinderJdbcRepository.refill(cylinderNo, request.getAmount(), Instant.now()) == 0) {
+            throw new ResourceNotFoundException("OilCylinder not found with cylinderNo: " + cylinderNo);
+        }
+        return getCylinder(cylinderNo);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean consumeRun(int cylinderNo) {
+        CylinderLevel level = oilCylinderJdbcRepository.consume(cylinderNo, consumptionPerRun, Instant.now());
+        if (level == null) {
+            boolean tracked = oilCylinderRepository.existsByCylinderNo(cylinderNo);
+            meterRegistry.counter("oil.cylinder.consume", "result", tracked ? "insufficient" : "untracked").increment();
+            if (tracked) {
+                log.warn("油缸余量不足，抽油失败: cylinderNo={}, 需要 {} mL", cylinderNo, consumptionPerRun);
+            }
+            return !tracked;
+        }
+        meterRegistry.counter("oil.cylinder.consume", "result", "ok").increment();
+        // 扣减前不低于阈值、扣减后低于阈值，即本次扣减跌破阈值
+        if (level.lowStock() && level.remaining() + consumptionPerRun >= level.lowStockThreshold()) {
+            lowStockCounter.increment();
+            log.warn("油缸低库存告警: cylinderNo={}, 剩余 {} mL, 阈值 {} mL",
+                cylinderNo, level.remaining(), level.lowStockThreshold());
+            eventPublisher.publishEvent(new OilCylinderLowStockEvent(cylinderNo, level.remaining(), level.lowStockThreshold()));
+        }
+        return true;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void refundRun(int cylinderNo) {
+        if (oilCylinderJdbcRepository.refill(cylinderNo, consumptionPerRun, Instant.now()) > 0) {
+            meterRegistry.counter("oil.cylinder.refund").increment();
+            log.info("阀门未切换，退还油缸用量: cylinderNo={}, {} mL", cylinderNo, consumptionPerRun);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Set<Integer> refreshReservations(Map<Integer, Integer> assignedRuns) {
+        Map<Integer, Long> snapshot = new HashMap<>();
+        Set<Integer> depleted = new HashSet<>();
+        for (OilCylinder cylinder : oilCylinderRepository.findAll()) {
+            long available = cylinder.getRemaining() - consumptionPerRun * assignedRuns.getOrDefault(cylinder.getCylinderNo(), 0);
+            snapshot.put(cylinder.getCylinderNo(), available);
+            if (available < consumptionPerRun) {
+                depleted.add(cylinder.getCylinderNo());
+            }
+        }
+        reservations.reset(snapshot);
+        return depleted;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean reserveRun(int cylinderNo) {
+        boolean reserved = reservations.tryReserve(cylinderNo, consumptionPerRun);
+        meterRegistry.counter("oil.cylinder.reserve", "result", reserved ? "ok" : "rejected").increment();
+        return reserved;
+    }
+
+    private OilCylinder findCylinder(Integer cylinderNo) {
+        return oilCylinderRepository.findByCylinderNo(cylinderNo)
+            .orElseThrow(() -> new ResourceNotFoundException("OilCylinder not found with cylinderNo: " + cylinderNo));
+    }
+}
@@ -3,16 +3,21 @@ package com.yimusi.service.impl;
 import cn.hutool.core.util.StrUtil;
 import com.querydsl.core.BooleanBuilder;
 import com.querydsl.core.types.Predicate;
+import com.querydsl.jpa.JPAExpressions;
+import com.yimusi.common.exception.BadRequestException;
 import com.yimusi.common.exception.BusinessException;
 import com.yimusi.common.exception.ErrorCode;
 import com.yimusi.common.exception.ResourceNotFoundException;
+import com.yimusi.common.web.ResponseBodyCache;
 import com.yimusi.dto.common.PageResult;
 import com.yimusi.dto.oilsample.CreateOilSampleRequest;
 import com.yimusi.dto.oilsample.OilSamplePageRequest;
 import com.yimusi.dto.oilsample.OilSampleResponse;
 import com.yimusi.dto.oilsample.UpdateOilSampleRequest;
 import com.yimusi.entity.OilSample;
+import com.yimusi.enums.GasType;
 import com.yimusi.mapper.OilSampleMapper;
+import com.yimusi.repository.OilSampleParameterJdbcRepository;
 import com.yimusi.repository.OilSampleRepository;
 import com.yimusi.service.OilSampleService;
 import lombok.RequiredArgsConstructor;
@@ -21,18 +26,30 @@ import org.springframework.data.domain.Page;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Map;
+
 import static com.yimusi.entity.QOilSample.oilSample;
+import static com.yimusi.entity.QOilSampleParameterValue.oilSampleParameterValue;
 
 /**
  * 油样管理服务实现类
+ * <p>
+ * 油样参数以 JSON 存储，保存油样时同步重建 oil_sample_parameters 索引表，
+ * 分页查询的气体含量范围条件转换为对索引表 (gas, value) 索引的子查询.
+ * </p>
  */
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class OilSampleServiceImpl implements OilSampleService {
 
+    /** 数据表名，用作序列化响应缓存的键 */
+    private static final String TABLE = "oil_samples";
+
     private final OilSampleRepository oilSampleRepository;
+    private final OilSampleParameterJdbcRepository oilSampleParameterJdbcRepository;
     private final OilSampleMapper oilSampleMapper;
+    private final ResponseBodyCache responseBodyCache;
 
     /**
      * 分页查询油样列表
@@ -90,6 +107,31 @@ public class OilSampleServiceImpl implements OilSampleService {
             builder.and(oilSample.cylinderNo.eq(request.getCylinderNo()));
         }
 
+        // 气体含量范围查询，每种气体一个走 (gas, value) 索引的子查询
+        if (request.getGasRanges() != null) {
+            for (Map.Entry<GasType, OilSamplePageRequest.GasRange> entry : request.getGasRanges().entrySet()) {
+                OilSamplePageRequest.GasRange range = entry.getValue();
+                if (range == null || (range.getMin() == null && range.getMax() == null)) {
+                    continue;
+                }
+                if (range.getMin() != null && range.getMax() != null && range.getMin().compareTo(range.getMax()) > 0) {
+                    throw new BadRequestException(entry.getKey() + " 含量下限不能大于上限");
+                }
+                BooleanBuilder valueCondition = new BooleanBuilder(oilSampleParameterValue.gas.eq(entry.getKey()));
+                if (range.getMin() != null) {
+                    valueCondition.and(oilSampleParameterValue.value.goe(range.getMin()));
+                }
+                if (range.getMax() != null) {
+                    valueCondition.and(oilSampleParameterValue.value.loe(range.getMax()));
+                }
+                builder.and(oilSample.id.in(
+                    JPAExpressions.select(oilSampleParameterValue.oilSampleId)
+                        .from(oilSampleParameterValue)
+                        .where(valueCondition)
+                ));
+            }
+        }
+
         return builder;
     }
 
@@ -122,9 +164,10 @@ public class OilSampleServiceImpl implements OilSampleService {
             throw new BusinessException(ErrorCode.BAD_REQUEST, "油样编号已存在: " + request.getSampleNo());
         }
 
-        // 2. 转换并保存
+        // 2. 转换并保存，同步参数索引
         OilSample oilSample = oilSampleMapper.toEntity(request);
         oilSample = oilSampleRepository.save(oilSample);
+        oilSampleParameterJdbcRepository.replace(oilSample.getId(), oilSample.getParameters());
 
         return oilSampleMapper.toResponse(oilSample);
     }
@@ -148,9 +191,11 @@ public class OilSampleServiceImpl implements OilSampleService {
             throw new BusinessException(ErrorCode.BAD_REQUEST, "油样编号已存在: " + request.getSampleNo());
         }
 
-        // 2. 更新实体
+        // 2. 更新实体，同步参数索引
         oilSampleMapper.updateEntityFromRequest(request, oilSample);
         oilSample = oilSampleRepository.save(oilSample);
+        oilSampleParameterJdbcRepository.replace(oilSample.getId(), oilSample.getParameters());
+        responseBodyCache.evict(TABLE, id);
 
         return oilSampleMapper.toResponse(oilSample);
     }
@@ -167,6 +212,7 @@ public class OilSampleServiceImpl implements OilSampleService {
             throw new ResourceNotFoundException("OilSample not found with id: " + id);
         }
         oilSampleRepository.deleteById(id);
+        responseBodyCache.evict(TABLE, id);
     }
 
     /**
@@ -203,6 +249,7 @@ public class OilSampleServiceImpl implements OilSampleService {
 
         oilSample.setEnabled(enabled);
         oilSample = oilSampleRepository.save(oilSample);
+        responseBodyCache.evict(TABLE, id);
 
         log.info("油样状态变更: ID={}, 油样编号={}, 新状态={}",
             id, oilSample.getSampleNo(), enabled ? "启用" : "禁用");
@@ -230,6 +277,7 @@ public class OilSampleServiceImpl implements OilSampleService {
         boolean newEnabled = !oilSample.getEnabled();
         oilSample.setEnabled(newEnabled);
         oilSample = oilSampleRepository.save(oilSample);
+        responseBodyCache.evict(TABLE, id);
 
         log.info("油样状态切换: ID={}, 油样编号={}, 新状态={}",
             id, oilSample.getSampleNo(), newEnabled ? "启用" : "禁用");
@@ -0,0 +1,333 @@
+package com.yimusi.service.impl;
+
+import com.yimusi.enums.ReadingResolution;
+import com.yimusi.repository.DeviceReadingRollupJdbcRepository;
+import com.yimusi.service.ReadingRollupService;
+import com.yimusi.service.ReadingStorageService;
+import com.yimusi.telemetry.ReadingPoint;
+import com.yimusi.telemetry.ReadingSeries;
+import com.yimusi.telemetry.RollupAccumulator;
+import com.yimusi.telemetry.RollupKey;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * 设备读数汇总服务实现类.
+ * <p>
+ * 由单个后台线程维护汇总，避免增量合并与重算并发修改同一时间桶：
+ * <ol>
+ *   <li>写入线程持久化读数后将批次交给汇总线程；</li>
+ *   <li>汇总线程把读数累加到内存中各精度时间桶的 {@link RollupAccumulator}，
+ *       每个 flush-interval 将增量以 upsert 方式合并到数据库；</li>
+ *   <li>所在 1 分钟时间桶已超过 lateness 的迟到读数不参与增量合并，只将该时间桶标记为待重算，
+ *       重算时从存储层读取该分钟的全部读数，再由分钟汇总重算所属小时、由小时汇总重算所属天。</li>
+ * </ol>
+ * 交接队列已满或合并失败时同样退化为重算，不会丢失读数对汇总的贡献.
+ * 重算读取存储时可能已包含尚未交接到汇总线程的批次，因此重算过的分钟在关闭（超过 lateness）前，
+ * 后续到达的读数不再增量累加，只把该分钟再次标记为待重算，避免同一批读数被重算和增量合并各计一次.
+ * 待重算集合只保存在内存中，与遥测写入队列的持久性保持一致.
+ * </p>
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ReadingRollupServiceImpl implements ReadingRollupService, SmartLifecycle {
+
+    private static final ReadingResolution[] ROLLUP_RESOLUTIONS = {
+        ReadingResolution.MINUTE,
+        ReadingResolution.HOUR,
+        ReadingResolution.DAY,
+    };
+
+    private final DeviceReadingRollupJdbcRepository rollupJdbcRepository;
+    private final ReadingStorageService readingStorageService;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${yimusi.telemetry.rollup.queue-capacity:1024}")
+    private int queueCapacity;
+
+    @Value("${yimusi.telemetry.rollup.flush-interval:PT5S}")
+    private Duration flushInterval;
+
+    @Value("${yimusi.telemetry.rollup.lateness:PT1M}")
+    private Duration lateness;
+
+    @Value("${yimusi.telemetry.rollup.max-recompute-per-flush:5000}")
+    private int maxRecomputePerFlush;
+
+    /** 关闭后台线程时，汇总只在显式调用 {@link #flush()} 时进行 */
+    @Value("${yimusi.telemetry.rollup.worker-enabled:true}")
+    private boolean workerEnabled;
+
+    /** 汇总线程独占访问，flush 与 accumulate 均在 processLock 下执行 */
+    private final SortedMap<RollupKey, RollupAccumulator> accumulators = new TreeMap<>();
+    private final Set<RollupKey> dirtyMinutes = ConcurrentHashMap.newKeySet();
+    /** 重算过且尚未关闭的分钟，汇总线程独占访问 */
+    private final Set<RollupKey> recomputedMinutes = new HashSet<>();
+    private final Object processLock = new Object();
+
+    private BlockingQueue<List<ReadingPoint>> queue;
+    private Thread worker;
+    private volatile boolean running;
+
+    private Counter mergedCounter;
+    private Counter recomputedCounter;
+    private Counter latePointCounter;
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void onPersisted(List<ReadingPoint> points) {
+        if (points.isEmpty()) {
+            return;
+        }
+        if (!running || !queue.offer(points)) {
+            markDirty(points);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int flush() {
+        synchronized (processLock) {
+            List<List<ReadingPoint>> drained = new ArrayList<>();
+            if (queue != null) {
+                queue.drainTo(drained);
+            }
+            long now = System.currentTimeMillis();
+            long closedBefore = now - lateness.toMillis();
+            recomputedMinutes.removeIf(minute -> minute.bucketEnd() <= closedBefore);
+            for (List<ReadingPoint> batch : drained) {
+                accumulate(batch, now);
+            }
+            // 必须先合并增量再重算，否则重算结果会被尚未落库的增量重复累加
+            return mergeAccumulators() + recomputeDirty();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int getDirtyBucketCount() {
+        return dirtyMinutes.size();
+    }
+
+    @Override
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        queue = new ArrayBlockingQueue<>(queueCapacity);
+        mergedCounter = meterRegistry.counter("telemetry.rollup.buckets.merged");
+        recomputedCounter = meterRegistry.counter("telemetry.rollup.buckets.recomputed");
+        latePointCounter = meterRegistry.counter("telemetry.rollup.points.late");
+        Gauge.builder("telemetry.rollup.dirty", this, ReadingRollupServiceImpl::getDirtyBucketCount)
+            .register(meterRegistry);
+
+        running = true;
+        if (workerEnabled) {
+            worker = new Thread(this::runWorker, "telemetry-rollup");
+            worker.setDaemon(true);
+            worker.start();
+        }
+        log.info("读数汇总线程已启动: flushInterval={}, lateness={}", flushInterval, lateness);
+    }
+
+    @Override
+    public synchronized void stop() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        if (worker != null) {
+            try {
+                worker.join(TimeUnit.SECONDS.toMillis(10));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            worker = null;
+        }
+        int written = flush();
+        log.info("读数汇总线程已停止，关闭前写入时间桶 {} 个", written);
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * 先于遥测写入管道启动、晚于其停止，保证写入管道关闭时排空的读数仍能进入汇总
+     */
+    @Override
+    public int getPhase() {
+        return SmartLifecycle.DEFAULT_PHASE - 1;
+    }
+
+    private void runWorker() {
+        long nextFlushAt = System.currentTimeMillis() + flushInterval.toMillis();
+        while (running) {
+            try {
+                long waitMillis = Math.max(1L, nextFlushAt - System.currentTimeMillis());
+                List<ReadingPoint> batch = queue.poll(waitMillis, TimeUnit.MILLISECONDS);
+                if (batch != null) {
+                    synchronized (processLock) {
+                        accumulate(batch, System.currentTimeMillis());
+                    }
+                }
+                if (System.currentTimeMillis() >= nextFlushAt) {
+                    flush();
+                    nextFlushAt = System.currentTimeMillis() + flushInterval.toMillis();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                log.error("读数汇总线程发生未预期的异常", e);
+            }
+        }
+    }
+
+    /**
+     * 将一批读数累加到各精度的时间桶，迟到读数只标记所在分钟待重算
+     *
+     * @param points 读数
+     * @param now    当前时间（epoch 毫秒）
+     */
+    private void accumulate(List<ReadingPoint> points, long now) {
+        long closedBefore = now - lateness.toMillis();
+        for (ReadingPoint point : points) {
+            RollupKey minute = RollupKey.of(point.deviceId(), point.gas(), ReadingResolution.MINUTE, point.sampledAt());
+            if (minute.bucketEnd() <= closedBefore) {
+                dirtyMinutes.add(minute);
+                latePointCounter.increment();
+                continue;
+            }
+            if (recomputedMinutes.contains(minute)) {
+                // 该批次可能已计入重算结果，再次重算而不是增量累加
+                dirtyMinutes.add(minute);
+                continue;
+            }
+            for (ReadingResolution resolution : ROLLUP_RESOLUTIONS) {
+                RollupKey key = resolution == ReadingResolution.MINUTE ? minute : minute.parent(resolution);
+                accumulators.computeIfAbsent(key, k -> new RollupAccumulator()).add(point.sampledAt(), point.value());
+            }
+        }
+    }
+
+    private void markDirty(List<ReadingPoint> points) {
+        for (ReadingPoint point : points) {
+            dirtyMinutes.add(RollupKey.of(point.deviceId(), point.gas(), ReadingResolution.MINUTE, point.sampledAt()));
+        }
+    }
+
+    /**
+     * 在一个事务中把内存中的增量合并到数据库，失败时对应分钟转为待重算
+     *
+     * @return 合并的时间桶数量
+     */
+    private int mergeAccumulators() {
+        if (accumulators.isEmpty()) {
+            return 0;
+        }
+        int size = accumulators.size();
+        try {
+            transactionTemplate.executeWithoutResult(status -> rollupJdbcRepository.mergeBatch(accumulators));
+            mergedCounter.increment(size);
+            return size;
+        } catch (RuntimeException e) {
+            log.error("读数汇总增量合并失败，{} 个时间桶转为重算", size, e);
+            for (RollupKey key : accumulators.keySet()) {
+                if (key.resolution() == ReadingResolution.MINUTE) {
+                    dirtyMinutes.add(key);
+                }
+            }
+            return 0;
+        } finally {
+            accumulators.clear();
+        }
+    }
+
+    /**
+     * 重算待重算的分钟时间桶及其所属的小时、天时间桶，单次最多处理 max-recompute-per-flush 个分钟
+     *
+     * @return 重算的时间桶数量
+     */
+    private int recomputeDirty() {
+        if (dirtyMinutes.isEmpty()) {
+            return 0;
+        }
+        TreeSet<RollupKey> minutes = new TreeSet<>();
+        Iterator<RollupKey> iterator = dirtyMinutes.iterator();
+        while (iterator.hasNext() && minutes.size() < maxRecomputePerFlush) {
+            minutes.add(iterator.next());
+            iterator.remove();
+        }
+
+        try {
+            TreeSet<RollupKey> hours = new TreeSet<>();
+            for (RollupKey minute : minutes) {
+                ReadingSeries series = readingStorageService.findSeries(
+                    minute.deviceId(),
+                    minute.gas(),
+                    minute.bucketStart(),
+                    minute.bucketEnd()
+                );
+                RollupAccumulator accumulator = new RollupAccumulator();
+                for (int i = 0; i < series.size(); i++) {
+                    accumulator.add(series.timestampAt(i), series.valueAt(i));
+                }
+                rollupJdbcRepository.replace(minute, accumulator);
+                recomputedMinutes.add(minute);
+                hours.add(minute.parent(ReadingResolution.HOUR));
+            }
+            TreeSet<RollupKey> days = new TreeSet<>();
+            for (RollupKey hour : hours) {
+                recomputeFromFiner(hour, ReadingResolution.MINUTE);
+                days.add(hour.parent(ReadingResolution.DAY));
+            }
+            for (RollupKey day : days) {
+                recomputeFromFiner(day, ReadingResolution.HOUR);
+            }
+            int recomputed = minutes.size() + hours.size() + days.size();
+            recomputedCounter.increment(recomputed);
+            return recomputed;
+        } catch (RuntimeException e) {
+            log.error("读数汇总重算失败，{} 个分钟时间桶将在下次重试", minutes.size(), e);
+            dirtyMinutes.addAll(minutes);
+            return 0;
+        }
+    }
+
+    private void recomputeFromFiner(RollupKey key, ReadingResolution finer) {
+        RollupAccumulator accumulator = rollupJdbcRepository
+            .findSeries(key.deviceId(), key.gas(), finer, key.bucketStart(), key.bucketEnd())
+            .toAccumulator();
+        rollupJdbcRepository.replace(key, accumulator);
+    }
+}
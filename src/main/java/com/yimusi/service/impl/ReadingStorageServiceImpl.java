@@ -0,0 +1,268 @@
+package com.yimusi.service.impl;
+
+import com.yimusi.common.exception.BadRequestException;
+import com.yimusi.common.exception.ResourceNotFoundException;
+import com.yimusi.dto.telemetry.ReadingSeriesResponse;
+import com.yimusi.entity.DeviceReadingChunk;
+import com.yimusi.entity.InspectionDevice;
+import com.yimusi.enums.GasType;
+import com.yimusi.enums.ReadingResolution;
+import com.yimusi.repository.DeviceReadingChunkRepository;
+import com.yimusi.repository.DeviceReadingJdbcRepository;
+import com.yimusi.repository.DeviceReadingRollupJdbcRepository;
+import com.yimusi.repository.InspectionDeviceRepository;
+import com.yimusi.service.ReadingStorageService;
+import com.yimusi.telemetry.ReadingSeries;
+import com.yimusi.telemetry.RollupSeries;
+import com.yimusi.telemetry.codec.GorillaCodec;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * 设备读数时间序列存储服务实现类.
+ * <p>
+ * 时间窗口按 epoch 对齐（窗口起点 = floor(时间戳 / 窗口长度) × 窗口长度），
+ * 每个（设备、气体、窗口）的压缩在独立事务中完成：锁定窗口内的原始读数、与已有数据块合并、
+ * 重新编码后写回，再删除原始行。迟到的读数会在下一轮压缩时并入已有数据块.
+ * </p>
+ * <p>
+ * 查询时按时间范围与点数预算选择精度，长时间范围直接读取汇总表，不解码原始读数.
+ * </p>
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ReadingStorageServiceImpl implements ReadingStorageService {
+
+    private final InspectionDeviceRepository deviceRepository;
+    private final DeviceReadingJdbcRepository readingJdbcRepository;
+    private final DeviceReadingChunkRepository chunkRepository;
+    private final DeviceReadingRollupJdbcRepository rollupJdbcRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${yimusi.telemetry.chunk-window:PT2H}")
+    private Duration chunkWindow;
+
+    @Value("${yimusi.telemetry.compaction.grace:PT10M}")
+    private Duration compactionGrace;
+
+    @Value("${yimusi.telemetry.compaction.enabled:true}")
+    private boolean compactionEnabled;
+
+    @Value("${yimusi.telemetry.max-query-range:P7D}")
+    private Duration maxQueryRange;
+
+    @Value("${yimusi.telemetry.sample-interval:PT1S}")
+    private Duration sampleInterval;
+
+    @Value("${yimusi.telemetry.query.default-max-points:1000}")
+    private int defaultMaxPoints;
+
+    @Value("${yimusi.telemetry.query.max-points-limit:10000}")
+    private int maxPointsLimit;
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public ReadingSeriesResponse getReadings(
+        String deviceNo,
+        GasType gas,
+        Instant from,
+        Instant to,
+        ReadingResolution resolution,
+        Integer maxPoints
+    ) {
+        validateRange(gas, from, to);
+        int budget = maxPoints == null ? defaultMaxPoints : maxPoints;
+        if (budget <= 0 || budget > maxPointsLimit) {
+            throw new BadRequestException("点数预算必须在 1 到 " + maxPointsLimit + " 之间");
+        }
+        long rangeMillis = Duration.between(from, to).toMillis();
+        ReadingResolution selected = resolution != null
+            ? resolution
+            : ReadingResolution.select(rangeMillis, sampleInterval.toMillis(), budget);
+        if (selected == ReadingResolution.RAW && Duration.between(from, to).compareTo(maxQueryRange) > 0) {
+            throw new BadRequestException("原始读数查询时间范围不能超过 " + maxQueryRange.toDays() + " 天");
+        }
+        InspectionDevice device = findDevice(deviceNo);
+
+        ReadingSeriesResponse response = new ReadingSeriesResponse();
+        response.setDeviceNo(deviceNo);
+        response.setGas(gas);
+        response.setResolution(selected);
+        response.setFrom(from);
+        response.setTo(to);
+        if (selected == ReadingResolution.RAW) {
+            ReadingSeries series = findSeries(device.getId(), gas, from.toEpochMilli(), to.toEpochMilli());
+            response.setTimestamps(series.toTimestampArray());
+            response.setValues(series.toValueArray());
+        } else {
+            // 包含起始时间所在的时间桶
+            RollupSeries series = rollupJdbcRepository.findSeries(
+                device.getId(),
+                gas,
+                selected,
+                selected.bucketStart(from.toEpochMilli()),
+                to.toEpochMilli()
+            );
+            response.setTimestamps(series.toBucketStartArray());
+            response.setValues(series.toAverageArray());
+            response.setMinValues(series.toMinArray());
+            response.setMaxValues(series.toMaxArray());
+            response.setCounts(series.toCountArray());
+            response.setLastValues(series.toLastValueArray());
+        }
+        return response;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public ReadingSeries findSeries(long deviceId, GasType gas, long from, long to) {
+        List<DeviceReadingChunk> chunks = chunkRepository.findOverlapping(
+            deviceId,
+            gas,
+            Instant.ofEpochMilli(from),
+            Instant.ofEpochMilli(to)
+        );
+        ReadingSeries compacted = new ReadingSeries();
+        for (DeviceReadingChunk chunk : chunks) {
+            GorillaCodec.decode(chunk.getPayload(), from, to, compacted);
+        }
+        ReadingSeries raw = readingJdbcRepository.findSeries(deviceId, gas, from, to);
+        return ReadingSeries.merge(compacted, raw);
+    }
+
+    /**
+     * 定时压缩任务入口
+     */
+    @Scheduled(
+        initialDelayString = "${yimusi.telemetry.compaction.initial-delay:PT1M}",
+        fixedDelayString = "${yimusi.telemetry.compaction.interval:PT5M}"
+    )
+    public void scheduledCompaction() {
+        if (!compactionEnabled) {
+            return;
+        }
+        int written = compactClosedWindows();
+        if (written > 0) {
+            log.info("读数压缩完成: 写入数据块 {} 个", written);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int compactClosedWindows() {
+        long closedBefore = System.currentTimeMillis() - compactionGrace.toMillis();
+        int written = 0;
+        for (Long deviceId : readingJdbcRepository.findDeviceIds()) {
+            for (int i = 0; i < GasType.COUNT; i++) {
+                GasType gas = GasType.ofIndex(i);
+                try {
+                    written += compactDevice(deviceId, gas, closedBefore);
+                } catch (RuntimeException e) {
+                    log.error("读数压缩失败: deviceId={}, gas={}", deviceId, gas, e);
+                }
+            }
+        }
+        return written;
+    }
+
+    /**
+     * 依次压缩指定设备、气体所有已关闭的时间窗口（窗口结束时间早于 closedBefore）
+     *
+     * @param deviceId     设备ID
+     * @param gas          气体组分
+     * @param closedBefore 窗口关闭判定时间（epoch 毫秒）
+     * @return 写入的数据块数量
+     */
+    private int compactDevice(long deviceId, GasType gas, long closedBefore) {
+        long windowMillis = chunkWindow.toMillis();
+        int written = 0;
+        Optional<Long> oldest = readingJdbcRepository.findOldestSampledAt(deviceId, gas);
+        while (oldest.isPresent()) {
+            long windowStart = Math.floorDiv(oldest.get(), windowMillis) * windowMillis;
+            long windowEnd = windowStart + windowMillis;
+            if (windowEnd > closedBefore) {
+                break;
+            }
+            Boolean compacted = transactionTemplate.execute(
+                status -> compactWindow(deviceId, gas, windowStart, windowEnd)
+            );
+            if (Boolean.TRUE.equals(compacted)) {
+                written++;
+            }
+            oldest = readingJdbcRepository.findOldestSampledAt(deviceId, gas);
+        }
+        return written;
+    }
+
+    /**
+     * 压缩单个时间窗口，必须在事务中调用
+     *
+     * @return 是否写入了数据块
+     */
+    private boolean compactWindow(long deviceId, GasType gas, long windowStart, long windowEnd) {
+        ReadingSeries raw = readingJdbcRepository.findSeriesForUpdate(deviceId, gas, windowStart, windowEnd);
+        if (raw.isEmpty()) {
+            return false;
+        }
+
+        Instant start = Instant.ofEpochMilli(windowStart);
+        DeviceReadingChunk chunk = chunkRepository
+            .findByDeviceIdAndGasAndWindowStart(deviceId, gas, start)
+            .orElse(null);
+        ReadingSeries merged = raw;
+        if (chunk == null) {
+            chunk = new DeviceReadingChunk();
+            chunk.setDeviceId(deviceId);
+            chunk.setGas(gas);
+            chunk.setWindowStart(start);
+            chunk.setWindowEnd(Instant.ofEpochMilli(windowEnd));
+        } else {
+            ReadingSeries existing = new ReadingSeries(chunk.getPointCount());
+            GorillaCodec.decode(chunk.getPayload(), windowStart, windowEnd, existing);
+            merged = ReadingSeries.merge(existing, raw);
+        }
+
+        chunk.setPayload(GorillaCodec.encode(merged));
+        chunk.setPointCount(merged.size());
+        chunk.setCompactedAt(Instant.now());
+        chunkRepository.save(chunk);
+        readingJdbcRepository.deleteRange(deviceId, gas, windowStart, windowEnd);
+
+        log.debug("压缩读数窗口: deviceId={}, gas={}, windowStart={}, points={}, bytes={}",
+            deviceId, gas, start, merged.size(), chunk.getPayload().length);
+        return true;
+    }
+
+    private void validateRange(GasType gas, Instant from, Instant to) {
+        if (gas == null) {
+            throw new BadRequestException("气体组分不能为空");
+        }
+        if (from == null || to == null) {
+            throw new BadRequestException("查询起止时间不能为空");
+        }
+        if (!from.isBefore(to)) {
+            throw new BadRequestException("查询起始时间必须早于结束时间");
+        }
+    }
+
+    private InspectionDevice findDevice(String deviceNo) {
+        return deviceRepository
+            .findByDeviceNoAndDeletedFalse(deviceNo)
+            .orElseThrow(() -> new ResourceNotFoundException(String.format("设备编号 %s 不存在", deviceNo)));
+    }
+}
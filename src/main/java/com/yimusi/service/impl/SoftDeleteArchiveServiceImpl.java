@@ -0,0 +1,168 @@
+package com.yimusi.service.impl;
+
+import com.yimusi.common.exception.BusinessException;
+import com.yimusi.common.exception.ErrorCode;
+import com.yimusi.dto.archive.ArchiveRunResult;
+import com.yimusi.enums.ArchiveTable;
+import com.yimusi.repository.SoftDeleteArchiveRepository;
+import com.yimusi.service.SoftDeleteArchiveService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RLock;
+import org.redisson.api.RedissonClient;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * 软删除归档服务实现类
+ * <p>
+ * 按表以 ID 键集分批：每批在一个短事务内锁定至多 chunk-size 行已过保留期的软删除行，
+ * 复制到 {表名}_archive 后从主表删除，批次之间暂停 pause 限制写入速率，避免从库复制延迟；
+ * 单轮归档行数达到 max-rows-per-run 后提前结束，剩余行留待下一轮.
+ * 归档后的行仍可通过 {表名}_all 联合视图查询（如包含已删除行的最大序号、按 ID 查找已删除行）.
+ * 多节点部署时以 Redisson 分布式锁保证同一时刻只有一个节点在归档.
+ * </p>
+ * 指标：archive.rows（归档行数，按表）、archive.chunk（单批耗时，按表）.
+ */
+@Slf4j
+@Service
+public class SoftDeleteArchiveServiceImpl implements SoftDeleteArchiveService {
+
+    private static final String ARCHIVE_LOCK = "soft-delete:archive";
+
+    private final SoftDeleteArchiveRepository archiveRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final RedissonClient redissonClient;
+    private final MeterRegistry meterRegistry;
+    private final Map<ArchiveTable, List<String>> columns = new ConcurrentHashMap<>();
+
+    @Value("${yimusi.archive.enabled:true}")
+    private boolean enabled;
+
+    @Value("${yimusi.archive.retention:P90D}")
+    private Duration retention;
+
+    @Value("${yimusi.archive.chunk-size:500}")
+    private int chunkSize;
+
+    @Value("${yimusi.archive.pause:PT0.2S}")
+    private Duration pause;
+
+    @Value("${yimusi.archive.max-rows-per-run:100000}")
+    private int maxRowsPerRun;
+
+    public SoftDeleteArchiveServiceImpl(SoftDeleteArchiveRepository archiveRepository,
+                                        TransactionTemplate transactionTemplate,
+                                        RedissonClient redissonClient,
+                                        MeterRegistry meterRegistry) {
+        this.archiveRepository = archiveRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.redissonClient = redissonClient;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void syncSchema() {
+        for (ArchiveTable table : ArchiveTable.values()) {
+            columns.put(table, archiveRepository.syncSchema(table));
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public ArchiveRunResult archiveNow() {
+        ArchiveRunResult result = archiveIfLeader();
+        if (result == null) {
+            throw new BusinessException(ErrorCode.SERVICE_UNAVAILABLE, "归档正在其他节点执行，请稍后重试");
+        }
+        return result;
+    }
+
+    /**
+     * 定时归档任务入口，其他节点正在归档时直接跳过本轮
+     */
+    @Scheduled(cron = "${yimusi.archive.cron:0 30 3 * * *}")
+    public void scheduledRun() {
+        if (!enabled) {
+            return;
+        }
+        ArchiveRunResult result = archiveIfLeader();
+        if (result != null) {
+            log.info("软删除归档完成: {}, 批次 {}, 耗时 {} ms{}", result.getArchivedRows(), result.getChunkCount(),
+                result.getElapsedMillis(), result.isTruncated() ? "，已达单轮上限" : "");
+        }
+    }
+
+    /**
+     * 获取归档锁后执行一轮归档，锁被其他节点持有时返回 null
+     */
+    private ArchiveRunResult archiveIfLeader() {
+        RLock lock = redissonClient.getLock(ARCHIVE_LOCK);
+        boolean acquired = false;
+        try {
+            acquired = lock.tryLock(0, TimeUnit.MILLISECONDS);
+            if (!acquired) {
+                return null;
+            }
+            return runArchive();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return null;
+        } finally {
+            if (acquired && lock.isHeldByCurrentThread()) {
+                lock.unlock();
+            }
+        }
+    }
+
+    private ArchiveRunResult runArchive() throws InterruptedException {
+        long start = System.nanoTime();
+        long retentionSeconds = retention.toSeconds();
+        Map<ArchiveTable, Integer> archivedRows = new EnumMap<>(ArchiveTable.class);
+        int chunkCount = 0;
+        int total = 0;
+        boolean truncated = false;
+        for (ArchiveTable table : ArchiveTable.values()) {
+            List<String> tableColumns = columns.computeIfAbsent(table, archiveRepository::syncSchema);
+            Timer chunkTimer = meterRegistry.timer("archive.chunk", "table", table.getTableName());
+            int archived = 0;
+            long afterId = 0;
+            while (!truncated) {
+                long cursor = afterId;
+                int limit = Math.min(chunkSize, maxRowsPerRun - total);
+                List<Long> ids = chunkTimer.record(() -> transactionTemplate.execute(
+                    status -> archiveRepository.moveChunk(table, tableColumns, retentionSeconds, cursor, limit)));
+                if (ids == null || ids.isEmpty()) {
+                    break;
+                }
+                chunkCount++;
+                archived += ids.size();
+                total += ids.size();
+                afterId = ids.get(ids.size() - 1);
+                meterRegistry.counter("archive.rows", "table", table.getTableName()).increment(ids.size());
+                truncated = total >= maxRowsPerRun;
+                if (ids.size() < limit) {
+                    break;
+                }
+                // 批次之间限速，给从库复制留出时间
+                Thread.sleep(pause);
+            }
+            archivedRows.put(table, archived);
+        }
+        return new ArchiveRunResult(archivedRows, chunkCount, truncated, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    }
+}
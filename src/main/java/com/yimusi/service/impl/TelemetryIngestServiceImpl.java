@@ -0,0 +1,314 @@
+package com.yimusi.service.impl;
+
+import com.yimusi.common.exception.BusinessException;
+import com.yimusi.common.exception.ErrorCode;
+import com.yimusi.common.exception.ResourceNotFoundException;
+import com.yimusi.dto.telemetry.ReadingIngestRequest;
+import com.yimusi.dto.telemetry.ReadingIngestResponse;
+import com.yimusi.entity.InspectionDevice;
+import com.yimusi.live.ReachabilityTracker;
+import com.yimusi.repository.DeviceReadingJdbcRepository;
+import com.yimusi.repository.InspectionDeviceRepository;
+import com.yimusi.service.ReadingRollupService;
+import com.yimusi.service.TelemetryIngestService;
+import com.yimusi.telemetry.ReadingPoint;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.RecoverableDataAccessException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.stereotype.Service;
+
+/**
+ * 设备遥测接入服务实现类.
+ * <p>
+ * 接入流程分为两个阶段：
+ * <ol>
+ *   <li>请求线程将读数转换为 {@link ReadingPoint} 后放入有界内存队列，容量以读数条数计算，队列满时拒绝请求；</li>
+ *   <li>后台写入线程批量取出读数，按 batch-size 切分为多行 INSERT 写入数据库，写入完成后释放队列容量；</li>
+ *   <li>写入成功的读数交给 {@link ReadingRollupService} 增量更新汇总。</li>
+ * </ol>
+ * 死锁、锁等待超时、连接失败等暂时性错误按 write-retry 配置以指数退避重试，重试期间不释放队列容量，
+ * 因此数据库持续异常时接入接口会因队列占满返回 429 而不是无限积压；重试耗尽或遇到非暂时性错误
+ * （如数据不合法、SQL 错误）时才丢弃该批次，记录 ERROR 日志和 telemetry.readings.failed 指标.
+ * 管道未运行（启动前或关闭后）时拒绝接入，返回 503.
+ * </p>
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TelemetryIngestServiceImpl implements TelemetryIngestService, SmartLifecycle {
+
+    private static final long POLL_INTERVAL_MILLIS = 200;
+
+    private final InspectionDeviceRepository deviceRepository;
+    private final DeviceReadingJdbcRepository readingJdbcRepository;
+    private final ReadingRollupService readingRollupService;
+    private final ReachabilityTracker reachabilityTracker;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${yimusi.telemetry.queue-capacity:200000}")
+    private int queueCapacity;
+
+    @Value("${yimusi.telemetry.batch-size:1000}")
+    private int batchSize;
+
+    @Value("${yimusi.telemetry.writer-threads:2}")
+    private int writerThreads;
+
+    @Value("${yimusi.telemetry.offer-timeout:PT0.2S}")
+    private Duration offerTimeout;
+
+    @Value("${yimusi.telemetry.write-retry.max-attempts:5}")
+    private int retryMaxAttempts;
+
+    @Value("${yimusi.telemetry.write-retry.backoff:PT0.5S}")
+    private Duration retryBackoff;
+
+    private final BlockingQueue<List<ReadingPoint>> queue = new LinkedBlockingQueue<>();
+    private final List<Thread> writers = new ArrayList<>();
+    private Semaphore capacity;
+    private volatile boolean running;
+    /** 接入请求持有读锁完成入队，关闭时持有写锁切换运行状态，保证关闭后排空时不会漏掉在途请求 */
+    private final ReadWriteLock lifecycleLock = new ReentrantReadWriteLock();
+
+    private Counter acceptedCounter;
+    private Counter rejectedCounter;
+    private Counter persistedCounter;
+    private Counter failedCounter;
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public ReadingIngestResponse ingest(ReadingIngestRequest request) {
+        InspectionDevice device = deviceRepository
+            .findByDeviceNoAndDeletedFalse(request.getDeviceNo())
+            .orElseThrow(() -> new ResourceNotFoundException(String.format("设备编号 %s 不存在", request.getDeviceNo())));
+
+        List<ReadingPoint> points = new ArrayList<>(request.getReadings().size());
+        long deviceId = device.getId();
+        for (ReadingIngestRequest.ReadingItem item : request.getReadings()) {
+            points.add(new ReadingPoint(deviceId, item.getGas(), item.getSampledAt().toEpochMilli(), item.getValue()));
+        }
+
+        lifecycleLock.readLock().lock();
+        try {
+            if (!running) {
+                throw new BusinessException(ErrorCode.SERVICE_UNAVAILABLE, "遥测写入管道未运行，请稍后重试");
+            }
+            acquireCapacity(points.size());
+            queue.add(points);
+        } finally {
+            lifecycleLock.readLock().unlock();
+        }
+        acceptedCounter.increment(points.size());
+        reachabilityTracker.markDeviceSeen(deviceId, device.getProjectId(), device.getDeviceNo());
+
+        return new ReadingIngestResponse(request.getDeviceNo(), points.size());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int getPendingCount() {
+        return capacity == null ? 0 : queueCapacity - capacity.availablePermits();
+    }
+
+    /**
+     * 取出当前队列中的全部读数并同步写入数据库.
+     * 由写入线程循环调用，关闭时用于排空剩余数据.
+     *
+     * @return 本次写入成功的读数条数
+     */
+    public int flushPending() {
+        List<List<ReadingPoint>> drained = new ArrayList<>();
+        queue.drainTo(drained);
+        return writeBatches(drained);
+    }
+
+    @Override
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        capacity = new Semaphore(queueCapacity);
+        acceptedCounter = meterRegistry.counter("telemetry.readings.accepted");
+        rejectedCounter = meterRegistry.counter("telemetry.readings.rejected");
+        persistedCounter = meterRegistry.counter("telemetry.readings.persisted");
+        failedCounter = meterRegistry.counter("telemetry.readings.failed");
+        Gauge.builder("telemetry.queue.pending", this, TelemetryIngestServiceImpl::getPendingCount)
+            .register(meterRegistry);
+
+        running = true;
+        for (int i = 0; i < writerThreads; i++) {
+            Thread writer = new Thread(this::runWriter, "telemetry-writer-" + i);
+            writer.setDaemon(true);
+            writer.start();
+            writers.add(writer);
+        }
+        log.info("遥测写入管道已启动: queueCapacity={}, batchSize={}, writerThreads={}",
+            queueCapacity, batchSize, writerThreads);
+    }
+
+    @Override
+    public synchronized void stop() {
+        if (!running) {
+            return;
+        }
+        lifecycleLock.writeLock().lock();
+        try {
+            running = false;
+        } finally {
+            lifecycleLock.writeLock().unlock();
+        }
+        for (Thread writer : writers) {
+            try {
+                writer.join(TimeUnit.SECONDS.toMillis(10));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        writers.clear();
+        int remaining = flushPending();
+        log.info("遥测写入管道已停止，关闭前写入剩余读数 {} 条", remaining);
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * 申请队列容量，在 offer-timeout 内无法获得时拒绝请求
+     *
+     * @param count 读数条数
+     */
+    private void acquireCapacity(int count) {
+        if (count > queueCapacity) {
+            throw new BusinessException(ErrorCode.BAD_REQUEST, "单次上报的读数超过写入队列容量: " + queueCapacity);
+        }
+        boolean acquired;
+        try {
+            acquired = capacity.tryAcquire(count, offerTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            acquired = false;
+        }
+        if (!acquired) {
+            rejectedCounter.increment(count);
+            throw new BusinessException(ErrorCode.TOO_MANY_REQUESTS, "遥测写入队列已满，请稍后重试");
+        }
+    }
+
+    private void runWriter() {
+        while (running) {
+            try {
+                List<ReadingPoint> first = queue.poll(POLL_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                List<List<ReadingPoint>> drained = new ArrayList<>();
+                drained.add(first);
+                queue.drainTo(drained);
+                writeBatches(drained);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                log.error("遥测写入线程发生未预期的异常", e);
+            }
+        }
+    }
+
+    /**
+     * 将取出的读数按 batch-size 重新切分后写入，每个切片写入完成（无论成败）后立即释放对应的队列容量
+     *
+     * @param drained 从队列取出的读数批次
+     * @return 写入成功的读数条数
+     */
+    private int writeBatches(List<List<ReadingPoint>> drained) {
+        int written = 0;
+        List<ReadingPoint> chunk = new ArrayList<>(batchSize);
+        for (List<ReadingPoint> batch : drained) {
+            for (ReadingPoint point : batch) {
+                chunk.add(point);
+                if (chunk.size() == batchSize) {
+                    written += writeChunk(chunk);
+                    chunk.clear();
+                }
+            }
+        }
+        if (!chunk.isEmpty()) {
+            written += writeChunk(chunk);
+        }
+        return written;
+    }
+
+    /**
+     * 写入一个切片，暂时性错误按指数退避重试，重试结束（无论成败）后才释放队列容量
+     *
+     * @param chunk 读数切片
+     * @return 写入成功的读数条数
+     */
+    private int writeChunk(List<ReadingPoint> chunk) {
+        int size = chunk.size();
+        try {
+            long backoffMillis = retryBackoff.toMillis();
+            for (int attempt = 1; ; attempt++) {
+                try {
+                    readingJdbcRepository.insertBatch(chunk, System.currentTimeMillis());
+                    break;
+                } catch (DataAccessException e) {
+                    if (!isTransient(e) || attempt >= retryMaxAttempts) {
+                        failedCounter.increment(size);
+                        log.error("设备读数批量写入失败，丢弃 {} 条读数: attempts={}", size, attempt, e);
+                        return 0;
+                    }
+                    log.warn("设备读数批量写入失败，{} ms 后重试: attempt={}, size={}, error={}",
+                        backoffMillis, attempt, size, e.getMessage());
+                }
+                try {
+                    Thread.sleep(backoffMillis);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    failedCounter.increment(size);
+                    log.error("设备读数批量写入重试被中断，丢弃 {} 条读数", size);
+                    return 0;
+                }
+                backoffMillis *= 2;
+            }
+            persistedCounter.increment(size);
+            readingRollupService.onPersisted(List.copyOf(chunk));
+            return size;
+        } finally {
+            capacity.release(size);
+        }
+    }
+
+    /**
+     * 判断是否为重试可能成功的暂时性错误：死锁、锁等待超时、查询超时、连接失败或连接池获取超时等
+     */
+    private static boolean isTransient(DataAccessException e) {
+        return e instanceof TransientDataAccessException
+            || e instanceof RecoverableDataAccessException
+            || e instanceof DataAccessResourceFailureException;
+    }
+}
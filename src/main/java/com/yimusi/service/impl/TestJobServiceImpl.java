@@ -0,0 +1,353 @@
+package com.yimusi.service.impl;
+
+import com.yimusi.common.exception.BadRequestException;
+import com.yimusi.common.exception.BusinessException;
+import com.yimusi.common.exception.ErrorCode;
+import com.yimusi.common.exception.ResourceNotFoundException;
+import com.yimusi.dto.live.LiveStateDelta;
+import com.yimusi.dto.testjob.CreateTestJobRequest;
+import com.yimusi.dto.testjob.TestJobResponse;
+import com.yimusi.dto.testjob.TestJobScheduleResult;
+import com.yimusi.entity.InspectionDevice;
+import com.yimusi.entity.OilSample;
+import com.yimusi.entity.TestJob;
+import com.yimusi.entity.TestStation;
+import com.yimusi.enums.InspectionDeviceStatus;
+import com.yimusi.enums.TestJobStatus;
+import com.yimusi.mapper.TestJobMapper;
+import com.yimusi.modbus.ModbusEndpoint;
+import com.yimusi.repository.InspectionDeviceRepository;
+import com.yimusi.repository.OilSampleRepository;
+import com.yimusi.repository.TestJobJdbcRepository;
+import com.yimusi.repository.TestJobQueueRepository;
+import com.yimusi.repository.TestJobRepository;
+import com.yimusi.repository.TestStationRepository;
+import com.yimusi.service.OilCylinderService;
+import com.yimusi.service.TestJobService;
+import com.yimusi.testjob.JobAssignment;
+import com.yimusi.testjob.PendingJob;
+import com.yimusi.testjob.SampleOption;
+import com.yimusi.testjob.StationState;
+import com.yimusi.testjob.TestJobScheduler;
+import com.yimusi.testrun.StationRunsCancelledEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RLock;
+import org.redisson.api.RedissonClient;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static com.yimusi.entity.QOilSample.oilSample;
+import static com.yimusi.entity.QTestStation.testStation;
+
+/**
+ * 测试作业服务实现类
+ * <p>
+ * 每轮调度从数据库加载一次快照（待分配作业、启用工位与油样、进行中作业的占用），
+ * 在内存中由 {@link TestJobScheduler} 完成分配，按油缸库存为每个分配预留一次运行的用量后，再以 JDBC 批量写回.
+ * 调度期间持有 Redisson 分布式锁，多节点部署时同一时刻只有一个节点在调度，避免重复占用工位与油缸.
+ * </p>
+ */
+@Slf4j
+@Service
+public class TestJobServiceImpl implements TestJobService {
+
+    /** 工位参数中表示可同时测试设备数的键 */
+    public static final String KEY_DEVICE_SLOTS = "deviceSlots";
+
+    private static final String SCHEDULE_LOCK = "test-job:schedule";
+    private static final int MAX_DEVICE_SLOTS = 256;
+    private static final Set<TestJobStatus> ACTIVE_STATUSES =
+        EnumSet.of(TestJobStatus.PENDING, TestJobStatus.ASSIGNED, TestJobStatus.RUNNING);
+    private static final Set<TestJobStatus> OCCUPYING_STATUSES = EnumSet.of(TestJobStatus.ASSIGNED, TestJobStatus.RUNNING);
+    private static final Set<TestJobStatus> CANCELLABLE_STATUSES = EnumSet.of(TestJobStatus.PENDING, TestJobStatus.ASSIGNED);
+
+    private final TestJobRepository testJobRepository;
+    private final TestJobJdbcRepository testJobJdbcRepository;
+    private final TestJobQueueRepository testJobQueueRepository;
+    private final InspectionDeviceRepository inspectionDeviceRepository;
+    private final TestStationRepository testStationRepository;
+    private final OilSampleRepository oilSampleRepository;
+    private final OilCylinderService oilCylinderService;
+    private final TestJobMapper testJobMapper;
+    private final RedissonClient redissonClient;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Timer scheduleTimer;
+    private final Counter assignedCounter;
+
+    @Value("${yimusi.test-job.schedule.enabled:true}")
+    private boolean scheduleEnabled;
+
+    @Value("${yimusi.test-job.schedule.batch-size:500}")
+    private int batchSize;
+
+    @Value("${yimusi.test-job.max-attempts:3}")
+    private int maxAttempts;
+
+    public TestJobServiceImpl(TestJobRepository testJobRepository,
+                              TestJobJdbcRepository testJobJdbcRepository,
+                              TestJobQueueRepository testJobQueueRepository,
+                              InspectionDeviceRepository inspectionDeviceRepository,
+                              TestStationRepository testStationRepository,
+                              OilSampleRepository oilSampleRepository,
+                              OilCylinderService oilCylinderService,
+                              TestJobMapper testJobMapper,
+                              RedissonClient redissonClient,
+                              TransactionTemplate transactionTemplate,
+                              ApplicationEventPublisher eventPublisher,
+                              MeterRegistry meterRegistry) {
+        this.testJobRepository = testJobRepository;
+        this.testJobJdbcRepository = testJobJdbcRepository;
+        this.testJobQueueRepository = testJobQueueRepository;
+        this.inspectionDeviceRepository = inspectionDeviceRepository;
+        this.testStationRepository = testStationRepository;
+        this.oilSampleRepository = oilSampleRepository;
+        this.oilCylinderService = oilCylinderService;
+        this.testJobMapper = testJobMapper;
+        this.redissonClient = redissonClient;
+        this.transactionTemplate = transactionTemplate;
+        this.eventPublisher = eventPublisher;
+        this.scheduleTimer = Timer.builder("test.job.schedule")
+            .description("一轮测试作业调度的耗时")
+            .register(meterRegistry);
+        this.assignedCounter = Counter.builder("test.job.assigned")
+            .description("调度分配的测试作业数")
+            .register(meterRegistry);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Transactional
+    public List<TestJobResponse> submitJobs(CreateTestJobRequest request) {
+        Set<Long> deviceIds = new LinkedHashSet<>(request.getDeviceIds());
+        Set<Long> existingDevices = inspectionDeviceRepository.findAllById(deviceIds).stream()
+            .map(InspectionDevice::getId)
+            .collect(Collectors.toSet());
+        if (existingDevices.size() != deviceIds.size()) {
+            Set<Long> missing = new LinkedHashSet<>(deviceIds);
+            missing.removeAll(existingDevices);
+            throw new ResourceNotFoundException("InspectionDevice not found with ids: " + missing);
+        }
+
+        if (request.getOilSampleId() != null) {
+            OilSample sample = oilSampleRepository.findById(request.getOilSampleId())
+                .orElseThrow(() -> new ResourceNotFoundException("OilSample not found with id: " + request.getOilSampleId()));
+            if (sample.getUsage() != request.getUsage()) {
+                throw new BadRequestException(String.format("油样用途为 %s，与测试类型 %s 不符",
+                    sample.getUsage().getDescription(), request.getUsage().getDescription()));
+            }
+        }
+
+        List<TestJob> activeJobs = testJobRepository.findByDeviceIdInAndStatusIn(deviceIds, ACTIVE_STATUSES);
+        if (!activeJobs.isEmpty()) {
+            Set<Long> busyDevices = activeJobs.stream().map(TestJob::getDeviceId).collect(Collectors.toCollection(LinkedHashSet::new));
+            throw new BadRequestException("设备已有未结束的测试作业: " + busyDevices);
+        }
+
+        int priority = request.getPriority() == null ? 0 : request.getPriority();
+        List<TestJob> jobs = new ArrayList<>(deviceIds.size());
+        for (Long deviceId : deviceIds) {
+            TestJob job = new TestJob();
+            job.setDeviceId(deviceId);
+            job.setUsage(request.getUsage());
+            job.setPriority(priority);
+            job.setRequestedOilSampleId(request.getOilSampleId());
+            job.setMaxAttempts(maxAttempts);
+            job.setRemark(request.getRemark());
+            jobs.add(job);
+        }
+        return testJobRepository.saveAll(jobs).stream().map(testJobMapper::toResponse).toList();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public TestJobResponse getJobById(Long id) {
+        return testJobMapper.toResponse(findJob(id));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Transactional
+    public TestJobResponse cancelJob(Long id) {
+        TestJob job = findJob(id);
+        if (!CANCELLABLE_STATUSES.contains(job.getStatus())) {
+            throw new BadRequestException("作业当前状态为" + job.getStatus().getDescription() + "，不能取消");
+        }
+        job.setStatus(TestJobStatus.CANCELLED);
+        job.setFinishedAt(Instant.now());
+        return testJobMapper.toResponse(testJobRepository.save(job));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Transactional
+    public int cancelStationJobs(Long stationId) {
+        if (!testStationRepository.existsById(stationId)) {
+            throw new ResourceNotFoundException("TestStation not found with id: " + stationId);
+        }
+        List<Long> deviceIds = testJobQueueRepository.cancelStation(stationId, Instant.now());
+        for (InspectionDevice device : inspectionDeviceRepository.findAllById(deviceIds)) {
+            if (device.getProjectId() != null) {
+                LiveStateDelta delta = LiveStateDelta.device(device.getId(), device.getProjectId(), device.getDeviceNo());
+                delta.setStatus(InspectionDeviceStatus.PENDING_INSPECTION);
+                eventPublisher.publishEvent(delta);
+            }
+        }
+        // 事务提交后各执行节点中断该工位的测试运行
+        eventPublisher.publishEvent(new StationRunsCancelledEvent(stationId));
+        return deviceIds.size();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public TestJobScheduleResult scheduleNow() {
+        TestJobScheduleResult result = scheduleIfLeader();
+        if (result == null) {
+            throw new BusinessException(ErrorCode.SERVICE_UNAVAILABLE, "调度正在其他节点执行，请稍后重试");
+        }
+        return result;
+    }
+
+    /**
+     * 定时调度任务入口，其他节点正在调度时直接跳过本轮
+     */
+    @Scheduled(
+        initialDelayString = "${yimusi.test-job.schedule.initial-delay:PT30S}",
+        fixedDelayString = "${yimusi.test-job.schedule.interval:PT10S}"
+    )
+    public void scheduledRun() {
+        if (!scheduleEnabled) {
+            return;
+        }
+        TestJobScheduleResult result = scheduleIfLeader();
+        if (result != null && result.getAssignedCount() > 0) {
+            log.info("测试作业调度完成: 待分配 {} 条, 分配 {} 条, 耗时 {} ms",
+                result.getPendingCount(), result.getAssignedCount(), result.getElapsedMillis());
+        }
+    }
+
+    /**
+     * 获取调度锁后执行一轮调度，锁被其他节点持有时返回 null
+     */
+    private TestJobScheduleResult scheduleIfLeader() {
+        RLock lock = redissonClient.getLock(SCHEDULE_LOCK);
+        boolean acquired = false;
+        try {
+            acquired = lock.tryLock(0, TimeUnit.MILLISECONDS);
+            if (!acquired) {
+                return null;
+            }
+            return scheduleTimer.record(this::runSchedule);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return null;
+        } finally {
+            if (acquired && lock.isHeldByCurrentThread()) {
+                lock.unlock();
+            }
+        }
+    }
+
+    private TestJobScheduleResult runSchedule() {
+        long start = System.nanoTime();
+        List<TestJob> pendingJobs = testJobRepository.findByStatusIn(EnumSet.of(TestJobStatus.PENDING));
+        if (pendingJobs.isEmpty()) {
+            return new TestJobScheduleResult(0, 0, elapsedMillis(start));
+        }
+
+        List<PendingJob> pending = new ArrayList<>(pendingJobs.size());
+        for (TestJob job : pendingJobs) {
+            long createdAt = job.getCreatedAt() == null ? 0L : job.getCreatedAt().toEpochMilli();
+            pending.add(new PendingJob(job.getId(), job.getUsage(), job.getPriority(), job.getRequestedOilSampleId(), createdAt));
+        }
+
+        List<TestJob> occupying = testJobRepository.findByStatusIn(OCCUPYING_STATUSES);
+        Map<Long, Integer> occupiedSlots = new HashMap<>();
+        Map<Long, Long> boundSamples = new HashMap<>();
+        Set<Integer> busyCylinders = new HashSet<>();
+        Map<Integer, Integer> assignedRuns = new HashMap<>();
+        for (TestJob job : occupying) {
+            occupiedSlots.merge(job.getStationId(), 1, Integer::sum);
+            boundSamples.put(job.getStationId(), job.getOilSampleId());
+            busyCylinders.add(job.getCylinderNo());
+            if (job.getStatus() == TestJobStatus.ASSIGNED) {
+                assignedRuns.merge(job.getCylinderNo(), 1, Integer::sum);
+            }
+        }
+        // 余量不足一次运行的油缸按占用处理，不再绑定到新工位
+        busyCylinders.addAll(oilCylinderService.refreshReservations(assignedRuns));
+
+        List<StationState> stations = new ArrayList<>();
+        for (TestStation station : testStationRepository.findAll(testStation.deleted.isFalse().and(testStation.enabled.isTrue()))) {
+            Integer capacity = deviceSlots(station);
+            if (capacity != null) {
+                stations.add(new StationState(station.getId(), capacity,
+                    occupiedSlots.getOrDefault(station.getId(), 0), boundSamples.get(station.getId())));
+            }
+        }
+
+        List<SampleOption> samples = new ArrayList<>();
+        for (OilSample sample : oilSampleRepository.findAll(oilSample.deleted.isFalse().and(oilSample.enabled.isTrue()))) {
+            samples.add(new SampleOption(sample.getId(), sample.getUsage(), sample.getCylinderNo()));
+        }
+
+        // 已绑定工位的油缸也可能余量不足，逐个预留用量，预留失败的作业留待下一轮
+        List<JobAssignment> assignments = TestJobScheduler.schedule(pending, stations, samples, busyCylinders).stream()
+            .filter(assignment -> oilCylinderService.reserveRun(assignment.cylinderNo()))
+            .toList();
+        int assigned = assignments.isEmpty() ? 0 : transactionTemplate.execute(
+            status -> testJobJdbcRepository.assignBatch(assignments, Instant.now(), batchSize));
+        assignedCounter.increment(assigned);
+        return new TestJobScheduleResult(pending.size(), assigned, elapsedMillis(start));
+    }
+
+    /**
+     * 读取工位可同时测试的设备数，参数错误的工位本轮不参与调度
+     */
+    private Integer deviceSlots(TestStation station) {
+        try {
+            return ModbusEndpoint.parseInt(station.getValveControlParams(), KEY_DEVICE_SLOTS, 1, 1, MAX_DEVICE_SLOTS);
+        } catch (BadRequestException e) {
+            log.warn("工位参数错误，跳过调度: stationId={}, {}", station.getId(), e.getMessage());
+            return null;
+        }
+    }
+
+    private TestJob findJob(Long id) {
+        return testJobRepository.findById(id)
+            .orElseThrow(() -> new ResourceNotFoundException("TestJob not found with id: " + id));
+    }
+
+    private static long elapsedMillis(long startNanos) {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+    }
+}
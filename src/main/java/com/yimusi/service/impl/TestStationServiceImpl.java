@@ -5,7 +5,9 @@ import com.querydsl.core.BooleanBuilder;
 import com.querydsl.core.types.Predicate;
 import com.yimusi.common.exception.BadRequestException;
 import com.yimusi.common.exception.ResourceNotFoundException;
+import com.yimusi.common.web.ResponseBodyCache;
 import com.yimusi.dto.common.PageResult;
+import com.yimusi.dto.live.LiveStateDelta;
 import com.yimusi.dto.teststation.CreateTestStationRequest;
 import com.yimusi.dto.teststation.TestStationPageRequest;
 import com.yimusi.dto.teststation.TestStationResponse;
@@ -14,10 +16,12 @@ import com.yimusi.dto.teststation.parameter.TestStationParameterRequest;
 import com.yimusi.entity.TestStation;
 import com.yimusi.entity.TestStationParameter;
 import com.yimusi.mapper.TestStationMapper;
+import com.yimusi.modbus.plan.ValveWritePlanCache;
 import com.yimusi.repository.TestStationRepository;
 import com.yimusi.service.TestStationService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
@@ -38,8 +42,14 @@ import static com.yimusi.entity.QTestStation.testStation;
 @Transactional
 public class TestStationServiceImpl implements TestStationService {
 
+    /** 数据表名，用作序列化响应缓存的键 */
+    private static final String TABLE = "test_stations";
+
     private final TestStationRepository stationRepository;
     private final TestStationMapper stationMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ValveWritePlanCache valveWritePlanCache;
+    private final ResponseBodyCache responseBodyCache;
 
     /**
      * {@inheritDoc}
@@ -130,6 +140,7 @@ public class TestStationServiceImpl implements TestStationService {
         TestStation savedStation = stationRepository.save(station);
         log.info("创建测试工位: 工位编号={}, 工位名称={}, 启用状态={}",
             savedStation.getStationNo(), savedStation.getStationName(), savedStation.getEnabled());
+        publishEnabled(savedStation);
 
         return stationMapper.toResponse(savedStation);
     }
@@ -152,6 +163,10 @@ public class TestStationServiceImpl implements TestStationService {
             }
         }
 
+        Boolean previousEnabled = station.getEnabled();
+        List<TestStationParameter> previousControlParams = new ArrayList<>(station.getValveControlParams());
+        List<TestStationParameter> previousValveMapping = new ArrayList<>(station.getOilValveMapping());
+
         // 更新实体
         stationMapper.updateEntityFromRequest(updateRequest, station);
 
@@ -162,9 +177,19 @@ public class TestStationServiceImpl implements TestStationService {
         if (updateRequest.getOilValveMapping() != null) {
             station.setOilValveMapping(mapToParameters(updateRequest.getOilValveMapping()));
         }
+        boolean parametersChanged = !previousControlParams.equals(station.getValveControlParams())
+            || !previousValveMapping.equals(station.getOilValveMapping());
 
         TestStation savedStation = stationRepository.save(station);
+        responseBodyCache.evict(TABLE, id);
         log.info("更新测试工位: 工位编号={}, 工位名称={}", savedStation.getStationNo(), savedStation.getStationName());
+        if (parametersChanged) {
+            // 参数变更后阀门写入计划需重新编译
+            valveWritePlanCache.evict(id);
+        }
+        if (!previousEnabled.equals(savedStation.getEnabled())) {
+            publishEnabled(savedStation);
+        }
 
         return stationMapper.toResponse(savedStation);
     }
@@ -185,6 +210,11 @@ public class TestStationServiceImpl implements TestStationService {
         stationRepository.deleteById(id);
 
         log.info("删除测试工位: 工位编号={}, 工位名称={}", station.getStationNo(), station.getStationName());
+        valveWritePlanCache.evict(id);
+        responseBodyCache.evict(TABLE, id);
+        LiveStateDelta delta = LiveStateDelta.station(id, station.getStationNo());
+        delta.setRemoved(true);
+        eventPublisher.publishEvent(delta);
     }
 
     /**
@@ -210,11 +240,16 @@ public class TestStationServiceImpl implements TestStationService {
         }
 
         TestStation station = getStationById(id);
+        boolean changed = station.getEnabled() != enabled;
         station.setEnabled(enabled);
         TestStation saved = stationRepository.save(station);
+        responseBodyCache.evict(TABLE, id);
 
         log.info("工位状态变更: ID={}, 工位编号={}, 新状态={}",
             id, station.getStationNo(), enabled ? "启用" : "禁用");
+        if (changed) {
+            publishEnabled(saved);
+        }
 
         return stationMapper.toResponse(saved);
     }
@@ -234,13 +269,26 @@ public class TestStationServiceImpl implements TestStationService {
         boolean newEnabled = !station.getEnabled();
         station.setEnabled(newEnabled);
         TestStation saved = stationRepository.save(station);
+        responseBodyCache.evict(TABLE, id);
 
         log.info("工位状态切换: ID={}, 工位编号={}, 新状态={}",
             id, station.getStationNo(), newEnabled ? "启用" : "禁用");
+        publishEnabled(saved);
 
         return stationMapper.toResponse(saved);
     }
 
+    /**
+     * 发布工位启用状态变更，事务提交后由实时状态广播器推送
+     *
+     * @param station 工位实体
+     */
+    private void publishEnabled(TestStation station) {
+        LiveStateDelta delta = LiveStateDelta.station(station.getId(), station.getStationNo());
+        delta.setEnabled(station.getEnabled());
+        eventPublisher.publishEvent(delta);
+    }
+
     /**
      * 将参数请求列表转换为参数实体列表
      *
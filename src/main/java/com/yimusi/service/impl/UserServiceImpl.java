@@ -1,11 +1,11 @@
 package com.yimusi.service.impl;
 
 import cn.hutool.core.util.StrUtil;
-import cn.hutool.crypto.digest.BCrypt;
 import com.querydsl.core.BooleanBuilder;
 import com.querydsl.core.types.Predicate;
 import com.yimusi.common.exception.BadRequestException;
 import com.yimusi.common.exception.ResourceNotFoundException;
+import com.yimusi.common.security.PasswordHasher;
 import com.yimusi.dto.auth.UserRegisterRequest;
 import com.yimusi.dto.common.PageResult;
 import com.yimusi.dto.user.CreateUserRequest;
@@ -23,6 +23,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.lang.NonNull;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
@@ -38,6 +39,7 @@ public class UserServiceImpl implements UserService {
 
     private final UserRepository userRepository;
     private final UserMapper userMapper;
+    private final PasswordHasher passwordHasher;
 
     /**
      * {@inheritDoc}
@@ -54,8 +56,12 @@ public class UserServiceImpl implements UserService {
 
     /**
      * {@inheritDoc}
+     * <p>
+     * 不在事务中执行：密码校验在专用线程池排队和运算期间不占用数据库连接.
+     * </p>
      */
     @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public User validateUser(String username, String password) {
         if (StrUtil.isBlank(username)) {
             throw new BadRequestException("用户名不能为空");
@@ -68,7 +74,7 @@ public class UserServiceImpl implements UserService {
             .findByUsernameAndDeletedFalse(username)
             .orElseThrow(() -> new ResourceNotFoundException(String.format("用户名为 %s 的用户不存在", username)));
 
-        if (!user.verifyPassword(password)) {
+        if (!passwordHasher.verify(password, user.getPassword())) {
             throw new BadRequestException("用户名或密码错误");
         }
 
@@ -77,15 +83,19 @@ public class UserServiceImpl implements UserService {
 
     /**
      * {@inheritDoc}
+     * <p>
+     * 不在事务中执行：密码哈希在专用线程池排队和运算期间不占用数据库连接，保存时由仓储方法单独开启事务.
+     * </p>
      */
     @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public UserResponse register(UserRegisterRequest registerRequest) {
         if (!isUsernameUnique(registerRequest.getUsername())) {
             throw new BadRequestException(String.format("用户名 %s 已存在", registerRequest.getUsername()));
         }
 
         User user = userMapper.toEntity(registerRequest);
-        user.setPassword(BCrypt.hashpw(registerRequest.getPassword()));
+        user.setPassword(passwordHasher.hash(registerRequest.getPassword()));
         user.setRole(UserRole.MEMBER);
 
         return userMapper.toResponse(userRepository.save(user));
@@ -93,15 +103,19 @@ public class UserServiceImpl implements UserService {
 
     /**
      * {@inheritDoc}
+     * <p>
+     * 不在事务中执行：密码哈希在专用线程池排队和运算期间不占用数据库连接，保存时由仓储方法单独开启事务.
+     * </p>
      */
     @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public UserResponse createUser(CreateUserRequest createUserRequest) {
         if (!isUsernameUnique(createUserRequest.getUsername())) {
             throw new BadRequestException(String.format("用户名 %s 已存在", createUserRequest.getUsername()));
         }
 
         User user = userMapper.toEntity(createUserRequest);
-        user.setPassword(BCrypt.hashpw(createUserRequest.getPassword()));
+        user.setPassword(passwordHasher.hash(createUserRequest.getPassword()));
 
         return userMapper.toResponse(userRepository.save(user));
     }
@@ -0,0 +1,183 @@
+package com.yimusi.service.impl;
+
+import com.yimusi.common.exception.BadRequestException;
+import com.yimusi.common.exception.BusinessException;
+import com.yimusi.common.exception.ErrorCode;
+import com.yimusi.dto.live.LiveStateDelta;
+import com.yimusi.entity.TestStation;
+import com.yimusi.enums.LiveTargetType;
+import com.yimusi.modbus.ModbusException;
+import com.yimusi.modbus.ModbusTransportRegistry;
+import com.yimusi.modbus.command.StationCommandActor;
+import com.yimusi.modbus.command.ValveCommand;
+import com.yimusi.modbus.plan.ValveWritePlan;
+import com.yimusi.modbus.plan.ValveWritePlanCache;
+import com.yimusi.service.TestStationService;
+import com.yimusi.service.ValveCommandService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeoutException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * 测试工位电磁阀控制服务实现类.
+ * <p>
+ * 每个工位一个 {@link StationCommandActor}，在首次下发命令时创建，工位删除后移除；
+ * actor 的排空任务运行在共享的虚拟线程执行器上.
+ * 每个工位的排队深度以 {@code valve.command.queue.depth{stationId=...}} 暴露.
+ * </p>
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ValveCommandServiceImpl implements ValveCommandService, DisposableBean {
+
+    private final TestStationService testStationService;
+    private final ValveWritePlanCache valveWritePlanCache;
+    private final ModbusTransportRegistry transportRegistry;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${yimusi.valve.command.max-batch:64}")
+    private int maxBatch;
+
+    private final Map<Long, ActorRegistration> actors = new ConcurrentHashMap<>();
+    private final ExecutorService executor =
+        Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("valve-command-", 0).factory());
+    private StationCommandActor.Meters meters;
+
+    @PostConstruct
+    void init() {
+        meters = new StationCommandActor.Meters(
+            Timer.builder("valve.command.latency")
+                .description("阀门命令从入队到完成的耗时")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry),
+            Timer.builder("valve.command.execution")
+                .description("每批阀门写入的耗时")
+                .register(meterRegistry),
+            Counter.builder("valve.command.coalesced")
+                .description("被合并的阀门命令数")
+                .register(meterRegistry)
+        );
+        Gauge.builder("valve.command.actors", actors, Map::size).register(meterRegistry);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CompletableFuture<Void> setValve(Long stationId, int valve, boolean open) {
+        return submit(stationId, new ValveCommand.SetValve(valve, open));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CompletableFuture<Void> switchChannel(Long stationId, String channel) {
+        if (channel == null || channel.isBlank()) {
+            throw new BadRequestException("油样通道不能为空");
+        }
+        return submit(stationId, new ValveCommand.SwitchChannel(channel.trim()));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CompletableFuture<Void> closeAllValves(Long stationId) {
+        return submit(stationId, new ValveCommand.CloseAll());
+    }
+
+    /**
+     * 工位删除后关闭其 actor 与传输层
+     *
+     * @param delta 状态变更
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStationChanged(LiveStateDelta delta) {
+        if (delta.getType() != LiveTargetType.STATION || !Boolean.TRUE.equals(delta.getRemoved())) {
+            return;
+        }
+        ActorRegistration registration = actors.remove(delta.getId());
+        if (registration != null) {
+            registration.actor().close();
+            meterRegistry.remove(registration.depthGauge());
+        }
+        transportRegistry.evict(delta.getId());
+    }
+
+    @Override
+    public void destroy() {
+        actors.values().forEach(registration -> registration.actor().close());
+        actors.clear();
+        executor.shutdownNow();
+    }
+
+    private CompletableFuture<Void> submit(Long stationId, ValveCommand command) {
+        if (stationId == null) {
+            throw new BadRequestException("工位 ID 不能为空");
+        }
+        StationCommandActor actor = actors.computeIfAbsent(stationId, this::createActor).actor();
+        return actor.submit(command).exceptionallyCompose(error -> CompletableFuture.failedFuture(translate(error)));
+    }
+
+    private ActorRegistration createActor(Long stationId) {
+        StationCommandActor actor = new StationCommandActor(
+            stationId,
+            () -> loadPlan(stationId),
+            plan -> transportRegistry.getTransport(plan.getStationId(), plan.getStationNo(), plan.getEndpoint()),
+            executor,
+            maxBatch,
+            meters
+        );
+        Meter depthGauge = Gauge.builder("valve.command.queue.depth", actor, StationCommandActor::getQueueDepth)
+            .tag("stationId", String.valueOf(stationId))
+            .description("工位阀门命令排队深度")
+            .register(meterRegistry);
+        return new ActorRegistration(actor, depthGauge);
+    }
+
+    private ValveWritePlan loadPlan(Long stationId) {
+        TestStation station = testStationService.getStationById(stationId);
+        if (!Boolean.TRUE.equals(station.getEnabled())) {
+            throw new BadRequestException(String.format("工位 %s 已禁用", station.getStationNo()));
+        }
+        return valveWritePlanCache.getPlan(station);
+    }
+
+    /**
+     * 将通信层异常转换为业务异常
+     */
+    private static Throwable translate(Throwable error) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        if (cause instanceof BusinessException) {
+            return cause;
+        }
+        if (cause instanceof TimeoutException) {
+            return new BusinessException(ErrorCode.VALVE_CONTROLLER_TIMEOUT, cause.getMessage());
+        }
+        if (cause instanceof ModbusException) {
+            return new BusinessException(ErrorCode.VALVE_CONTROLLER_ERROR, cause.getMessage());
+        }
+        return cause;
+    }
+
+    private record ActorRegistration(StationCommandActor actor, Meter depthGauge) {
+    }
+}
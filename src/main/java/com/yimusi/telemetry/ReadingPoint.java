@@ -0,0 +1,14 @@
+package com.yimusi.telemetry;
+
+import com.yimusi.enums.GasType;
+
+/**
+ * 遥测管道内部流转的单点读数，只保存原始类型字段以降低排队期间的内存占用。
+ *
+ * @param deviceId   检测设备ID
+ * @param gas        气体组分
+ * @param sampledAt  采样时间（epoch 毫秒）
+ * @param value      读数值
+ */
+public record ReadingPoint(long deviceId, GasType gas, long sampledAt, double value) {
+}
@@ -0,0 +1,111 @@
+package com.yimusi.telemetry;
+
+import java.util.Arrays;
+
+/**
+ * 按时间升序排列的单气体读数序列，使用原始类型数组存储，避免逐点装箱。
+ */
+public final class ReadingSeries {
+
+    private long[] timestamps;
+    private double[] values;
+    private int size;
+
+    public ReadingSeries() {
+        this(64);
+    }
+
+    public ReadingSeries(int initialCapacity) {
+        int capacity = Math.max(1, initialCapacity);
+        this.timestamps = new long[capacity];
+        this.values = new double[capacity];
+    }
+
+    /**
+     * 追加一个点，调用方需保证时间戳不小于已有的最后一个点
+     *
+     * @param timestamp epoch 毫秒
+     * @param value     读数值
+     */
+    public void add(long timestamp, double value) {
+        if (size == timestamps.length) {
+            int capacity = size << 1;
+            timestamps = Arrays.copyOf(timestamps, capacity);
+            values = Arrays.copyOf(values, capacity);
+        }
+        timestamps[size] = timestamp;
+        values[size] = value;
+        size++;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public long timestampAt(int index) {
+        return timestamps[index];
+    }
+
+    public double valueAt(int index) {
+        return values[index];
+    }
+
+    /**
+     * 返回时间戳数组的精确长度副本
+     *
+     * @return 时间戳数组
+     */
+    public long[] toTimestampArray() {
+        return Arrays.copyOf(timestamps, size);
+    }
+
+    /**
+     * 返回读数数组的精确长度副本
+     *
+     * @return 读数数组
+     */
+    public double[] toValueArray() {
+        return Arrays.copyOf(values, size);
+    }
+
+    /**
+     * 合并两个升序序列，结果仍按时间升序排列
+     *
+     * @param left  序列一
+     * @param right 序列二
+     * @return 合并后的新序列
+     */
+    public static ReadingSeries merge(ReadingSeries left, ReadingSeries right) {
+        if (right.isEmpty()) {
+            return left;
+        }
+        if (left.isEmpty()) {
+            return right;
+        }
+        ReadingSeries merged = new ReadingSeries(left.size + right.size);
+        int i = 0;
+        int j = 0;
+        while (i < left.size && j < right.size) {
+            if (left.timestamps[i] <= right.timestamps[j]) {
+                merged.add(left.timestamps[i], left.values[i]);
+                i++;
+            } else {
+                merged.add(right.timestamps[j], right.values[j]);
+                j++;
+            }
+        }
+        while (i < left.size) {
+            merged.add(left.timestamps[i], left.values[i]);
+            i++;
+        }
+        while (j < right.size) {
+            merged.add(right.timestamps[j], right.values[j]);
+            j++;
+        }
+        return merged;
+    }
+}
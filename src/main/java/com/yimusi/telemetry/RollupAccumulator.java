@@ -0,0 +1,104 @@
+package com.yimusi.telemetry;
+
+/**
+ * 单个时间桶的读数汇总累加器，只保存原始类型字段：
+ * 最小值、最大值、总和、点数以及时间最晚的读数。
+ * 平均值由总和与点数计算，因此两个累加器可以无损合并。
+ * 非线程安全。
+ */
+public final class RollupAccumulator {
+
+    private double min = Double.POSITIVE_INFINITY;
+    private double max = Double.NEGATIVE_INFINITY;
+    private double sum;
+    private long count;
+    private long lastTimestamp = Long.MIN_VALUE;
+    private double lastValue = Double.NaN;
+
+    /**
+     * 累加一个读数，NaN 读数被忽略
+     *
+     * @param timestamp 采样时间（epoch 毫秒）
+     * @param value     读数值
+     */
+    public void add(long timestamp, double value) {
+        if (Double.isNaN(value)) {
+            return;
+        }
+        if (value < min) {
+            min = value;
+        }
+        if (value > max) {
+            max = value;
+        }
+        sum += value;
+        count++;
+        if (timestamp >= lastTimestamp) {
+            lastTimestamp = timestamp;
+            lastValue = value;
+        }
+    }
+
+    /**
+     * 合并另一个时间桶（或同一时间桶的另一部分）的汇总结果
+     *
+     * @param otherMin           最小值
+     * @param otherMax           最大值
+     * @param otherSum           总和
+     * @param otherCount         点数
+     * @param otherLastTimestamp 最晚读数的采样时间
+     * @param otherLastValue     最晚读数
+     */
+    public void merge(
+        double otherMin,
+        double otherMax,
+        double otherSum,
+        long otherCount,
+        long otherLastTimestamp,
+        double otherLastValue
+    ) {
+        if (otherCount == 0) {
+            return;
+        }
+        min = Math.min(min, otherMin);
+        max = Math.max(max, otherMax);
+        sum += otherSum;
+        count += otherCount;
+        if (otherLastTimestamp >= lastTimestamp) {
+            lastTimestamp = otherLastTimestamp;
+            lastValue = otherLastValue;
+        }
+    }
+
+    public boolean isEmpty() {
+        return count == 0;
+    }
+
+    public double getMin() {
+        return min;
+    }
+
+    public double getMax() {
+        return max;
+    }
+
+    public double getSum() {
+        return sum;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public double getAverage() {
+        return count == 0 ? Double.NaN : sum / count;
+    }
+
+    public long getLastTimestamp() {
+        return lastTimestamp;
+    }
+
+    public double getLastValue() {
+        return lastValue;
+    }
+}
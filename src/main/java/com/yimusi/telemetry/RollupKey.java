@@ -0,0 +1,61 @@
+package com.yimusi.telemetry;
+
+import com.yimusi.enums.GasType;
+import com.yimusi.enums.ReadingResolution;
+import java.util.Comparator;
+
+/**
+ * 汇总时间桶标识：设备、气体、精度与时间桶起始时间。
+ * 自然顺序为 精度（粗到细）→ 设备 → 气体 → 时间，批量写入时按此顺序加锁，避免并发写入互相死锁。
+ *
+ * @param deviceId    设备ID
+ * @param gas         气体组分
+ * @param resolution  汇总精度
+ * @param bucketStart 时间桶起始时间（epoch 毫秒）
+ */
+public record RollupKey(long deviceId, GasType gas, ReadingResolution resolution, long bucketStart)
+    implements Comparable<RollupKey> {
+
+    private static final Comparator<RollupKey> ORDER = Comparator
+        .comparing(RollupKey::resolution, Comparator.reverseOrder())
+        .thenComparingLong(RollupKey::deviceId)
+        .thenComparing(RollupKey::gas)
+        .thenComparingLong(RollupKey::bucketStart);
+
+    /**
+     * 构造某一时间戳在指定精度下所属的时间桶
+     *
+     * @param deviceId   设备ID
+     * @param gas        气体组分
+     * @param resolution 汇总精度
+     * @param timestamp  采样时间（epoch 毫秒）
+     * @return 时间桶标识
+     */
+    public static RollupKey of(long deviceId, GasType gas, ReadingResolution resolution, long timestamp) {
+        return new RollupKey(deviceId, gas, resolution, resolution.bucketStart(timestamp));
+    }
+
+    /**
+     * 时间桶结束时间（不包含）
+     *
+     * @return epoch 毫秒
+     */
+    public long bucketEnd() {
+        return bucketStart + resolution.getBucketMillis();
+    }
+
+    /**
+     * 当前时间桶在更粗精度下所属的时间桶
+     *
+     * @param coarser 更粗的精度
+     * @return 上级时间桶标识
+     */
+    public RollupKey parent(ReadingResolution coarser) {
+        return of(deviceId, gas, coarser, bucketStart);
+    }
+
+    @Override
+    public int compareTo(RollupKey other) {
+        return ORDER.compare(this, other);
+    }
+}
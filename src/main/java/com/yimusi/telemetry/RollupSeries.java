@@ -0,0 +1,111 @@
+package com.yimusi.telemetry;
+
+import java.util.Arrays;
+
+/**
+ * 按时间桶升序排列的汇总序列，每个字段使用独立的原始类型数组存储。
+ */
+public final class RollupSeries {
+
+    private long[] bucketStarts;
+    private double[] mins;
+    private double[] maxs;
+    private double[] sums;
+    private long[] counts;
+    private long[] lastTimestamps;
+    private double[] lastValues;
+    private int size;
+
+    public RollupSeries() {
+        this(64);
+    }
+
+    public RollupSeries(int initialCapacity) {
+        int capacity = Math.max(1, initialCapacity);
+        bucketStarts = new long[capacity];
+        mins = new double[capacity];
+        maxs = new double[capacity];
+        sums = new double[capacity];
+        counts = new long[capacity];
+        lastTimestamps = new long[capacity];
+        lastValues = new double[capacity];
+    }
+
+    /**
+     * 追加一个时间桶，调用方需保证时间桶起始时间递增
+     */
+    public void add(long bucketStart, double min, double max, double sum, long count, long lastTimestamp, double lastValue) {
+        if (size == bucketStarts.length) {
+            int capacity = size << 1;
+            bucketStarts = Arrays.copyOf(bucketStarts, capacity);
+            mins = Arrays.copyOf(mins, capacity);
+            maxs = Arrays.copyOf(maxs, capacity);
+            sums = Arrays.copyOf(sums, capacity);
+            counts = Arrays.copyOf(counts, capacity);
+            lastTimestamps = Arrays.copyOf(lastTimestamps, capacity);
+            lastValues = Arrays.copyOf(lastValues, capacity);
+        }
+        bucketStarts[size] = bucketStart;
+        mins[size] = min;
+        maxs[size] = max;
+        sums[size] = sum;
+        counts[size] = count;
+        lastTimestamps[size] = lastTimestamp;
+        lastValues[size] = lastValue;
+        size++;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * 将全部时间桶合并为一个累加器，用于由细精度重算粗精度
+     *
+     * @return 合并结果
+     */
+    public RollupAccumulator toAccumulator() {
+        RollupAccumulator accumulator = new RollupAccumulator();
+        for (int i = 0; i < size; i++) {
+            accumulator.merge(mins[i], maxs[i], sums[i], counts[i], lastTimestamps[i], lastValues[i]);
+        }
+        return accumulator;
+    }
+
+    public long[] toBucketStartArray() {
+        return Arrays.copyOf(bucketStarts, size);
+    }
+
+    public double[] toMinArray() {
+        return Arrays.copyOf(mins, size);
+    }
+
+    public double[] toMaxArray() {
+        return Arrays.copyOf(maxs, size);
+    }
+
+    public long[] toCountArray() {
+        return Arrays.copyOf(counts, size);
+    }
+
+    public double[] toLastValueArray() {
+        return Arrays.copyOf(lastValues, size);
+    }
+
+    /**
+     * 计算每个时间桶的平均值
+     *
+     * @return 平均值数组
+     */
+    public double[] toAverageArray() {
+        double[] averages = new double[size];
+        for (int i = 0; i < size; i++) {
+            averages[i] = sums[i] / counts[i];
+        }
+        return averages;
+    }
+}
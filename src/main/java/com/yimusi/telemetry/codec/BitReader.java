@@ -0,0 +1,49 @@
+package com.yimusi.telemetry.codec;
+
+/**
+ * 按位读取器，与 {@link BitWriter} 的位序一致（MSB first）。
+ */
+final class BitReader {
+
+    private final long[] words;
+    private int position;
+
+    BitReader(byte[] bytes) {
+        this.words = new long[((bytes.length + 7) >>> 3) + 1];
+        for (int i = 0; i < bytes.length; i++) {
+            words[i >>> 3] |= (bytes[i] & 0xFFL) << (56 - ((i & 7) << 3));
+        }
+    }
+
+    /**
+     * 读取单个位
+     *
+     * @return true 表示 1
+     */
+    boolean readBit() {
+        return readBits(1) != 0;
+    }
+
+    /**
+     * 读取 n 位（1 ≤ n ≤ 64），以无符号形式返回
+     *
+     * @param n 位数
+     * @return 读取到的值
+     */
+    long readBits(int n) {
+        int wordIndex = position >>> 6;
+        int offset = position & 63;
+        int available = 64 - offset;
+        long result;
+        if (n <= available) {
+            result = (words[wordIndex] << offset) >>> (64 - n);
+        } else {
+            int spill = n - available;
+            long high = (words[wordIndex] << offset) >>> (64 - available);
+            long low = words[wordIndex + 1] >>> (64 - spill);
+            result = (high << spill) | low;
+        }
+        position += n;
+        return result;
+    }
+}
@@ -0,0 +1,66 @@
+package com.yimusi.telemetry.codec;
+
+import java.util.Arrays;
+
+/**
+ * 按位写入缓冲区，底层使用 long[] 存储，按高位在前（MSB first）的顺序追加位。
+ */
+final class BitWriter {
+
+    private long[] words;
+    private int bitCount;
+
+    BitWriter(int initialBits) {
+        this.words = new long[Math.max(2, (initialBits >>> 6) + 2)];
+    }
+
+    /**
+     * 写入单个位
+     *
+     * @param bit true 写入 1，false 写入 0
+     */
+    void writeBit(boolean bit) {
+        writeBits(bit ? 1L : 0L, 1);
+    }
+
+    /**
+     * 写入 value 的低 n 位（1 ≤ n ≤ 64）
+     *
+     * @param value 待写入的值
+     * @param n     位数
+     */
+    void writeBits(long value, int n) {
+        int wordIndex = bitCount >>> 6;
+        ensureCapacity(wordIndex + 2);
+        long masked = n == 64 ? value : value & ((1L << n) - 1);
+        int free = 64 - (bitCount & 63);
+        if (n <= free) {
+            words[wordIndex] |= masked << (free - n);
+        } else {
+            int spill = n - free;
+            words[wordIndex] |= masked >>> spill;
+            words[wordIndex + 1] |= masked << (64 - spill);
+        }
+        bitCount += n;
+    }
+
+    /**
+     * 导出为大端字节数组，长度为 ceil(已写入位数 / 8)
+     *
+     * @return 字节数组
+     */
+    byte[] toByteArray() {
+        int length = (bitCount + 7) >>> 3;
+        byte[] bytes = new byte[length];
+        for (int i = 0; i < length; i++) {
+            bytes[i] = (byte) (words[i >>> 3] >>> (56 - ((i & 7) << 3)));
+        }
+        return bytes;
+    }
+
+    private void ensureCapacity(int requiredWords) {
+        if (requiredWords > words.length) {
+            words = Arrays.copyOf(words, Math.max(requiredWords, words.length << 1));
+        }
+    }
+}
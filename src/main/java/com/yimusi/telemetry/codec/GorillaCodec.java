@@ -0,0 +1,187 @@
+package com.yimusi.telemetry.codec;
+
+import com.yimusi.telemetry.ReadingSeries;
+
+/**
+ * Gorilla 风格的时间序列压缩编解码器。
+ * <p>
+ * 数据块格式：
+ * <ul>
+ *   <li>头部：点数（32 位）、首个时间戳（64 位）、首个读数的原始位（64 位）；</li>
+ *   <li>时间戳：对相邻两点间隔的变化量（delta-of-delta）做变长编码，
+ *       控制位 0 / 10 / 110 / 1110 / 11110 / 11111 分别对应 0、7 位、9 位、12 位、32 位、64 位有符号数；</li>
+ *   <li>读数：与上一读数的位做异或，0 表示与上一值相同；否则复用上一次的前导零/尾随零窗口，
+ *       或写入新的窗口（5 位前导零 + 6 位有效位长度）后再写有效位。</li>
+ * </ul>
+ * 采样间隔稳定、读数变化平缓时，每个点通常只需 1~2 字节。
+ * </p>
+ */
+public final class GorillaCodec {
+
+    private static final int HEADER_BITS = 32 + 64 + 64;
+
+    private GorillaCodec() {
+        // 工具类，私有构造函数
+    }
+
+    /**
+     * 编码一组按时间升序排列的点
+     *
+     * @param series 读数序列，不能为空
+     * @return 压缩后的字节数组
+     */
+    public static byte[] encode(ReadingSeries series) {
+        int count = series.size();
+        if (count == 0) {
+            throw new IllegalArgumentException("序列不能为空");
+        }
+        BitWriter writer = new BitWriter(HEADER_BITS + count * 16);
+        long previousTimestamp = series.timestampAt(0);
+        long previousBits = Double.doubleToRawLongBits(series.valueAt(0));
+        writer.writeBits(count, 32);
+        writer.writeBits(previousTimestamp, 64);
+        writer.writeBits(previousBits, 64);
+
+        long previousDelta = 0;
+        int previousLeading = -1;
+        int previousTrailing = 0;
+        for (int i = 1; i < count; i++) {
+            long timestamp = series.timestampAt(i);
+            long delta = timestamp - previousTimestamp;
+            writeDeltaOfDelta(writer, delta - previousDelta);
+            previousDelta = delta;
+            previousTimestamp = timestamp;
+
+            long bits = Double.doubleToRawLongBits(series.valueAt(i));
+            long xor = bits ^ previousBits;
+            previousBits = bits;
+            if (xor == 0) {
+                writer.writeBit(false);
+                continue;
+            }
+            writer.writeBit(true);
+            int leading = Math.min(Long.numberOfLeadingZeros(xor), 31);
+            int trailing = Long.numberOfTrailingZeros(xor);
+            if (previousLeading >= 0 && leading >= previousLeading && trailing >= previousTrailing) {
+                writer.writeBit(false);
+                writer.writeBits(xor >>> previousTrailing, 64 - previousLeading - previousTrailing);
+            } else {
+                int significant = 64 - leading - trailing;
+                writer.writeBit(true);
+                writer.writeBits(leading, 5);
+                writer.writeBits(significant - 1, 6);
+                writer.writeBits(xor >>> trailing, significant);
+                previousLeading = leading;
+                previousTrailing = trailing;
+            }
+        }
+        return writer.toByteArray();
+    }
+
+    /**
+     * 读取数据块中的点数，无需解码整个数据块
+     *
+     * @param payload 压缩数据
+     * @return 点数
+     */
+    public static int readCount(byte[] payload) {
+        return (int) new BitReader(payload).readBits(32);
+    }
+
+    /**
+     * 解码数据块中时间戳位于 [from, to) 的点并追加到输出序列。
+     * 数据块内的点按时间升序排列，越过 to 后立即停止解码。
+     *
+     * @param payload 压缩数据
+     * @param from    起始时间（包含，epoch 毫秒）
+     * @param to      结束时间（不包含，epoch 毫秒）
+     * @param out     输出序列
+     */
+    public static void decode(byte[] payload, long from, long to, ReadingSeries out) {
+        BitReader reader = new BitReader(payload);
+        int count = (int) reader.readBits(32);
+        long timestamp = reader.readBits(64);
+        long bits = reader.readBits(64);
+        if (timestamp >= to) {
+            return;
+        }
+        if (timestamp >= from) {
+            out.add(timestamp, Double.longBitsToDouble(bits));
+        }
+
+        long delta = 0;
+        int leading = 0;
+        int trailing = 0;
+        for (int i = 1; i < count; i++) {
+            delta += readDeltaOfDelta(reader);
+            timestamp += delta;
+
+            if (reader.readBit()) {
+                if (reader.readBit()) {
+                    leading = (int) reader.readBits(5);
+                    int significant = (int) reader.readBits(6) + 1;
+                    trailing = 64 - leading - significant;
+                }
+                long xor = reader.readBits(64 - leading - trailing) << trailing;
+                bits ^= xor;
+            }
+
+            if (timestamp >= to) {
+                return;
+            }
+            if (timestamp >= from) {
+                out.add(timestamp, Double.longBitsToDouble(bits));
+            }
+        }
+    }
+
+    private static void writeDeltaOfDelta(BitWriter writer, long dod) {
+        if (dod == 0) {
+            writer.writeBit(false);
+        } else if (fits(dod, 7)) {
+            writer.writeBits(0b10, 2);
+            writer.writeBits(dod, 7);
+        } else if (fits(dod, 9)) {
+            writer.writeBits(0b110, 3);
+            writer.writeBits(dod, 9);
+        } else if (fits(dod, 12)) {
+            writer.writeBits(0b1110, 4);
+            writer.writeBits(dod, 12);
+        } else if (fits(dod, 32)) {
+            writer.writeBits(0b11110, 5);
+            writer.writeBits(dod, 32);
+        } else {
+            writer.writeBits(0b11111, 5);
+            writer.writeBits(dod, 64);
+        }
+    }
+
+    private static long readDeltaOfDelta(BitReader reader) {
+        if (!reader.readBit()) {
+            return 0;
+        }
+        if (!reader.readBit()) {
+            return signExtend(reader.readBits(7), 7);
+        }
+        if (!reader.readBit()) {
+            return signExtend(reader.readBits(9), 9);
+        }
+        if (!reader.readBit()) {
+            return signExtend(reader.readBits(12), 12);
+        }
+        if (!reader.readBit()) {
+            return signExtend(reader.readBits(32), 32);
+        }
+        return reader.readBits(64);
+    }
+
+    private static boolean fits(long value, int bits) {
+        long limit = 1L << (bits - 1);
+        return value >= -limit && value < limit;
+    }
+
+    private static long signExtend(long value, int bits) {
+        int shift = 64 - bits;
+        return (value << shift) >> shift;
+    }
+}
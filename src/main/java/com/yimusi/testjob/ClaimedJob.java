@@ -0,0 +1,26 @@
+package com.yimusi.testjob;
+
+import com.yimusi.enums.OilSampleUsage;
+
+/**
+ * 执行节点领取到的作业
+ *
+ * @param jobId       作业ID
+ * @param deviceId    检测设备ID
+ * @param usage       测试类型
+ * @param stationId   工位ID
+ * @param oilSampleId 油样ID
+ * @param cylinderNo  油缸编号
+ * @param attempt     本次是第几次尝试（从 1 开始）
+ * @param maxAttempts 最大尝试次数
+ */
+public record ClaimedJob(long jobId, long deviceId, OilSampleUsage usage, long stationId, long oilSampleId,
+                         int cylinderNo, int attempt, int maxAttempts) {
+
+    /**
+     * @return 失败后是否还可以重试
+     */
+    public boolean retryable() {
+        return attempt < maxAttempts;
+    }
+}
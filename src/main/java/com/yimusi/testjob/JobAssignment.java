@@ -0,0 +1,12 @@
+package com.yimusi.testjob;
+
+/**
+ * 调度结果：作业分配到的工位、油样与油缸
+ *
+ * @param jobId       作业ID
+ * @param stationId   工位ID
+ * @param oilSampleId 油样ID
+ * @param cylinderNo  油缸编号
+ */
+public record JobAssignment(long jobId, long stationId, long oilSampleId, int cylinderNo) {
+}
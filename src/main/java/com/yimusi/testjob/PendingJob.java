@@ -0,0 +1,22 @@
+package com.yimusi.testjob;
+
+import com.yimusi.enums.OilSampleUsage;
+import java.util.Comparator;
+
+/**
+ * 待调度作业
+ *
+ * @param jobId             作业ID
+ * @param usage             测试类型（油样用途）
+ * @param priority          优先级，越大越先调度
+ * @param requestedSampleId 指定的油样ID，可为空
+ * @param createdAtMillis   创建时间，同优先级先到先服务
+ */
+public record PendingJob(long jobId, OilSampleUsage usage, int priority, Long requestedSampleId, long createdAtMillis) {
+
+    /** 调度顺序：优先级降序、创建时间升序、ID 升序 */
+    public static final Comparator<PendingJob> ORDER = Comparator
+        .comparingInt(PendingJob::priority).reversed()
+        .thenComparingLong(PendingJob::createdAtMillis)
+        .thenComparingLong(PendingJob::jobId);
+}
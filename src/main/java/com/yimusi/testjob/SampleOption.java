@@ -0,0 +1,13 @@
+package com.yimusi.testjob;
+
+import com.yimusi.enums.OilSampleUsage;
+
+/**
+ * 可用油样
+ *
+ * @param sampleId   油样ID
+ * @param usage      油样用途
+ * @param cylinderNo 所在油缸编号
+ */
+public record SampleOption(long sampleId, OilSampleUsage usage, int cylinderNo) {
+}
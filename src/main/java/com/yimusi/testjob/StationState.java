@@ -0,0 +1,12 @@
+package com.yimusi.testjob;
+
+/**
+ * 调度时刻的工位占用状态
+ *
+ * @param stationId     工位ID
+ * @param capacity      可同时测试的设备数（工位槽位数）
+ * @param occupied      已被进行中的作业占用的槽位数
+ * @param boundSampleId 进行中的作业正在使用的油样ID，空闲工位为空
+ */
+public record StationState(long stationId, int capacity, int occupied, Long boundSampleId) {
+}
@@ -0,0 +1,22 @@
+package com.yimusi.testjob;
+
+/**
+ * 测试作业执行器，由执行节点的工作线程调用.
+ * <p>
+ * 执行期间作业租约由工作线程自动续约；租约丢失（被其他节点接管）或节点关闭时执行线程会被中断，
+ * 实现应及时响应中断并放弃本次执行.
+ * </p>
+ */
+@FunctionalInterface
+public interface TestJobExecutor {
+
+    /**
+     * 执行一次测试
+     *
+     * @param job 领取到的作业
+     * @return 测试结论与采样结果，作业完成后结论写入检测设备状态、采样结果保存在作业上
+     * @throws InterruptedException 执行被中断
+     * @throws Exception            执行失败，按作业的重试次数决定重试或失败
+     */
+    TestJobResult execute(ClaimedJob job) throws Exception;
+}
@@ -0,0 +1,17 @@
+package com.yimusi.testjob;
+
+import com.yimusi.common.model.GasVector;
+import com.yimusi.enums.InspectionDeviceStatus;
+
+/**
+ * 测试作业执行结果
+ *
+ * @param status       测试结论，写入检测设备状态
+ * @param measurements 采样窗口内各气体的读数均值，没有采样步骤时为空
+ */
+public record TestJobResult(InspectionDeviceStatus status, GasVector measurements) {
+
+    public TestJobResult {
+        measurements = measurements == null ? GasVector.EMPTY : measurements;
+    }
+}
@@ -0,0 +1,271 @@
+package com.yimusi.testjob;
+
+import com.yimusi.enums.OilSampleUsage;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * 测试作业调度算法（纯内存，无副作用）.
+ * <p>
+ * 占用模型：
+ * <ul>
+ *   <li>工位有若干槽位，同一时刻工位上的所有设备共用一路油样（由电磁阀切换），即工位绑定一个油样；</li>
+ *   <li>一个油缸同一时刻只能接入一个工位.</li>
+ * </ul>
+ * 调度过程：待调度作业按（测试类型，指定油样）分组，组内按优先级排序，各组以组内最高优先级的作业进入优先队列.
+ * 每次取出最高优先级的组：
+ * <ol>
+ *   <li>优先填入已绑定兼容油样且有空余槽位的工位，不额外占用油缸；</li>
+ *   <li>否则取一个油缸空闲的兼容油样，按最佳适配选择空闲工位（剩余作业数能装满的最小工位，装不满时取最大工位）；</li>
+ *   <li>一次尽量装满该工位的空余槽位，组内仍有作业时重新入队.</li>
+ * </ol>
+ * 无法再获得工位或油样的组本轮不再调度. 复杂度约为 O(J log G + G·S)，J 为作业数、G 为分组数、S 为油样数.
+ * </p>
+ */
+public final class TestJobScheduler {
+
+    private TestJobScheduler() {
+    }
+
+    /**
+     * 计算本轮分配结果
+     *
+     * @param jobs          待调度作业
+     * @param stations      启用工位的当前占用状态
+     * @param samples       启用的油样
+     * @param busyCylinders 已被进行中的作业占用的油缸编号
+     * @return 分配结果，按分配顺序排列
+     */
+    public static List<JobAssignment> schedule(Collection<PendingJob> jobs, Collection<StationState> stations,
+                                               Collection<SampleOption> samples, Set<Integer> busyCylinders) {
+        Map<Long, SampleOption> samplesById = new HashMap<>();
+        Map<OilSampleUsage, ArrayDeque<SampleOption>> freeSamples = new EnumMap<>(OilSampleUsage.class);
+        for (SampleOption sample : samples) {
+            samplesById.put(sample.sampleId(), sample);
+            if (!busyCylinders.contains(sample.cylinderNo())) {
+                freeSamples.computeIfAbsent(sample.usage(), usage -> new ArrayDeque<>()).add(sample);
+            }
+        }
+        Allocation allocation = new Allocation(samplesById, freeSamples, new HashSet<>(busyCylinders));
+        for (StationState station : stations) {
+            allocation.addStation(station);
+        }
+
+        Map<GroupKey, JobGroup> groups = new HashMap<>();
+        for (PendingJob job : jobs) {
+            groups.computeIfAbsent(new GroupKey(job.usage(), job.requestedSampleId()), JobGroup::new).jobs.add(job);
+        }
+        PriorityQueue<JobGroup> queue = new PriorityQueue<>(Math.max(1, groups.size()),
+            (left, right) -> PendingJob.ORDER.compare(left.head(), right.head()));
+        for (JobGroup group : groups.values()) {
+            group.jobs.sort(PendingJob.ORDER);
+            queue.add(group);
+        }
+
+        List<JobAssignment> assignments = new ArrayList<>(Math.min(jobs.size(), allocation.totalFreeSlots));
+        while (!queue.isEmpty() && allocation.totalFreeSlots > 0) {
+            JobGroup group = queue.poll();
+            Slot slot = allocation.takePartial(group.key);
+            if (slot == null) {
+                slot = allocation.openIdle(group.key, group.remaining());
+            }
+            if (slot == null) {
+                continue;
+            }
+            int count = Math.min(slot.free, group.remaining());
+            for (int i = 0; i < count; i++) {
+                PendingJob job = group.next();
+                assignments.add(new JobAssignment(job.jobId(), slot.stationId, slot.sample.sampleId(), slot.sample.cylinderNo()));
+            }
+            slot.free -= count;
+            allocation.totalFreeSlots -= count;
+            if (slot.free > 0) {
+                allocation.addPartial(slot);
+            }
+            if (group.remaining() > 0) {
+                queue.add(group);
+            }
+        }
+        return assignments;
+    }
+
+    private record GroupKey(OilSampleUsage usage, Long requestedSampleId) {
+    }
+
+    private static final class JobGroup {
+
+        private final GroupKey key;
+        private final List<PendingJob> jobs = new ArrayList<>();
+        private int cursor;
+
+        private JobGroup(GroupKey key) {
+            this.key = key;
+        }
+
+        private PendingJob head() {
+            return jobs.get(cursor);
+        }
+
+        private PendingJob next() {
+            return jobs.get(cursor++);
+        }
+
+        private int remaining() {
+            return jobs.size() - cursor;
+        }
+    }
+
+    /**
+     * 工位的可用槽位及其绑定的油样
+     */
+    private static final class Slot {
+
+        private final long stationId;
+        private int free;
+        private SampleOption sample;
+
+        private Slot(long stationId, int free, SampleOption sample) {
+            this.stationId = stationId;
+            this.free = free;
+            this.sample = sample;
+        }
+    }
+
+    /**
+     * 工位与油缸的占用模型
+     */
+    private static final class Allocation {
+
+        private final Map<Long, SampleOption> samplesById;
+        private final Map<OilSampleUsage, ArrayDeque<SampleOption>> freeSamples;
+        private final Set<Integer> boundCylinders;
+        /** 空闲工位，按空余槽位数索引 */
+        private final TreeMap<Integer, ArrayDeque<Slot>> idleStations = new TreeMap<>();
+        /** 已绑定油样且有空余槽位的工位，按油样索引 */
+        private final Map<Long, ArrayDeque<Slot>> partialStations = new HashMap<>();
+        /** 各用途下存在部分占用工位的油样 */
+        private final Map<OilSampleUsage, Set<Long>> partialSamplesByUsage = new EnumMap<>(OilSampleUsage.class);
+        private int totalFreeSlots;
+
+        private Allocation(Map<Long, SampleOption> samplesById, Map<OilSampleUsage, ArrayDeque<SampleOption>> freeSamples,
+                           Set<Integer> boundCylinders) {
+            this.samplesById = samplesById;
+            this.freeSamples = freeSamples;
+            this.boundCylinders = boundCylinders;
+        }
+
+        private void addStation(StationState station) {
+            int free = station.capacity() - station.occupied();
+            if (free <= 0) {
+                return;
+            }
+            if (station.boundSampleId() == null) {
+                idleStations.computeIfAbsent(free, key -> new ArrayDeque<>()).add(new Slot(station.stationId(), free, null));
+                totalFreeSlots += free;
+                return;
+            }
+            SampleOption sample = samplesById.get(station.boundSampleId());
+            if (sample == null) {
+                // 绑定的油样已禁用，工位在现有作业结束前不再接收新作业
+                return;
+            }
+            addPartial(new Slot(station.stationId(), free, sample));
+            totalFreeSlots += free;
+        }
+
+        private void addPartial(Slot slot) {
+            long sampleId = slot.sample.sampleId();
+            partialStations.computeIfAbsent(sampleId, key -> new ArrayDeque<>()).addFirst(slot);
+            partialSamplesByUsage.computeIfAbsent(slot.sample.usage(), key -> new LinkedHashSet<>()).add(sampleId);
+        }
+
+        /**
+         * 取一个已绑定兼容油样且有空余槽位的工位
+         */
+        private Slot takePartial(GroupKey key) {
+            if (key.requestedSampleId() != null) {
+                SampleOption sample = samplesById.get(key.requestedSampleId());
+                return sample == null || sample.usage() != key.usage() ? null : pollPartial(sample.sampleId());
+            }
+            Set<Long> sampleIds = partialSamplesByUsage.get(key.usage());
+            if (sampleIds == null) {
+                return null;
+            }
+            for (Long sampleId : sampleIds) {
+                Slot slot = pollPartial(sampleId);
+                if (slot != null) {
+                    return slot;
+                }
+            }
+            return null;
+        }
+
+        private Slot pollPartial(long sampleId) {
+            ArrayDeque<Slot> slots = partialStations.get(sampleId);
+            Slot slot = slots == null ? null : slots.poll();
+            if (slots != null && slots.isEmpty()) {
+                partialStations.remove(sampleId);
+                Set<Long> sampleIds = partialSamplesByUsage.get(samplesById.get(sampleId).usage());
+                sampleIds.remove(sampleId);
+            }
+            return slot;
+        }
+
+        /**
+         * 为分组绑定一个空闲油缸上的油样与一个空闲工位
+         */
+        private Slot openIdle(GroupKey key, int demand) {
+            if (idleStations.isEmpty()) {
+                return null;
+            }
+            SampleOption sample = takeFreeSample(key);
+            if (sample == null) {
+                return null;
+            }
+            Map.Entry<Integer, ArrayDeque<Slot>> entry = idleStations.ceilingEntry(demand);
+            if (entry == null) {
+                entry = idleStations.lastEntry();
+            }
+            Slot slot = entry.getValue().poll();
+            if (entry.getValue().isEmpty()) {
+                idleStations.remove(entry.getKey());
+            }
+            slot.sample = sample;
+            boundCylinders.add(sample.cylinderNo());
+            return slot;
+        }
+
+        private SampleOption takeFreeSample(GroupKey key) {
+            if (key.requestedSampleId() != null) {
+                SampleOption sample = samplesById.get(key.requestedSampleId());
+                if (sample == null || sample.usage() != key.usage() || boundCylinders.contains(sample.cylinderNo())) {
+                    return null;
+                }
+                ArrayDeque<SampleOption> free = freeSamples.get(sample.usage());
+                if (free != null) {
+                    free.remove(sample);
+                }
+                return sample;
+            }
+            ArrayDeque<SampleOption> free = freeSamples.get(key.usage());
+            while (free != null && !free.isEmpty()) {
+                SampleOption sample = free.poll();
+                // 同一油缸可能登记了多个油样，已被其他油样占用的跳过
+                if (!boundCylinders.contains(sample.cylinderNo())) {
+                    return sample;
+                }
+            }
+            return null;
+        }
+    }
+}
@@ -0,0 +1,329 @@
+package com.yimusi.testjob;
+
+import com.yimusi.dto.live.LiveStateDelta;
+import com.yimusi.entity.InspectionDevice;
+import com.yimusi.enums.InspectionDeviceStatus;
+import com.yimusi.repository.InspectionDeviceRepository;
+import com.yimusi.repository.TestJobQueueRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.lang.management.ManagementFactory;
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * 测试作业执行节点.
+ * <p>
+ * 每个后端节点运行一个领取线程：按空闲执行槽位数从 {@link TestJobQueueRepository} 领取一批作业，
+ * 每个作业在独立的虚拟线程中交给 {@link TestJobExecutor} 执行. 心跳线程定期为执行中的作业续约，
+ * 续约失败（租约已过期并被其他节点接管）的作业会被中断. 执行失败时按尝试次数退避重试，
+ * 用尽后作业失败、设备退回待检. 节点崩溃时租约到期后作业由其他节点重新领取；
+ * 正常关闭时主动交还租约.
+ * </p>
+ * 容器中没有 {@link TestJobExecutor} 时不启动.
+ */
+@Slf4j
+@Component
+public class TestJobWorker implements SmartLifecycle {
+
+    private static final int REAP_LIMIT = 100;
+    private static final int MAX_CLAIM_BATCH = 64;
+
+    private final TestJobQueueRepository queueRepository;
+    private final InspectionDeviceRepository deviceRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ObjectProvider<TestJobExecutor> executorProvider;
+    private final MeterRegistry meterRegistry;
+    private final Counter claimedCounter;
+    private final Counter leaseLostCounter;
+    private final String generatedNodeId;
+
+    @Value("${yimusi.test-job.worker.enabled:true}")
+    private boolean enabled;
+
+    @Value("${yimusi.test-job.worker.node-id:}")
+    private String nodeId;
+
+    @Value("${yimusi.test-job.worker.concurrency:256}")
+    private int concurrency;
+
+    @Value("${yimusi.test-job.worker.poll-interval:PT2S}")
+    private Duration pollInterval;
+
+    @Value("${yimusi.test-job.worker.lease-duration:PT1M}")
+    private Duration leaseDuration;
+
+    @Value("${yimusi.test-job.worker.heartbeat-interval:PT15S}")
+    private Duration heartbeatInterval;
+
+    @Value("${yimusi.test-job.worker.retry-backoff:PT30S}")
+    private Duration retryBackoff;
+
+    private final Map<Long, Future<?>> inFlight = new ConcurrentHashMap<>();
+    private final ExecutorService jobThreads =
+        Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("test-job-", 0).factory());
+    private ScheduledExecutorService heartbeatThread;
+    private Thread pollerThread;
+    private TestJobExecutor executor;
+    private volatile boolean running;
+
+    public TestJobWorker(TestJobQueueRepository queueRepository,
+                         InspectionDeviceRepository deviceRepository,
+                         TransactionTemplate transactionTemplate,
+                         ApplicationEventPublisher eventPublisher,
+                         ObjectProvider<TestJobExecutor> executorProvider,
+                         MeterRegistry meterRegistry) {
+        this.queueRepository = queueRepository;
+        this.deviceRepository = deviceRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.eventPublisher = eventPublisher;
+        this.executorProvider = executorProvider;
+        this.meterRegistry = meterRegistry;
+        this.claimedCounter = Counter.builder("test.job.claimed").description("本节点领取的测试作业数").register(meterRegistry);
+        this.leaseLostCounter = Counter.builder("test.job.lease.lost").description("续约失败被中断的测试作业数").register(meterRegistry);
+        Gauge.builder("test.job.inflight", inFlight, Map::size).description("本节点执行中的测试作业数").register(meterRegistry);
+        this.generatedNodeId = defaultNodeId();
+    }
+
+    /**
+     * @return 本节点在租约中使用的标识
+     */
+    public String getNodeId() {
+        return nodeId == null || nodeId.isBlank() ? generatedNodeId : nodeId;
+    }
+
+    /**
+     * @return 本节点执行中的作业数
+     */
+    public int getInFlightCount() {
+        return inFlight.size();
+    }
+
+    @Override
+    public synchronized void start() {
+        if (running || !enabled) {
+            return;
+        }
+        executor = executorProvider.getIfAvailable();
+        if (executor == null) {
+            log.info("未配置测试作业执行器，本节点不领取测试作业");
+            return;
+        }
+        running = true;
+        heartbeatThread = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "test-job-heartbeat");
+            thread.setDaemon(true);
+            return thread;
+        });
+        heartbeatThread.scheduleWithFixedDelay(this::heartbeat, heartbeatInterval.toMillis(), heartbeatInterval.toMillis(),
+            TimeUnit.MILLISECONDS);
+        pollerThread = new Thread(this::runPoller, "test-job-poller");
+        pollerThread.setDaemon(true);
+        pollerThread.start();
+        log.info("测试作业执行节点已启动: nodeId={}, concurrency={}, leaseDuration={}", getNodeId(), concurrency, leaseDuration);
+    }
+
+    @Override
+    public synchronized void stop() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        LockSupport.unpark(pollerThread);
+        try {
+            pollerThread.join(TimeUnit.SECONDS.toMillis(10));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        heartbeatThread.shutdownNow();
+        inFlight.values().forEach(future -> future.cancel(true));
+        inFlight.clear();
+        jobThreads.shutdown();
+        try {
+            jobThreads.awaitTermination(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        Integer released = transactionTemplate.execute(status -> queueRepository.releaseLeases(getNodeId(), Instant.now()));
+        log.info("测试作业执行节点已停止，交还作业 {} 条", released);
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void runPoller() {
+        while (running) {
+            int claimed;
+            try {
+                claimed = pollOnce();
+            } catch (Exception e) {
+                log.error("领取测试作业失败", e);
+                claimed = 0;
+            }
+            // 无作业或槽位已满时等待，作业结束时会提前唤醒
+            if (claimed == 0 && running) {
+                LockSupport.parkNanos(pollInterval.toNanos());
+            }
+        }
+    }
+
+    /**
+     * 执行一轮领取：先清理租约过期且无法重试的作业，再按空闲槽位领取并提交执行
+     *
+     * @return 本轮领取的作业数
+     */
+    int pollOnce() {
+        Instant now = Instant.now();
+        List<Long> failedDevices = transactionTemplate.execute(status -> queueRepository.failExpired(now, REAP_LIMIT));
+        publishDeviceStatus(failedDevices, InspectionDeviceStatus.PENDING_INSPECTION);
+
+        int free = Math.min(concurrency - inFlight.size(), MAX_CLAIM_BATCH);
+        if (free <= 0) {
+            return 0;
+        }
+        List<ClaimedJob> claimed = transactionTemplate.execute(
+            status -> queueRepository.claim(getNodeId(), free, now, now.plus(leaseDuration)));
+        if (claimed == null || claimed.isEmpty()) {
+            return 0;
+        }
+        claimedCounter.increment(claimed.size());
+        publishDeviceStatus(claimed.stream().map(ClaimedJob::deviceId).toList(), InspectionDeviceStatus.UNDER_INSPECTION);
+        for (ClaimedJob job : claimed) {
+            FutureTask<Void> task = new FutureTask<>(() -> runJob(job), null);
+            inFlight.put(job.jobId(), task);
+            jobThreads.execute(task);
+        }
+        return claimed.size();
+    }
+
+    /**
+     * 为执行中的作业续约，中断已丢失租约的作业
+     */
+    void heartbeat() {
+        if (inFlight.isEmpty()) {
+            return;
+        }
+        Set<Long> lost = new HashSet<>(inFlight.keySet());
+        try {
+            lost.removeAll(queueRepository.renewLeases(getNodeId(), lost, Instant.now().plus(leaseDuration)));
+        } catch (DataAccessException e) {
+            // 数据库暂时不可用时保持执行，租约到期前仍有机会续约
+            log.warn("测试作业续约失败: {}", e.getMessage());
+            return;
+        }
+        for (Long jobId : lost) {
+            Future<?> future = inFlight.get(jobId);
+            if (future != null && future.cancel(true)) {
+                // 尚未开始执行的任务被取消后不会再运行，需要在这里移除
+                inFlight.remove(jobId);
+                leaseLostCounter.increment();
+                log.warn("测试作业租约已丢失，中断执行: jobId={}", jobId);
+            }
+        }
+    }
+
+    private void runJob(ClaimedJob job) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "failed";
+        try {
+            TestJobResult result = executor.execute(job);
+            if (result == null || result.status() == null) {
+                throw new IllegalStateException("执行器未返回测试结论");
+            }
+            Boolean completed = transactionTemplate.execute(
+                status -> queueRepository.complete(job, getNodeId(), result, Instant.now()));
+            if (Boolean.TRUE.equals(completed)) {
+                outcome = "succeeded";
+                publishDeviceStatus(List.of(job.deviceId()), result.status());
+            } else {
+                outcome = "lost";
+            }
+        } catch (InterruptedException e) {
+            // 租约丢失或节点关闭，作业状态交由新的持有者或 releaseLeases 处理
+            outcome = "interrupted";
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            outcome = Thread.currentThread().isInterrupted() ? "interrupted" : handleFailure(job, e);
+        } finally {
+            inFlight.remove(job.jobId());
+            sample.stop(meterRegistry.timer("test.job.execution", "outcome", outcome));
+            if (pollerThread != null) {
+                LockSupport.unpark(pollerThread);
+            }
+        }
+    }
+
+    private String handleFailure(ClaimedJob job, Exception e) {
+        String error = e.getMessage() == null ? e.getClass().getSimpleName() : e.getMessage();
+        Instant now = Instant.now();
+        if (job.retryable()) {
+            // 退避时间随尝试次数线性增长
+            Instant nextAttemptAt = now.plus(retryBackoff.multipliedBy(job.attempt()));
+            transactionTemplate.execute(status -> queueRepository.retry(job, getNodeId(), error, nextAttemptAt));
+            log.warn("测试作业执行失败，等待重试: jobId={}, attempt={}/{}, error={}",
+                job.jobId(), job.attempt(), job.maxAttempts(), error);
+            return "retried";
+        }
+        Boolean failed = transactionTemplate.execute(status -> queueRepository.fail(job, getNodeId(), error, now));
+        if (Boolean.TRUE.equals(failed)) {
+            publishDeviceStatus(List.of(job.deviceId()), InspectionDeviceStatus.PENDING_INSPECTION);
+        }
+        log.error("测试作业执行失败，重试次数已用尽: jobId={}, attempts={}", job.jobId(), job.attempt(), e);
+        return "failed";
+    }
+
+    /**
+     * 发布设备状态变更，由实时状态广播器推送
+     */
+    private void publishDeviceStatus(List<Long> deviceIds, InspectionDeviceStatus status) {
+        if (deviceIds == null || deviceIds.isEmpty()) {
+            return;
+        }
+        for (InspectionDevice device : deviceRepository.findAllById(deviceIds)) {
+            if (device.getProjectId() == null) {
+                continue;
+            }
+            LiveStateDelta delta = LiveStateDelta.device(device.getId(), device.getProjectId(), device.getDeviceNo());
+            delta.setStatus(status);
+            eventPublisher.publishEvent(delta);
+        }
+    }
+
+    private static String defaultNodeId() {
+        String host;
+        try {
+            host = InetAddress.getLocalHost().getHostName();
+        } catch (UnknownHostException e) {
+            host = "unknown";
+        }
+        return host + ":" + ManagementFactory.getRuntimeMXBean().getPid() + ":" + UUID.randomUUID().toString().substring(0, 8);
+    }
+}
@@ -0,0 +1,135 @@
+package com.yimusi.testrun;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.LinkedBlockingQueue;
+
+/**
+ * 结构化的子任务作用域，语义与 {@code StructuredTaskScope.ShutdownOnFailure} 一致.
+ * <p>
+ * 子任务在虚拟线程中执行，生命周期不超过作用域：{@link #join()} 等待全部子任务，任一子任务失败时取消其余子任务；
+ * {@link #close()} 取消未完成的子任务并等待其退出. {@link #cancel()} 可由其他线程调用，
+ * 中断所属线程与全部子任务，用于整体取消一次测试运行.
+ * </p>
+ * 除 {@link #cancel()} 外的方法只能由创建作用域的线程调用.
+ * （Java 21 中 StructuredTaskScope 仍为预览特性，项目未开启 --enable-preview，故以此实现相同的约束）
+ */
+public final class RunScope implements AutoCloseable {
+
+    private final Thread owner = Thread.currentThread();
+    private final ExecutorService executor;
+    private final List<FutureTask<?>> subtasks = new ArrayList<>();
+    private final BlockingQueue<FutureTask<?>> completed = new LinkedBlockingQueue<>();
+    private int outstanding;
+    private volatile boolean cancelled;
+
+    public RunScope(String name) {
+        this.executor = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name(name + "-", 0).factory());
+    }
+
+    /**
+     * 在新的虚拟线程中启动子任务
+     *
+     * @param task 子任务
+     * @return 子任务结果，{@link #join()} 成功返回后可直接读取
+     */
+    public <T> Future<T> fork(Callable<T> task) {
+        ensureOwner();
+        if (cancelled) {
+            throw new CancellationException("作用域已取消");
+        }
+        FutureTask<T> subtask = new FutureTask<>(task) {
+            @Override
+            protected void done() {
+                completed.add(this);
+            }
+        };
+        synchronized (subtasks) {
+            subtasks.add(subtask);
+        }
+        outstanding++;
+        executor.execute(subtask);
+        return subtask;
+    }
+
+    /**
+     * 等待已启动的全部子任务完成；任一子任务失败时取消其余子任务并抛出其异常
+     *
+     * @throws InterruptedException 所属线程被中断（包括作用域被取消）
+     * @throws ExecutionException   子任务失败
+     */
+    public void join() throws InterruptedException, ExecutionException {
+        ensureOwner();
+        try {
+            while (outstanding > 0) {
+                FutureTask<?> subtask = completed.take();
+                outstanding--;
+                if (subtask.isCancelled()) {
+                    continue;
+                }
+                try {
+                    subtask.get();
+                } catch (ExecutionException e) {
+                    cancelSubtasks();
+                    throw e;
+                }
+            }
+            if (cancelled) {
+                throw new InterruptedException("作用域已取消");
+            }
+        } catch (InterruptedException e) {
+            cancelSubtasks();
+            throw e;
+        }
+    }
+
+    /**
+     * 取消作用域：中断全部子任务与所属线程，可由任意线程调用
+     */
+    public void cancel() {
+        cancelled = true;
+        cancelSubtasks();
+        owner.interrupt();
+    }
+
+    /**
+     * @return 作用域是否已被取消
+     */
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    /**
+     * 取消未完成的子任务并等待全部子任务线程退出
+     */
+    @Override
+    public void close() {
+        ensureOwner();
+        cancelSubtasks();
+        executor.shutdownNow();
+        // ExecutorService#close 等待已中断的子任务退出，期间的中断在返回后恢复
+        executor.close();
+    }
+
+    private void cancelSubtasks() {
+        synchronized (subtasks) {
+            for (FutureTask<?> subtask : subtasks) {
+                subtask.cancel(true);
+            }
+        }
+    }
+
+    private void ensureOwner() {
+        if (Thread.currentThread() != owner) {
+            throw new IllegalStateException("RunScope 只能由创建它的线程使用");
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package com.yimusi.testrun;
+
+/**
+ * 工位上的测试作业已被取消，执行节点据此中断本节点上该工位的测试运行
+ *
+ * @param stationId 工位ID
+ */
+public record StationRunsCancelledEvent(Long stationId) {
+}
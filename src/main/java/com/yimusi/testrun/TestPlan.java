@@ -0,0 +1,21 @@
+package com.yimusi.testrun;
+
+import com.yimusi.enums.InspectionDeviceStatus;
+import com.yimusi.enums.OilSampleUsage;
+import java.util.List;
+
+/**
+ * 单台设备的测试计划：按顺序执行的步骤，以及合格 / 不合格时写入设备的状态
+ *
+ * @param usage      测试类型
+ * @param steps      测试步骤
+ * @param passStatus 合格（或无比较步骤）时的设备状态
+ * @param failStatus 比较不合格时的设备状态
+ */
+public record TestPlan(OilSampleUsage usage, List<TestStep> steps, InspectionDeviceStatus passStatus,
+                       InspectionDeviceStatus failStatus) {
+
+    public TestPlan {
+        steps = List.copyOf(steps);
+    }
+}
@@ -0,0 +1,82 @@
+package com.yimusi.testrun;
+
+import com.yimusi.enums.InspectionDeviceStatus;
+import com.yimusi.enums.OilSampleUsage;
+import jakarta.annotation.PostConstruct;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * 各测试类型的测试计划.
+ * <ul>
+ *   <li>清洗：切换阀门 → 冲刷，完成后设备回到待检；</li>
+ *   <li>标定 / 交叉敏感性测试：切换阀门 → 等待稳定 → 采样 → 与参考值比较，合格为已标定，否则返修；</li>
+ *   <li>出厂测试：同上，合格为出厂合格，否则出厂不合格.</li>
+ * </ul>
+ */
+@Component
+public class TestPlanCatalog {
+
+    @Value("${yimusi.test-run.valve-timeout:PT10S}")
+    private Duration valveTimeout;
+
+    @Value("${yimusi.test-run.cleaning-duration:PT5M}")
+    private Duration cleaningDuration;
+
+    @Value("${yimusi.test-run.stabilization.min-wait:PT30S}")
+    private Duration stabilizationMinWait;
+
+    @Value("${yimusi.test-run.stabilization.max-wait:PT10M}")
+    private Duration stabilizationMaxWait;
+
+    @Value("${yimusi.test-run.stabilization.window:PT30S}")
+    private Duration stabilizationWindow;
+
+    @Value("${yimusi.test-run.stabilization.tolerance:0.02}")
+    private double stabilizationTolerance;
+
+    @Value("${yimusi.test-run.sample-window:PT1M}")
+    private Duration sampleWindow;
+
+    @Value("${yimusi.test-run.compare.tolerance:0.05}")
+    private double compareTolerance;
+
+    @Value("${yimusi.test-run.compare.absolute-tolerance:1.0}")
+    private double compareAbsoluteTolerance;
+
+    private final Map<OilSampleUsage, TestPlan> plans = new EnumMap<>(OilSampleUsage.class);
+
+    @PostConstruct
+    void init() {
+        TestStep switchValves = new TestStep.SwitchValves(valveTimeout);
+        List<TestStep> measure = List.of(
+            switchValves,
+            new TestStep.Stabilize(stabilizationMinWait, stabilizationMaxWait, stabilizationWindow, stabilizationTolerance),
+            new TestStep.SampleReadings(sampleWindow),
+            new TestStep.CompareToReference(compareTolerance, compareAbsoluteTolerance)
+        );
+        plans.put(OilSampleUsage.CLEANING, new TestPlan(OilSampleUsage.CLEANING,
+            List.of(switchValves, new TestStep.Hold(cleaningDuration)),
+            InspectionDeviceStatus.PENDING_INSPECTION, InspectionDeviceStatus.PENDING_INSPECTION));
+        plans.put(OilSampleUsage.CALIBRATION, new TestPlan(OilSampleUsage.CALIBRATION, measure,
+            InspectionDeviceStatus.CALIBRATED, InspectionDeviceStatus.UNDER_REPAIR));
+        plans.put(OilSampleUsage.CROSS_SENSITIVITY_TEST, new TestPlan(OilSampleUsage.CROSS_SENSITIVITY_TEST, measure,
+            InspectionDeviceStatus.CALIBRATED, InspectionDeviceStatus.UNDER_REPAIR));
+        plans.put(OilSampleUsage.FACTORY_TEST, new TestPlan(OilSampleUsage.FACTORY_TEST, measure,
+            InspectionDeviceStatus.FACTORY_QUALIFIED, InspectionDeviceStatus.FACTORY_UNQUALIFIED));
+    }
+
+    /**
+     * 获取测试类型对应的计划
+     *
+     * @param usage 测试类型
+     * @return 测试计划
+     */
+    public TestPlan getPlan(OilSampleUsage usage) {
+        return plans.get(usage);
+    }
+}
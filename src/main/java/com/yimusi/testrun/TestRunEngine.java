@@ -0,0 +1,326 @@
+package com.yimusi.testrun;
+
+import com.yimusi.common.exception.TestRunException;
+import com.yimusi.common.model.GasVector;
+import com.yimusi.entity.OilSample;
+import com.yimusi.enums.GasType;
+import com.yimusi.repository.OilSampleRepository;
+import com.yimusi.service.OilCylinderService;
+import com.yimusi.service.ReadingStorageService;
+import com.yimusi.service.ValveCommandService;
+import com.yimusi.telemetry.ReadingSeries;
+import com.yimusi.testjob.ClaimedJob;
+import com.yimusi.testjob.TestJobExecutor;
+import com.yimusi.testjob.TestJobResult;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * 测试执行引擎.
+ * <p>
+ * 每台设备的一次测试按 {@link TestPlan} 顺序执行步骤，运行在执行节点分配的虚拟线程中，
+ * 步骤内的并行读数查询作为子任务运行在该次测试的 {@link RunScope} 内. 同一工位的测试运行登记在一起，
+ * 取消工位时中断其全部测试运行及子任务. 每次测试只保留各气体窗口均值，内存占用与并发数成正比且很小，
+ * 单节点可同时承载数百个测试运行（并发上限由 yimusi.test-job.worker.concurrency 控制）.
+ * </p>
+ * 指标：test.run（整次测试耗时，按测试类型、结果）、test.run.step（单步耗时，按步骤、结果）、test.run.active.
+ */
+@Slf4j
+@Component
+public class TestRunEngine implements TestJobExecutor {
+
+    private final TestPlanCatalog planCatalog;
+    private final ValveCommandService valveCommandService;
+    private final ReadingStorageService readingStorageService;
+    private final OilSampleRepository oilSampleRepository;
+    private final OilCylinderService oilCylinderService;
+    private final MeterRegistry meterRegistry;
+    private final Map<Long, Set<RunScope>> stationRuns = new ConcurrentHashMap<>();
+    private final AtomicInteger activeRuns = new AtomicInteger();
+
+    public TestRunEngine(TestPlanCatalog planCatalog,
+                         ValveCommandService valveCommandService,
+                         ReadingStorageService readingStorageService,
+                         OilSampleRepository oilSampleRepository,
+                         OilCylinderService oilCylinderService,
+                         MeterRegistry meterRegistry) {
+        this.planCatalog = planCatalog;
+        this.valveCommandService = valveCommandService;
+        this.readingStorageService = readingStorageService;
+        this.oilSampleRepository = oilSampleRepository;
+        this.oilCylinderService = oilCylinderService;
+        this.meterRegistry = meterRegistry;
+        Gauge.builder("test.run.active", activeRuns, AtomicInteger::get)
+            .description("本节点执行中的测试运行数")
+            .register(meterRegistry);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public TestJobResult execute(ClaimedJob job) throws Exception {
+        TestPlan plan = planCatalog.getPlan(job.usage());
+        if (plan == null) {
+            throw new TestRunException("未定义测试类型的测试计划: " + job.usage());
+        }
+        Timer.Sample runSample = Timer.start(meterRegistry);
+        String result = "error";
+        activeRuns.incrementAndGet();
+        try (RunScope scope = new RunScope("test-run-" + job.jobId())) {
+            Set<RunScope> runs = stationRuns.computeIfAbsent(job.stationId(), id -> ConcurrentHashMap.newKeySet());
+            runs.add(scope);
+            try {
+                RunState state = new RunState(job);
+                for (TestStep step : plan.steps()) {
+                    runStep(scope, state, step);
+                }
+                result = state.passed ? "pass" : "fail";
+                return new TestJobResult(state.passed ? plan.passStatus() : plan.failStatus(), state.measured.build());
+            } catch (InterruptedException e) {
+                result = "cancelled";
+                throw e;
+            } finally {
+                runs.remove(scope);
+                stationRuns.computeIfPresent(job.stationId(), (id, set) -> set.isEmpty() ? null : set);
+            }
+        } finally {
+            activeRuns.decrementAndGet();
+            runSample.stop(meterRegistry.timer("test.run", "usage", job.usage().name(), "result", result));
+        }
+    }
+
+    /**
+     * 中断本节点上指定工位的全部测试运行
+     *
+     * @param stationId 工位ID
+     * @return 被中断的测试运行数
+     */
+    public int cancelStation(Long stationId) {
+        Set<RunScope> runs = stationRuns.get(stationId);
+        if (runs == null) {
+            return 0;
+        }
+        int cancelled = 0;
+        for (RunScope scope : runs) {
+            scope.cancel();
+            cancelled++;
+        }
+        return cancelled;
+    }
+
+    /**
+     * @return 本节点执行中的测试运行数
+     */
+    public int getActiveRunCount() {
+        return activeRuns.get();
+    }
+
+    /**
+     * 工位作业被取消后中断本节点上的测试运行并关闭工位阀门
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStationRunsCancelled(StationRunsCancelledEvent event) {
+        int cancelled = cancelStation(event.stationId());
+        valveCommandService.closeAllValves(event.stationId());
+        log.info("工位测试已取消: stationId={}, 本节点中断测试运行 {} 个", event.stationId(), cancelled);
+    }
+
+    private void runStep(RunScope scope, RunState state, TestStep step) throws Exception {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "error";
+        try {
+            switch (step) {
+                case TestStep.SwitchValves switchValves -> switchValves(state, switchValves);
+                case TestStep.Hold hold -> Thread.sleep(hold.duration());
+                case TestStep.Stabilize stabilize -> stabilize(scope, state, stabilize);
+                case TestStep.SampleReadings sampleReadings -> sampleReadings(scope, state, sampleReadings);
+                case TestStep.CompareToReference compare -> compare(state, compare);
+            }
+            outcome = "ok";
+        } catch (InterruptedException e) {
+            outcome = "cancelled";
+            throw e;
+        } finally {
+            sample.stop(meterRegistry.timer("test.run.step", "step", step.name(), "outcome", outcome));
+        }
+    }
+
+    private void switchValves(RunState state, TestStep.SwitchValves step) throws InterruptedException {
+        // 油样通道以油缸编号命名，对应工位 oilValveMapping 的 key
+        String channel = String.valueOf(state.job.cylinderNo());
+        // 先扣减油缸余量再开阀，余量不足时不抽油；阀门未能切换时退还扣减
+        if (!oilCylinderService.consumeRun(state.job.cylinderNo())) {
+            throw new TestRunException("油缸余量不足: cylinderNo=" + state.job.cylinderNo());
+        }
+        try {
+            CompletableFuture<Void> command = valveCommandService.switchChannel(state.job.stationId(), channel);
+            command.get(step.timeout().toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            refundRun(state);
+            throw new TestRunException("切换阀门超时: channel=" + channel);
+        } catch (ExecutionException e) {
+            refundRun(state);
+            throw new TestRunException("切换阀门失败: " + e.getCause().getMessage());
+        } catch (RuntimeException e) {
+            refundRun(state);
+            throw e;
+        }
+    }
+
+    private void refundRun(RunState state) {
+        try {
+            oilCylinderService.refundRun(state.job.cylinderNo());
+        } catch (RuntimeException e) {
+            log.warn("退还油缸用量失败: cylinderNo={}, {}", state.job.cylinderNo(), e.getMessage());
+        }
+    }
+
+    private void stabilize(RunScope scope, RunState state, TestStep.Stabilize step) throws Exception {
+        Thread.sleep(step.minWait());
+        long deadline = System.currentTimeMillis() + step.maxWait().minus(step.minWait()).toMillis();
+        double[] previous = null;
+        while (true) {
+            double[] current = windowMeans(scope, state, step.window());
+            if (previous != null && isStable(previous, current, step.tolerance())) {
+                return;
+            }
+            if (System.currentTimeMillis() + step.window().toMillis() > deadline) {
+                throw new TestRunException("读数未在 " + step.maxWait() + " 内稳定");
+            }
+            previous = current;
+            Thread.sleep(step.window());
+        }
+    }
+
+    private void sampleReadings(RunScope scope, RunState state, TestStep.SampleReadings step) throws Exception {
+        Thread.sleep(step.window());
+        double[] means = windowMeans(scope, state, step.window());
+        for (int i = 0; i < means.length; i++) {
+            if (Double.isNaN(means[i])) {
+                throw new TestRunException("采样窗口内缺少读数: " + state.gases().get(i));
+            }
+            state.measured.set(state.gases().get(i), means[i]);
+        }
+    }
+
+    private void compare(RunState state, TestStep.CompareToReference step) {
+        List<String> deviations = new ArrayList<>();
+        GasVector measured = state.measured.build();
+        state.reference().forEach((gas, reference) -> {
+            double value = measured.get(gas);
+            double allowed = Math.max(step.tolerance() * Math.abs(reference), step.absoluteTolerance());
+            if (Double.isNaN(value) || Math.abs(value - reference) > allowed) {
+                deviations.add(String.format("%s=%.3f(参考 %.3f)", gas, value, reference));
+            }
+        });
+        state.passed = deviations.isEmpty();
+        if (!state.passed) {
+            log.info("测试结果不合格: jobId={}, deviceId={}, {}", state.job.jobId(), state.job.deviceId(), deviations);
+        }
+    }
+
+    /**
+     * 并行查询各气体最近一个窗口的读数均值，无读数的气体为 NaN
+     */
+    private double[] windowMeans(RunScope scope, RunState state, Duration window) throws Exception {
+        long to = System.currentTimeMillis();
+        long from = to - window.toMillis();
+        List<Future<Double>> subtasks = new ArrayList<>(state.gases().size());
+        for (GasType gas : state.gases()) {
+            subtasks.add(scope.fork(() -> mean(readingStorageService.findSeries(state.job.deviceId(), gas, from, to))));
+        }
+        try {
+            scope.join();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof Exception cause) {
+                throw cause;
+            }
+            throw e;
+        }
+        double[] means = new double[subtasks.size()];
+        for (int i = 0; i < means.length; i++) {
+            means[i] = subtasks.get(i).resultNow();
+        }
+        return means;
+    }
+
+    private static boolean isStable(double[] previous, double[] current, double tolerance) {
+        for (int i = 0; i < current.length; i++) {
+            if (Double.isNaN(previous[i]) || Double.isNaN(current[i])) {
+                return false;
+            }
+            double scale = Math.max(Math.abs(previous[i]), 1.0);
+            if (Math.abs(current[i] - previous[i]) > tolerance * scale) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static double mean(ReadingSeries series) {
+        if (series.isEmpty()) {
+            return Double.NaN;
+        }
+        double sum = 0;
+        for (int i = 0; i < series.size(); i++) {
+            sum += series.valueAt(i);
+        }
+        return sum / series.size();
+    }
+
+    /**
+     * 单次测试运行的状态
+     */
+    private final class RunState {
+
+        private final ClaimedJob job;
+        private final GasVector.Builder measured = GasVector.builder();
+        private GasVector reference;
+        private List<GasType> gases;
+        private boolean passed = true;
+
+        private RunState(ClaimedJob job) {
+            this.job = job;
+        }
+
+        /**
+         * 油样参考值，首次使用时加载
+         */
+        private GasVector reference() {
+            if (reference == null) {
+                OilSample sample = oilSampleRepository.findById(job.oilSampleId())
+                    .orElseThrow(() -> new TestRunException("油样不存在: " + job.oilSampleId()));
+                reference = GasVector.fromParameters(sample.getParameters());
+            }
+            return reference;
+        }
+
+        /**
+         * 需要测量的气体：油样有参考值的气体，无参考值时测量全部气体
+         */
+        private List<GasType> gases() {
+            if (gases == null) {
+                gases = reference().isEmpty() ? Arrays.asList(GasType.values()) : reference().gases();
+            }
+            return gases;
+        }
+    }
+}
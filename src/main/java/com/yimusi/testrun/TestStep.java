@@ -0,0 +1,78 @@
+package com.yimusi.testrun;
+
+import java.time.Duration;
+
+/**
+ * 测试计划中的步骤
+ */
+public sealed interface TestStep {
+
+    /**
+     * @return 步骤名称，用作指标标签
+     */
+    String name();
+
+    /**
+     * 切换工位阀门到作业所用油缸的油样通道
+     *
+     * @param timeout 等待阀门命令完成的超时时间
+     */
+    record SwitchValves(Duration timeout) implements TestStep {
+        @Override
+        public String name() {
+            return "switch-valves";
+        }
+    }
+
+    /**
+     * 保持当前阀门状态一段时间（如清洗冲刷）
+     *
+     * @param duration 保持时长
+     */
+    record Hold(Duration duration) implements TestStep {
+        @Override
+        public String name() {
+            return "hold";
+        }
+    }
+
+    /**
+     * 等待读数稳定：相邻两个窗口内各气体的均值变化都不超过容差
+     *
+     * @param minWait   开始判断前的最短等待时间
+     * @param maxWait   最长等待时间，超时视为执行失败
+     * @param window    判断窗口长度
+     * @param tolerance 相对容差
+     */
+    record Stabilize(Duration minWait, Duration maxWait, Duration window, double tolerance) implements TestStep {
+        @Override
+        public String name() {
+            return "stabilize";
+        }
+    }
+
+    /**
+     * 采集一个窗口的读数，计算各气体均值
+     *
+     * @param window 采样窗口长度
+     */
+    record SampleReadings(Duration window) implements TestStep {
+        @Override
+        public String name() {
+            return "sample";
+        }
+    }
+
+    /**
+     * 将采样均值与油样参考值比较，误差不超过 max(相对容差 × 参考值, 绝对容差) 时判定合格
+     *
+     * @param tolerance         相对容差
+     * @param absoluteTolerance 绝对容差（μL/L），避免低浓度组分的相对误差被放大
+     */
+    record CompareToReference(double tolerance, double absoluteTolerance) implements TestStep {
+        @Override
+        public String name() {
+            return "compare";
+        }
+    }
+}
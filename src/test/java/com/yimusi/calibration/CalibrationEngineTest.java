@@ -0,0 +1,147 @@
+package com.yimusi.calibration;
+
+import com.yimusi.common.model.GasVector;
+import com.yimusi.enums.CalibrationModel;
+import com.yimusi.enums.GasType;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 批量标定引擎单元测试
+ *
+ * <p>测试 {@link CalibrationEngine}，包括：</p>
+ * <ul>
+ *   <li>按气体向量组装标定点</li>
+ *   <li>模型按点数逐级退化</li>
+ *   <li>残差统计</li>
+ *   <li>2000 台设备的并行标定结果</li>
+ * </ul>
+ */
+class CalibrationEngineTest {
+
+    private static final int H2 = GasType.H2.ordinal();
+    private static final int CO = GasType.CO.ordinal();
+
+    private CalibrationEngine engine;
+
+    @BeforeEach
+    void setUp() {
+        engine = new CalibrationEngine();
+        ReflectionTestUtils.setField(engine, "parallelism", 4);
+        engine.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        engine.destroy();
+    }
+
+    @Test
+    @DisplayName("只有读数与参考值都存在的气体才增加标定点")
+    void addVectors() {
+        CalibrationPoints points = new CalibrationPoints(1);
+        GasVector measured = GasVector.builder().set(GasType.H2, 10).set(GasType.CO, 1).build();
+        GasVector reference = GasVector.builder().set(GasType.H2, 10).build();
+
+        points.add(measured, reference);
+
+        assertEquals(1, points.count(H2));
+        assertEquals(0, points.count(CO));
+    }
+
+    @Test
+    @DisplayName("二次模型在点数不足时退化为线性，单点时拟合过原点的增益")
+    void calibrate_Fallback() {
+        CalibrationPoints points = new CalibrationPoints(7);
+        points.add(H2, 10, 12);
+        points.add(H2, 20, 22);
+        points.add(CO, 50, 100);
+
+        DeviceCalibrationResult result = CalibrationEngine.calibrate(points, CalibrationModel.QUADRATIC);
+
+        assertEquals(7, result.deviceId());
+        assertEquals(2, result.fits().size());
+        CalibrationFit h2 = result.fits().get(0);
+        assertEquals(GasType.H2, h2.gas());
+        assertEquals(CalibrationModel.LINEAR, h2.model());
+        assertArrayEquals(new double[] {2, 1}, h2.coefficients(), 1e-9);
+        CalibrationFit co = result.fits().get(1);
+        assertEquals(GasType.CO, co.gas());
+        assertArrayEquals(new double[] {0, 2}, co.coefficients(), 1e-12);
+        assertEquals(0, co.rmse(), 1e-12);
+    }
+
+    @Test
+    @DisplayName("残差按标定点顺序保存，并统计均方根与最大绝对残差")
+    void calibrate_Residuals() {
+        CalibrationPoints points = new CalibrationPoints(1);
+        points.add(H2, 0, 0);
+        points.add(H2, 1, 2);
+        points.add(H2, 2, 2);
+
+        CalibrationFit fit = CalibrationEngine.calibrate(points, CalibrationModel.LINEAR).fits().get(0);
+
+        // 最小二乘直线 y = 1/3 + x
+        assertArrayEquals(new double[] {1.0 / 3, 1}, fit.coefficients(), 1e-9);
+        assertArrayEquals(new double[] {-1.0 / 3, 2.0 / 3, -1.0 / 3}, fit.residuals(), 1e-9);
+        assertEquals(3, fit.pointCount());
+        assertEquals(Math.sqrt(2.0 / 9), fit.rmse(), 1e-9);
+        assertEquals(2.0 / 3, fit.maxResidual(), 1e-9);
+    }
+
+    @Test
+    @DisplayName("2000 台设备的多点二次标定：还原已知的二次系数，结果与串行计算一致")
+    void calibrate_LargeBatch() {
+        Random random = new Random(42);
+        List<CalibrationPoints> devices = new ArrayList<>();
+        double[][][] expected = new double[2000][GasType.COUNT][];
+        for (int d = 0; d < 2000; d++) {
+            CalibrationPoints points = new CalibrationPoints(d);
+            for (int gas = 0; gas < GasType.COUNT; gas++) {
+                // 参考值 = a + b·读数 + c·读数²，无噪声时最小二乘应还原出 (a, b, c)
+                double a = random.nextDouble() * 10 - 5;
+                double b = 0.9 + random.nextDouble() * 0.2;
+                double c = (random.nextDouble() - 0.5) * 1e-4;
+                expected[d][gas] = new double[] {a, b, c};
+                for (int run = 0; run < 8; run++) {
+                    double measured = 5 + run * 100 + gas + random.nextDouble();
+                    points.add(gas, measured, a + b * measured + c * measured * measured);
+                }
+            }
+            devices.add(points);
+        }
+
+        List<DeviceCalibrationResult> results = engine.calibrate(devices, CalibrationModel.QUADRATIC);
+
+        assertEquals(2000, results.size());
+        for (int i = 0; i < results.size(); i++) {
+            DeviceCalibrationResult parallel = results.get(i);
+            assertEquals(i, parallel.deviceId());
+            assertEquals(GasType.COUNT, parallel.fits().size());
+            for (int gas = 0; gas < GasType.COUNT; gas++) {
+                CalibrationFit fit = parallel.fits().get(gas);
+                assertEquals(CalibrationModel.QUADRATIC, fit.model());
+                assertEquals(8, fit.pointCount());
+                double[] coefficients = fit.coefficients();
+                assertEquals(expected[i][gas][0], coefficients[0], 1e-6);
+                assertEquals(expected[i][gas][1], coefficients[1], 1e-8);
+                assertEquals(expected[i][gas][2], coefficients[2], 1e-11);
+                assertEquals(0, fit.rmse(), 1e-6);
+            }
+        }
+        for (int i = 0; i < results.size(); i += 97) {
+            DeviceCalibrationResult serial = CalibrationEngine.calibrate(devices.get(i), CalibrationModel.QUADRATIC);
+            for (int gas = 0; gas < GasType.COUNT; gas++) {
+                assertArrayEquals(serial.fits().get(gas).coefficients(), results.get(i).fits().get(gas).coefficients());
+            }
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package com.yimusi.calibration;
+
+import com.yimusi.enums.GasType;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 交叉敏感矩阵计算单元测试
+ */
+class CrossSensitivityMatrixTest {
+
+    private static final int N = CrossSensitivityMatrix.SIZE;
+    private static final int H2 = GasType.H2.ordinal();
+    private static final int CO = GasType.CO.ordinal();
+    private static final int C2H2 = GasType.C2H2.ordinal();
+
+    private static double[][] randomMatrix(Random random) {
+        double[][] s = new double[N][N];
+        for (int i = 0; i < N; i++) {
+            for (int j = 0; j < N; j++) {
+                s[i][j] = i == j ? 0.9 + random.nextDouble() * 0.2 : random.nextDouble() * 0.05;
+            }
+        }
+        return s;
+    }
+
+    private static double[] multiply(double[][] s, double[] r) {
+        double[] m = new double[N];
+        for (int i = 0; i < N; i++) {
+            for (int j = 0; j < N; j++) {
+                m[i] += s[i][j] * (Double.isNaN(r[j]) ? 0 : r[j]);
+            }
+        }
+        return m;
+    }
+
+    @Test
+    @DisplayName("混合油样的多次运行可精确恢复完整矩阵")
+    void compute_FullMatrix() {
+        Random random = new Random(7);
+        double[][] expected = randomMatrix(random);
+        double[][] reference = new double[12][N];
+        double[][] measured = new double[12][];
+        for (int k = 0; k < reference.length; k++) {
+            for (int j = 0; j < N; j++) {
+                reference[k][j] = random.nextDouble() * 500;
+            }
+            measured[k] = multiply(expected, reference[k]);
+        }
+
+        CrossSensitivityMatrix matrix = CrossSensitivityMatrix.compute(new CrossSensitivityInput(1, 99, measured, reference));
+
+        assertEquals(99, matrix.getRunId());
+        assertEquals(12, matrix.getRunCount());
+        for (int i = 0; i < N; i++) {
+            assertArrayEquals(expected[i], matrix.toArray()[i], 1e-9);
+        }
+    }
+
+    @Test
+    @DisplayName("未被激励的气体列为 NaN，参考值缺失视为浓度 0，读数缺失的运行不参与该行")
+    void compute_PartialExcitation() {
+        double[] h2Sample = new double[N];
+        double[] coSample = new double[N];
+        Arrays.fill(h2Sample, Double.NaN);
+        Arrays.fill(coSample, Double.NaN);
+        h2Sample[H2] = 100;
+        coSample[CO] = 500;
+        double[] h2Reading = new double[N];
+        double[] coReading = new double[N];
+        h2Reading[H2] = 98;
+        h2Reading[CO] = 3;
+        coReading[H2] = 10;
+        coReading[CO] = 510;
+        coReading[C2H2] = Double.NaN;
+
+        CrossSensitivityMatrix matrix = CrossSensitivityMatrix.compute(new CrossSensitivityInput(1, 2,
+            new double[][] {h2Reading, coReading}, new double[][] {h2Sample, coSample}));
+
+        assertEquals(0.98, matrix.get(H2, H2), 1e-12);
+        assertEquals(0.02, matrix.get(H2, CO), 1e-12);
+        assertEquals(0.03, matrix.get(CO, H2), 1e-12);
+        assertEquals(1.02, matrix.get(CO, CO), 1e-12);
+        assertTrue(Double.isNaN(matrix.get(H2, GasType.CH4.ordinal())));
+        // C2H2 行只有一次有效运行，不足以区分两种激励气体
+        assertTrue(Double.isNaN(matrix.get(C2H2, H2)));
+    }
+
+    @Test
+    @DisplayName("2000 台设备在标定池中并行计算，结果顺序与输入一致且逐台恢复出原矩阵")
+    void compute_ParallelBatch() {
+        CalibrationEngine engine = new CalibrationEngine();
+        ReflectionTestUtils.setField(engine, "parallelism", 4);
+        engine.init();
+        try {
+            Random random = new Random(3);
+            List<CrossSensitivityInput> inputs = new ArrayList<>();
+            List<double[][]> expected = new ArrayList<>();
+            for (int d = 0; d < 2000; d++) {
+                double[][] s = randomMatrix(random);
+                expected.add(s);
+                double[][] reference = new double[N][N];
+                double[][] measured = new double[N][];
+                for (int k = 0; k < N; k++) {
+                    Arrays.fill(reference[k], Double.NaN);
+                    reference[k][k] = 100 + k;
+                    measured[k] = multiply(s, reference[k]);
+                }
+                inputs.add(new CrossSensitivityInput(d, d + 1000, measured, reference));
+            }
+
+            List<CrossSensitivityMatrix> result = engine.parallelMap(inputs, CrossSensitivityMatrix::compute);
+
+            assertEquals(2000, result.size());
+            for (int d = 0; d < result.size(); d++) {
+                assertEquals(d, result.get(d).getDeviceId());
+                assertEquals(d + 1000, result.get(d).getRunId());
+                for (int i = 0; i < N; i++) {
+                    // 单一气体激励：第 k 次运行只激励气体 k，恰好确定矩阵第 k 列
+                    assertArrayEquals(expected.get(d)[i], result.get(d).toArray()[i], 1e-9);
+                }
+            }
+        } finally {
+            engine.destroy();
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.yimusi.calibration;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 最小二乘拟合单元测试
+ */
+class LeastSquaresTest {
+
+    @Test
+    @DisplayName("线性数据精确恢复截距与斜率")
+    void fit_Linear() {
+        double[] x = {10, 20, 30, 40};
+        double[] y = {25, 45, 65, 85};
+
+        double[] c = LeastSquares.fit(x, y, 4, 1);
+
+        assertArrayEquals(new double[] {5, 2}, c, 1e-9);
+    }
+
+    @Test
+    @DisplayName("大量级读数的二次曲线经缩放后仍能精确恢复")
+    void fit_QuadraticLargeScale() {
+        double[] x = new double[6];
+        double[] y = new double[6];
+        for (int i = 0; i < x.length; i++) {
+            x[i] = 1000 + i * 2000;
+            y[i] = 3 + 0.9 * x[i] + 2e-6 * x[i] * x[i];
+        }
+
+        double[] c = LeastSquares.fit(x, y, x.length, 2);
+
+        assertEquals(3, c[0], 1e-6);
+        assertEquals(0.9, c[1], 1e-9);
+        assertEquals(2e-6, c[2], 1e-14);
+        assertEquals(y[3], LeastSquares.evaluate(c, x[3]), 1e-6);
+    }
+
+    @Test
+    @DisplayName("只使用数组前 n 个元素")
+    void fit_UsesPrefix() {
+        double[] x = {1, 2, 0, 0};
+        double[] y = {3, 5, 99, 99};
+
+        assertArrayEquals(new double[] {1, 2}, LeastSquares.fit(x, y, 2, 1), 1e-9);
+    }
+
+    @Test
+    @DisplayName("点数不足或读数不可区分时返回 null")
+    void fit_Degenerate() {
+        assertNull(LeastSquares.fit(new double[] {1, 2}, new double[] {1, 2}, 2, 2));
+        assertNull(LeastSquares.fit(new double[] {5, 5, 5}, new double[] {1, 2, 3}, 3, 1));
+        assertNull(LeastSquares.fit(new double[] {0, 0}, new double[] {1, 2}, 2, 1));
+    }
+}
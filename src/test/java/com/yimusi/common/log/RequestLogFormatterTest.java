@@ -0,0 +1,68 @@
+package com.yimusi.common.log;
+
+import com.yimusi.common.model.ApiResponse;
+import com.yimusi.dto.auth.LoginRequest;
+import com.yimusi.dto.common.PageResult;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 请求日志摘要格式化单元测试
+ *
+ * <p>测试 {@link RequestLogFormatter}，包括：</p>
+ * <ul>
+ *   <li>大集合与分页结果只输出元素数</li>
+ *   <li>敏感字段脱敏</li>
+ *   <li>长文本截断</li>
+ * </ul>
+ */
+class RequestLogFormatterTest {
+
+    private final RequestLogFormatter formatter = new RequestLogFormatter(64, 3);
+
+    @Test
+    @DisplayName("超过上限的集合、分页结果和数组不展开元素")
+    void format_LargeCollections() {
+        List<Integer> large = new ArrayList<>(IntStream.range(0, 1000).boxed().toList());
+        PageResult<Integer> page = new PageResult<>();
+        page.setContent(large);
+        page.setTotal(5000);
+        page.setPage(2);
+
+        assertEquals("ArrayList(size=1000)", formatter.format(large));
+        assertEquals("ApiResponse(code=200, data=ArrayList(size=1000))", formatter.format(ApiResponse.success(large)));
+        assertEquals("PageResult(total=5000, page=2, size=1000)", formatter.format(page));
+        assertEquals("byte[4096]", formatter.format(new byte[4096]));
+        assertEquals("[1, 2]", formatter.format(List.of(1, 2)));
+    }
+
+    @Test
+    @DisplayName("密码、token 等字段的值替换为 ***")
+    void format_Redacts() {
+        LoginRequest request = new LoginRequest();
+        request.setUsername("admin");
+        request.setPassword("Passw0rd!");
+
+        String text = formatter.format(request);
+
+        assertTrue(text.contains("username=admin"), text);
+        assertFalse(text.contains("Passw0rd!"), text);
+        assertEquals("{\"accessToken\":\"***\",\"userId\":1}", RequestLogFormatter.redact("{\"accessToken\":\"eyJhbGciOi\",\"userId\":1}"));
+    }
+
+    @Test
+    @DisplayName("长文本截断并注明原长度，Servlet 对象只输出类型名")
+    void format_TruncatesAndSkips() {
+        String text = formatter.format("x".repeat(200));
+
+        assertEquals("x".repeat(64) + "...(200 chars)", text);
+        assertEquals("MockHttpServletRequest", formatter.format(new MockHttpServletRequest()));
+        assertEquals("[null, 1]", formatter.formatArgs(new Object[] {null, 1}));
+    }
+}
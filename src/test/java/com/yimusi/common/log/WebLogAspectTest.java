@@ -0,0 +1,93 @@
+package com.yimusi.common.log;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.List;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.Signature;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Web 层日志切面单元测试
+ *
+ * <p>测试 {@link WebLogAspect}，包括：</p>
+ * <ul>
+ *   <li>按接口匹配采样率</li>
+ *   <li>成功与失败调用计入计时器</li>
+ *   <li>未采样时不格式化参数和结果</li>
+ * </ul>
+ */
+class WebLogAspectTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private WebLogAspect aspect;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        aspect = new WebLogAspect(meterRegistry);
+        ReflectionTestUtils.setField(aspect, "sampleRate", 0.0);
+        ReflectionTestUtils.setField(aspect, "endpointSampleRates",
+            List.of("OilSampleController.*=0.01", "OilSampleController.create=1", "", "bad-entry"));
+        ReflectionTestUtils.setField(aspect, "slowThreshold", Duration.ofSeconds(10));
+        ReflectionTestUtils.setField(aspect, "maxLength", 512);
+        ReflectionTestUtils.setField(aspect, "maxCollectionSize", 20);
+        aspect.init();
+    }
+
+    @Test
+    @DisplayName("采样率先按方法匹配，再按控制器匹配，最后使用默认值")
+    void sampleRate() {
+        assertEquals(1.0, aspect.sampleRate("OilSampleController.create"));
+        assertEquals(0.01, aspect.sampleRate("OilSampleController.list"));
+        assertEquals(0.0, aspect.sampleRate("TestStationController.list"));
+    }
+
+    @Test
+    @DisplayName("未采样的成功调用只计时，不读取参数")
+    void doAround_NotSampled() throws Throwable {
+        ProceedingJoinPoint joinPoint = joinPoint("list");
+        when(joinPoint.proceed()).thenReturn("ok");
+
+        assertEquals("ok", aspect.doAround(joinPoint));
+
+        verify(joinPoint, never()).getArgs();
+        assertEquals(1, meterRegistry.timer("controller.requests", "endpoint", "TestStationController.list",
+            "outcome", "success").count());
+    }
+
+    @Test
+    @DisplayName("失败调用总是记录日志并计入失败计时器，异常原样抛出")
+    void doAround_Failure() throws Throwable {
+        ProceedingJoinPoint joinPoint = joinPoint("list");
+        when(joinPoint.proceed()).thenThrow(new IllegalStateException("boom"));
+        when(joinPoint.getArgs()).thenReturn(new Object[] {1L});
+
+        assertThrows(IllegalStateException.class, () -> aspect.doAround(joinPoint));
+
+        verify(joinPoint).getArgs();
+        assertEquals(1, meterRegistry.timer("controller.requests", "endpoint", "TestStationController.list",
+            "outcome", "error").count());
+    }
+
+    private static ProceedingJoinPoint joinPoint(String method) {
+        ProceedingJoinPoint joinPoint = mock(ProceedingJoinPoint.class);
+        Signature signature = mock(Signature.class);
+        when(joinPoint.getSignature()).thenReturn(signature);
+        when(signature.getDeclaringType()).thenReturn(TestStationController.class);
+        when(signature.getName()).thenReturn(method);
+        return joinPoint;
+    }
+
+    /**
+     * 模拟的控制器类型，只用于生成接口名
+     */
+    private static final class TestStationController {
+    }
+}
@@ -0,0 +1,159 @@
+package com.yimusi.common.model;
+
+import com.yimusi.entity.OilSampleParameter;
+import com.yimusi.enums.GasType;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 气体含量向量单元测试
+ *
+ * <p>测试 {@link GasVector}，包括：</p>
+ * <ul>
+ *   <li>与 JSON 参数列表格式的互相转换</li>
+ *   <li>存在位掩码下的查找与逐气体运算</li>
+ *   <li>与逐项扫描参数列表相比的查找和运算耗时（基准，默认不运行）</li>
+ * </ul>
+ */
+@Slf4j
+class GasVectorTest {
+
+    @Test
+    @DisplayName("参数列表转换为向量，缺失、空值与无法识别的参数视为缺失，重复参数以最后一个为准")
+    void fromParameters() {
+        GasVector vector = GasVector.fromParameters(List.of(
+            new OilSampleParameter("H2", new BigDecimal("100")),
+            new OilSampleParameter("XX", BigDecimal.ONE),
+            new OilSampleParameter("CO", null),
+            new OilSampleParameter("H2", new BigDecimal("101.5"))
+        ));
+
+        assertEquals(1, vector.size());
+        assertTrue(vector.has(GasType.H2));
+        assertEquals(101.5, vector.get(GasType.H2));
+        assertFalse(vector.has(GasType.CO));
+        assertTrue(Double.isNaN(vector.get(GasType.CO)));
+        assertEquals(-1, vector.getOrDefault(GasType.CH4, -1));
+        assertSame(GasVector.EMPTY, GasVector.fromParameters(null));
+    }
+
+    @Test
+    @DisplayName("向量转换为参数列表时按气体声明顺序输出")
+    void toParameters() {
+        GasVector vector = GasVector.builder().set(GasType.CO, 490).set(GasType.CH4, 0.05).set(GasType.H2, Double.NaN).build();
+
+        List<OilSampleParameter> parameters = vector.toParameters();
+
+        assertEquals(List.of(new OilSampleParameter("CH4", new BigDecimal("0.05")), new OilSampleParameter("CO", new BigDecimal("490.0"))),
+            parameters);
+        assertEquals(vector, GasVector.fromParameters(parameters));
+        assertEquals(List.of(GasType.CH4, GasType.CO), vector.gases());
+    }
+
+    @Test
+    @DisplayName("逐气体运算只保留两个向量都有值的气体")
+    void arithmetic() {
+        GasVector a = GasVector.of(Map.of(GasType.H2, 10.0, GasType.CO, 4.0));
+        GasVector b = GasVector.of(Map.of(GasType.H2, 2.5, GasType.CH4, 1.0));
+
+        assertEquals(GasVector.of(Map.of(GasType.H2, 12.5)), a.plus(b));
+        assertEquals(GasVector.of(Map.of(GasType.H2, 7.5)), a.minus(b));
+        assertEquals(GasVector.of(Map.of(GasType.H2, 20.0, GasType.CO, 8.0)), a.scale(2));
+        assertTrue(a.minus(GasVector.EMPTY).isEmpty());
+        assertEquals(GasType.COUNT, a.toArray().length);
+        assertTrue(Double.isNaN(a.toArray()[GasType.CH4.ordinal()]));
+    }
+
+    /**
+     * 查找与运算耗时基准，默认不运行，只输出结果不做断言：
+     * {@code mvn test -Dtest=GasVectorTest -Dbenchmark=true}.
+     * 对每个油样的每种气体查找数值并累加与参考油样之差，分别测量逐项扫描参数列表并用 BigDecimal 运算与使用向量的
+     * 每次查找运算纳秒数，预热 2 轮后取 3 轮中最好的一轮.
+     */
+    @Test
+    @Tag("benchmark")
+    @EnabledIfSystemProperty(named = "benchmark", matches = "true")
+    @DisplayName("基准：向量与参数列表的查找和运算耗时")
+    void benchmark_LookupAndArithmetic() {
+        int n = 200_000;
+        List<List<OilSampleParameter>> lists = new ArrayList<>(n);
+        List<GasVector> vectors = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            List<OilSampleParameter> parameters = new ArrayList<>();
+            for (GasType gas : GasType.values()) {
+                parameters.add(new OilSampleParameter(gas.name(), BigDecimal.valueOf(i % 1000 + gas.ordinal(), 2)));
+            }
+            lists.add(parameters);
+            vectors.add(GasVector.fromParameters(parameters));
+        }
+        GasVector reference = vectors.get(0);
+        List<OilSampleParameter> referenceList = lists.get(0);
+
+        long listBest = Long.MAX_VALUE;
+        long vectorBest = Long.MAX_VALUE;
+        double sink = 0;
+        for (int round = 0; round < 5; round++) {
+            long start = System.nanoTime();
+            sink += sumDeviationList(lists, referenceList).doubleValue();
+            long listNanos = System.nanoTime() - start;
+            start = System.nanoTime();
+            sink += sumDeviationVector(vectors, reference);
+            long vectorNanos = System.nanoTime() - start;
+            if (round >= 2) {
+                listBest = Math.min(listBest, listNanos);
+                vectorBest = Math.min(vectorBest, vectorNanos);
+            }
+        }
+        long operations = (long) n * GasType.COUNT;
+        log.info("气体向量基准: 参数列表 {} ns/次, 向量 {} ns/次 (sink={})", String.format("%.2f", (double) listBest / operations),
+            String.format("%.2f", (double) vectorBest / operations), sink);
+    }
+
+    /**
+     * 对每个油样按气体查找参数值并累加与参考值之差（参数列表的用法）
+     */
+    private static BigDecimal sumDeviationList(List<List<OilSampleParameter>> lists, List<OilSampleParameter> reference) {
+        BigDecimal sum = BigDecimal.ZERO;
+        for (List<OilSampleParameter> parameters : lists) {
+            for (GasType gas : GasType.values()) {
+                BigDecimal value = find(parameters, gas);
+                BigDecimal expected = find(reference, gas);
+                if (value != null && expected != null) {
+                    sum = sum.add(value.subtract(expected).abs());
+                }
+            }
+        }
+        return sum;
+    }
+
+    private static BigDecimal find(List<OilSampleParameter> parameters, GasType gas) {
+        for (OilSampleParameter parameter : parameters) {
+            if (gas.name().equals(parameter.getKey())) {
+                return parameter.getValue();
+            }
+        }
+        return null;
+    }
+
+    private static double sumDeviationVector(List<GasVector> vectors, GasVector reference) {
+        double sum = 0;
+        for (GasVector vector : vectors) {
+            for (int i = 0; i < GasType.COUNT; i++) {
+                GasType gas = GasType.ofIndex(i);
+                if (vector.has(gas) && reference.has(gas)) {
+                    sum += Math.abs(vector.get(gas) - reference.get(gas));
+                }
+            }
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,204 @@
+package com.yimusi.common.security;
+
+import cn.dev33.satoken.exception.NotLoginException;
+import cn.dev33.satoken.jwt.SaJwtUtil;
+import cn.dev33.satoken.jwt.error.SaJwtErrorCode;
+import cn.dev33.satoken.jwt.exception.SaJwtException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.MockedStatic;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+/**
+ * 带验签缓存的无状态 JWT 模式单元测试
+ *
+ * <p>测试 {@link CachingStpLogicJwtForStateless} 与 {@link TokenClaimsCache}，包括：</p>
+ * <ul>
+ *   <li>同一 token 只验签一次</li>
+ *   <li>篡改、过期与吊销的 token</li>
+ *   <li>容量淘汰与按用户失效</li>
+ *   <li>吊销监听与过期清理</li>
+ * </ul>
+ */
+class CachingStpLogicJwtForStatelessTest {
+
+    private static final String SECRET = "unit-test-secret";
+
+    private SimpleMeterRegistry meterRegistry;
+    private TokenClaimsCache cache;
+    private CachingStpLogicJwtForStateless stpLogic;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        cache = new TokenClaimsCache(2, meterRegistry);
+        stpLogic = new CachingStpLogicJwtForStateless(cache) {
+            @Override
+            public String jwtSecretKey() {
+                return SECRET;
+            }
+        };
+    }
+
+    @Test
+    @DisplayName("同一 token 多次解析只验签一次")
+    void getLoginId_VerifiesOnce() {
+        String token = token(42L, 3600);
+
+        try (MockedStatic<SaJwtUtil> jwt = mockStatic(SaJwtUtil.class, CALLS_REAL_METHODS)) {
+            for (int i = 0; i < 100; i++) {
+                assertEquals("42", stpLogic.getLoginIdNotHandle(token));
+            }
+            jwt.verify(() -> SaJwtUtil.getPayloads(anyString(), anyString(), anyString()), times(1));
+        }
+        assertEquals(99, meterRegistry.counter("auth.token.cache", "result", "hit").count());
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    @DisplayName("签名不符的 token 不命中缓存，按无效处理")
+    void getLoginId_TamperedToken() {
+        String token = token(42L, 3600);
+        assertEquals("42", stpLogic.getLoginIdNotHandle(token));
+
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("AA") ? "BB" : "AA");
+
+        assertNull(stpLogic.getLoginIdNotHandle(tampered));
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    @DisplayName("过期的 token 返回超时标记，缓存项过期后不再命中")
+    void getLoginId_Expired() {
+        String token = token(7L, 3600);
+        String key = TokenClaimsCache.key(token);
+        cache.put(key, "7", System.currentTimeMillis() + 60_000);
+        assertEquals("7", cache.get(key));
+        cache.put(key, "7", System.currentTimeMillis() - 1);
+        assertEquals("7", cache.get(key), "已过期的时间不写入缓存，保留原缓存项");
+
+        try (MockedStatic<SaJwtUtil> jwt = mockStatic(SaJwtUtil.class, CALLS_REAL_METHODS)) {
+            jwt.when(() -> SaJwtUtil.getPayloads(anyString(), anyString(), anyString()))
+                .thenThrow(new SaJwtException("expired").setCode(SaJwtErrorCode.CODE_30204));
+            cache.evict(token);
+            assertEquals(NotLoginException.TOKEN_TIMEOUT, stpLogic.getLoginIdNotHandle(token));
+        }
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    @DisplayName("吊销的 token 签名有效也按无效处理，其他 token 不受影响")
+    void getLoginId_Revoked() {
+        String token = token(42L, 3600);
+        String other = token(42L, 3600);
+        assertEquals("42", stpLogic.getLoginIdNotHandle(token));
+
+        cache.revoke(token, System.currentTimeMillis() + 3_600_000);
+
+        assertNull(stpLogic.getLoginIdNotHandle(token));
+        assertEquals("42", stpLogic.getLoginIdNotHandle(other));
+        assertEquals(1, meterRegistry.counter("auth.token.revoked").count());
+    }
+
+    @Test
+    @DisplayName("超出容量时按最近访问时间淘汰最旧的项，可按用户丢弃缓存项")
+    void cache_EvictsLeastRecentlyUsed() {
+        String first = token(1L, 3600);
+        String second = token(2L, 3600);
+        String third = token(3L, 3600);
+        stpLogic.getLoginIdNotHandle(first);
+        stpLogic.getLoginIdNotHandle(second);
+        stpLogic.getLoginIdNotHandle(first);
+        stpLogic.getLoginIdNotHandle(third);
+
+        assertEquals(2, cache.size());
+        assertEquals("1", cache.get(TokenClaimsCache.key(first)));
+        assertNull(cache.get(TokenClaimsCache.key(second)));
+        assertEquals(1, meterRegistry.counter("auth.token.cache.evicted").count());
+
+        cache.evictLoginId("1");
+        assertEquals(1, cache.size());
+        assertEquals("3", cache.get(TokenClaimsCache.key(third)));
+    }
+
+    @Test
+    @DisplayName("吊销通知监听器，同步来的吊销只在本节点生效；过期的吊销记录在查找和定时清理时移除")
+    void revoke_ListenerAndPrune() {
+        String token = token(42L, 3600);
+        String key = TokenClaimsCache.key(token);
+        Map<String, Long> published = new HashMap<>();
+        cache.onRevoke(published::put);
+        long expiresAt = System.currentTimeMillis() + 3_600_000;
+
+        cache.revoke(token, expiresAt);
+
+        assertEquals(Map.of(key, expiresAt), published);
+        cache.applyRevocation("other", System.currentTimeMillis() + 3_600_000);
+        assertTrue(cache.isRevoked("other"));
+        assertEquals(1, published.size());
+
+        cache.applyRevocation("expired", System.currentTimeMillis() - 1);
+        assertFalse(cache.isRevoked("expired"));
+        assertEquals(2, cache.revocationCount());
+
+        cache.put("stale", "1", System.currentTimeMillis() + 60_000);
+        ConcurrentHashMap<String, Long> revoked = revokedMap();
+        revoked.put("lapsed", System.currentTimeMillis() - 1);
+        assertEquals(3, cache.revocationCount());
+        cache.pruneExpired();
+        assertEquals(2, cache.revocationCount());
+        assertFalse(cache.isRevoked("lapsed"));
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    @DisplayName("多线程并发查找和写入时容量不超过上限")
+    void cache_ConcurrentBounded() throws Exception {
+        TokenClaimsCache bounded = new TokenClaimsCache(100, new SimpleMeterRegistry());
+        long expiresAt = System.currentTimeMillis() + 60_000;
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            int thread = t;
+            futures.add(pool.submit(() -> {
+                for (int i = 0; i < 5_000; i++) {
+                    String key = TokenClaimsCache.key("token-" + thread + "-" + i);
+                    bounded.put(key, String.valueOf(i), expiresAt);
+                    bounded.get(key);
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get(30, TimeUnit.SECONDS);
+        }
+        pool.shutdown();
+
+        // 淘汰由单个线程执行，其他线程写入的项可能在淘汰期间短暂超出，结束后再写入一次必然回落到上限以内
+        bounded.put(TokenClaimsCache.key("last"), "0", expiresAt);
+        assertTrue(bounded.size() <= 100, "size=" + bounded.size());
+    }
+
+    @SuppressWarnings("unchecked")
+    private ConcurrentHashMap<String, Long> revokedMap() {
+        return (ConcurrentHashMap<String, Long>) ReflectionTestUtils.getField(cache, "revoked");
+    }
+
+    private static String token(long loginId, long timeoutSeconds) {
+        return SaJwtUtil.createToken("login", loginId, "default-device", timeoutSeconds, Map.of(), SECRET);
+    }
+}
@@ -0,0 +1,100 @@
+package com.yimusi.common.security;
+
+import com.yimusi.common.exception.BusinessException;
+import com.yimusi.common.exception.ErrorCode;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 密码哈希与校验执行器单元测试
+ *
+ * <p>测试 {@link PasswordHasher}，包括：</p>
+ * <ul>
+ *   <li>哈希与校验结果</li>
+ *   <li>队列已满时快速拒绝（429）</li>
+ *   <li>等待超时（503）</li>
+ * </ul>
+ */
+class PasswordHasherTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private PasswordHasher hasher;
+
+    @AfterEach
+    void tearDown() {
+        hasher.shutdown();
+    }
+
+    @Test
+    @DisplayName("哈希后可校验通过，错误密码校验失败，并记录耗时")
+    void hashAndVerify() {
+        hasher = new PasswordHasher(1, 4, Duration.ofSeconds(10), meterRegistry);
+
+        String hashed = hasher.hash("Passw0rd!");
+
+        assertTrue(hasher.verify("Passw0rd!", hashed));
+        assertFalse(hasher.verify("wrong", hashed));
+        assertEquals(1, meterRegistry.timer("auth.password.hash", "op", "hash").count());
+        assertEquals(2, meterRegistry.timer("auth.password.hash", "op", "verify").count());
+    }
+
+    @Test
+    @DisplayName("线程与队列占满时其余请求立即返回 429")
+    void verify_QueueFull() throws Exception {
+        hasher = new PasswordHasher(1, 1, Duration.ofSeconds(30), meterRegistry);
+        String hashed = hasher.hash("Passw0rd!");
+        int callers = 8;
+        ExecutorService pool = Executors.newFixedThreadPool(callers);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Boolean>> futures = new ArrayList<>();
+        for (int i = 0; i < callers; i++) {
+            futures.add(pool.submit(() -> {
+                start.await();
+                return hasher.verify("Passw0rd!", hashed);
+            }));
+        }
+        start.countDown();
+
+        int accepted = 0;
+        int rejected = 0;
+        for (Future<Boolean> future : futures) {
+            try {
+                assertTrue(future.get());
+                accepted++;
+            } catch (ExecutionException e) {
+                BusinessException cause = assertInstanceOf(BusinessException.class, e.getCause());
+                assertEquals(ErrorCode.TOO_MANY_REQUESTS.getCode(), cause.getCode());
+                rejected++;
+            }
+        }
+        pool.shutdown();
+
+        assertTrue(accepted >= 1, "至少执行一个请求");
+        assertTrue(rejected >= 1, "队列占满后应拒绝");
+        assertEquals(rejected, (int) meterRegistry.counter("auth.password.rejected", "reason", "queue_full").count());
+    }
+
+    @Test
+    @DisplayName("排队加执行超过等待时间时返回 503")
+    void verify_Timeout() {
+        hasher = new PasswordHasher(1, 4, Duration.ofMillis(1), meterRegistry);
+        String hashed = cn.hutool.crypto.digest.BCrypt.hashpw("Passw0rd!");
+
+        BusinessException exception = assertThrows(BusinessException.class, () -> hasher.verify("Passw0rd!", hashed));
+
+        assertEquals(ErrorCode.SERVICE_UNAVAILABLE.getCode(), exception.getCode());
+        assertEquals(1, meterRegistry.counter("auth.password.rejected", "reason", "timeout").count());
+    }
+}
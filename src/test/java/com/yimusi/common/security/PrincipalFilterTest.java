@@ -0,0 +1,92 @@
+package com.yimusi.common.security;
+
+import cn.dev33.satoken.stp.StpUtil;
+import com.yimusi.common.util.OperatorUtil;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.MockedStatic;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * 登录主体过滤器单元测试
+ *
+ * <p>测试 {@link PrincipalFilter} 与 {@link CurrentPrincipal}，包括：</p>
+ * <ul>
+ *   <li>一次请求只校验一次 token</li>
+ *   <li>未登录与解析异常按未登录处理</li>
+ *   <li>请求结束后清除绑定</li>
+ * </ul>
+ */
+class PrincipalFilterTest {
+
+    private final PrincipalFilter filter = new PrincipalFilter();
+
+    private MockedStatic<StpUtil> mockedStpUtil;
+
+    @BeforeEach
+    void setUp() {
+        mockedStpUtil = mockStatic(StpUtil.class);
+    }
+
+    @AfterEach
+    void tearDown() {
+        mockedStpUtil.close();
+        CurrentPrincipal.clear();
+    }
+
+    @Test
+    @DisplayName("已登录请求内多次读取操作者只校验一次 token，请求结束后清除绑定")
+    void doFilter_VerifiesTokenOnce() throws Exception {
+        mockedStpUtil.when(StpUtil::getLoginIdDefaultNull).thenReturn("42");
+        FilterChain chain = (request, response) -> {
+            for (int i = 0; i < 1000; i++) {
+                assertEquals(42L, OperatorUtil.getOperator());
+            }
+            assertEquals(42L, CurrentPrincipal.getUserId());
+        };
+
+        filter.doFilter(new MockHttpServletRequest(), new MockHttpServletResponse(), chain);
+
+        mockedStpUtil.verify(StpUtil::getLoginIdDefaultNull, times(1));
+        mockedStpUtil.verify(StpUtil::isLogin, never());
+        mockedStpUtil.verify(StpUtil::getLoginIdAsLong, never());
+        assertFalse(CurrentPrincipal.isBound());
+    }
+
+    @Test
+    @DisplayName("未登录请求绑定为匿名，操作者为系统")
+    void doFilter_NotLoggedIn() throws Exception {
+        mockedStpUtil.when(StpUtil::getLoginIdDefaultNull).thenReturn(null);
+        FilterChain chain = (request, response) -> {
+            assertTrue(CurrentPrincipal.isBound());
+            assertNull(CurrentPrincipal.getUserId());
+            assertEquals(0L, OperatorUtil.getOperator());
+        };
+
+        filter.doFilter(new MockHttpServletRequest(), new MockHttpServletResponse(), chain);
+
+        mockedStpUtil.verify(StpUtil::isLogin, never());
+        assertFalse(CurrentPrincipal.isBound());
+    }
+
+    @Test
+    @DisplayName("解析 token 异常时按未登录处理，链路继续执行且异常后仍清除绑定")
+    void doFilter_ResolveFailure() {
+        mockedStpUtil.when(StpUtil::getLoginIdDefaultNull).thenThrow(new IllegalStateException("context not available"));
+        FilterChain chain = (request, response) -> {
+            assertNull(CurrentPrincipal.getUserId());
+            throw new IllegalStateException("下游异常");
+        };
+
+        assertThrows(IllegalStateException.class,
+            () -> filter.doFilter(new MockHttpServletRequest(), new MockHttpServletResponse(), chain));
+        assertFalse(CurrentPrincipal.isBound());
+    }
+}
@@ -0,0 +1,87 @@
+package com.yimusi.common.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.redisson.api.RMapCache;
+import org.redisson.api.RTopic;
+import org.redisson.api.RedissonClient;
+import org.redisson.api.listener.MessageListener;
+import org.redisson.client.codec.StringCodec;
+import org.redisson.misc.CompletableFutureWrapper;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * token 吊销跨节点同步单元测试
+ */
+@ExtendWith(MockitoExtension.class)
+class TokenRevocationSyncTest {
+
+    @Mock
+    private RedissonClient redissonClient;
+
+    @Mock
+    private RMapCache<String, String> revocations;
+
+    @Mock
+    private RTopic topic;
+
+    private TokenClaimsCache cache;
+    private TokenRevocationSync sync;
+
+    @BeforeEach
+    void setUp() {
+        cache = new TokenClaimsCache(10, new SimpleMeterRegistry());
+        doReturn(revocations).when(redissonClient).getMapCache(TokenRevocationSync.REVOCATIONS, StringCodec.INSTANCE);
+        doReturn(topic).when(redissonClient).getTopic(TokenRevocationSync.CHANNEL, StringCodec.INSTANCE);
+        sync = new TokenRevocationSync(redissonClient, cache);
+    }
+
+    @Test
+    @DisplayName("启动时加载 Redis 中的吊销记录，本节点吊销时保存并广播")
+    void init_LoadsAndPublishes() {
+        long expiresAt = System.currentTimeMillis() + 60_000;
+        when(revocations.readAllMap()).thenReturn(Map.of("loaded", Long.toString(expiresAt)));
+        when(revocations.fastPutAsync(anyString(), anyString(), anyLong(), eq(TimeUnit.MILLISECONDS)))
+            .thenReturn(new CompletableFutureWrapper<>(true));
+        when(topic.publishAsync(any())).thenReturn(new CompletableFutureWrapper<>(1L));
+
+        sync.init();
+        assertTrue(cache.isRevoked("loaded"));
+
+        cache.revoke("token", expiresAt);
+
+        String key = TokenClaimsCache.key("token");
+        verify(revocations).fastPutAsync(eq(key), eq(Long.toString(expiresAt)), longThat(ttl -> ttl > 0 && ttl <= 60_000),
+            eq(TimeUnit.MILLISECONDS));
+        verify(topic).publishAsync(key + ":" + expiresAt);
+    }
+
+    @Test
+    @DisplayName("收到其他节点的广播后加入本地吊销表，忽略格式错误的消息")
+    @SuppressWarnings("unchecked")
+    void onMessage_AppliesRevocation() {
+        when(revocations.readAllMap()).thenReturn(Map.of());
+        sync.init();
+        ArgumentCaptor<MessageListener<String>> listener = ArgumentCaptor.forClass(MessageListener.class);
+        verify(topic).addListener(eq(String.class), listener.capture());
+        cache.put("remote", "42", System.currentTimeMillis() + 60_000);
+
+        listener.getValue().onMessage(TokenRevocationSync.CHANNEL, "remote:" + (System.currentTimeMillis() + 60_000));
+        listener.getValue().onMessage(TokenRevocationSync.CHANNEL, "broken:abc");
+
+        assertTrue(cache.isRevoked("remote"));
+        assertNull(cache.get("remote"));
+        assertFalse(cache.isRevoked("broken"));
+    }
+}
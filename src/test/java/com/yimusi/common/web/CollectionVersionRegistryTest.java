@@ -0,0 +1,65 @@
+package com.yimusi.common.web;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * 数据表版本登记单元测试
+ *
+ * <p>测试 {@link CollectionVersionRegistry}，包括：</p>
+ * <ul>
+ *   <li>表版本缓存与失效</li>
+ *   <li>加载期间被标记失效时不缓存旧快照</li>
+ * </ul>
+ */
+@ExtendWith(MockitoExtension.class)
+class CollectionVersionRegistryTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    @DisplayName("表版本在刷新间隔内只加载一次，标记变更后重新加载")
+    @SuppressWarnings("unchecked")
+    void collectionVersion_CachedUntilChanged() {
+        CollectionVersionRegistry registry = new CollectionVersionRegistry(jdbcTemplate, Duration.ofMinutes(1), new SimpleMeterRegistry());
+        when(jdbcTemplate.queryForObject(contains("FROM test_stations"), any(RowMapper.class))).thenReturn("3-100", "4-200");
+
+        assertEquals("3-100", registry.collectionVersion("test_stations"));
+        assertEquals("3-100", registry.collectionVersion("test_stations"));
+        registry.markChanged("test_stations");
+        assertEquals("4-200", registry.collectionVersion("test_stations"));
+
+        verify(jdbcTemplate, times(2)).queryForObject(anyString(), any(RowMapper.class));
+    }
+
+    @Test
+    @DisplayName("加载期间表被标记变更时不缓存加载结果")
+    @SuppressWarnings("unchecked")
+    void collectionVersion_ChangedWhileLoading() {
+        CollectionVersionRegistry registry = new CollectionVersionRegistry(jdbcTemplate, Duration.ofMinutes(1), new SimpleMeterRegistry());
+        when(jdbcTemplate.queryForObject(anyString(), any(RowMapper.class)))
+            .thenAnswer(invocation -> {
+                registry.markChanged("oil_samples");
+                return "1-100";
+            })
+            .thenReturn("2-200");
+
+        assertEquals("1-100", registry.collectionVersion("oil_samples"));
+        assertEquals("2-200", registry.collectionVersion("oil_samples"));
+        assertEquals("2-200", registry.collectionVersion("oil_samples"));
+
+        verify(jdbcTemplate, times(2)).queryForObject(anyString(), any(RowMapper.class));
+    }
+}
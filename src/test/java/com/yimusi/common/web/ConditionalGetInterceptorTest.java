@@ -0,0 +1,139 @@
+package com.yimusi.common.web;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.Map;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * ETag 条件请求拦截器单元测试
+ *
+ * <p>测试 {@link ConditionalGetInterceptor}，包括：</p>
+ * <ul>
+ *   <li>列表与详情接口的 ETag 生成</li>
+ *   <li>If-None-Match 命中时返回 304 且不执行接口</li>
+ *   <li>行不存在或未标注的接口不处理</li>
+ * </ul>
+ */
+@ExtendWith(MockitoExtension.class)
+class ConditionalGetInterceptorTest {
+
+    @Mock
+    private CollectionVersionRegistry registry;
+
+    private SimpleMeterRegistry meterRegistry;
+    private ConditionalGetInterceptor interceptor;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        interceptor = new ConditionalGetInterceptor(registry, meterRegistry);
+    }
+
+    @Test
+    @DisplayName("列表接口 ETag 包含表版本和查询参数，匹配时返回 304")
+    void list_NotModified() throws Exception {
+        when(registry.collectionVersion("test_stations")).thenReturn("3-1700000000000000");
+        MockHttpServletRequest first = request("/api/test-stations/page", "page=1");
+        MockHttpServletResponse firstResponse = new MockHttpServletResponse();
+
+        assertTrue(interceptor.preHandle(first, firstResponse, handler("page")));
+        String etag = firstResponse.getHeader("ETag");
+        assertTrue(etag.startsWith("W/\"test_stations-3-1700000000000000-"), etag);
+        assertEquals("no-cache", firstResponse.getHeader("Cache-Control"));
+
+        MockHttpServletRequest second = request("/api/test-stations/page", "page=1");
+        second.addHeader("If-None-Match", "\"other\", " + etag);
+        MockHttpServletResponse secondResponse = new MockHttpServletResponse();
+        assertFalse(interceptor.preHandle(second, secondResponse, handler("page")));
+        assertEquals(304, secondResponse.getStatus());
+        assertEquals(1, meterRegistry.counter("etag.not.modified").count());
+
+        MockHttpServletRequest otherPage = request("/api/test-stations/page", "page=2");
+        otherPage.addHeader("If-None-Match", etag);
+        assertTrue(interceptor.preHandle(otherPage, new MockHttpServletResponse(), handler("page")));
+    }
+
+    @Test
+    @DisplayName("详情接口 ETag 由行版本生成，版本变化后不再命中")
+    void detail_VersionChanged() throws Exception {
+        when(registry.entityVersion("test_stations", 7L)).thenReturn("100", "200");
+        MockHttpServletRequest request = request("/api/test-stations/7", null);
+        request.setAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE, Map.of("id", "7"));
+        request.addHeader("If-None-Match", "W/\"test_stations-7-100\"");
+
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        assertFalse(interceptor.preHandle(request, response, handler("detail")));
+        assertEquals(304, response.getStatus());
+
+        MockHttpServletResponse changed = new MockHttpServletResponse();
+        assertTrue(interceptor.preHandle(request, changed, handler("detail")));
+        assertEquals("W/\"test_stations-7-200\"", changed.getHeader("ETag"));
+    }
+
+    @Test
+    @DisplayName("行不存在、ID 非数字或接口未标注时不设置 ETag")
+    void skipped() throws Exception {
+        when(registry.entityVersion("test_stations", 8L)).thenReturn(null);
+        MockHttpServletRequest missing = request("/api/test-stations/8", null);
+        missing.setAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE, Map.of("id", "8"));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        assertTrue(interceptor.preHandle(missing, response, handler("detail")));
+        assertNull(response.getHeader("ETag"));
+
+        MockHttpServletRequest invalid = request("/api/test-stations/abc", null);
+        invalid.setAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE, Map.of("id", "abc"));
+        assertTrue(interceptor.preHandle(invalid, new MockHttpServletResponse(), handler("detail")));
+
+        assertTrue(interceptor.preHandle(request("/api/test-stations/x", null), new MockHttpServletResponse(), handler("plain")));
+        verifyNoMoreInteractions(registry);
+    }
+
+    @Test
+    @DisplayName("If-None-Match 按弱比较匹配，支持多个值和 *")
+    void matches() {
+        assertTrue(ConditionalGetInterceptor.matches("\"a\"", "W/\"a\""));
+        assertTrue(ConditionalGetInterceptor.matches("W/\"b\", W/\"a\"", "W/\"a\""));
+        assertTrue(ConditionalGetInterceptor.matches("*", "W/\"a\""));
+        assertFalse(ConditionalGetInterceptor.matches("W/\"b\"", "W/\"a\""));
+        assertFalse(ConditionalGetInterceptor.matches(null, "W/\"a\""));
+    }
+
+    private static MockHttpServletRequest request(String uri, String query) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", uri);
+        request.setQueryString(query);
+        return request;
+    }
+
+    private static HandlerMethod handler(String method) throws NoSuchMethodException {
+        return new HandlerMethod(new SampleController(), SampleController.class.getMethod(method));
+    }
+
+    /**
+     * 模拟的控制器
+     */
+    static class SampleController {
+
+        @ConditionalGet(table = "test_stations")
+        public void page() {
+        }
+
+        @ConditionalGet(table = "test_stations", idVariable = "id")
+        public void detail() {
+        }
+
+        public void plain() {
+        }
+    }
+}
@@ -0,0 +1,292 @@
+package com.yimusi.common.web;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.yimusi.common.model.ApiResponse;
+import com.yimusi.entity.TestStation;
+import com.yimusi.entity.TestStationParameter;
+import com.yimusi.enums.TestStationUsage;
+import com.yimusi.enums.ValveCommType;
+import com.yimusi.mapper.TestStationMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import java.io.ByteArrayInputStream;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPInputStream;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.mapstruct.factory.Mappers;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 序列化响应缓存单元测试
+ *
+ * <p>测试 {@link ResponseBodyCache}，包括：</p>
+ * <ul>
+ *   <li>按行版本命中与失效</li>
+ *   <li>gzip 协商</li>
+ *   <li>容量淘汰</li>
+ *   <li>与每次映射并序列化相比的吞吐量（基准，默认不运行）</li>
+ * </ul>
+ */
+@Slf4j
+class ResponseBodyCacheTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+    private final TestStationMapper mapper = Mappers.getMapper(TestStationMapper.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private ResponseBodyCache cache;
+    private TestStation station;
+
+    @BeforeEach
+    void setUp() {
+        cache = new ResponseBodyCache(objectMapper, true, 100, true, 256, meterRegistry);
+        station = station();
+    }
+
+    @Test
+    @DisplayName("版本一致时直接输出缓存字节，版本变化或失效后重新加载")
+    void write_CachedByVersion() throws Exception {
+        AtomicInteger loads = new AtomicInteger();
+
+        MockHttpServletResponse first = write("100", loads);
+        MockHttpServletResponse second = write("100", loads);
+        assertEquals(1, loads.get());
+        assertArrayEquals(first.getContentAsByteArray(), second.getContentAsByteArray());
+        assertEquals("application/json", second.getContentType());
+        assertEquals(objectMapper.writeValueAsString(ApiResponse.success(mapper.toResponse(station))), second.getContentAsString());
+
+        write("200", loads);
+        assertEquals(2, loads.get());
+        cache.evict("test_stations", 1L);
+        write("200", loads);
+        assertEquals(3, loads.get());
+        assertEquals(1, meterRegistry.counter("response.cache", "result", "hit").count());
+    }
+
+    @Test
+    @DisplayName("没有行版本时不缓存，每次加载")
+    void write_WithoutVersion() throws Exception {
+        AtomicInteger loads = new AtomicInteger();
+
+        write(null, loads);
+        write(null, loads);
+
+        assertEquals(2, loads.get());
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    @DisplayName("客户端接受 gzip 时输出预压缩的字节")
+    void write_Gzip() throws Exception {
+        MockHttpServletRequest request = request("100");
+        request.addHeader("Accept-Encoding", "br, gzip;q=0.8");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        cache.write(request, response, "test_stations", 1L, () -> ApiResponse.success(mapper.toResponse(station)));
+
+        assertEquals("gzip", response.getHeader("Content-Encoding"));
+        assertEquals("Accept-Encoding", response.getHeader("Vary"));
+        byte[] json;
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(response.getContentAsByteArray()))) {
+            json = in.readAllBytes();
+        }
+        assertArrayEquals(objectMapper.writeValueAsBytes(ApiResponse.success(mapper.toResponse(station))), json);
+
+        assertTrue(ResponseBodyCache.acceptsGzip("gzip, deflate"));
+        assertFalse(ResponseBodyCache.acceptsGzip("gzip;q=0"));
+        assertFalse(ResponseBodyCache.acceptsGzip("identity"));
+        assertFalse(ResponseBodyCache.acceptsGzip(null));
+    }
+
+    @Test
+    @DisplayName("超出容量时淘汰最久未访问的项，缓存回落到容量以内")
+    void write_BoundedEntries() throws Exception {
+        ResponseBodyCache bounded = new ResponseBodyCache(objectMapper, true, 10, false, 0, new SimpleMeterRegistry());
+        MockHttpServletRequest request = request("100");
+        for (long id = 0; id < 10; id++) {
+            bounded.write(request, new MockHttpServletResponse(), "test_stations", id, () -> "x");
+        }
+        AtomicInteger loads = new AtomicInteger();
+        bounded.write(request, new MockHttpServletResponse(), "test_stations", 0L, () -> {
+            loads.incrementAndGet();
+            return "x";
+        });
+
+        bounded.write(request, new MockHttpServletResponse(), "test_stations", 10L, () -> "x");
+
+        assertEquals(0, loads.get());
+        assertEquals(9, bounded.size());
+        bounded.write(request, new MockHttpServletResponse(), "test_stations", 0L, () -> {
+            loads.incrementAndGet();
+            return "x";
+        });
+        assertEquals(0, loads.get(), "最近访问过的项不被淘汰");
+        bounded.write(request, new MockHttpServletResponse(), "test_stations", 1L, () -> {
+            loads.incrementAndGet();
+            return "x";
+        });
+        assertEquals(1, loads.get(), "最久未访问的项被淘汰");
+    }
+
+    /**
+     * 吞吐量基准，默认不运行，只输出结果不做断言：
+     * {@code mvn test -Dtest=ResponseBodyCacheTest -Dbenchmark=true}.
+     * 对比每次 MapStruct 映射加 Jackson 序列化写入响应与命中缓存直接写入字节，分别在单线程和 CPU 核数个线程下测量；
+     * 两条路径都使用同一个预先构造的请求，输出写入只计数不保存的 {@link DiscardingResponse}；
+     * 数据不经过数据库，因此不包含命中时省去的查询耗时.
+     */
+    @Test
+    @Tag("benchmark")
+    @EnabledIfSystemProperty(named = "benchmark", matches = "true")
+    @DisplayName("基准：有无缓存时详情响应的单线程与多线程吞吐量")
+    void benchmark_Throughput() throws Exception {
+        List<TestStation> stations = new ArrayList<>();
+        for (long id = 0; id < 64; id++) {
+            TestStation copy = station();
+            copy.setId(id);
+            stations.add(copy);
+        }
+        ResponseBodyCache benchCache = new ResponseBodyCache(objectMapper, true, 2000, true, 1024, new SimpleMeterRegistry());
+        ResponseWriter serialize = (request, response, id) -> {
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            objectMapper.writeValue(response.getOutputStream(), ApiResponse.success(mapper.toResponse(stations.get((int) id))));
+        };
+        ResponseWriter cached = (request, response, id) -> benchCache.write(request, response, "test_stations", id,
+            () -> ApiResponse.success(mapper.toResponse(stations.get((int) id))));
+
+        int cores = Runtime.getRuntime().availableProcessors();
+        for (int threads : cores > 1 ? new int[] {1, cores} : new int[] {1}) {
+            double withoutCache = measure(threads, serialize);
+            double withCache = measure(threads, cached);
+            log.info("响应缓存基准: threads={}, 映射并序列化 {} 次/秒, 命中缓存 {} 次/秒, 提升 {} 倍",
+                threads, Math.round(withoutCache), Math.round(withCache), String.format("%.2f", withCache / withoutCache));
+        }
+    }
+
+    /**
+     * 预热 2 轮后测量 3 轮，返回最好一轮的总吞吐量（次/秒）
+     */
+    private static double measure(int threads, ResponseWriter writer) throws Exception {
+        int iterations = 50_000;
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try {
+            double best = 0;
+            for (int round = 0; round < 5; round++) {
+                CountDownLatch start = new CountDownLatch(1);
+                List<Future<?>> futures = new ArrayList<>();
+                for (int t = 0; t < threads; t++) {
+                    MockHttpServletRequest request = request("100");
+                    futures.add(pool.submit(() -> {
+                        start.await();
+                        for (int i = 0; i < iterations; i++) {
+                            writer.write(request, new DiscardingResponse(), i & 63);
+                        }
+                        return null;
+                    }));
+                }
+                long begin = System.nanoTime();
+                start.countDown();
+                for (Future<?> future : futures) {
+                    future.get();
+                }
+                double perSecond = (double) threads * iterations * 1_000_000_000L / (System.nanoTime() - begin);
+                if (round >= 2) {
+                    best = Math.max(best, perSecond);
+                }
+            }
+            return best;
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @FunctionalInterface
+    private interface ResponseWriter {
+        void write(MockHttpServletRequest request, MockHttpServletResponse response, long id) throws Exception;
+    }
+
+    /**
+     * 只统计写入字节数的响应. MockHttpServletResponse 的输出流逐字节写入并检查缓冲区，
+     * 1 KB 左右的响应体写入耗时达百微秒级，会掩盖被测代码本身的差异
+     */
+    private static final class DiscardingResponse extends MockHttpServletResponse {
+
+        private long written;
+
+        private final ServletOutputStream outputStream = new ServletOutputStream() {
+            @Override
+            public boolean isReady() {
+                return true;
+            }
+
+            @Override
+            public void setWriteListener(WriteListener writeListener) {
+            }
+
+            @Override
+            public void write(int b) {
+                written++;
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) {
+                written += len;
+            }
+        };
+
+        @Override
+        public ServletOutputStream getOutputStream() {
+            return outputStream;
+        }
+    }
+
+    private MockHttpServletResponse write(String version, AtomicInteger loads) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        cache.write(request(version), response, "test_stations", 1L, () -> {
+            loads.incrementAndGet();
+            return ApiResponse.success(mapper.toResponse(station));
+        });
+        return response;
+    }
+
+    private static MockHttpServletRequest request(String version) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/test-stations/1");
+        request.setAttribute(ConditionalGetInterceptor.VERSION_ATTRIBUTE, version);
+        return request;
+    }
+
+    private static TestStation station() {
+        TestStation station = new TestStation();
+        station.setId(1L);
+        station.setStationNo(1001);
+        station.setStationName("一号测试工位");
+        station.setUsage(TestStationUsage.INHOUSE_TEST);
+        station.setValveCommType(ValveCommType.TCP_MODBUS);
+        List<TestStationParameter> params = new ArrayList<>();
+        for (int i = 0; i < 16; i++) {
+            params.add(new TestStationParameter("valve_" + i, "{\"register\":" + (100 + i) + ",\"unit\":1}"));
+        }
+        station.setValveControlParams(params);
+        station.setOilValveMapping(new ArrayList<>(params));
+        station.setResponsiblePerson("张三");
+        station.setCreatedAt(Instant.parse("2026-01-01T00:00:00Z"));
+        station.setUpdatedAt(Instant.parse("2026-01-02T00:00:00Z"));
+        return station;
+    }
+}
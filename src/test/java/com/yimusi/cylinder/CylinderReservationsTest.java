@@ -0,0 +1,105 @@
+package com.yimusi.cylinder;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 油缸预留账本单元测试
+ *
+ * <p>测试 {@link CylinderReservations}，包括：</p>
+ * <ul>
+ *   <li>余量判断、释放与未登记油缸</li>
+ *   <li>重建账本</li>
+ *   <li>高并发预留不超量</li>
+ * </ul>
+ */
+class CylinderReservationsTest {
+
+    @Test
+    @DisplayName("余量不足时预留失败且不修改余量，释放后可再次预留")
+    void tryReserve_Insufficient() {
+        CylinderReservations reservations = new CylinderReservations();
+        reservations.reset(Map.of(1, 120L));
+
+        assertTrue(reservations.tryReserve(1, 50));
+        assertTrue(reservations.tryReserve(1, 50));
+        assertFalse(reservations.tryReserve(1, 50));
+        assertEquals(20, reservations.available(1));
+
+        reservations.release(1, 50);
+        assertTrue(reservations.tryReserve(1, 50));
+    }
+
+    @Test
+    @DisplayName("未登记的油缸不限制预留，重建账本时移除不再登记的油缸")
+    void reset_Untracked() {
+        CylinderReservations reservations = new CylinderReservations();
+        assertTrue(reservations.tryReserve(5, Long.MAX_VALUE));
+
+        reservations.reset(Map.of(5, -10L, 6, 100L));
+        assertEquals(0, reservations.available(5));
+        assertFalse(reservations.tryReserve(5, 1));
+
+        reservations.reset(Map.of(6, 100L));
+        assertEquals(Long.MAX_VALUE, reservations.available(5));
+    }
+
+    @Test
+    @DisplayName("16 个线程并发预留同一组油缸，成功预留量恰好等于余量且不出现负数")
+    void tryReserve_Concurrent() throws Exception {
+        CylinderReservations reservations = new CylinderReservations();
+        int cylinders = 4;
+        long perCylinder = 50 * 1000;
+        Map<Integer, Long> snapshot = new HashMap<>();
+        for (int i = 0; i < cylinders; i++) {
+            snapshot.put(i, perCylinder);
+        }
+        reservations.reset(snapshot);
+
+        int threads = 16;
+        int attemptsPerThread = 20_000;
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<long[]>> futures = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            int seed = t;
+            futures.add(pool.submit(() -> {
+                long[] reserved = new long[cylinders];
+                start.await();
+                for (int i = 0; i < attemptsPerThread; i++) {
+                    int cylinder = (seed + i) % cylinders;
+                    if (reservations.tryReserve(cylinder, 50)) {
+                        reserved[cylinder] += 50;
+                    }
+                    assertTrue(reservations.available(cylinder) >= 0);
+                }
+                return reserved;
+            }));
+        }
+        start.countDown();
+        long[] total = new long[cylinders];
+        for (Future<long[]> future : futures) {
+            long[] reserved = future.get(30, TimeUnit.SECONDS);
+            for (int i = 0; i < cylinders; i++) {
+                total[i] += reserved[i];
+            }
+        }
+        pool.shutdown();
+
+        for (int i = 0; i < cylinders; i++) {
+            assertEquals(perCylinder, total[i]);
+            assertEquals(0, reservations.available(i));
+        }
+    }
+}
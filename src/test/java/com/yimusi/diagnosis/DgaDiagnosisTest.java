@@ -0,0 +1,194 @@
+package com.yimusi.diagnosis;
+
+import com.yimusi.enums.DgaFault;
+import com.yimusi.enums.DgaMethod;
+import com.yimusi.telemetry.ReadingSeries;
+import java.util.Random;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * DGA 故障诊断单元测试
+ *
+ * <p>测试 {@link DgaDiagnosis}，包括：</p>
+ * <ul>
+ *   <li>Duval 三角形各区域与网格对齐的边界</li>
+ *   <li>Duval 五边形区域划分与查找表的一致性</li>
+ *   <li>Rogers 与 IEC 60599 比值判据</li>
+ *   <li>历史读数按时间对齐与批量诊断</li>
+ *   <li>单条与批量诊断的吞吐量（基准，默认不运行）</li>
+ * </ul>
+ */
+@Slf4j
+class DgaDiagnosisTest {
+
+    @Test
+    @DisplayName("Duval 三角形 - 各区域判定")
+    void duvalTriangle_Zones() {
+        assertEquals(DgaFault.PD, DuvalTriangle.diagnose(99, 1, 0));
+        assertEquals(DgaFault.T1, DuvalTriangle.diagnose(90, 8, 2));
+        assertEquals(DgaFault.T2, DuvalTriangle.diagnose(60, 38, 2));
+        assertEquals(DgaFault.T3, DuvalTriangle.diagnose(40, 55, 5));
+        assertEquals(DgaFault.D1, DuvalTriangle.diagnose(50, 10, 40));
+        assertEquals(DgaFault.D2, DuvalTriangle.diagnose(30, 30, 40));
+        assertEquals(DgaFault.D2, DuvalTriangle.diagnose(50, 30, 20));
+        assertEquals(DgaFault.DT, DuvalTriangle.diagnose(80, 10, 10));
+        assertEquals(DgaFault.UNDETERMINED, DuvalTriangle.diagnose(0, 0, 0));
+        assertEquals(DgaFault.UNDETERMINED, DuvalTriangle.diagnose(Double.NaN, 1, 1));
+    }
+
+    @Test
+    @DisplayName("Duval 三角形 - 落在网格线上的边界与直接比较一致")
+    void duvalTriangle_Boundaries() {
+        assertEquals(DgaFault.T2, DuvalTriangle.diagnose(80, 20, 0));
+        assertEquals(DgaFault.T1, DuvalTriangle.diagnose(80.01, 19.99, 0));
+        assertEquals(DgaFault.DT, DuvalTriangle.diagnose(76, 20, 4));
+        assertEquals(DgaFault.T3, DuvalTriangle.diagnose(45, 50, 5));
+        // 数值按比例缩放后边界不变
+        assertEquals(DgaFault.T2, DuvalTriangle.diagnose(8, 2, 0));
+    }
+
+    @Test
+    @DisplayName("Duval 五边形 - 区域多边形判定")
+    void duvalPentagon_Classify() {
+        assertEquals(DgaFault.PD, DuvalPentagon.classify(-0.5, 30));
+        assertEquals(DgaFault.D1, DuvalPentagon.classify(20, 10));
+        assertEquals(DgaFault.D2, DuvalPentagon.classify(10, -10));
+        assertEquals(DgaFault.T3, DuvalPentagon.classify(10, -25));
+        assertEquals(DgaFault.T2, DuvalPentagon.classify(-8, -25));
+        assertEquals(DgaFault.T1, DuvalPentagon.classify(-20, -5));
+        assertEquals(DgaFault.S, DuvalPentagon.classify(-20, 15));
+        assertEquals(DgaFault.UNDETERMINED, DuvalPentagon.classify(39, 39));
+    }
+
+    @Test
+    @DisplayName("Duval 五边形 - 典型放电与过热气体组合")
+    void duvalPentagon_Diagnose() {
+        // 乙炔为主：形心偏向右上的 C2H2 轴
+        assertEquals(DgaFault.D1, DuvalPentagon.diagnose(30, 2, 5, 10, 53));
+        // 乙烯为主：形心偏向右下的 C2H4 轴
+        assertEquals(DgaFault.T3, DuvalPentagon.diagnose(5, 10, 20, 65, 0));
+        assertEquals(DgaFault.UNDETERMINED, DuvalPentagon.diagnose(0, 0, 0, 0, 0));
+    }
+
+    @Test
+    @DisplayName("Rogers 比值法判据")
+    void rogers() {
+        assertEquals(DgaFault.NORMAL, GasRatios.rogers(100, 50, 100, 50, 1));
+        assertEquals(DgaFault.PD, GasRatios.rogers(1000, 50, 100, 50, 1));
+        assertEquals(DgaFault.D2, GasRatios.rogers(100, 50, 10, 50, 50));
+        assertEquals(DgaFault.T1, GasRatios.rogers(100, 50, 20, 40, 1));
+        assertEquals(DgaFault.T2, GasRatios.rogers(10, 50, 20, 40, 1));
+        assertEquals(DgaFault.T3, GasRatios.rogers(10, 50, 10, 50, 0));
+        assertEquals(DgaFault.UNDETERMINED, GasRatios.rogers(0, 0, 0, 0, 0));
+    }
+
+    @Test
+    @DisplayName("IEC 60599 三比值法判据")
+    void iec60599() {
+        assertEquals(DgaFault.PD, GasRatios.iec60599(1000, 50, 100, 10, 0));
+        assertEquals(DgaFault.D1, GasRatios.iec60599(100, 30, 10, 20, 40));
+        assertEquals(DgaFault.D2, GasRatios.iec60599(100, 50, 10, 30, 30));
+        assertEquals(DgaFault.T1, GasRatios.iec60599(10, 50, 50, 20, 5));
+        assertEquals(DgaFault.T2, GasRatios.iec60599(10, 50, 20, 40, 1));
+        assertEquals(DgaFault.T3, GasRatios.iec60599(10, 50, 10, 50, 1));
+        assertEquals(DgaFault.UNDETERMINED, GasRatios.iec60599(0, 0, 0, 0, 0));
+    }
+
+    @Test
+    @DisplayName("各气体读数按时间对齐，取各气体最近一次读数")
+    void align() {
+        ReadingSeries h2 = series(new long[] {1, 3}, 10, 30);
+        ReadingSeries ch4 = series(new long[] {1, 2}, 1, 2);
+        ReadingSeries c2h6 = series(new long[] {2}, 5);
+        ReadingSeries c2h4 = series(new long[] {1}, 7);
+        ReadingSeries c2h2 = series(new long[] {1, 3}, 0, 9);
+
+        DgaReadings readings = DgaReadings.align(h2, ch4, c2h6, c2h4, c2h2);
+
+        assertEquals(2, readings.size());
+        assertEquals(2, readings.timestampAt(0));
+        assertEquals(10, readings.h2(0));
+        assertEquals(2, readings.ch4(0));
+        assertEquals(3, readings.timestampAt(1));
+        assertEquals(30, readings.h2(1));
+        assertEquals(9, readings.c2h2(1));
+        assertEquals(5, readings.c2h6(1));
+    }
+
+    @Test
+    @DisplayName("各判据的批量诊断与单条诊断结论逐条一致")
+    void diagnoseBatch_MatchesSingle() {
+        int n = 20_000;
+        DgaReadings readings = randomReadings(n);
+        DgaFault[] out = new DgaFault[n];
+        for (DgaMethod method : DgaMethod.values()) {
+            DgaDiagnosis.diagnose(method, readings, out);
+            for (int i = 0; i < n; i++) {
+                assertEquals(DgaDiagnosis.diagnose(method, readings.h2(i), readings.ch4(i), readings.c2h6(i),
+                    readings.c2h4(i), readings.c2h2(i)), out[i], method + " 第 " + i + " 条");
+            }
+        }
+    }
+
+    /**
+     * 吞吐量基准，默认不运行，只输出结果不做断言：
+     * {@code mvn test -Dtest=DgaDiagnosisTest -Dbenchmark=true}.
+     * 对每种判据分别测量逐条调用单条诊断与一次调用批量诊断的每秒诊断次数，预热 2 轮后取 3 轮中最好的一轮.
+     */
+    @Test
+    @Tag("benchmark")
+    @EnabledIfSystemProperty(named = "benchmark", matches = "true")
+    @DisplayName("基准：各判据单条与批量诊断的吞吐量")
+    void benchmark_Throughput() {
+        int n = 1_000_000;
+        DgaReadings readings = randomReadings(n);
+        DgaFault[] out = new DgaFault[n];
+        for (DgaMethod method : DgaMethod.values()) {
+            long singleBest = Long.MAX_VALUE;
+            long batchBest = Long.MAX_VALUE;
+            int sink = 0;
+            for (int round = 0; round < 5; round++) {
+                long start = System.nanoTime();
+                for (int i = 0; i < n; i++) {
+                    sink += DgaDiagnosis.diagnose(method, readings.h2(i), readings.ch4(i), readings.c2h6(i),
+                        readings.c2h4(i), readings.c2h2(i)).ordinal();
+                }
+                long singleNanos = System.nanoTime() - start;
+                start = System.nanoTime();
+                DgaDiagnosis.diagnose(method, readings, out);
+                long batchNanos = System.nanoTime() - start;
+                sink += out[round].ordinal();
+                if (round >= 2) {
+                    singleBest = Math.min(singleBest, singleNanos);
+                    batchBest = Math.min(batchBest, batchNanos);
+                }
+            }
+            log.info("DGA 诊断基准: method={}, 单条 {} 次/秒, 批量 {} 次/秒 (sink={})", method,
+                n * 1_000_000_000L / singleBest, n * 1_000_000_000L / batchBest, sink);
+        }
+    }
+
+    private static DgaReadings randomReadings(int n) {
+        Random random = new Random(11);
+        DgaReadings readings = new DgaReadings(n);
+        for (int i = 0; i < n; i++) {
+            readings.add(i, random.nextDouble() * 500, random.nextDouble() * 200, random.nextDouble() * 100,
+                random.nextDouble() * 200, random.nextDouble() * 50);
+        }
+        return readings;
+    }
+
+    private static ReadingSeries series(long[] timestamps, double... values) {
+        ReadingSeries series = new ReadingSeries();
+        for (int i = 0; i < timestamps.length; i++) {
+            series.add(timestamps[i], values[i]);
+        }
+        return series;
+    }
+}
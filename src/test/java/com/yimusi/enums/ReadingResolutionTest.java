@@ -0,0 +1,43 @@
+package com.yimusi.enums;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * ReadingResolution 枚举测试类
+ */
+class ReadingResolutionTest {
+
+    private static final long SECOND = 1000L;
+    private static final long HOUR = 3_600_000L;
+    private static final long DAY = 86_400_000L;
+
+    @Test
+    @DisplayName("点数预算内可返回原始读数时选择 RAW")
+    void select_shouldReturnRaw_when_rawPointsFitBudget() {
+        assertEquals(ReadingResolution.RAW, ReadingResolution.select(10 * 60 * SECOND, SECOND, 1000));
+    }
+
+    @Test
+    @DisplayName("随时间范围增大逐级选择更粗的汇总精度")
+    void select_shouldCoarsen_when_rangeGrows() {
+        assertEquals(ReadingResolution.MINUTE, ReadingResolution.select(12 * HOUR, SECOND, 1000));
+        assertEquals(ReadingResolution.HOUR, ReadingResolution.select(30 * DAY, SECOND, 1000));
+        assertEquals(ReadingResolution.DAY, ReadingResolution.select(365 * DAY, SECOND, 1000));
+    }
+
+    @Test
+    @DisplayName("超出 DAY 精度的点数预算时仍返回 DAY")
+    void select_shouldReturnDay_when_nothingFits() {
+        assertEquals(ReadingResolution.DAY, ReadingResolution.select(3650 * DAY, SECOND, 10));
+    }
+
+    @Test
+    @DisplayName("时间桶起始时间按 epoch 对齐，负时间戳向下取整")
+    void bucketStart_shouldAlignToEpoch() {
+        assertEquals(3 * HOUR, ReadingResolution.HOUR.bucketStart(3 * HOUR + 59 * 60 * SECOND));
+        assertEquals(-60_000L, ReadingResolution.MINUTE.bucketStart(-1L));
+    }
+}
@@ -0,0 +1,121 @@
+package com.yimusi.live;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+import com.yimusi.dto.live.LiveStateDelta;
+import com.yimusi.enums.InspectionDeviceStatus;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * 实时状态广播器单元测试
+ * 合并窗口设置为 1 小时避免定时线程介入，发送任务在调用线程同步执行，由测试直接调用 broadcastPending
+ */
+@DisplayName("实时状态广播器单元测试")
+class LiveStateBroadcasterTest {
+
+    private LiveStateBroadcaster broadcaster;
+
+    @BeforeEach
+    void setUp() {
+        broadcaster = new LiveStateBroadcaster(new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(broadcaster, "coalesceWindow", Duration.ofHours(1));
+        ReflectionTestUtils.setField(broadcaster, "heartbeatInterval", Duration.ofHours(1));
+        broadcaster.start();
+        ExecutorService direct = mock(ExecutorService.class);
+        doAnswer(invocation -> {
+            invocation.<Runnable>getArgument(0).run();
+            return null;
+        }).when(direct).execute(any(Runnable.class));
+        ((ExecutorService) ReflectionTestUtils.getField(broadcaster, "sender")).shutdown();
+        ReflectionTestUtils.setField(broadcaster, "sender", direct);
+    }
+
+    @AfterEach
+    void tearDown() {
+        broadcaster.stop();
+    }
+
+    @Test
+    @DisplayName("订阅 - 先发送快照，再发送合并后的增量，且只推送订阅范围内的对象")
+    void subscribe_ShouldSendSnapshotThenCoalescedDeltas() throws IOException {
+        SseEmitter emitter = mock(SseEmitter.class);
+        broadcaster.subscribe(emitter, Set.of(1L), Set.of(), List::of);
+
+        LiveStateDelta status = LiveStateDelta.device(10L, 1L, "IND001");
+        status.setStatus(InspectionDeviceStatus.UNDER_INSPECTION);
+        LiveStateDelta reachable = LiveStateDelta.device(10L, 1L, "IND001");
+        reachable.setReachable(true);
+        LiveStateDelta otherProject = LiveStateDelta.device(20L, 2L, "IND002");
+        otherProject.setReachable(true);
+        broadcaster.onStateChanged(status);
+        broadcaster.onStateChanged(reachable);
+        broadcaster.onStateChanged(otherProject);
+
+        broadcaster.broadcastPending();
+
+        ArgumentCaptor<SseEmitter.SseEventBuilder> captor = ArgumentCaptor.forClass(SseEmitter.SseEventBuilder.class);
+        verify(emitter, times(2)).send(captor.capture());
+        List<?> batch = extractData(captor.getAllValues().get(1));
+        assertEquals(1, batch.size());
+        LiveStateDelta merged = (LiveStateDelta) batch.get(0);
+        assertEquals(10L, merged.getId());
+        assertEquals(InspectionDeviceStatus.UNDER_INSPECTION, merged.getStatus());
+        assertEquals(Boolean.TRUE, merged.getReachable());
+    }
+
+    @Test
+    @DisplayName("订阅 - 发送失败后移除订阅")
+    void broadcast_WhenSendFails_ShouldRemoveSubscription() throws IOException {
+        SseEmitter emitter = mock(SseEmitter.class);
+        broadcaster.subscribe(emitter, Set.of(), Set.of(5L), List::of);
+        assertEquals(1, broadcaster.getSubscriberCount());
+
+        doThrow(new IOException("broken pipe")).when(emitter).send(any(SseEmitter.SseEventBuilder.class));
+        LiveStateDelta delta = LiveStateDelta.station(5L, 5);
+        delta.setEnabled(false);
+        broadcaster.onStateChanged(delta);
+        broadcaster.broadcastPending();
+
+        assertEquals(0, broadcaster.getSubscriberCount());
+        verify(emitter).completeWithError(any(IOException.class));
+    }
+
+    @Test
+    @DisplayName("合并 - 较新变更中为 null 的字段沿用旧值")
+    void merge_ShouldKeepOlderFieldsWhenNewerIsNull() {
+        LiveStateDelta older = LiveStateDelta.station(1L, 1);
+        older.setEnabled(false);
+        LiveStateDelta newer = LiveStateDelta.station(1L, 1);
+        newer.setReachable(true);
+
+        LiveStateDelta merged = LiveStateBroadcaster.merge(older, newer);
+
+        assertEquals(Boolean.FALSE, merged.getEnabled());
+        assertEquals(Boolean.TRUE, merged.getReachable());
+        assertNull(older.getReachable());
+    }
+
+    private static List<?> extractData(SseEmitter.SseEventBuilder builder) {
+        return builder.build().stream()
+            .map(ResponseBodyEmitter.DataWithMediaType::getData)
+            .filter(List.class::isInstance)
+            .map(List.class::cast)
+            .findFirst()
+            .orElseThrow();
+    }
+}
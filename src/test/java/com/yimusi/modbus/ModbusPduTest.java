@@ -0,0 +1,55 @@
+package com.yimusi.modbus;
+
+import java.nio.ByteBuffer;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Modbus PDU 编码与响应解码单元测试
+ */
+class ModbusPduTest {
+
+    private static byte[] bytes(ModbusPdu pdu) {
+        ByteBuffer buffer = ByteBuffer.allocate(pdu.length());
+        pdu.writeTo(buffer);
+        return buffer.array();
+    }
+
+    @Test
+    @DisplayName("FC15 - 线圈按 LSB 优先打包")
+    void writeMultipleCoils_packsBits() {
+        ModbusPdu pdu = ModbusPdu.writeMultipleCoils(0x0013, new boolean[] {
+            true, false, true, true, false, false, true, true, true, false});
+
+        assertArrayEquals(new byte[] {0x0F, 0x00, 0x13, 0x00, 0x0A, 0x02, (byte) 0xCD, 0x01}, bytes(pdu));
+    }
+
+    @Test
+    @DisplayName("FC16 - 寄存器按大端编码")
+    void writeMultipleRegisters_bigEndian() {
+        ModbusPdu pdu = ModbusPdu.writeMultipleRegisters(0x0001, new int[] {0x000A, 0x0102});
+
+        assertArrayEquals(new byte[] {0x10, 0x00, 0x01, 0x00, 0x02, 0x04, 0x00, 0x0A, 0x01, 0x02}, bytes(pdu));
+    }
+
+    @Test
+    @DisplayName("超出单帧上限 - 拒绝构造")
+    void rejectsOversizedWrites() {
+        assertThrows(IllegalArgumentException.class,
+            () -> ModbusPdu.writeMultipleRegisters(0, new int[ModbusPdu.MAX_WRITE_REGISTERS + 1]));
+        assertThrows(IllegalArgumentException.class,
+            () -> ModbusPdu.writeMultipleCoils(0, new boolean[ModbusPdu.MAX_WRITE_COILS + 1]));
+    }
+
+    @Test
+    @DisplayName("异常响应 - 解码为 ModbusException")
+    void decode_exceptionResponse() {
+        ByteBuffer buffer = ByteBuffer.wrap(new byte[] {(byte) 0x83, 0x02});
+
+        ModbusException e = assertThrows(ModbusException.class,
+            () -> ModbusResponse.decode(buffer, 2, ModbusPdu.FC_READ_HOLDING_REGISTERS));
+        assertEquals(2, e.getExceptionCode());
+    }
+}
@@ -0,0 +1,136 @@
+package com.yimusi.modbus;
+
+import java.nio.ByteBuffer;
+
+/**
+ * 测试用 Modbus 从站存储区与请求处理逻辑，TCP / RTU 模拟器共用.
+ * 支持 FC01 / FC03 / FC05 / FC06 / FC15 / FC16，地址越界返回异常码 2，不支持的功能码返回异常码 1.
+ */
+public class ModbusSlaveMemory {
+
+    private final boolean[] coils;
+    private final int[] registers;
+
+    public ModbusSlaveMemory(int size) {
+        this.coils = new boolean[size];
+        this.registers = new int[size];
+    }
+
+    public synchronized boolean getCoil(int address) {
+        return coils[address];
+    }
+
+    public synchronized int getRegister(int address) {
+        return registers[address];
+    }
+
+    public synchronized void setRegister(int address, int value) {
+        registers[address] = value;
+    }
+
+    /**
+     * 处理一个请求 PDU，将响应 PDU 写入 response
+     *
+     * @param request  请求 PDU（读模式，position 指向功能码）
+     * @param response 响应缓冲区（写模式）
+     */
+    public synchronized void handle(ByteBuffer request, ByteBuffer response) {
+        int fc = request.get() & 0xFF;
+        switch (fc) {
+            case ModbusPdu.FC_READ_COILS -> {
+                int address = u16(request);
+                int quantity = u16(request);
+                if (outOfRange(address, quantity, coils.length)) {
+                    exception(response, fc, 2);
+                    return;
+                }
+                int byteCount = (quantity + 7) / 8;
+                response.put((byte) fc).put((byte) byteCount);
+                for (int b = 0; b < byteCount; b++) {
+                    int packed = 0;
+                    for (int bit = 0; bit < 8 && b * 8 + bit < quantity; bit++) {
+                        if (coils[address + b * 8 + bit]) {
+                            packed |= 1 << bit;
+                        }
+                    }
+                    response.put((byte) packed);
+                }
+            }
+            case ModbusPdu.FC_READ_HOLDING_REGISTERS -> {
+                int address = u16(request);
+                int quantity = u16(request);
+                if (outOfRange(address, quantity, registers.length)) {
+                    exception(response, fc, 2);
+                    return;
+                }
+                response.put((byte) fc).put((byte) (quantity * 2));
+                for (int i = 0; i < quantity; i++) {
+                    response.putShort((short) registers[address + i]);
+                }
+            }
+            case ModbusPdu.FC_WRITE_SINGLE_COIL -> {
+                int address = u16(request);
+                int value = u16(request);
+                if (outOfRange(address, 1, coils.length)) {
+                    exception(response, fc, 2);
+                    return;
+                }
+                coils[address] = value == 0xFF00;
+                response.put((byte) fc).putShort((short) address).putShort((short) value);
+            }
+            case ModbusPdu.FC_WRITE_SINGLE_REGISTER -> {
+                int address = u16(request);
+                int value = u16(request);
+                if (outOfRange(address, 1, registers.length)) {
+                    exception(response, fc, 2);
+                    return;
+                }
+                registers[address] = value;
+                response.put((byte) fc).putShort((short) address).putShort((short) value);
+            }
+            case ModbusPdu.FC_WRITE_MULTIPLE_COILS -> {
+                int address = u16(request);
+                int quantity = u16(request);
+                request.get();
+                if (outOfRange(address, quantity, coils.length)) {
+                    exception(response, fc, 2);
+                    return;
+                }
+                int current = 0;
+                for (int i = 0; i < quantity; i++) {
+                    if ((i & 7) == 0) {
+                        current = request.get() & 0xFF;
+                    }
+                    coils[address + i] = (current & (1 << (i & 7))) != 0;
+                }
+                response.put((byte) fc).putShort((short) address).putShort((short) quantity);
+            }
+            case ModbusPdu.FC_WRITE_MULTIPLE_REGISTERS -> {
+                int address = u16(request);
+                int quantity = u16(request);
+                request.get();
+                if (outOfRange(address, quantity, registers.length)) {
+                    exception(response, fc, 2);
+                    return;
+                }
+                for (int i = 0; i < quantity; i++) {
+                    registers[address + i] = u16(request);
+                }
+                response.put((byte) fc).putShort((short) address).putShort((short) quantity);
+            }
+            default -> exception(response, fc, 1);
+        }
+    }
+
+    private static boolean outOfRange(int address, int quantity, int size) {
+        return address + quantity > size;
+    }
+
+    private static void exception(ByteBuffer response, int fc, int code) {
+        response.put((byte) (fc | 0x80)).put((byte) code);
+    }
+
+    private static int u16(ByteBuffer buffer) {
+        return buffer.getShort() & 0xFFFF;
+    }
+}
@@ -0,0 +1,226 @@
+package com.yimusi.modbus.command;
+
+import com.yimusi.entity.TestStation;
+import com.yimusi.entity.TestStationParameter;
+import com.yimusi.enums.ValveCommType;
+import com.yimusi.modbus.ModbusException;
+import com.yimusi.modbus.ModbusPdu;
+import com.yimusi.modbus.ModbusResponse;
+import com.yimusi.modbus.ModbusTransport;
+import com.yimusi.modbus.plan.ValveWritePlan;
+import com.yimusi.modbus.plan.ValveWritePlanCompiler;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 工位命令 actor 单元测试
+ *
+ * <p>测试 {@link StationCommandActor} 的各种场景，包括：</p>
+ * <ul>
+ *   <li>排队中相反的单阀命令相互抵消</li>
+ *   <li>全量命令覆盖之前的命令并使用预编译写入</li>
+ *   <li>写入失败后已知状态失效</li>
+ *   <li>多个工位并行执行</li>
+ * </ul>
+ */
+class StationCommandActorTest {
+
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final StationCommandActor.Meters meters = new StationCommandActor.Meters(
+        Timer.builder("latency").register(registry),
+        Timer.builder("execution").register(registry),
+        Counter.builder("coalesced").register(registry)
+    );
+
+    private ValveWritePlan plan;
+    private RecordingTransport transport;
+
+    @BeforeEach
+    void setUp() {
+        TestStation station = new TestStation();
+        station.setId(1L);
+        station.setStationNo(1001);
+        station.setValveCommType(ValveCommType.TCP_MODBUS);
+        station.setUpdatedAt(Instant.parse("2025-01-01T00:00:00Z"));
+        station.setValveControlParams(List.of(new TestStationParameter("host", "127.0.0.1")));
+        station.setOilValveMapping(List.of(
+            new TestStationParameter("A", "1"),
+            new TestStationParameter("B", "2,3")
+        ));
+        plan = ValveWritePlanCompiler.compile(station);
+        transport = new RecordingTransport();
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    private StationCommandActor newActor(ModbusTransport target) {
+        return new StationCommandActor(1L, () -> plan, p -> target, executor, 64, meters);
+    }
+
+    private static void await(CompletableFuture<Void> future) throws Exception {
+        future.get(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    @DisplayName("排队中相反的单阀命令 - 相互抵消，不产生写入")
+    void oppositeTogglesCancel() throws Exception {
+        StationCommandActor actor = newActor(transport);
+        transport.block();
+        CompletableFuture<Void> closeAll = actor.submit(new ValveCommand.CloseAll());
+        transport.awaitBlocked();
+
+        CompletableFuture<Void> open = actor.submit(new ValveCommand.SetValve(2, true));
+        CompletableFuture<Void> close = actor.submit(new ValveCommand.SetValve(2, false));
+        assertEquals(2, actor.getQueueDepth());
+        transport.release();
+
+        await(closeAll);
+        await(open);
+        await(close);
+        assertEquals(1, transport.writes.size());
+        assertEquals(0, actor.getQueueDepth());
+        assertEquals(2.0, registry.counter("coalesced").count());
+        assertEquals(3, registry.timer("latency").count());
+    }
+
+    @Test
+    @DisplayName("全量命令 - 覆盖排在前面的单阀命令并使用预编译写入")
+    void fullStateCommandSupersedesEarlierCommands() throws Exception {
+        StationCommandActor actor = newActor(transport);
+        transport.block();
+        CompletableFuture<Void> first = actor.submit(new ValveCommand.SetValve(1, true));
+        transport.awaitBlocked();
+
+        List<CompletableFuture<Void>> queued = new ArrayList<>();
+        queued.add(actor.submit(new ValveCommand.SetValve(3, true)));
+        queued.add(actor.submit(new ValveCommand.SetValve(1, false)));
+        queued.add(actor.submit(new ValveCommand.SwitchChannel("B")));
+        transport.release();
+
+        await(first);
+        for (CompletableFuture<Void> future : queued) {
+            await(future);
+        }
+        assertEquals(2, transport.writes.size());
+        assertSame(plan.getChannelWrites("B").get(0), transport.writes.get(1));
+
+        // 状态已一致，重复切换不再写入
+        await(actor.submit(new ValveCommand.SwitchChannel("B")));
+        assertEquals(2, transport.writes.size());
+    }
+
+    @Test
+    @DisplayName("写入失败 - 批内命令均失败，已知状态失效后重新写入")
+    void failureResetsKnownState() throws Exception {
+        StationCommandActor actor = newActor(transport);
+        await(actor.submit(new ValveCommand.CloseAll()));
+
+        transport.fail = true;
+        ExecutionException thrown = assertThrows(ExecutionException.class,
+            () -> await(actor.submit(new ValveCommand.SetValve(1, true))));
+        assertInstanceOf(ModbusException.class, thrown.getCause());
+
+        transport.fail = false;
+        await(actor.submit(new ValveCommand.SetValve(2, false)));
+        // 已知状态清空后，关闭 2 号阀门也需要写入
+        assertEquals(3, transport.writes.size());
+    }
+
+    @Test
+    @DisplayName("加载写入计划失败 - 命令以原异常完成")
+    void planFailure() {
+        StationCommandActor actor = new StationCommandActor(1L, () -> {
+            throw new IllegalStateException("工位已禁用");
+        }, p -> transport, executor, 64, meters);
+
+        ExecutionException thrown = assertThrows(ExecutionException.class,
+            () -> await(actor.submit(new ValveCommand.CloseAll())));
+
+        assertInstanceOf(IllegalStateException.class, thrown.getCause());
+    }
+
+    @Test
+    @DisplayName("多个工位 - 各自独立执行，慢工位不阻塞其他工位")
+    void stationsRunIndependently() throws Exception {
+        RecordingTransport slow = new RecordingTransport();
+        slow.block();
+        StationCommandActor slowActor = newActor(slow);
+        CompletableFuture<Void> pending = slowActor.submit(new ValveCommand.CloseAll());
+        slow.awaitBlocked();
+
+        List<CompletableFuture<Void>> others = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            others.add(newActor(new RecordingTransport()).submit(new ValveCommand.SwitchChannel("A")));
+        }
+        for (CompletableFuture<Void> future : others) {
+            await(future);
+        }
+
+        assertFalse(pending.isDone());
+        slow.release();
+        await(pending);
+    }
+
+    /**
+     * 记录写入 PDU 的传输层，可阻塞第一次写入以便在执行期间堆积命令
+     */
+    private static class RecordingTransport implements ModbusTransport {
+
+        private final List<ModbusPdu> writes = new CopyOnWriteArrayList<>();
+        private final CountDownLatch blocked = new CountDownLatch(1);
+        private CountDownLatch gate = new CountDownLatch(0);
+        private volatile boolean fail;
+
+        void block() {
+            gate = new CountDownLatch(1);
+        }
+
+        void awaitBlocked() throws InterruptedException {
+            assertTrue(blocked.await(5, TimeUnit.SECONDS));
+        }
+
+        void release() {
+            gate.countDown();
+        }
+
+        @Override
+        public CompletableFuture<ModbusResponse> execute(int unitId, ModbusPdu pdu) {
+            writes.add(pdu);
+            blocked.countDown();
+            try {
+                gate.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            if (fail) {
+                return CompletableFuture.failedFuture(new ModbusException("连接断开"));
+            }
+            return CompletableFuture.completedFuture(ModbusResponse.acknowledged(pdu.getFunctionCode()));
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package com.yimusi.modbus.plan;
+
+import com.yimusi.common.exception.BadRequestException;
+import com.yimusi.entity.TestStation;
+import com.yimusi.entity.TestStationParameter;
+import com.yimusi.enums.ValveCommType;
+import com.yimusi.enums.ValveWriteMode;
+import com.yimusi.modbus.ModbusPdu;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.nio.ByteBuffer;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 阀门写入计划编译器单元测试
+ *
+ * <p>测试 {@link ValveWritePlanCompiler} 与 {@link ValveWritePlanCache}，包括：</p>
+ * <ul>
+ *   <li>连续地址合并为 FC15 / FC16，孤立地址使用 FC05 / FC06</li>
+ *   <li>单帧上限拆分</li>
+ *   <li>地址覆盖、参数校验</li>
+ *   <li>按工位版本缓存与失效</li>
+ * </ul>
+ */
+class ValveWritePlanCompilerTest {
+
+    private TestStation station;
+
+    @BeforeEach
+    void setUp() {
+        station = new TestStation();
+        station.setId(1L);
+        station.setStationNo(1001);
+        station.setValveCommType(ValveCommType.TCP_MODBUS);
+        station.setUpdatedAt(Instant.parse("2025-01-01T00:00:00Z"));
+        station.setValveControlParams(new ArrayList<>(List.of(
+            new TestStationParameter("host", "10.0.0.8"),
+            new TestStationParameter("valveBaseAddress", "100")
+        )));
+        station.setOilValveMapping(new ArrayList<>(List.of(
+            new TestStationParameter("A", "1"),
+            new TestStationParameter("B", "2,3"),
+            new TestStationParameter("C", "4")
+        )));
+    }
+
+    private static byte[] bytes(ModbusPdu pdu) {
+        ByteBuffer buffer = ByteBuffer.allocate(pdu.length());
+        pdu.writeTo(buffer);
+        return buffer.array();
+    }
+
+    @Test
+    @DisplayName("线圈模式 - 连续阀门合并为一个 FC15 帧")
+    void compile_mergesContiguousCoils() {
+        ValveWritePlan plan = ValveWritePlanCompiler.compile(station);
+
+        List<ModbusPdu> writes = plan.getChannelWrites("B");
+
+        assertEquals(1, writes.size());
+        // 地址 100 起 4 个线圈：0110
+        assertArrayEquals(new byte[] {0x0F, 0x00, 100, 0x00, 0x04, 0x01, 0x06}, bytes(writes.get(0)));
+        assertEquals(1, plan.getCloseAllWrites().size());
+        assertEquals(Set.of(1, 2, 3, 4), plan.getValves());
+        assertEquals(Set.of("A", "B", "C"), plan.getChannels());
+        assertEquals("10.0.0.8", plan.getEndpoint().host());
+    }
+
+    @Test
+    @DisplayName("寄存器模式 - 不连续地址拆分，孤立地址使用 FC06")
+    void compile_registersWithGap() {
+        station.getValveControlParams().add(new TestStationParameter("valveType", "register"));
+        station.getValveControlParams().add(new TestStationParameter("valveOnValue", "257"));
+        station.getValveControlParams().add(new TestStationParameter("valve.4", "200"));
+
+        ValveWritePlan plan = ValveWritePlanCompiler.compile(station);
+        List<ModbusPdu> writes = plan.getChannelWrites("C");
+
+        assertEquals(ValveWriteMode.REGISTER, plan.getMode());
+        assertEquals(2, writes.size());
+        assertArrayEquals(new byte[] {0x10, 0x00, 100, 0x00, 0x03, 0x06, 0, 0, 0, 0, 0, 0}, bytes(writes.get(0)));
+        assertArrayEquals(new byte[] {0x06, 0x00, (byte) 200, 0x01, 0x01}, bytes(writes.get(1)));
+    }
+
+    @Test
+    @DisplayName("超出单帧上限 - 按 123 个寄存器拆分")
+    void merge_splitsAtFrameLimit() {
+        TreeMap<Integer, Integer> values = new TreeMap<>();
+        for (int address = 0; address < 200; address++) {
+            values.put(address, 1);
+        }
+
+        List<ModbusPdu> writes = ValveWritePlanCompiler.merge(ValveWriteMode.REGISTER, values);
+
+        assertEquals(2, writes.size());
+        assertEquals(0, writes.get(0).getAddress());
+        assertEquals(ModbusPdu.MAX_WRITE_REGISTERS, writes.get(1).getAddress());
+    }
+
+    @Test
+    @DisplayName("任意阀门状态组合 - 按地址合并，未配置阀门报错")
+    void compileValveStates() {
+        ValveWritePlan plan = ValveWritePlanCompiler.compile(station);
+
+        List<ModbusPdu> writes = plan.compileValveStates(Map.of(1, true, 2, true, 4, false));
+
+        assertEquals(2, writes.size());
+        assertEquals(ModbusPdu.FC_WRITE_MULTIPLE_COILS, writes.get(0).getFunctionCode());
+        assertArrayEquals(new byte[] {0x05, 0x00, 103, 0x00, 0x00}, bytes(writes.get(1)));
+        assertThrows(BadRequestException.class, () -> plan.compileValveStates(Map.of(9, true)));
+    }
+
+    @Test
+    @DisplayName("非法参数 - 阀门编号不是整数、地址重复")
+    void compile_invalidParameters() {
+        station.getOilValveMapping().add(new TestStationParameter("D", "valveX"));
+        assertThrows(BadRequestException.class, () -> ValveWritePlanCompiler.compile(station));
+
+        station.getOilValveMapping().remove(3);
+        station.getValveControlParams().add(new TestStationParameter("valve.4", "101"));
+        assertThrows(BadRequestException.class, () -> ValveWritePlanCompiler.compile(station));
+    }
+
+    @Test
+    @DisplayName("计划缓存 - 版本不变时复用，版本变化或失效后重新编译")
+    void cache_reusesUntilVersionChanges() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        ValveWritePlanCache cache = new ValveWritePlanCache(registry);
+
+        ValveWritePlan first = cache.getPlan(station);
+        assertSame(first, cache.getPlan(station));
+
+        station.setUpdatedAt(Instant.parse("2025-01-02T00:00:00Z"));
+        ValveWritePlan second = cache.getPlan(station);
+        assertNotSame(first, second);
+
+        cache.evict(1L);
+        assertNotSame(second, cache.getPlan(station));
+        assertEquals(3.0, registry.counter("modbus.plan.compiled").count());
+    }
+}
@@ -0,0 +1,51 @@
+package com.yimusi.modbus.rtu;
+
+import java.nio.charset.StandardCharsets;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * CRC-16/MODBUS 与串口帧时序单元测试
+ */
+class Crc16Test {
+
+    @Test
+    @DisplayName("标准校验值 - \"123456789\" 的 CRC 为 0x4B37")
+    void compute_checkValue() {
+        byte[] data = "123456789".getBytes(StandardCharsets.US_ASCII);
+
+        assertEquals(0x4B37, Crc16.compute(data, 0, data.length));
+    }
+
+    @Test
+    @DisplayName("读寄存器请求帧 - 追加的校验值低字节在前")
+    void append_lowByteFirst() {
+        byte[] frame = {0x01, 0x03, 0x00, 0x00, 0x00, 0x0A, 0, 0};
+
+        assertEquals(8, Crc16.append(frame, 0, 6));
+        assertEquals((byte) 0xC5, frame[6]);
+        assertEquals((byte) 0xCD, frame[7]);
+        assertTrue(Crc16.verify(frame, 0, 8));
+
+        frame[3] = 0x01;
+        assertFalse(Crc16.verify(frame, 0, 8));
+    }
+
+    @Test
+    @DisplayName("帧时序 - 低波特率按字符时间计算，高波特率使用固定值")
+    void serialTiming() {
+        SerialLineSettings slow = new SerialLineSettings("/dev/ttyS0", 9600, 8, 'N', 1);
+        SerialLineSettings parity = new SerialLineSettings("/dev/ttyS0", 9600, 8, 'e', 1);
+        SerialLineSettings fast = new SerialLineSettings("/dev/ttyS0", 115200, 8, 'N', 1);
+
+        assertEquals(10, slow.bitsPerChar());
+        assertEquals(1_041_666, slow.charNanos());
+        assertEquals(3_645_831, slow.frameGapNanos());
+        assertEquals(11, parity.bitsPerChar());
+        assertEquals('E', parity.parity());
+        assertEquals(1_750_000, fast.frameGapNanos());
+        assertEquals(750_000, fast.charGapNanos());
+    }
+}
@@ -0,0 +1,171 @@
+package com.yimusi.modbus.rtu;
+
+import com.yimusi.modbus.ModbusException;
+import com.yimusi.modbus.ModbusPdu;
+import com.yimusi.modbus.ModbusResponse;
+import com.yimusi.modbus.ModbusSlaveMemory;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Modbus RTU 串口线路单元测试
+ *
+ * <p>通过伪终端对连接 {@link ModbusRtuLine} 与 {@link ModbusRtuSlaveSimulator}，无需真实串口硬件：</p>
+ * <ul>
+ *   <li>线圈 / 寄存器读写往返</li>
+ *   <li>同一总线上多个从站、广播写入</li>
+ *   <li>帧间静默不小于 t3.5</li>
+ *   <li>从站无应答超时、异常响应、串口不可用</li>
+ * </ul>
+ */
+class ModbusRtuLineTest {
+
+    private static final ModbusRtuSettings SETTINGS =
+        new ModbusRtuSettings(Duration.ofMillis(300), 64, 16, Duration.ofSeconds(1));
+
+    private PtyPair pty;
+    private ModbusRtuSlaveSimulator simulator;
+    private ModbusRtuLine line;
+    private SerialLineSettings lineSettings;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        assumeTrue(System.getProperty("os.name").toLowerCase().contains("linux"), "仅在 Linux 上运行");
+        try {
+            pty = PtyPair.open();
+        } catch (IOException e) {
+            assumeTrue(false, "无法创建伪终端: " + e.getMessage());
+        }
+        lineSettings = new SerialLineSettings(pty.master(), 9600, 8, 'N', 1);
+        simulator = new ModbusRtuSlaveSimulator(new SerialLineSettings(pty.slave(), 9600, 8, 'N', 1));
+        line = new ModbusRtuLine(lineSettings, SETTINGS);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        if (line != null) {
+            line.close();
+        }
+        if (simulator != null) {
+            simulator.close();
+        }
+        if (pty != null) {
+            pty.close();
+        }
+    }
+
+    private static ModbusResponse await(CompletableFuture<ModbusResponse> future) throws Exception {
+        return future.get(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    @DisplayName("读写线圈与寄存器 - 往返结果一致")
+    void writeAndRead() throws Exception {
+        ModbusSlaveMemory memory = simulator.addSlave(1);
+
+        await(line.submit(1, ModbusPdu.writeMultipleCoils(0, new boolean[] {true, false, true})));
+        await(line.submit(1, ModbusPdu.writeMultipleRegisters(5, new int[] {0x1234, 7})));
+        ModbusResponse coils = await(line.submit(1, ModbusPdu.readCoils(0, 3)));
+        ModbusResponse registers = await(line.submit(1, ModbusPdu.readHoldingRegisters(5, 2)));
+
+        assertTrue(coils.getCoil(0));
+        assertFalse(coils.getCoil(1));
+        assertTrue(coils.getCoil(2));
+        assertEquals(0x1234, registers.getRegister(0));
+        assertEquals(7, registers.getRegister(1));
+        assertTrue(memory.getCoil(2));
+    }
+
+    @Test
+    @DisplayName("同一总线多个从站并发提交 - 串行执行且帧间静默不小于 t3.5")
+    void sharedBusRespectsFrameGap() throws Exception {
+        simulator.addSlave(1).setRegister(0, 11);
+        simulator.addSlave(2).setRegister(0, 22);
+
+        List<CompletableFuture<ModbusResponse>> futures = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            futures.add(line.submit(1 + (i & 1), ModbusPdu.readHoldingRegisters(0, 1)));
+        }
+        for (int i = 0; i < futures.size(); i++) {
+            assertEquals((i & 1) == 0 ? 11 : 22, await(futures.get(i)).getRegister(0));
+        }
+
+        List<Long> gaps = simulator.getObservedGaps();
+        assertFalse(gaps.isEmpty());
+        long frameGap = lineSettings.frameGapNanos();
+        for (long gap : gaps) {
+            assertTrue(gap >= frameGap, "帧间静默 " + gap + "ns 小于 t3.5=" + frameGap + "ns");
+        }
+    }
+
+    @Test
+    @DisplayName("广播写入 - 所有从站生效且不等待应答")
+    void broadcastWrite() throws Exception {
+        ModbusSlaveMemory first = simulator.addSlave(1);
+        ModbusSlaveMemory second = simulator.addSlave(2);
+
+        ModbusResponse ack = await(line.submit(0, ModbusPdu.writeSingleRegister(3, 99)));
+
+        assertEquals(ModbusPdu.FC_WRITE_SINGLE_REGISTER, ack.getFunctionCode());
+        assertEquals(99, await(line.submit(1, ModbusPdu.readHoldingRegisters(3, 1))).getRegister(0));
+        assertEquals(99, second.getRegister(3));
+        assertEquals(99, first.getRegister(3));
+        assertThrows(ExecutionException.class, () -> await(line.submit(0, ModbusPdu.readCoils(0, 1))));
+    }
+
+    @Test
+    @DisplayName("从站无应答 - 超时后线路继续服务其他从站")
+    void timeoutDoesNotBlockLine() throws Exception {
+        simulator.addSlave(1).setRegister(0, 5);
+
+        ExecutionException thrown = assertThrows(ExecutionException.class,
+            () -> await(line.submit(9, ModbusPdu.readHoldingRegisters(0, 1))));
+        assertInstanceOf(TimeoutException.class, thrown.getCause());
+
+        assertEquals(5, await(line.submit(1, ModbusPdu.readHoldingRegisters(0, 1))).getRegister(0));
+    }
+
+    @Test
+    @DisplayName("地址越界 - 返回异常码 2，传输层仍视为可达")
+    void exceptionResponseKeepsStationReachable() throws Exception {
+        simulator.addSlave(1);
+        List<Boolean> reachability = new CopyOnWriteArrayList<>();
+        ModbusRtuTransport transport = new ModbusRtuTransport(line, reachability::add, () -> { });
+
+        ExecutionException thrown = assertThrows(ExecutionException.class,
+            () -> await(transport.execute(1, ModbusPdu.readHoldingRegisters(60, 10))));
+        assertEquals(2, assertInstanceOf(ModbusException.class, thrown.getCause()).getExceptionCode());
+
+        assertThrows(ExecutionException.class, () -> await(transport.execute(7, ModbusPdu.readCoils(0, 1))));
+        await(transport.execute(1, ModbusPdu.readCoils(0, 1)));
+
+        assertEquals(List.of(true, false, true), reachability);
+    }
+
+    @Test
+    @DisplayName("串口设备不存在 - 请求快速失败")
+    void missingDeviceFailsFast() throws Exception {
+        try (ModbusRtuLine missing = new ModbusRtuLine(
+            new SerialLineSettings("/dev/does-not-exist", 9600, 8, 'N', 1), SETTINGS)) {
+
+            ExecutionException thrown = assertThrows(ExecutionException.class,
+                () -> await(missing.submit(1, ModbusPdu.readCoils(0, 1))));
+
+            assertInstanceOf(ModbusException.class, thrown.getCause());
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package com.yimusi.modbus.rtu;
+
+import com.yimusi.modbus.ModbusSlaveMemory;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 测试用 Modbus RTU 从站模拟器，挂在串口（通常是伪终端）的另一端.
+ * <p>
+ * 以 t3.5 静默判定请求帧结束，一个串口上可以模拟多个从站地址；
+ * 未注册的地址不应答，地址 0 的广播写入作用于所有从站且不应答.
+ * 记录每个请求帧距上一次应答发出的间隔，用于验证主站遵守帧间静默.
+ * </p>
+ */
+class ModbusRtuSlaveSimulator implements AutoCloseable {
+
+    private static final long POLL_NANOS = 100_000L;
+
+    private final TtySerialPort port;
+    private final long frameGapNanos;
+    private final Map<Integer, ModbusSlaveMemory> slaves = new ConcurrentHashMap<>();
+    private final List<Long> observedGaps = new CopyOnWriteArrayList<>();
+    private final Thread worker;
+    private volatile boolean closed;
+    private long frameStartNanos;
+
+    ModbusRtuSlaveSimulator(SerialLineSettings settings) throws IOException {
+        this.port = TtySerialPort.open(settings);
+        this.frameGapNanos = settings.frameGapNanos();
+        this.worker = Thread.ofPlatform().name("modbus-rtu-simulator").daemon(true).start(this::serve);
+    }
+
+    ModbusSlaveMemory addSlave(int unitId) {
+        return slaves.computeIfAbsent(unitId, id -> new ModbusSlaveMemory(64));
+    }
+
+    /**
+     * 每个请求帧首字节到达时距上一次应答发出的纳秒数
+     */
+    List<Long> getObservedGaps() {
+        return observedGaps;
+    }
+
+    @Override
+    public void close() throws Exception {
+        closed = true;
+        worker.join(2000);
+        port.close();
+    }
+
+    private void serve() {
+        byte[] frame = new byte[256];
+        byte[] response = new byte[256];
+        long lastResponseNanos = 0;
+        try {
+            while (!closed) {
+                int length = readFrame(frame);
+                if (length == 0) {
+                    continue;
+                }
+                if (lastResponseNanos != 0) {
+                    observedGaps.add(frameStartNanos - lastResponseNanos);
+                }
+                if (!Crc16.verify(frame, 0, length)) {
+                    continue;
+                }
+                int unitId = frame[0] & 0xFF;
+                ByteBuffer request = ByteBuffer.wrap(frame, 1, length - 3);
+                if (unitId == 0) {
+                    for (ModbusSlaveMemory memory : slaves.values()) {
+                        memory.handle(request.duplicate(), ByteBuffer.wrap(response, 1, 253));
+                    }
+                    continue;
+                }
+                ModbusSlaveMemory memory = slaves.get(unitId);
+                if (memory == null) {
+                    continue;
+                }
+                ByteBuffer out = ByteBuffer.wrap(response);
+                out.put((byte) unitId);
+                memory.handle(request, out);
+                int responseLength = Crc16.append(response, 0, out.position());
+                lastResponseNanos = System.nanoTime();
+                port.write(response, 0, responseLength);
+            }
+        } catch (IOException e) {
+            // 串口关闭
+        }
+    }
+
+    /**
+     * 读取一帧：收到首字节后持续读取，直到出现 t3.5 静默
+     */
+    private int readFrame(byte[] frame) throws IOException {
+        int length = 0;
+        long lastByteNanos = 0;
+        while (!closed) {
+            int read = port.read(frame, length, frame.length - length);
+            long now = System.nanoTime();
+            if (read > 0) {
+                if (length == 0) {
+                    frameStartNanos = now;
+                }
+                length += read;
+                lastByteNanos = now;
+                continue;
+            }
+            if (length > 0 && now - lastByteNanos > frameGapNanos) {
+                return length;
+            }
+            LockSupport.parkNanos(POLL_NANOS);
+        }
+        return 0;
+    }
+}
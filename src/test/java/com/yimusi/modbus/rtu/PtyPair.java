@@ -0,0 +1,81 @@
+package com.yimusi.modbus.rtu;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 测试用伪终端对：由 python3 打开两个伪终端并在主设备间双向转发字节，
+ * 两个从设备路径相当于一根串口线的两端.
+ * 转发进程持有从设备的文件描述符，Java 端关闭后不会触发挂断.
+ */
+class PtyPair implements AutoCloseable {
+
+    private static final String RELAY_SCRIPT = String.join("\n",
+        "import os, pty, select, sys, tty",
+        "a_m, a_s = pty.openpty()",
+        "b_m, b_s = pty.openpty()",
+        "tty.setraw(a_s)",
+        "tty.setraw(b_s)",
+        "print(os.ttyname(a_s))",
+        "print(os.ttyname(b_s))",
+        "sys.stdout.flush()",
+        "while True:",
+        "    r, _, _ = select.select([a_m, b_m, 0], [], [])",
+        "    if 0 in r and not os.read(0, 1):",
+        "        break",
+        "    for src, dst in ((a_m, b_m), (b_m, a_m)):",
+        "        if src in r:",
+        "            os.write(dst, os.read(src, 4096))"
+    );
+
+    private final Process process;
+    private final String master;
+    private final String slave;
+
+    private PtyPair(Process process, String master, String slave) {
+        this.process = process;
+        this.master = master;
+        this.slave = slave;
+    }
+
+    /**
+     * 创建伪终端对
+     *
+     * @throws IOException python3 不可用或伪终端创建失败时
+     */
+    static PtyPair open() throws IOException {
+        Process process = new ProcessBuilder("python3", "-c", RELAY_SCRIPT).start();
+        BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream()));
+        String first = reader.readLine();
+        String second = reader.readLine();
+        if (first == null || second == null) {
+            process.destroyForcibly();
+            throw new IOException("创建伪终端失败");
+        }
+        return new PtyPair(process, first.trim(), second.trim());
+    }
+
+    /**
+     * 主站一端的设备路径
+     */
+    String master() {
+        return master;
+    }
+
+    /**
+     * 从站一端的设备路径
+     */
+    String slave() {
+        return slave;
+    }
+
+    @Override
+    public void close() throws Exception {
+        process.getOutputStream().close();
+        if (!process.waitFor(2, TimeUnit.SECONDS)) {
+            process.destroyForcibly();
+        }
+    }
+}
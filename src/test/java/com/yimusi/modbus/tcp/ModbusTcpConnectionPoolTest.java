@@ -0,0 +1,182 @@
+package com.yimusi.modbus.tcp;
+
+import com.yimusi.modbus.ModbusException;
+import com.yimusi.modbus.ModbusPdu;
+import com.yimusi.modbus.ModbusResponse;
+import java.net.ServerSocket;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Modbus TCP 连接池单元测试
+ *
+ * <p>基于进程内 {@link ModbusTcpSlaveSimulator} 验证：</p>
+ * <ul>
+ *   <li>线圈 / 寄存器读写往返</li>
+ *   <li>单连接多请求流水线与乱序响应匹配</li>
+ *   <li>异常响应、请求超时及超时后的恢复</li>
+ *   <li>可达性回调</li>
+ * </ul>
+ */
+class ModbusTcpConnectionPoolTest {
+
+    private ModbusTcpSlaveSimulator simulator;
+    private ModbusTcpConnectionPool pool;
+    private final List<Boolean> reachability = new CopyOnWriteArrayList<>();
+
+    @BeforeEach
+    void setUp() throws Exception {
+        simulator = new ModbusTcpSlaveSimulator(64);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (pool != null) {
+            pool.close();
+        }
+        simulator.close();
+    }
+
+    private ModbusTcpConnectionPool newPool(int poolSize, Duration requestTimeout) {
+        ModbusTcpSettings settings = new ModbusTcpSettings(
+            poolSize, 8, requestTimeout, Duration.ofSeconds(1), Duration.ofMillis(100));
+        pool = new ModbusTcpConnectionPool("127.0.0.1", simulator.getPort(), settings, reachability::add);
+        return pool;
+    }
+
+    private static ModbusResponse await(CompletableFuture<ModbusResponse> future) throws Exception {
+        return future.get(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    @DisplayName("批量写线圈后读回 - 结果一致")
+    void writeAndReadCoils() throws Exception {
+        newPool(1, Duration.ofSeconds(1));
+        boolean[] values = {true, false, true, true, false, false, false, true, true, false};
+
+        await(pool.execute(1, ModbusPdu.writeMultipleCoils(3, values)));
+        ModbusResponse response = await(pool.execute(1, ModbusPdu.readCoils(3, values.length)));
+
+        for (int i = 0; i < values.length; i++) {
+            assertEquals(values[i], response.getCoil(i), "coil " + i);
+            assertEquals(values[i], simulator.getMemory().getCoil(3 + i));
+        }
+    }
+
+    @Test
+    @DisplayName("写单个/多个寄存器后读回 - 结果一致")
+    void writeAndReadRegisters() throws Exception {
+        newPool(1, Duration.ofSeconds(1));
+
+        await(pool.execute(1, ModbusPdu.writeMultipleRegisters(10, new int[] {1, 0xFFFF, 300})));
+        await(pool.execute(1, ModbusPdu.writeSingleRegister(13, 42)));
+        ModbusResponse response = await(pool.execute(1, ModbusPdu.readHoldingRegisters(10, 4)));
+
+        assertEquals(4, response.getRegisterCount());
+        assertEquals(1, response.getRegister(0));
+        assertEquals(0xFFFF, response.getRegister(1));
+        assertEquals(300, response.getRegister(2));
+        assertEquals(42, response.getRegister(3));
+    }
+
+    @Test
+    @DisplayName("单连接并发请求 - 流水线发送且乱序响应正确匹配")
+    void pipelinesRequestsOnSingleConnection() throws Exception {
+        newPool(1, Duration.ofSeconds(3));
+        for (int i = 0; i < 8; i++) {
+            simulator.getMemory().setRegister(i, 100 + i);
+        }
+        simulator.setResponseDelayMillis(200);
+
+        List<CompletableFuture<ModbusResponse>> futures = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            futures.add(pool.execute(1, ModbusPdu.readHoldingRegisters(i, 1)));
+        }
+        for (int i = 0; i < 8; i++) {
+            assertEquals(100 + i, await(futures.get(i)).getRegister(0));
+        }
+
+        // 从站观察到的同时在途请求数证明请求是流水线发送的，不依赖耗时判断
+        assertTrue(simulator.getMaxInFlight() > 1);
+        assertEquals(1, simulator.getClientCount());
+    }
+
+    @Test
+    @DisplayName("地址越界 - 返回异常码 2")
+    void exceptionResponse() {
+        newPool(1, Duration.ofSeconds(1));
+
+        ExecutionException thrown = assertThrows(ExecutionException.class,
+            () -> await(pool.execute(1, ModbusPdu.readHoldingRegisters(60, 10))));
+
+        ModbusException cause = assertInstanceOf(ModbusException.class, thrown.getCause());
+        assertEquals(2, cause.getExceptionCode());
+    }
+
+    @Test
+    @DisplayName("从站无响应 - 请求超时，恢复后槽位可继续使用")
+    void timeoutThenRecover() throws Exception {
+        newPool(1, Duration.ofMillis(150));
+        simulator.setDropRequests(true);
+
+        ExecutionException thrown = assertThrows(ExecutionException.class,
+            () -> await(pool.execute(1, ModbusPdu.readHoldingRegisters(0, 1))));
+        assertNotNull(thrown.getCause());
+
+        simulator.setDropRequests(false);
+        simulator.getMemory().setRegister(0, 7);
+        for (int i = 0; i < 16; i++) {
+            assertEquals(7, await(pool.execute(1, ModbusPdu.readHoldingRegisters(0, 1))).getRegister(0));
+        }
+    }
+
+    @Test
+    @DisplayName("连接建立与断开 - 上报可达性并自动重连")
+    void reportsReachabilityAndReconnects() throws Exception {
+        newPool(1, Duration.ofSeconds(1));
+
+        await(pool.execute(1, ModbusPdu.writeSingleCoil(0, true)));
+        assertEquals(List.of(true), reachability);
+        assertEquals(1, pool.getOpenConnections());
+
+        simulator.disconnectClients();
+        long deadline = System.currentTimeMillis() + 2000;
+        while (pool.getOpenConnections() > 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(0, pool.getOpenConnections());
+        assertEquals(List.of(true, false), reachability);
+
+        assertTrue(await(pool.execute(1, ModbusPdu.readCoils(0, 1))).getCoil(0));
+        assertEquals(List.of(true, false, true), reachability);
+    }
+
+    @Test
+    @DisplayName("从站不可连接 - 快速失败并上报不可达")
+    void unreachableSlave() throws Exception {
+        int port;
+        try (ServerSocket probe = new ServerSocket(0)) {
+            port = probe.getLocalPort();
+        }
+        ModbusTcpSettings settings = new ModbusTcpSettings(
+            1, 8, Duration.ofSeconds(1), Duration.ofMillis(500), Duration.ofSeconds(5));
+        pool = new ModbusTcpConnectionPool("127.0.0.1", port, settings, reachability::add);
+
+        ExecutionException thrown = assertThrows(ExecutionException.class,
+            () -> await(pool.execute(1, ModbusPdu.readCoils(0, 1))));
+
+        assertInstanceOf(ModbusException.class, thrown.getCause());
+        assertEquals(List.of(false), reachability);
+    }
+}
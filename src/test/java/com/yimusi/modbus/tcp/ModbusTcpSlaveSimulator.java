@@ -0,0 +1,183 @@
+package com.yimusi.modbus.tcp;
+
+import com.yimusi.modbus.ModbusSlaveMemory;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 进程内 Modbus TCP 从站模拟器，仅用于测试.
+ * <p>
+ * 监听 127.0.0.1 的随机端口，每个请求在独立的虚拟线程上处理：
+ * 设置 responseDelay 后响应会延迟发送，多个在途请求可能乱序返回，用于验证流水线与事务ID匹配；
+ * 设置 dropRequests 后不返回任何响应，用于验证超时.
+ * </p>
+ */
+public class ModbusTcpSlaveSimulator implements AutoCloseable {
+
+    private final ServerSocketChannel server;
+    private final ModbusSlaveMemory memory;
+    private final List<SocketChannel> clients = new CopyOnWriteArrayList<>();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger maxInFlight = new AtomicInteger();
+    private final AtomicInteger requestCount = new AtomicInteger();
+    private volatile long responseDelayMillis;
+    private volatile boolean dropRequests;
+    private volatile boolean closed;
+
+    public ModbusTcpSlaveSimulator(int memorySize) throws IOException {
+        this.memory = new ModbusSlaveMemory(memorySize);
+        this.server = ServerSocketChannel.open();
+        server.bind(new InetSocketAddress("127.0.0.1", 0));
+        Thread.ofVirtual().name("modbus-tcp-simulator-accept").start(this::acceptLoop);
+    }
+
+    public int getPort() {
+        try {
+            return ((InetSocketAddress) server.getLocalAddress()).getPort();
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    public ModbusSlaveMemory getMemory() {
+        return memory;
+    }
+
+    public void setResponseDelayMillis(long responseDelayMillis) {
+        this.responseDelayMillis = responseDelayMillis;
+    }
+
+    public void setDropRequests(boolean dropRequests) {
+        this.dropRequests = dropRequests;
+    }
+
+    /**
+     * 观察到的最大同时在途请求数
+     */
+    public int getMaxInFlight() {
+        return maxInFlight.get();
+    }
+
+    public int getRequestCount() {
+        return requestCount.get();
+    }
+
+    public int getClientCount() {
+        return (int) clients.stream().filter(SocketChannel::isOpen).count();
+    }
+
+    /**
+     * 断开所有客户端连接，服务端继续监听
+     */
+    public void disconnectClients() {
+        for (SocketChannel client : clients) {
+            closeQuietly(client);
+        }
+        clients.clear();
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        closeQuietly(server);
+        disconnectClients();
+    }
+
+    private void acceptLoop() {
+        while (!closed) {
+            try {
+                SocketChannel client = server.accept();
+                clients.add(client);
+                Thread.ofVirtual().name("modbus-tcp-simulator-client").start(() -> serve(client));
+            } catch (IOException e) {
+                return;
+            }
+        }
+    }
+
+    private void serve(SocketChannel client) {
+        ByteBuffer header = ByteBuffer.allocate(7);
+        try {
+            while (!closed) {
+                header.clear();
+                if (!readFully(client, header)) {
+                    return;
+                }
+                header.flip();
+                int transactionId = header.getShort() & 0xFFFF;
+                header.getShort();
+                int length = header.getShort() & 0xFFFF;
+                int unitId = header.get() & 0xFF;
+                ByteBuffer pdu = ByteBuffer.allocate(length - 1);
+                if (!readFully(client, pdu)) {
+                    return;
+                }
+                pdu.flip();
+                requestCount.incrementAndGet();
+                if (dropRequests) {
+                    continue;
+                }
+                int current = inFlight.incrementAndGet();
+                maxInFlight.accumulateAndGet(current, Math::max);
+                Thread.ofVirtual().start(() -> respond(client, transactionId, unitId, pdu));
+            }
+        } catch (IOException e) {
+            // 客户端断开
+        } finally {
+            closeQuietly(client);
+        }
+    }
+
+    private void respond(SocketChannel client, int transactionId, int unitId, ByteBuffer pdu) {
+        try {
+            long delay = responseDelayMillis;
+            if (delay > 0) {
+                // 交错延迟，使响应乱序返回
+                Thread.sleep(delay + (transactionId % 3) * 10L);
+            }
+            ByteBuffer response = ByteBuffer.allocate(260);
+            response.position(7);
+            memory.handle(pdu, response);
+            int pduLength = response.position() - 7;
+            response.putShort(0, (short) transactionId);
+            response.putShort(2, (short) 0);
+            response.putShort(4, (short) (pduLength + 1));
+            response.put(6, (byte) unitId);
+            response.flip();
+            synchronized (client) {
+                while (response.hasRemaining()) {
+                    client.write(response);
+                }
+            }
+        } catch (IOException e) {
+            closeQuietly(client);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            inFlight.decrementAndGet();
+        }
+    }
+
+    private static boolean readFully(SocketChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer) < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static void closeQuietly(java.io.Closeable closeable) {
+        try {
+            closeable.close();
+        } catch (IOException ignored) {
+            // 测试工具，忽略关闭异常
+        }
+    }
+}
@@ -0,0 +1,185 @@
+package com.yimusi.repository;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.yimusi.BaseIntegrationTest;
+import com.yimusi.common.model.GasVector;
+import com.yimusi.entity.TestJob;
+import com.yimusi.enums.GasType;
+import com.yimusi.enums.InspectionDeviceStatus;
+import com.yimusi.enums.OilSampleUsage;
+import com.yimusi.enums.TestJobStatus;
+import com.yimusi.testjob.ClaimedJob;
+import com.yimusi.testjob.TestJobResult;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * TestJobQueueRepository 集成测试
+ * 在 MySQL 容器中验证 SKIP LOCKED 领取、租约与重试，并测量 1 / 2 / 4 个节点并发领取的吞吐
+ */
+@Slf4j
+@DisplayName("TestJobQueueRepository 集成测试")
+class TestJobQueueRepositoryIntegrationTest extends BaseIntegrationTest {
+
+    private static final int BENCHMARK_JOBS = 20_000;
+    private static final int CLAIM_BATCH = 50;
+
+    @Autowired
+    private TestJobQueueRepository queueRepository;
+
+    @Autowired
+    private TestJobRepository testJobRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM test_jobs");
+    }
+
+    private void insertAssignedJobs(int count) {
+        Timestamp now = Timestamp.from(Instant.now());
+        List<Object[]> rows = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            rows.add(new Object[]{(long) i + 1, OilSampleUsage.FACTORY_TEST.name(), i % 10, 1L + i % 100, 1L, i % 100,
+                now, now});
+        }
+        jdbcTemplate.batchUpdate("""
+            INSERT INTO test_jobs (device_id, usage_type, priority, station_id, oil_sample_id, cylinder_no, status,
+                                   attempts, max_attempts, assigned_at, created_at)
+            VALUES (?, ?, ?, ?, ?, ?, 'ASSIGNED', 0, 3, ?, ?)
+            """, rows);
+    }
+
+    private List<ClaimedJob> claim(String owner, int limit) {
+        Instant now = Instant.now();
+        return transactionTemplate.execute(
+            status -> queueRepository.claim(owner, limit, now, now.plus(1, ChronoUnit.MINUTES)));
+    }
+
+    @Test
+    @DisplayName("两个节点交替领取互不重复，租约过期后可被其他节点接管")
+    void claim_SkipLockedAndLeaseTakeover() {
+        insertAssignedJobs(10);
+
+        List<ClaimedJob> first = claim("node-a", 6);
+        List<ClaimedJob> second = claim("node-b", 6);
+        assertEquals(6, first.size());
+        assertEquals(4, second.size());
+        assertTrue(first.stream().noneMatch(a -> second.stream().anyMatch(b -> b.jobId() == a.jobId())));
+        assertTrue(claim("node-c", 6).isEmpty());
+
+        // node-a 失联，租约过期后由 node-c 接管，node-a 的续约与结果都不再生效
+        jdbcTemplate.update("UPDATE test_jobs SET lease_expires_at = ? WHERE lease_owner = 'node-a'",
+            Timestamp.from(Instant.now().minusSeconds(1)));
+        List<ClaimedJob> takeover = claim("node-c", 10);
+        assertEquals(6, takeover.size());
+        assertTrue(takeover.stream().allMatch(job -> job.attempt() == 2));
+        assertTrue(queueRepository.renewLeases("node-a", List.of(first.get(0).jobId()), Instant.now()).isEmpty());
+        Boolean staleCompleted = transactionTemplate.execute(status ->
+            queueRepository.complete(first.get(0), "node-a", new TestJobResult(InspectionDeviceStatus.CALIBRATED, GasVector.builder().set(GasType.H2, 101.5).build()), Instant.now()));
+        assertEquals(Boolean.FALSE, staleCompleted);
+
+        ClaimedJob job = takeover.get(0);
+        Boolean completed = transactionTemplate.execute(status ->
+            queueRepository.complete(job, "node-c", new TestJobResult(InspectionDeviceStatus.CALIBRATED, GasVector.builder().set(GasType.H2, 101.5).build()), Instant.now()));
+        assertEquals(Boolean.TRUE, completed);
+        TestJob saved = testJobRepository.findById(job.jobId()).orElseThrow();
+        assertEquals(TestJobStatus.SUCCEEDED, saved.getStatus());
+        assertEquals(InspectionDeviceStatus.CALIBRATED, saved.getResultStatus());
+        assertNull(saved.getLeaseOwner());
+        assertEquals(1, saved.getMeasurements().size());
+        assertEquals("H2", saved.getMeasurements().get(0).getKey());
+    }
+
+    @Test
+    @DisplayName("失败重试在退避时间之前不可领取，重试次数用尽后租约过期的作业置为失败")
+    void retryAndExhaustion() {
+        insertAssignedJobs(1);
+        ClaimedJob job = claim("node-a", 1).get(0);
+
+        transactionTemplate.execute(status ->
+            queueRepository.retry(job, "node-a", "timeout", Instant.now().plusSeconds(60)));
+        assertTrue(claim("node-a", 1).isEmpty());
+
+        jdbcTemplate.update("UPDATE test_jobs SET next_attempt_at = ?", Timestamp.from(Instant.now().minusSeconds(1)));
+        assertEquals(2, claim("node-a", 1).get(0).attempt());
+        assertEquals(3, claimAfterExpiry("node-b").attempt());
+
+        jdbcTemplate.update("UPDATE test_jobs SET lease_expires_at = ?", Timestamp.from(Instant.now().minusSeconds(1)));
+        assertTrue(claim("node-c", 1).isEmpty());
+        List<Long> devices = transactionTemplate.execute(status -> queueRepository.failExpired(Instant.now(), 10));
+        assertEquals(List.of(job.deviceId()), devices);
+        assertEquals(TestJobStatus.FAILED, testJobRepository.findById(job.jobId()).orElseThrow().getStatus());
+    }
+
+    private ClaimedJob claimAfterExpiry(String owner) {
+        jdbcTemplate.update("UPDATE test_jobs SET lease_expires_at = ?", Timestamp.from(Instant.now().minusSeconds(1)));
+        return claim(owner, 1).get(0);
+    }
+
+    @Test
+    @DisplayName("1 / 2 / 4 个节点并发领取的吞吐，且每个作业只被领取一次")
+    void claimThroughput() throws Exception {
+        for (int nodes : new int[]{1, 2, 4}) {
+            jdbcTemplate.update("DELETE FROM test_jobs");
+            insertAssignedJobs(BENCHMARK_JOBS);
+
+            Set<Long> claimedIds = ConcurrentHashMap.newKeySet();
+            AtomicInteger duplicates = new AtomicInteger();
+            CountDownLatch startGate = new CountDownLatch(1);
+            ExecutorService pool = Executors.newFixedThreadPool(nodes);
+            List<Future<?>> futures = new ArrayList<>();
+            for (int n = 0; n < nodes; n++) {
+                String owner = "bench-" + nodes + "-" + n;
+                futures.add(pool.submit(() -> {
+                    startGate.await();
+                    List<ClaimedJob> batch;
+                    while (!(batch = claim(owner, CLAIM_BATCH)).isEmpty()) {
+                        for (ClaimedJob job : batch) {
+                            if (!claimedIds.add(job.jobId())) {
+                                duplicates.incrementAndGet();
+                            }
+                        }
+                    }
+                    return null;
+                }));
+            }
+            long start = System.nanoTime();
+            startGate.countDown();
+            for (Future<?> future : futures) {
+                future.get();
+            }
+            double seconds = (System.nanoTime() - start) / 1e9;
+            pool.shutdown();
+
+            log.info("测试作业领取吞吐: nodes={}, jobs={}, batch={}, elapsed={}s, throughput={} jobs/s",
+                nodes, BENCHMARK_JOBS, CLAIM_BATCH, String.format("%.2f", seconds),
+                String.format("%.0f", BENCHMARK_JOBS / seconds));
+            assertEquals(0, duplicates.get());
+            assertEquals(BENCHMARK_JOBS, claimedIds.size());
+        }
+    }
+}
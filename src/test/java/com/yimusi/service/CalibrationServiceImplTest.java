@@ -0,0 +1,163 @@
+package com.yimusi.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import com.yimusi.calibration.CalibrationEngine;
+import com.yimusi.calibration.DeviceCalibrationResult;
+import com.yimusi.common.exception.BadRequestException;
+import com.yimusi.dto.calibration.CalibrationBatchRequest;
+import com.yimusi.dto.calibration.CalibrationBatchResult;
+import com.yimusi.dto.calibration.DeviceCalibrationResponse;
+import com.yimusi.entity.DeviceCalibration;
+import com.yimusi.entity.InspectionDevice;
+import com.yimusi.entity.OilSample;
+import com.yimusi.entity.OilSampleParameter;
+import com.yimusi.entity.TestJob;
+import com.yimusi.enums.CalibrationModel;
+import com.yimusi.enums.GasType;
+import com.yimusi.enums.InspectionDeviceStatus;
+import com.yimusi.enums.OilSampleUsage;
+import com.yimusi.enums.TestJobStatus;
+import com.yimusi.mapper.DeviceCalibrationMapper;
+import com.yimusi.repository.DeviceCalibrationJdbcRepository;
+import com.yimusi.repository.DeviceCalibrationRepository;
+import com.yimusi.repository.InspectionDeviceRepository;
+import com.yimusi.repository.OilSampleRepository;
+import com.yimusi.repository.TestJobRepository;
+import com.yimusi.service.impl.CalibrationServiceImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.math.BigDecimal;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mapstruct.factory.Mappers;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@ExtendWith(MockitoExtension.class)
+class CalibrationServiceImplTest {
+
+    @Mock
+    private InspectionDeviceRepository inspectionDeviceRepository;
+
+    @Mock
+    private TestJobRepository testJobRepository;
+
+    @Mock
+    private OilSampleRepository oilSampleRepository;
+
+    @Mock
+    private DeviceCalibrationRepository deviceCalibrationRepository;
+
+    @Mock
+    private DeviceCalibrationJdbcRepository deviceCalibrationJdbcRepository;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    private CalibrationEngine calibrationEngine;
+
+    private CalibrationServiceImpl calibrationService;
+
+    @BeforeEach
+    void setUp() {
+        calibrationEngine = new CalibrationEngine();
+        ReflectionTestUtils.setField(calibrationEngine, "parallelism", 2);
+        calibrationEngine.init();
+        calibrationService = new CalibrationServiceImpl(inspectionDeviceRepository, testJobRepository, oilSampleRepository,
+            deviceCalibrationRepository, deviceCalibrationJdbcRepository, Mappers.getMapper(DeviceCalibrationMapper.class),
+            calibrationEngine, transactionTemplate, new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(calibrationService, "batchSize", 500);
+    }
+
+    @AfterEach
+    void tearDown() {
+        calibrationEngine.destroy();
+    }
+
+    private static InspectionDevice device(long id, InspectionDeviceStatus status) {
+        InspectionDevice device = new InspectionDevice();
+        device.setId(id);
+        device.setStatus(status);
+        return device;
+    }
+
+    private static OilSample sample(long id, String h2) {
+        OilSample sample = new OilSample();
+        sample.setId(id);
+        sample.setParameters(List.of(new OilSampleParameter("H2", new BigDecimal(h2))));
+        return sample;
+    }
+
+    private static TestJob job(long id, long deviceId, long sampleId, double h2) {
+        TestJob job = new TestJob();
+        job.setId(id);
+        job.setDeviceId(deviceId);
+        job.setOilSampleId(sampleId);
+        job.setMeasurements(List.of(new OilSampleParameter("H2", BigDecimal.valueOf(h2))));
+        return job;
+    }
+
+    @Test
+    @DisplayName("批量标定 - 未指定设备时标定全部已标定设备，并批量写回拟合结果")
+    @SuppressWarnings("unchecked")
+    void recalibrate_AllCalibrated() {
+        when(inspectionDeviceRepository.findByStatusAndDeletedFalse(InspectionDeviceStatus.CALIBRATED))
+            .thenReturn(List.of(device(1, InspectionDeviceStatus.CALIBRATED), device(2, InspectionDeviceStatus.CALIBRATED)));
+        when(testJobRepository.findByUsageAndStatusAndDeviceIdIn(eq(OilSampleUsage.CALIBRATION), eq(TestJobStatus.SUCCEEDED), any()))
+            .thenReturn(List.of(job(2, 1, 100, 11), job(1, 1, 101, 51)));
+        when(oilSampleRepository.findAllById(any())).thenReturn(List.of(sample(100, "10"), sample(101, "50")));
+        when(transactionTemplate.execute(any()))
+            .thenAnswer(invocation -> ((TransactionCallback<Integer>) invocation.getArgument(0)).doInTransaction(null));
+        when(deviceCalibrationJdbcRepository.upsertBatch(anyList(), any(), eq(500))).thenReturn(1);
+
+        CalibrationBatchResult result = calibrationService.recalibrate(new CalibrationBatchRequest());
+
+        assertEquals(2, result.getDeviceCount());
+        assertEquals(1, result.getCalibratedCount());
+        assertEquals(1, result.getFitCount());
+        ArgumentCaptor<List<DeviceCalibrationResult>> captor = ArgumentCaptor.forClass(List.class);
+        verify(deviceCalibrationJdbcRepository).upsertBatch(captor.capture(), any(), eq(500));
+        DeviceCalibrationResult device = captor.getValue().get(0);
+        assertEquals(1, device.deviceId());
+        assertEquals(GasType.H2, device.fits().get(0).gas());
+        assertEquals(CalibrationModel.LINEAR, device.fits().get(0).model());
+        assertArrayEquals(new double[] {-1, 1}, device.fits().get(0).coefficients(), 1e-9);
+    }
+
+    @Test
+    @DisplayName("批量标定 - 指定的设备不处于已标定状态时拒绝")
+    void recalibrate_DeviceNotCalibrated() {
+        CalibrationBatchRequest request = new CalibrationBatchRequest();
+        request.setDeviceIds(List.of(1L, 2L));
+        when(inspectionDeviceRepository.findAllById(any()))
+            .thenReturn(List.of(device(1, InspectionDeviceStatus.CALIBRATED), device(2, InspectionDeviceStatus.UNDER_REPAIR)));
+
+        assertThrows(BadRequestException.class, () -> calibrationService.recalibrate(request));
+        verifyNoInteractions(testJobRepository, deviceCalibrationJdbcRepository);
+    }
+
+    @Test
+    @DisplayName("查询标定系数 - 按气体顺序返回")
+    void getDeviceCalibrations_SortedByGas() {
+        when(inspectionDeviceRepository.existsById(1L)).thenReturn(true);
+        DeviceCalibration h2 = new DeviceCalibration();
+        h2.setGas(GasType.H2);
+        DeviceCalibration ch4 = new DeviceCalibration();
+        ch4.setGas(GasType.CH4);
+        when(deviceCalibrationRepository.findByDeviceId(1L)).thenReturn(List.of(h2, ch4));
+
+        List<DeviceCalibrationResponse> result = calibrationService.getDeviceCalibrations(1L);
+
+        assertEquals(List.of(GasType.CH4, GasType.H2), result.stream().map(DeviceCalibrationResponse::getGas).toList());
+    }
+}
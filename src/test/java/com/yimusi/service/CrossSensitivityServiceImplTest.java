@@ -0,0 +1,109 @@
+package com.yimusi.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import com.yimusi.calibration.CalibrationEngine;
+import com.yimusi.calibration.CrossSensitivityCache;
+import com.yimusi.common.exception.ResourceNotFoundException;
+import com.yimusi.dto.calibration.CrossSensitivityResponse;
+import com.yimusi.entity.OilSample;
+import com.yimusi.entity.OilSampleParameter;
+import com.yimusi.entity.TestJob;
+import com.yimusi.enums.GasType;
+import com.yimusi.enums.OilSampleUsage;
+import com.yimusi.enums.TestJobStatus;
+import com.yimusi.repository.InspectionDeviceRepository;
+import com.yimusi.repository.OilSampleRepository;
+import com.yimusi.repository.TestJobRepository;
+import com.yimusi.service.impl.CrossSensitivityServiceImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.math.BigDecimal;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+@ExtendWith(MockitoExtension.class)
+class CrossSensitivityServiceImplTest {
+
+    @Mock
+    private InspectionDeviceRepository inspectionDeviceRepository;
+
+    @Mock
+    private TestJobRepository testJobRepository;
+
+    @Mock
+    private OilSampleRepository oilSampleRepository;
+
+    private CalibrationEngine calibrationEngine;
+
+    private CrossSensitivityServiceImpl crossSensitivityService;
+
+    @BeforeEach
+    void setUp() {
+        calibrationEngine = new CalibrationEngine();
+        ReflectionTestUtils.setField(calibrationEngine, "parallelism", 2);
+        calibrationEngine.init();
+        crossSensitivityService = new CrossSensitivityServiceImpl(inspectionDeviceRepository, testJobRepository,
+            oilSampleRepository, calibrationEngine, new CrossSensitivityCache(new SimpleMeterRegistry()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        calibrationEngine.destroy();
+    }
+
+    private static TestJob run(long id, long sampleId, String gas, double value) {
+        TestJob job = new TestJob();
+        job.setId(id);
+        job.setDeviceId(1L);
+        job.setOilSampleId(sampleId);
+        job.setMeasurements(List.of(new OilSampleParameter(gas, BigDecimal.valueOf(value))));
+        return job;
+    }
+
+    private static OilSample sample(long id, String gas, String value) {
+        OilSample sample = new OilSample();
+        sample.setId(id);
+        sample.setParameters(List.of(new OilSampleParameter(gas, new BigDecimal(value))));
+        return sample;
+    }
+
+    @Test
+    @DisplayName("查询交叉敏感矩阵 - 运行版本未变化时使用缓存，不再加载油样")
+    void getDeviceMatrix_Cached() {
+        when(inspectionDeviceRepository.existsById(1L)).thenReturn(true);
+        when(testJobRepository.findByUsageAndStatusAndDeviceIdIn(
+                eq(OilSampleUsage.CROSS_SENSITIVITY_TEST), eq(TestJobStatus.SUCCEEDED), any()))
+            .thenAnswer(invocation -> List.of(run(5, 100, "H2", 99)));
+        when(oilSampleRepository.findAllById(any())).thenReturn(List.of(sample(100, "H2", "100")));
+
+        CrossSensitivityResponse first = crossSensitivityService.getDeviceMatrix(1L);
+        CrossSensitivityResponse second = crossSensitivityService.getDeviceMatrix(1L);
+
+        assertEquals(5L, first.getRunId());
+        assertEquals(List.of(GasType.values()), first.getGases());
+        int h2 = GasType.H2.ordinal();
+        assertEquals(0.99, first.getMatrix().get(h2).get(h2), 1e-12);
+        assertNull(first.getMatrix().get(h2).get(GasType.CO.ordinal()));
+        assertEquals(first, second);
+        verify(oilSampleRepository, times(1)).findAllById(any());
+    }
+
+    @Test
+    @DisplayName("查询交叉敏感矩阵 - 设备没有已完成的交叉敏感测试时返回不存在")
+    void getDeviceMatrix_NoRuns() {
+        when(inspectionDeviceRepository.existsById(1L)).thenReturn(true);
+        when(testJobRepository.findByUsageAndStatusAndDeviceIdIn(any(), any(), any())).thenReturn(List.of());
+
+        assertThrows(ResourceNotFoundException.class, () -> crossSensitivityService.getDeviceMatrix(1L));
+        verifyNoInteractions(oilSampleRepository);
+    }
+}
@@ -0,0 +1,98 @@
+package com.yimusi.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import com.yimusi.common.exception.BadRequestException;
+import com.yimusi.dto.diagnosis.DgaDiagnosisRequest;
+import com.yimusi.dto.diagnosis.DgaDiagnosisResponse;
+import com.yimusi.dto.diagnosis.DgaHistoryResponse;
+import com.yimusi.entity.InspectionDevice;
+import com.yimusi.enums.DgaFault;
+import com.yimusi.enums.DgaMethod;
+import com.yimusi.enums.GasType;
+import com.yimusi.repository.InspectionDeviceRepository;
+import com.yimusi.service.impl.DgaDiagnosisServiceImpl;
+import com.yimusi.telemetry.ReadingSeries;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.Optional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+@ExtendWith(MockitoExtension.class)
+class DgaDiagnosisServiceImplTest {
+
+    @Mock
+    private InspectionDeviceRepository inspectionDeviceRepository;
+
+    @Mock
+    private ReadingStorageService readingStorageService;
+
+    private DgaDiagnosisServiceImpl dgaDiagnosisService;
+
+    @BeforeEach
+    void setUp() {
+        dgaDiagnosisService = new DgaDiagnosisServiceImpl(inspectionDeviceRepository, readingStorageService, new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(dgaDiagnosisService, "maxHistoryRange", Duration.ofDays(7));
+    }
+
+    private static ReadingSeries series(double... values) {
+        ReadingSeries series = new ReadingSeries();
+        for (int i = 0; i < values.length; i++) {
+            series.add(1000L * i, values[i]);
+        }
+        return series;
+    }
+
+    @Test
+    @DisplayName("单条诊断 - 返回全部方法的结论，未提供的气体按 0 计")
+    void diagnose_AllMethods() {
+        DgaDiagnosisRequest request = new DgaDiagnosisRequest();
+        request.setGases(Map.of(GasType.CH4, 40d, GasType.C2H4, 55d, GasType.C2H2, 5d));
+
+        DgaDiagnosisResponse response = dgaDiagnosisService.diagnose(request);
+
+        assertEquals(DgaMethod.values().length, response.getResults().size());
+        assertEquals(DgaFault.T3, response.getResults().get(DgaMethod.DUVAL_TRIANGLE));
+    }
+
+    @Test
+    @DisplayName("历史诊断 - 结论相同的连续读数合并为时间段并统计条数")
+    void diagnoseHistory_Segments() {
+        InspectionDevice device = new InspectionDevice();
+        device.setId(7L);
+        when(inspectionDeviceRepository.findByDeviceNoAndDeletedFalse("D1")).thenReturn(Optional.of(device));
+        when(readingStorageService.findSeries(eq(7L), any(GasType.class), anyLong(), anyLong())).thenReturn(series(0, 0, 0));
+        // 前两条以乙烯为主（T3），最后一条以甲烷为主（PD）
+        when(readingStorageService.findSeries(eq(7L), eq(GasType.CH4), anyLong(), anyLong())).thenReturn(series(40, 40, 100));
+        when(readingStorageService.findSeries(eq(7L), eq(GasType.C2H4), anyLong(), anyLong())).thenReturn(series(55, 55, 0));
+        when(readingStorageService.findSeries(eq(7L), eq(GasType.C2H2), anyLong(), anyLong())).thenReturn(series(5, 5, 0));
+
+        DgaHistoryResponse response = dgaDiagnosisService.diagnoseHistory("D1", Instant.EPOCH, Instant.ofEpochSecond(60));
+
+        assertEquals(3, response.getSampleCount());
+        DgaHistoryResponse.MethodSummary triangle = response.getMethods().get(DgaMethod.DUVAL_TRIANGLE);
+        assertEquals(DgaFault.PD, triangle.getLatest());
+        assertEquals(Map.of(DgaFault.T3, 2, DgaFault.PD, 1), triangle.getCounts());
+        assertEquals(2, triangle.getSegments().size());
+        assertEquals(new DgaHistoryResponse.Segment(DgaFault.T3, Instant.EPOCH, Instant.ofEpochSecond(1), 2),
+            triangle.getSegments().get(0));
+    }
+
+    @Test
+    @DisplayName("历史诊断 - 时间范围超过上限时拒绝")
+    void diagnoseHistory_RangeTooLong() {
+        assertThrows(BadRequestException.class,
+            () -> dgaDiagnosisService.diagnoseHistory("D1", Instant.EPOCH, Instant.EPOCH.plus(Duration.ofDays(8))));
+        verifyNoInteractions(inspectionDeviceRepository, readingStorageService);
+    }
+}
@@ -0,0 +1,167 @@
+package com.yimusi.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import com.yimusi.common.exception.BadRequestException;
+import com.yimusi.common.exception.BusinessException;
+import com.yimusi.common.exception.ResourceNotFoundException;
+import com.yimusi.cylinder.CylinderLevel;
+import com.yimusi.cylinder.CylinderReservations;
+import com.yimusi.cylinder.OilCylinderLowStockEvent;
+import com.yimusi.dto.cylinder.CreateOilCylinderRequest;
+import com.yimusi.dto.cylinder.OilCylinderResponse;
+import com.yimusi.dto.cylinder.RefillOilCylinderRequest;
+import com.yimusi.entity.OilCylinder;
+import com.yimusi.mapper.OilCylinderMapper;
+import com.yimusi.repository.OilCylinderJdbcRepository;
+import com.yimusi.repository.OilCylinderRepository;
+import com.yimusi.service.impl.OilCylinderServiceImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mapstruct.factory.Mappers;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.util.ReflectionTestUtils;
+
+@ExtendWith(MockitoExtension.class)
+class OilCylinderServiceImplTest {
+
+    @Mock
+    private OilCylinderRepository oilCylinderRepository;
+
+    @Mock
+    private OilCylinderJdbcRepository oilCylinderJdbcRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private CylinderReservations reservations;
+    private SimpleMeterRegistry meterRegistry;
+    private OilCylinderServiceImpl oilCylinderService;
+
+    @BeforeEach
+    void setUp() {
+        reservations = new CylinderReservations();
+        meterRegistry = new SimpleMeterRegistry();
+        oilCylinderService = new OilCylinderServiceImpl(oilCylinderRepository, oilCylinderJdbcRepository,
+            Mappers.getMapper(OilCylinderMapper.class), reservations, eventPublisher, meterRegistry);
+        ReflectionTestUtils.setField(oilCylinderService, "consumptionPerRun", 50L);
+    }
+
+    private static OilCylinder cylinder(int cylinderNo, long remaining) {
+        OilCylinder cylinder = new OilCylinder();
+        cylinder.setCylinderNo(cylinderNo);
+        cylinder.setCapacity(1000L);
+        cylinder.setRemaining(remaining);
+        cylinder.setLowStockThreshold(200L);
+        return cylinder;
+    }
+
+    @Test
+    @DisplayName("抽油 - 扣减后跌破阈值时发布一次低库存告警")
+    void consumeRun_CrossesThreshold() {
+        when(oilCylinderJdbcRepository.consume(eq(1), eq(50L), any())).thenReturn(new CylinderLevel(180, 200));
+
+        assertTrue(oilCylinderService.consumeRun(1));
+
+        verify(eventPublisher).publishEvent(new OilCylinderLowStockEvent(1, 180, 200));
+        assertEquals(1, meterRegistry.counter("oil.cylinder.low.stock").count());
+    }
+
+    @Test
+    @DisplayName("抽油 - 扣减前已低于阈值时不重复告警")
+    void consumeRun_AlreadyLow() {
+        when(oilCylinderJdbcRepository.consume(eq(1), eq(50L), any())).thenReturn(new CylinderLevel(100, 200));
+
+        assertTrue(oilCylinderService.consumeRun(1));
+
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    @DisplayName("抽油 - 余量不足时失败，未登记的油缸不限制")
+    void consumeRun_InsufficientOrUntracked() {
+        when(oilCylinderJdbcRepository.consume(anyInt(), eq(50L), any())).thenReturn(null);
+        when(oilCylinderRepository.existsByCylinderNo(1)).thenReturn(true);
+        when(oilCylinderRepository.existsByCylinderNo(2)).thenReturn(false);
+
+        assertFalse(oilCylinderService.consumeRun(1));
+        assertTrue(oilCylinderService.consumeRun(2));
+        assertEquals(1, meterRegistry.counter("oil.cylinder.consume", "result", "insufficient").count());
+    }
+
+    @Test
+    @DisplayName("退还用量 - 按一次运行的用量补回，未登记的油缸不计数")
+    void refundRun() {
+        when(oilCylinderJdbcRepository.refill(eq(1), eq(50L), any())).thenReturn(1);
+        when(oilCylinderJdbcRepository.refill(eq(2), eq(50L), any())).thenReturn(0);
+
+        oilCylinderService.refundRun(1);
+        oilCylinderService.refundRun(2);
+
+        assertEquals(1, meterRegistry.counter("oil.cylinder.refund").count());
+    }
+
+    @Test
+    @DisplayName("重建预留账本 - 扣除已分配作业的用量，返回余量不足一次运行的油缸")
+    void refreshReservations() {
+        when(oilCylinderRepository.findAll()).thenReturn(List.of(cylinder(1, 120), cylinder(2, 500)));
+
+        Set<Integer> depleted = oilCylinderService.refreshReservations(Map.of(1, 2, 2, 1));
+
+        assertEquals(Set.of(1), depleted);
+        assertEquals(20, reservations.available(1));
+        assertEquals(450, reservations.available(2));
+        assertTrue(oilCylinderService.reserveRun(2));
+        assertFalse(oilCylinderService.reserveRun(1));
+        assertTrue(oilCylinderService.reserveRun(3));
+    }
+
+    @Test
+    @DisplayName("登记油缸 - 未指定剩余油量时按满缸登记")
+    void createCylinder_DefaultsToFull() {
+        CreateOilCylinderRequest request = new CreateOilCylinderRequest();
+        request.setCylinderNo(1);
+        request.setCapacity(1000L);
+        request.setLowStockThreshold(200L);
+        when(oilCylinderRepository.save(any(OilCylinder.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        OilCylinderResponse response = oilCylinderService.createCylinder(request);
+
+        assertEquals(1000L, response.getRemaining());
+        assertFalse(response.isLowStock());
+    }
+
+    @Test
+    @DisplayName("登记油缸 - 编号重复或剩余油量超过容量时拒绝")
+    void createCylinder_Invalid() {
+        CreateOilCylinderRequest request = new CreateOilCylinderRequest();
+        request.setCylinderNo(1);
+        request.setCapacity(1000L);
+        request.setRemaining(1200L);
+        request.setLowStockThreshold(200L);
+        when(oilCylinderRepository.existsByCylinderNo(1)).thenReturn(true, false);
+
+        assertThrows(BusinessException.class, () -> oilCylinderService.createCylinder(request));
+        assertThrows(BadRequestException.class, () -> oilCylinderService.createCylinder(request));
+        verify(oilCylinderRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("补油 - 油缸不存在")
+    void refillCylinder_NotFound() {
+        when(oilCylinderJdbcRepository.refill(eq(9), isNull(), any())).thenReturn(0);
+
+        assertThrows(ResourceNotFoundException.class,
+            () -> oilCylinderService.refillCylinder(9, new RefillOilCylinderRequest()));
+    }
+}
@@ -4,19 +4,24 @@ import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 
+import com.yimusi.common.exception.BadRequestException;
 import com.yimusi.common.exception.BusinessException;
 import com.yimusi.common.exception.ResourceNotFoundException;
+import com.yimusi.common.web.ResponseBodyCache;
 import com.yimusi.dto.common.PageResult;
 import com.yimusi.dto.oilsample.CreateOilSampleRequest;
 import com.yimusi.dto.oilsample.OilSamplePageRequest;
 import com.yimusi.dto.oilsample.OilSampleResponse;
 import com.yimusi.dto.oilsample.UpdateOilSampleRequest;
 import com.yimusi.entity.OilSample;
+import com.yimusi.enums.GasType;
 import com.yimusi.enums.OilSampleUsage;
 import com.yimusi.mapper.OilSampleMapper;
+import com.yimusi.repository.OilSampleParameterJdbcRepository;
 import com.yimusi.repository.OilSampleRepository;
 import com.yimusi.service.impl.OilSampleServiceImpl;
 import com.querydsl.core.types.Predicate;
+import java.math.BigDecimal;
 import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
@@ -40,6 +45,12 @@ class OilSampleServiceImplTest {
     @Mock
     private OilSampleRepository oilSampleRepository;
 
+    @Mock
+    private OilSampleParameterJdbcRepository oilSampleParameterJdbcRepository;
+
+    @Mock
+    private ResponseBodyCache responseBodyCache;
+
     @Spy
     private OilSampleMapper oilSampleMapper = Mappers.getMapper(OilSampleMapper.class);
 
@@ -94,6 +105,43 @@ class OilSampleServiceImplTest {
         assertEquals("SAMPLE-001", result.getContent().get(0).getSampleNo());
     }
 
+    @Test
+    @DisplayName("分页查询油样列表 - 气体含量范围转换为参数索引表子查询")
+    void getOilSamplesPage_WithGasRanges_ShouldQueryParameterIndex() {
+        OilSamplePageRequest request = new OilSamplePageRequest();
+        OilSamplePageRequest.GasRange ch4 = new OilSamplePageRequest.GasRange();
+        ch4.setMin(new BigDecimal("0.05"));
+        ch4.setMax(new BigDecimal("0.2"));
+        OilSamplePageRequest.GasRange h2 = new OilSamplePageRequest.GasRange();
+        h2.setMin(new BigDecimal("10"));
+        request.getGasRanges().put(GasType.CH4, ch4);
+        request.getGasRanges().put(GasType.H2, h2);
+        request.getGasRanges().put(GasType.CO, new OilSamplePageRequest.GasRange());
+
+        when(oilSampleRepository.findAll(any(Predicate.class), any(PageRequest.class))).thenReturn(new PageImpl<>(List.of(oilSample)));
+
+        oilSampleService.getOilSamplesPage(request);
+
+        ArgumentCaptor<Predicate> captor = ArgumentCaptor.forClass(Predicate.class);
+        verify(oilSampleRepository).findAll(captor.capture(), any(PageRequest.class));
+        String predicate = captor.getValue().toString();
+        // 未设置上下限的 CO 不产生子查询
+        assertEquals(2, predicate.split("oilSample.id in ", -1).length - 1);
+    }
+
+    @Test
+    @DisplayName("分页查询油样列表 - 气体含量下限大于上限")
+    void getOilSamplesPage_WithInvalidGasRange_ShouldThrowException() {
+        OilSamplePageRequest request = new OilSamplePageRequest();
+        OilSamplePageRequest.GasRange range = new OilSamplePageRequest.GasRange();
+        range.setMin(BigDecimal.TEN);
+        range.setMax(BigDecimal.ONE);
+        request.getGasRanges().put(GasType.C2H2, range);
+
+        assertThrows(BadRequestException.class, () -> oilSampleService.getOilSamplesPage(request));
+        verifyNoInteractions(oilSampleRepository);
+    }
+
     @Test
     @DisplayName("获取单条油样详情 - 存在")
     void getOilSampleById_WhenExists_ShouldReturnResponse() {
@@ -129,6 +177,7 @@ class OilSampleServiceImplTest {
         assertNotNull(response);
         assertEquals(1L, response.getId());
         assertEquals(createRequest.getSampleNo(), response.getSampleNo());
+        verify(oilSampleParameterJdbcRepository).replace(eq(1L), anyList());
     }
 
     @Test
@@ -172,6 +221,8 @@ class OilSampleServiceImplTest {
         assertNotNull(response);
         assertEquals(updateRequest.getSampleNo(), response.getSampleNo());
         assertEquals(updateRequest.getSampleName(), response.getSampleName());
+        verify(oilSampleParameterJdbcRepository).replace(eq(1L), any());
+        verify(responseBodyCache).evict("oil_samples", 1L);
     }
 
     @Test
@@ -191,6 +242,7 @@ class OilSampleServiceImplTest {
         oilSampleService.deleteOilSample(1L);
 
         verify(oilSampleRepository).deleteById(1L);
+        verify(responseBodyCache).evict("oil_samples", 1L);
     }
 
     @Test
@@ -0,0 +1,185 @@
+package com.yimusi.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import com.yimusi.enums.GasType;
+import com.yimusi.enums.ReadingResolution;
+import com.yimusi.repository.DeviceReadingRollupJdbcRepository;
+import com.yimusi.service.impl.ReadingRollupServiceImpl;
+import com.yimusi.telemetry.ReadingPoint;
+import com.yimusi.telemetry.ReadingSeries;
+import com.yimusi.telemetry.RollupAccumulator;
+import com.yimusi.telemetry.RollupKey;
+import com.yimusi.telemetry.RollupSeries;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * ReadingRollupServiceImpl 单元测试
+ * 关闭后台线程，由测试直接调用 flush 驱动汇总
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("设备读数汇总服务单元测试")
+class ReadingRollupServiceImplTest {
+
+    private static final long DEVICE_ID = 7L;
+
+    @Mock
+    private DeviceReadingRollupJdbcRepository rollupJdbcRepository;
+
+    @Mock
+    private ReadingStorageService readingStorageService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private SimpleMeterRegistry meterRegistry;
+    private ReadingRollupServiceImpl rollupService;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        rollupService = new ReadingRollupServiceImpl(
+            rollupJdbcRepository,
+            readingStorageService,
+            new TransactionTemplate(transactionManager),
+            meterRegistry
+        );
+        ReflectionTestUtils.setField(rollupService, "queueCapacity", 16);
+        ReflectionTestUtils.setField(rollupService, "flushInterval", Duration.ofSeconds(5));
+        ReflectionTestUtils.setField(rollupService, "lateness", Duration.ofMinutes(1));
+        ReflectionTestUtils.setField(rollupService, "maxRecomputePerFlush", 100);
+        ReflectionTestUtils.setField(rollupService, "workerEnabled", false);
+        rollupService.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        rollupService.stop();
+    }
+
+    @Test
+    @DisplayName("按时到达的读数 - 汇总结果包含最小值、最大值、总和、点数与最晚读数")
+    void flush_ShouldComputeAggregates() {
+        long minuteStart = ReadingResolution.MINUTE.bucketStart(System.currentTimeMillis());
+        rollupService.onPersisted(List.of(
+            new ReadingPoint(DEVICE_ID, GasType.H2, minuteStart + 1000, 5.0),
+            new ReadingPoint(DEVICE_ID, GasType.H2, minuteStart + 3000, 1.0),
+            new ReadingPoint(DEVICE_ID, GasType.H2, minuteStart + 2000, 9.0)
+        ));
+        Map<RollupKey, RollupAccumulator> snapshot = new TreeMap<>();
+        doAnswer(invocation -> {
+            snapshot.putAll(invocation.getArgument(0));
+            return null;
+        }).when(rollupJdbcRepository).mergeBatch(any());
+
+        assertEquals(3, rollupService.flush());
+
+        RollupAccumulator minute = snapshot.get(RollupKey.of(DEVICE_ID, GasType.H2, ReadingResolution.MINUTE, minuteStart));
+        assertNotNull(minute);
+        assertEquals(1.0, minute.getMin());
+        assertEquals(9.0, minute.getMax());
+        assertEquals(3, minute.getCount());
+        assertEquals(5.0, minute.getAverage());
+        assertEquals(1.0, minute.getLastValue());
+        assertEquals(minuteStart + 3000, minute.getLastTimestamp());
+        assertTrue(snapshot.containsKey(RollupKey.of(DEVICE_ID, GasType.H2, ReadingResolution.HOUR, minuteStart)));
+        assertTrue(snapshot.containsKey(RollupKey.of(DEVICE_ID, GasType.H2, ReadingResolution.DAY, minuteStart)));
+        assertEquals(3.0, meterRegistry.counter("telemetry.rollup.buckets.merged").count());
+        verifyNoInteractions(readingStorageService);
+    }
+
+    @Test
+    @DisplayName("迟到读数 - 不参与增量合并，只重算受影响的分钟、小时、天时间桶")
+    void flush_WithLatePoint_ShouldRecomputeAffectedBucketsOnly() {
+        long lateTimestamp = System.currentTimeMillis() - Duration.ofMinutes(10).toMillis();
+        RollupKey minute = RollupKey.of(DEVICE_ID, GasType.CO, ReadingResolution.MINUTE, lateTimestamp);
+        RollupKey hour = minute.parent(ReadingResolution.HOUR);
+        RollupKey day = minute.parent(ReadingResolution.DAY);
+
+        ReadingSeries source = new ReadingSeries();
+        source.add(minute.bucketStart() + 100, 2.0);
+        source.add(lateTimestamp, 4.0);
+        when(readingStorageService.findSeries(DEVICE_ID, GasType.CO, minute.bucketStart(), minute.bucketEnd()))
+            .thenReturn(source);
+        when(rollupJdbcRepository.findSeries(anyLong(), any(), any(), anyLong(), anyLong()))
+            .thenReturn(new RollupSeries());
+
+        rollupService.onPersisted(List.of(new ReadingPoint(DEVICE_ID, GasType.CO, lateTimestamp, 4.0)));
+
+        assertEquals(3, rollupService.flush());
+
+        verify(rollupJdbcRepository, never()).mergeBatch(any());
+        ArgumentCaptor<RollupAccumulator> minuteCaptor = ArgumentCaptor.forClass(RollupAccumulator.class);
+        verify(rollupJdbcRepository).replace(eq(minute), minuteCaptor.capture());
+        assertEquals(2, minuteCaptor.getValue().getCount());
+        assertEquals(6.0, minuteCaptor.getValue().getSum());
+        verify(rollupJdbcRepository).findSeries(DEVICE_ID, GasType.CO, ReadingResolution.MINUTE, hour.bucketStart(), hour.bucketEnd());
+        verify(rollupJdbcRepository).findSeries(DEVICE_ID, GasType.CO, ReadingResolution.HOUR, day.bucketStart(), day.bucketEnd());
+        verify(rollupJdbcRepository).replace(eq(hour), any());
+        verify(rollupJdbcRepository).replace(eq(day), any());
+        assertEquals(1.0, meterRegistry.counter("telemetry.rollup.points.late").count());
+        assertEquals(0, rollupService.getDirtyBucketCount());
+    }
+
+    @Test
+    @DisplayName("增量合并失败 - 对应分钟时间桶转为待重算")
+    void flush_WhenMergeFails_ShouldMarkMinutesDirty() {
+        long now = System.currentTimeMillis();
+        doThrow(new QueryTimeoutException("timeout")).when(rollupJdbcRepository).mergeBatch(any());
+        when(readingStorageService.findSeries(anyLong(), any(), anyLong(), anyLong()))
+            .thenThrow(new QueryTimeoutException("timeout"));
+
+        rollupService.onPersisted(List.of(new ReadingPoint(DEVICE_ID, GasType.CH4, now, 1.0)));
+
+        assertEquals(0, rollupService.flush());
+        assertEquals(1, rollupService.getDirtyBucketCount());
+    }
+
+    @Test
+    @DisplayName("重算读取时已落库、晚于重算交接的批次 - 不再增量合并，而是再次重算，避免重复计数")
+    void flush_BatchPersistedBeforeRecompute_ShouldNotDoubleCount() {
+        long now = System.currentTimeMillis();
+        RollupKey minute = RollupKey.of(DEVICE_ID, GasType.H2, ReadingResolution.MINUTE, now);
+        ReadingPoint first = new ReadingPoint(DEVICE_ID, GasType.H2, minute.bucketStart(), 1.0);
+        ReadingPoint second = new ReadingPoint(DEVICE_ID, GasType.H2, minute.bucketStart() + 1, 2.0);
+        doThrow(new QueryTimeoutException("timeout")).when(rollupJdbcRepository).mergeBatch(any());
+        // 重算读取时两批读数都已落库，但第二批尚未交接给汇总线程
+        ReadingSeries stored = new ReadingSeries();
+        stored.add(first.sampledAt(), first.value());
+        stored.add(second.sampledAt(), second.value());
+        when(readingStorageService.findSeries(DEVICE_ID, GasType.H2, minute.bucketStart(), minute.bucketEnd()))
+            .thenReturn(stored);
+        when(rollupJdbcRepository.findSeries(anyLong(), any(), any(), anyLong(), anyLong()))
+            .thenReturn(new RollupSeries());
+
+        rollupService.onPersisted(List.of(first));
+        rollupService.flush();
+        rollupService.onPersisted(List.of(second));
+        rollupService.flush();
+
+        verify(rollupJdbcRepository, times(1)).mergeBatch(any());
+        ArgumentCaptor<RollupAccumulator> captor = ArgumentCaptor.forClass(RollupAccumulator.class);
+        verify(rollupJdbcRepository, times(2)).replace(eq(minute), captor.capture());
+        assertEquals(2, captor.getValue().getCount());
+        assertEquals(3.0, captor.getValue().getSum());
+        assertEquals(0, rollupService.getDirtyBucketCount());
+    }
+}
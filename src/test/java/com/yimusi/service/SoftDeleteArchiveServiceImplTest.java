@@ -0,0 +1,113 @@
+package com.yimusi.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import com.yimusi.common.exception.BusinessException;
+import com.yimusi.dto.archive.ArchiveRunResult;
+import com.yimusi.enums.ArchiveTable;
+import com.yimusi.repository.SoftDeleteArchiveRepository;
+import com.yimusi.service.impl.SoftDeleteArchiveServiceImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.redisson.api.RLock;
+import org.redisson.api.RedissonClient;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@ExtendWith(MockitoExtension.class)
+class SoftDeleteArchiveServiceImplTest {
+
+    private static final List<String> COLUMNS = List.of("id", "deleted", "deleted_at");
+
+    @Mock
+    private SoftDeleteArchiveRepository archiveRepository;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private RedissonClient redissonClient;
+
+    @Mock
+    private RLock lock;
+
+    private SimpleMeterRegistry meterRegistry;
+    private SoftDeleteArchiveServiceImpl archiveService;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        archiveService = new SoftDeleteArchiveServiceImpl(archiveRepository, transactionTemplate, redissonClient, meterRegistry);
+        ReflectionTestUtils.setField(archiveService, "retention", Duration.ofDays(90));
+        ReflectionTestUtils.setField(archiveService, "chunkSize", 2);
+        ReflectionTestUtils.setField(archiveService, "pause", Duration.ZERO);
+        ReflectionTestUtils.setField(archiveService, "maxRowsPerRun", 100);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void acquireLock() throws InterruptedException {
+        when(redissonClient.getLock(anyString())).thenReturn(lock);
+        when(lock.tryLock(0, TimeUnit.MILLISECONDS)).thenReturn(true);
+        when(lock.isHeldByCurrentThread()).thenReturn(true);
+        when(archiveRepository.syncSchema(any())).thenReturn(COLUMNS);
+        when(transactionTemplate.execute(any()))
+            .thenAnswer(invocation -> ((TransactionCallback<List<Long>>) invocation.getArgument(0)).doInTransaction(null));
+        lenient().when(archiveRepository.moveChunk(any(), eq(COLUMNS), anyLong(), anyLong(), anyInt())).thenReturn(List.of());
+    }
+
+    @Test
+    @DisplayName("立即归档 - 按 ID 键集分批推进游标，不足一批时结束该表")
+    void archiveNow_KeysetChunks() throws InterruptedException {
+        acquireLock();
+        long retentionSeconds = Duration.ofDays(90).toSeconds();
+        when(archiveRepository.moveChunk(ArchiveTable.OIL_SAMPLES, COLUMNS, retentionSeconds, 0L, 2)).thenReturn(List.of(3L, 8L));
+        when(archiveRepository.moveChunk(ArchiveTable.OIL_SAMPLES, COLUMNS, retentionSeconds, 8L, 2)).thenReturn(List.of(15L));
+
+        ArchiveRunResult result = archiveService.archiveNow();
+
+        assertEquals(3, result.getArchivedRows().get(ArchiveTable.OIL_SAMPLES));
+        assertEquals(0, result.getArchivedRows().get(ArchiveTable.USERS));
+        assertEquals(2, result.getChunkCount());
+        assertFalse(result.isTruncated());
+        verify(archiveRepository, never()).moveChunk(ArchiveTable.OIL_SAMPLES, COLUMNS, retentionSeconds, 15L, 2);
+        assertEquals(3, meterRegistry.counter("archive.rows", "table", "oil_samples").count());
+        verify(transactionTemplate, times(ArchiveTable.values().length + 1)).execute(any());
+        verify(lock).unlock();
+    }
+
+    @Test
+    @DisplayName("立即归档 - 达到单轮行数上限后提前结束，剩余表不再处理")
+    void archiveNow_MaxRowsPerRun() throws InterruptedException {
+        acquireLock();
+        ReflectionTestUtils.setField(archiveService, "maxRowsPerRun", 3);
+        when(archiveRepository.moveChunk(eq(ArchiveTable.PROJECTS), eq(COLUMNS), anyLong(), eq(0L), eq(2))).thenReturn(List.of(1L, 2L));
+        when(archiveRepository.moveChunk(eq(ArchiveTable.PROJECTS), eq(COLUMNS), anyLong(), eq(2L), eq(1))).thenReturn(List.of(4L));
+
+        ArchiveRunResult result = archiveService.archiveNow();
+
+        assertTrue(result.isTruncated());
+        assertEquals(3, result.getArchivedRows().get(ArchiveTable.PROJECTS));
+        verify(archiveRepository, never()).moveChunk(eq(ArchiveTable.INSPECTION_DEVICES), any(), anyLong(), anyLong(), anyInt());
+    }
+
+    @Test
+    @DisplayName("立即归档 - 归档锁被其他节点持有时返回服务繁忙")
+    void archiveNow_LockHeld() throws InterruptedException {
+        when(redissonClient.getLock(anyString())).thenReturn(lock);
+        when(lock.tryLock(0, TimeUnit.MILLISECONDS)).thenReturn(false);
+
+        assertThrows(BusinessException.class, () -> archiveService.archiveNow());
+        verifyNoInteractions(archiveRepository);
+    }
+}
@@ -0,0 +1,220 @@
+package com.yimusi.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import com.yimusi.common.exception.BusinessException;
+import com.yimusi.common.exception.ErrorCode;
+import com.yimusi.common.exception.ResourceNotFoundException;
+import com.yimusi.dto.telemetry.ReadingIngestRequest;
+import com.yimusi.dto.telemetry.ReadingIngestResponse;
+import com.yimusi.entity.InspectionDevice;
+import com.yimusi.enums.GasType;
+import com.yimusi.live.ReachabilityTracker;
+import com.yimusi.repository.DeviceReadingJdbcRepository;
+import com.yimusi.repository.InspectionDeviceRepository;
+import com.yimusi.service.ReadingRollupService;
+import com.yimusi.service.impl.TelemetryIngestServiceImpl;
+import com.yimusi.telemetry.ReadingPoint;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.jdbc.CannotGetJdbcConnectionException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+/**
+ * 设备遥测接入服务单元测试
+ * 写入线程数设置为 0，由测试直接调用 flushPending 驱动写入阶段
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("设备遥测接入服务单元测试")
+class TelemetryIngestServiceImplTest {
+
+    @Mock
+    private InspectionDeviceRepository deviceRepository;
+
+    @Mock
+    private DeviceReadingJdbcRepository readingJdbcRepository;
+
+    @Mock
+    private ReadingRollupService readingRollupService;
+
+    @Mock
+    private ReachabilityTracker reachabilityTracker;
+
+    private SimpleMeterRegistry meterRegistry;
+    private TelemetryIngestServiceImpl ingestService;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        ingestService = new TelemetryIngestServiceImpl(
+            deviceRepository,
+            readingJdbcRepository,
+            readingRollupService,
+            reachabilityTracker,
+            meterRegistry
+        );
+        ReflectionTestUtils.setField(ingestService, "queueCapacity", 10);
+        ReflectionTestUtils.setField(ingestService, "batchSize", 4);
+        ReflectionTestUtils.setField(ingestService, "writerThreads", 0);
+        ReflectionTestUtils.setField(ingestService, "offerTimeout", Duration.ZERO);
+        ReflectionTestUtils.setField(ingestService, "retryMaxAttempts", 3);
+        ReflectionTestUtils.setField(ingestService, "retryBackoff", Duration.ZERO);
+        ingestService.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        ingestService.stop();
+    }
+
+    @Test
+    @DisplayName("上报读数 - 成功入队并按批次大小切分写入")
+    void ingest_ShouldQueueAndWriteInChunks() {
+        mockDevice();
+        List<List<ReadingPoint>> written = new ArrayList<>();
+        when(readingJdbcRepository.insertBatch(anyList(), anyLong())).thenAnswer(invocation -> {
+            List<ReadingPoint> chunk = invocation.getArgument(0);
+            written.add(new ArrayList<>(chunk));
+            return chunk.size();
+        });
+
+        ReadingIngestResponse response = ingestService.ingest(buildRequest(6));
+
+        assertEquals("IND202501010001", response.getDeviceNo());
+        assertEquals(6, response.getAccepted());
+        assertEquals(6, ingestService.getPendingCount());
+        verify(reachabilityTracker).markDeviceSeen(99L, null, "IND202501010001");
+
+        assertEquals(6, ingestService.flushPending());
+        assertEquals(0, ingestService.getPendingCount());
+        assertEquals(2, written.size());
+        assertEquals(4, written.get(0).size());
+        assertEquals(2, written.get(1).size());
+        assertEquals(99L, written.get(0).get(0).deviceId());
+        assertEquals(6.0, meterRegistry.counter("telemetry.readings.persisted").count());
+        verify(readingRollupService, times(2)).onPersisted(anyList());
+    }
+
+    @Test
+    @DisplayName("上报读数 - 队列已满时返回 429")
+    void ingest_WhenQueueFull_ShouldReject() {
+        mockDevice();
+        ingestService.ingest(buildRequest(8));
+
+        BusinessException ex = assertThrows(BusinessException.class, () -> ingestService.ingest(buildRequest(3)));
+
+        assertEquals(ErrorCode.TOO_MANY_REQUESTS.getCode(), ex.getCode());
+        assertEquals(3.0, meterRegistry.counter("telemetry.readings.rejected").count());
+        verify(readingJdbcRepository, never()).insertBatch(anyList(), anyLong());
+    }
+
+    @Test
+    @DisplayName("上报读数 - 重试耗尽后丢弃并释放队列容量")
+    void flushPending_WhenWriteFails_ShouldReleaseCapacity() {
+        mockDevice();
+        when(readingJdbcRepository.insertBatch(anyList(), anyLong())).thenThrow(new QueryTimeoutException("timeout"));
+
+        ingestService.ingest(buildRequest(10));
+
+        assertEquals(0, ingestService.flushPending());
+        assertEquals(0, ingestService.getPendingCount());
+        assertEquals(10.0, meterRegistry.counter("telemetry.readings.failed").count());
+        verify(readingJdbcRepository, times(9)).insertBatch(anyList(), anyLong());
+        verify(readingRollupService, never()).onPersisted(anyList());
+    }
+
+    @Test
+    @DisplayName("上报读数 - 暂时性错误重试成功后不丢数据")
+    void flushPending_WhenTransientFailure_ShouldRetry() {
+        mockDevice();
+        when(readingJdbcRepository.insertBatch(anyList(), anyLong()))
+            .thenThrow(new CannotAcquireLockException("deadlock"))
+            .thenThrow(new CannotGetJdbcConnectionException("pool timeout"))
+            .thenReturn(4);
+
+        ingestService.ingest(buildRequest(4));
+
+        assertEquals(4, ingestService.flushPending());
+        assertEquals(0, ingestService.getPendingCount());
+        assertEquals(4.0, meterRegistry.counter("telemetry.readings.persisted").count());
+        assertEquals(0.0, meterRegistry.counter("telemetry.readings.failed").count());
+        verify(readingJdbcRepository, times(3)).insertBatch(anyList(), anyLong());
+        verify(readingRollupService).onPersisted(anyList());
+    }
+
+    @Test
+    @DisplayName("上报读数 - 非暂时性错误不重试，直接丢弃")
+    void flushPending_WhenNonTransientFailure_ShouldNotRetry() {
+        mockDevice();
+        when(readingJdbcRepository.insertBatch(anyList(), anyLong()))
+            .thenThrow(new DataIntegrityViolationException("bad data"));
+
+        ingestService.ingest(buildRequest(4));
+
+        assertEquals(0, ingestService.flushPending());
+        assertEquals(0, ingestService.getPendingCount());
+        assertEquals(4.0, meterRegistry.counter("telemetry.readings.failed").count());
+        verify(readingJdbcRepository, times(1)).insertBatch(anyList(), anyLong());
+    }
+
+    @Test
+    @DisplayName("上报读数 - 管道关闭后返回 503 且不入队")
+    void ingest_WhenStopped_ShouldReject() {
+        mockDevice();
+        ingestService.stop();
+
+        BusinessException ex = assertThrows(BusinessException.class, () -> ingestService.ingest(buildRequest(2)));
+
+        assertEquals(ErrorCode.SERVICE_UNAVAILABLE.getCode(), ex.getCode());
+        assertEquals(0, ingestService.getPendingCount());
+        verify(reachabilityTracker, never()).markDeviceSeen(anyLong(), any(), any());
+    }
+
+    @Test
+    @DisplayName("上报读数 - 设备不存在")
+    void ingest_WhenDeviceNotFound_ShouldThrow() {
+        when(deviceRepository.findByDeviceNoAndDeletedFalse("UNKNOWN")).thenReturn(Optional.empty());
+        ReadingIngestRequest request = buildRequest(1);
+        request.setDeviceNo("UNKNOWN");
+
+        assertThrows(ResourceNotFoundException.class, () -> ingestService.ingest(request));
+        assertEquals(0, ingestService.getPendingCount());
+    }
+
+    private void mockDevice() {
+        InspectionDevice device = new InspectionDevice();
+        device.setId(99L);
+        device.setDeviceNo("IND202501010001");
+        when(deviceRepository.findByDeviceNoAndDeletedFalse("IND202501010001")).thenReturn(Optional.of(device));
+    }
+
+    private ReadingIngestRequest buildRequest(int count) {
+        ReadingIngestRequest request = new ReadingIngestRequest();
+        request.setDeviceNo("IND202501010001");
+        Instant start = Instant.parse("2025-01-01T00:00:00Z");
+        for (int i = 0; i < count; i++) {
+            ReadingIngestRequest.ReadingItem item = new ReadingIngestRequest.ReadingItem();
+            item.setGas(GasType.ofIndex(i % GasType.COUNT));
+            item.setSampledAt(start.plusSeconds(i));
+            item.setValue(0.1 * i);
+            request.getReadings().add(item);
+        }
+        return request;
+    }
+}
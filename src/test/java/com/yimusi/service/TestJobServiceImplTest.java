@@ -0,0 +1,273 @@
+package com.yimusi.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import com.querydsl.core.types.Predicate;
+import com.yimusi.common.exception.BadRequestException;
+import com.yimusi.common.exception.BusinessException;
+import com.yimusi.dto.live.LiveStateDelta;
+import com.yimusi.dto.testjob.CreateTestJobRequest;
+import com.yimusi.dto.testjob.TestJobResponse;
+import com.yimusi.dto.testjob.TestJobScheduleResult;
+import com.yimusi.entity.InspectionDevice;
+import com.yimusi.entity.OilSample;
+import com.yimusi.entity.TestJob;
+import com.yimusi.entity.TestStation;
+import com.yimusi.entity.TestStationParameter;
+import com.yimusi.enums.OilSampleUsage;
+import com.yimusi.enums.TestJobStatus;
+import com.yimusi.mapper.TestJobMapper;
+import com.yimusi.repository.InspectionDeviceRepository;
+import com.yimusi.repository.OilSampleRepository;
+import com.yimusi.repository.TestJobJdbcRepository;
+import com.yimusi.repository.TestJobQueueRepository;
+import com.yimusi.repository.TestJobRepository;
+import com.yimusi.repository.TestStationRepository;
+import com.yimusi.service.impl.TestJobServiceImpl;
+import com.yimusi.testjob.JobAssignment;
+import com.yimusi.testrun.StationRunsCancelledEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mapstruct.factory.Mappers;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.redisson.api.RLock;
+import org.redisson.api.RedissonClient;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@ExtendWith(MockitoExtension.class)
+class TestJobServiceImplTest {
+
+    @Mock
+    private TestJobRepository testJobRepository;
+
+    @Mock
+    private TestJobJdbcRepository testJobJdbcRepository;
+
+    @Mock
+    private TestJobQueueRepository testJobQueueRepository;
+
+    @Mock
+    private InspectionDeviceRepository inspectionDeviceRepository;
+
+    @Mock
+    private TestStationRepository testStationRepository;
+
+    @Mock
+    private OilSampleRepository oilSampleRepository;
+
+    @Mock
+    private OilCylinderService oilCylinderService;
+
+    @Mock
+    private RedissonClient redissonClient;
+
+    @Mock
+    private RLock lock;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private TestJobServiceImpl testJobService;
+
+    @BeforeEach
+    void setUp() {
+        testJobService = new TestJobServiceImpl(testJobRepository, testJobJdbcRepository, testJobQueueRepository,
+            inspectionDeviceRepository, testStationRepository, oilSampleRepository, oilCylinderService, Mappers.getMapper(TestJobMapper.class),
+            redissonClient, transactionTemplate, eventPublisher, new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(testJobService, "batchSize", 500);
+        ReflectionTestUtils.setField(testJobService, "maxAttempts", 3);
+    }
+
+    private static InspectionDevice device(long id) {
+        InspectionDevice device = new InspectionDevice();
+        device.setId(id);
+        return device;
+    }
+
+    private static TestJob job(long id, TestJobStatus status) {
+        TestJob job = new TestJob();
+        job.setId(id);
+        job.setDeviceId(id);
+        job.setUsage(OilSampleUsage.FACTORY_TEST);
+        job.setStatus(status);
+        job.setCreatedAt(Instant.ofEpochMilli(id));
+        return job;
+    }
+
+    @Test
+    @DisplayName("提交作业 - 每台设备创建一条待分配作业")
+    void submitJobs_Success() {
+        CreateTestJobRequest request = new CreateTestJobRequest();
+        request.setDeviceIds(List.of(1L, 2L, 1L));
+        request.setUsage(OilSampleUsage.FACTORY_TEST);
+        request.setPriority(3);
+        when(inspectionDeviceRepository.findAllById(any())).thenReturn(List.of(device(1), device(2)));
+        when(testJobRepository.findByDeviceIdInAndStatusIn(any(), any())).thenReturn(List.of());
+        when(testJobRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        List<TestJobResponse> result = testJobService.submitJobs(request);
+
+        assertEquals(2, result.size());
+        assertTrue(result.stream().allMatch(r -> r.getStatus() == TestJobStatus.PENDING && r.getPriority() == 3));
+        assertTrue(result.stream().allMatch(r -> r.getMaxAttempts() == 3));
+    }
+
+    @Test
+    @DisplayName("提交作业 - 设备已有未结束作业时拒绝")
+    void submitJobs_DeviceBusy() {
+        CreateTestJobRequest request = new CreateTestJobRequest();
+        request.setDeviceIds(List.of(1L));
+        request.setUsage(OilSampleUsage.FACTORY_TEST);
+        when(inspectionDeviceRepository.findAllById(any())).thenReturn(List.of(device(1)));
+        when(testJobRepository.findByDeviceIdInAndStatusIn(any(), any())).thenReturn(List.of(job(1, TestJobStatus.RUNNING)));
+
+        assertThrows(BadRequestException.class, () -> testJobService.submitJobs(request));
+        verify(testJobRepository, never()).saveAll(anyList());
+    }
+
+    @Test
+    @DisplayName("提交作业 - 指定油样用途与测试类型不符时拒绝")
+    void submitJobs_SampleUsageMismatch() {
+        CreateTestJobRequest request = new CreateTestJobRequest();
+        request.setDeviceIds(List.of(1L));
+        request.setUsage(OilSampleUsage.FACTORY_TEST);
+        request.setOilSampleId(9L);
+        OilSample sample = new OilSample();
+        sample.setUsage(OilSampleUsage.CLEANING);
+        when(inspectionDeviceRepository.findAllById(any())).thenReturn(List.of(device(1)));
+        when(oilSampleRepository.findById(9L)).thenReturn(Optional.of(sample));
+
+        assertThrows(BadRequestException.class, () -> testJobService.submitJobs(request));
+    }
+
+    @Test
+    @DisplayName("取消作业 - 执行中的作业不能取消")
+    void cancelJob_Running() {
+        when(testJobRepository.findById(1L)).thenReturn(Optional.of(job(1, TestJobStatus.RUNNING)));
+
+        assertThrows(BadRequestException.class, () -> testJobService.cancelJob(1L));
+    }
+
+    @Test
+    @DisplayName("取消工位作业 - 设备退回待检并通知执行节点中断测试运行")
+    void cancelStationJobs_Success() {
+        when(testStationRepository.existsById(10L)).thenReturn(true);
+        when(testJobQueueRepository.cancelStation(eq(10L), any())).thenReturn(List.of(1L, 2L));
+        InspectionDevice device = device(1);
+        device.setProjectId(5L);
+        when(inspectionDeviceRepository.findAllById(List.of(1L, 2L))).thenReturn(List.of(device, device(2)));
+
+        assertEquals(2, testJobService.cancelStationJobs(10L));
+
+        verify(eventPublisher).publishEvent(any(LiveStateDelta.class));
+        verify(eventPublisher).publishEvent(new StationRunsCancelledEvent(10L));
+    }
+
+    @Test
+    @DisplayName("立即调度 - 持有调度锁时按快照分配并批量写回")
+    @SuppressWarnings("unchecked")
+    void scheduleNow_Assigns() throws InterruptedException {
+        when(redissonClient.getLock(anyString())).thenReturn(lock);
+        when(lock.tryLock(0, TimeUnit.MILLISECONDS)).thenReturn(true);
+        when(lock.isHeldByCurrentThread()).thenReturn(true);
+        when(testJobRepository.findByStatusIn(argThat(s -> s != null && s.contains(TestJobStatus.PENDING))))
+            .thenReturn(List.of(job(1, TestJobStatus.PENDING), job(2, TestJobStatus.PENDING)));
+        when(testJobRepository.findByStatusIn(argThat(s -> s != null && s.contains(TestJobStatus.RUNNING)))).thenReturn(List.of());
+
+        TestStation station = new TestStation();
+        station.setId(10L);
+        station.setValveControlParams(new ArrayList<>(List.of(new TestStationParameter("deviceSlots", "2"))));
+        when(testStationRepository.findAll(any(Predicate.class))).thenReturn(List.of(station));
+        OilSample sample = new OilSample();
+        sample.setId(100L);
+        sample.setUsage(OilSampleUsage.FACTORY_TEST);
+        sample.setCylinderNo(7);
+        when(oilSampleRepository.findAll(any(Predicate.class))).thenReturn(List.of(sample));
+        when(oilCylinderService.reserveRun(7)).thenReturn(true);
+        when(transactionTemplate.execute(any()))
+            .thenAnswer(invocation -> ((TransactionCallback<Integer>) invocation.getArgument(0)).doInTransaction(null));
+        when(testJobJdbcRepository.assignBatch(anyList(), any(), eq(500))).thenReturn(2);
+
+        TestJobScheduleResult result = testJobService.scheduleNow();
+
+        assertEquals(2, result.getPendingCount());
+        assertEquals(2, result.getAssignedCount());
+        ArgumentCaptor<List<JobAssignment>> captor = ArgumentCaptor.forClass(List.class);
+        verify(testJobJdbcRepository).assignBatch(captor.capture(), any(), eq(500));
+        assertEquals(List.of(new JobAssignment(1, 10, 100, 7), new JobAssignment(2, 10, 100, 7)), captor.getValue());
+        verify(lock).unlock();
+    }
+
+    @Test
+    @DisplayName("立即调度 - 油缸余量不足时不绑定该油缸，预留失败的分配不写回")
+    @SuppressWarnings("unchecked")
+    void scheduleNow_CylinderStock() throws InterruptedException {
+        when(redissonClient.getLock(anyString())).thenReturn(lock);
+        when(lock.tryLock(0, TimeUnit.MILLISECONDS)).thenReturn(true);
+        when(lock.isHeldByCurrentThread()).thenReturn(true);
+        when(testJobRepository.findByStatusIn(argThat(s -> s != null && s.contains(TestJobStatus.PENDING))))
+            .thenReturn(List.of(job(1, TestJobStatus.PENDING), job(2, TestJobStatus.PENDING)));
+        TestJob assigned = job(3, TestJobStatus.ASSIGNED);
+        assigned.setStationId(11L);
+        assigned.setOilSampleId(101L);
+        assigned.setCylinderNo(8);
+        when(testJobRepository.findByStatusIn(argThat(s -> s != null && s.contains(TestJobStatus.RUNNING)))).thenReturn(List.of(assigned));
+        when(oilCylinderService.refreshReservations(Map.of(8, 1))).thenReturn(Set.of(9));
+
+        TestStation station = new TestStation();
+        station.setId(10L);
+        station.setValveControlParams(new ArrayList<>(List.of(new TestStationParameter("deviceSlots", "2"))));
+        when(testStationRepository.findAll(any(Predicate.class))).thenReturn(List.of(station));
+        OilSample depleted = new OilSample();
+        depleted.setId(100L);
+        depleted.setUsage(OilSampleUsage.FACTORY_TEST);
+        depleted.setCylinderNo(9);
+        OilSample sample = new OilSample();
+        sample.setId(102L);
+        sample.setUsage(OilSampleUsage.FACTORY_TEST);
+        sample.setCylinderNo(7);
+        when(oilSampleRepository.findAll(any(Predicate.class))).thenReturn(List.of(depleted, sample));
+        // 油缸 7 只够一次运行
+        when(oilCylinderService.reserveRun(7)).thenReturn(true, false);
+        when(transactionTemplate.execute(any()))
+            .thenAnswer(invocation -> ((TransactionCallback<Integer>) invocation.getArgument(0)).doInTransaction(null));
+        when(testJobJdbcRepository.assignBatch(anyList(), any(), eq(500))).thenReturn(1);
+
+        TestJobScheduleResult result = testJobService.scheduleNow();
+
+        assertEquals(1, result.getAssignedCount());
+        ArgumentCaptor<List<JobAssignment>> captor = ArgumentCaptor.forClass(List.class);
+        verify(testJobJdbcRepository).assignBatch(captor.capture(), any(), eq(500));
+        assertEquals(List.of(new JobAssignment(1, 10, 102, 7)), captor.getValue());
+    }
+
+    @Test
+    @DisplayName("立即调度 - 调度锁被其他节点持有时返回服务繁忙")
+    void scheduleNow_LockHeld() throws InterruptedException {
+        when(redissonClient.getLock(anyString())).thenReturn(lock);
+        when(lock.tryLock(0, TimeUnit.MILLISECONDS)).thenReturn(false);
+
+        assertThrows(BusinessException.class, () -> testJobService.scheduleNow());
+        verifyNoInteractions(testJobJdbcRepository);
+    }
+}
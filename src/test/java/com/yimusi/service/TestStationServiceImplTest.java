@@ -10,6 +10,7 @@ import com.querydsl.core.types.Predicate;
 import com.yimusi.common.exception.BadRequestException;
 import com.yimusi.common.exception.ResourceNotFoundException;
 import com.yimusi.common.util.OperatorUtil;
+import com.yimusi.common.web.ResponseBodyCache;
 import com.yimusi.dto.common.PageResult;
 import com.yimusi.dto.teststation.CreateTestStationRequest;
 import com.yimusi.dto.teststation.TestStationPageRequest;
@@ -21,6 +22,7 @@ import com.yimusi.entity.TestStationParameter;
 import com.yimusi.enums.TestStationUsage;
 import com.yimusi.enums.ValveCommType;
 import com.yimusi.mapper.TestStationMapper;
+import com.yimusi.modbus.plan.ValveWritePlanCache;
 import com.yimusi.repository.TestStationRepository;
 import com.yimusi.service.impl.TestStationServiceImpl;
 import org.junit.jupiter.api.BeforeEach;
@@ -33,6 +35,7 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
@@ -62,6 +65,15 @@ class TestStationServiceImplTest {
     @Mock
     private TestStationRepository stationRepository;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private ValveWritePlanCache valveWritePlanCache;
+
+    @Mock
+    private ResponseBodyCache responseBodyCache;
+
     @InjectMocks
     private TestStationServiceImpl testStationService;
 
@@ -364,6 +376,7 @@ class TestStationServiceImplTest {
         // 更新请求只设置了部分字段,需要验证实际被更新的字段
         // 由于 updateEntityFromRequest 是 MapStruct 方法,这里我们只验证 save 被调用
         verify(stationRepository, atLeastOnce()).save(any(TestStation.class));
+        verify(responseBodyCache).evict("test_stations", 1L);
     }
 
     @Test
@@ -435,6 +448,8 @@ class TestStationServiceImplTest {
         assertNotNull(updated.getValveControlParams());
         assertEquals(2, updated.getValveControlParams().size());
         assertEquals(1, updated.getOilValveMapping().size());
+        // 参数变更后写入计划失效
+        verify(valveWritePlanCache).evict(1L);
     }
 
     @Test
@@ -466,6 +481,7 @@ class TestStationServiceImplTest {
         // Then - 现在调用 deleteById 而不是 save
         verify(stationRepository).findById(1L);
         verify(stationRepository).deleteById(1L);
+        verify(responseBodyCache).evict("test_stations", 1L);
         // 不再验证 save 方法被调用
     }
 
@@ -2,10 +2,13 @@ package com.yimusi.service;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.*;
 
 import com.yimusi.common.exception.BadRequestException;
 import com.yimusi.common.exception.ResourceNotFoundException;
+import com.yimusi.common.security.PasswordHasher;
+import com.yimusi.dto.auth.UserRegisterRequest;
 import com.yimusi.dto.common.PageResult;
 import com.yimusi.dto.user.CreateUserRequest;
 import com.yimusi.dto.user.UpdateUserRequest;
@@ -16,6 +19,9 @@ import com.yimusi.enums.UserRole;
 import com.yimusi.mapper.UserMapper;
 import com.yimusi.repository.UserRepository;
 import com.yimusi.service.impl.UserServiceImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 import org.junit.jupiter.api.BeforeEach;
@@ -27,8 +33,16 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.aop.framework.ProxyFactory;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionManager;
+import org.springframework.transaction.annotation.AnnotationTransactionAttributeSource;
+import org.springframework.transaction.interceptor.TransactionInterceptor;
+import org.springframework.transaction.support.AbstractPlatformTransactionManager;
+import org.springframework.transaction.support.DefaultTransactionStatus;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 /**
  * 用户业务逻辑服务单元测试类
@@ -59,6 +73,9 @@ class UserServiceImplTest {
     @Spy
     private UserMapper userMapper = Mappers.getMapper(UserMapper.class);
 
+    @Spy
+    private PasswordHasher passwordHasher = new PasswordHasher(2, 8, Duration.ofSeconds(5), new SimpleMeterRegistry());
+
     @InjectMocks
     private UserServiceImpl userService;
 
@@ -425,4 +442,70 @@ class UserServiceImplTest {
         assertNotNull(response);
         verify(userRepository, never()).existsByUsernameAndDeletedFalse(any());
     }
+
+    @Test
+    @DisplayName("密码哈希与校验 - 经事务代理调用注册、创建用户与登录校验时，BCrypt 运算期间没有活动事务")
+    void passwordMethods_ShouldRunOutsideTransaction() {
+        UserService proxy = transactionalProxy();
+        List<Boolean> hashingInTransaction = new ArrayList<>();
+        doAnswer(invocation -> {
+            hashingInTransaction.add(TransactionSynchronizationManager.isActualTransactionActive());
+            return "hashed";
+        }).when(passwordHasher).hash(anyString());
+        doAnswer(invocation -> {
+            hashingInTransaction.add(TransactionSynchronizationManager.isActualTransactionActive());
+            return true;
+        }).when(passwordHasher).verify(anyString(), anyString());
+        when(userRepository.save(any(User.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        user.setPassword("hashed");
+        when(userRepository.findByUsernameAndDeletedFalse("testuser")).thenReturn(Optional.of(user));
+        // 对照：类级别默认事务的方法经同一代理调用时事务处于活动状态，说明上面的检查不是空转
+        List<Boolean> defaultInTransaction = new ArrayList<>();
+        when(userRepository.findById(1L)).thenAnswer(invocation -> {
+            defaultInTransaction.add(TransactionSynchronizationManager.isActualTransactionActive());
+            return Optional.of(user);
+        });
+
+        UserRegisterRequest registerRequest = new UserRegisterRequest();
+        registerRequest.setUsername("newuser");
+        registerRequest.setPassword("Passw0rd!");
+        proxy.register(registerRequest);
+        proxy.createUser(validCreateRequest);
+        proxy.validateUser("testuser", "Passw0rd!");
+        proxy.getUserById(1L);
+
+        assertEquals(List.of(false, false, false), hashingInTransaction);
+        assertEquals(List.of(true), defaultInTransaction);
+    }
+
+    /**
+     * 用 Spring 的注解事务拦截器包装被测服务，事务管理器只维护事务状态，不连接数据库
+     */
+    private UserService transactionalProxy() {
+        TransactionInterceptor interceptor = new TransactionInterceptor(
+            (TransactionManager) new StateOnlyTransactionManager(), new AnnotationTransactionAttributeSource());
+        ProxyFactory factory = new ProxyFactory(userService);
+        factory.addAdvice(interceptor);
+        return (UserService) factory.getProxy();
+    }
+
+    private static final class StateOnlyTransactionManager extends AbstractPlatformTransactionManager {
+
+        @Override
+        protected Object doGetTransaction() {
+            return new Object();
+        }
+
+        @Override
+        protected void doBegin(Object transaction, TransactionDefinition definition) {
+        }
+
+        @Override
+        protected void doCommit(DefaultTransactionStatus status) {
+        }
+
+        @Override
+        protected void doRollback(DefaultTransactionStatus status) {
+        }
+    }
 }
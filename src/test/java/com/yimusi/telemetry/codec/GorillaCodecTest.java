@@ -0,0 +1,127 @@
+package com.yimusi.telemetry.codec;
+
+import com.yimusi.telemetry.ReadingSeries;
+import java.util.Random;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Gorilla 编解码器单元测试
+ *
+ * <p>测试 {@link GorillaCodec} 的各种场景，包括：</p>
+ * <ul>
+ *   <li>规则采样间隔下的无损往返</li>
+ *   <li>不规则间隔、乱序跳变与特殊浮点值</li>
+ *   <li>按时间范围解码</li>
+ *   <li>压缩率</li>
+ * </ul>
+ */
+class GorillaCodecTest {
+
+    private static final long BASE = 1_700_000_000_000L;
+
+    @Test
+    @DisplayName("规则采样间隔 - 编码后解码结果一致")
+    void roundTrip_regularInterval() {
+        ReadingSeries series = new ReadingSeries();
+        for (int i = 0; i < 3600; i++) {
+            series.add(BASE + i * 1000L, 12.5 + Math.sin(i / 60.0) * 0.3);
+        }
+
+        byte[] payload = GorillaCodec.encode(series);
+        ReadingSeries decoded = new ReadingSeries();
+        GorillaCodec.decode(payload, Long.MIN_VALUE, Long.MAX_VALUE, decoded);
+
+        assertEquals(3600, GorillaCodec.readCount(payload));
+        assertArrayEquals(series.toTimestampArray(), decoded.toTimestampArray());
+        assertArrayEquals(series.toValueArray(), decoded.toValueArray());
+    }
+
+    @Test
+    @DisplayName("不规则间隔与特殊值 - 编码后解码结果一致")
+    void roundTrip_irregularIntervalAndSpecialValues() {
+        Random random = new Random(42);
+        ReadingSeries series = new ReadingSeries();
+        long timestamp = BASE;
+        double[] specials = {0.0, -0.0, Double.NaN, Double.MAX_VALUE, Double.MIN_VALUE, -1234.5678};
+        for (int i = 0; i < 2000; i++) {
+            // 覆盖 0/7/9/12/32/64 位各档 delta-of-delta
+            long gap = switch (i % 6) {
+                case 0 -> 1000;
+                case 1 -> 1000 + random.nextInt(50);
+                case 2 -> 1000 + random.nextInt(400);
+                case 3 -> 1000 + random.nextInt(3000);
+                case 4 -> 1000 + random.nextInt(1_000_000);
+                default -> 1L + random.nextInt(5) * 10_000_000_000L;
+            };
+            timestamp += gap;
+            double value = i % 50 == 0 ? specials[(i / 50) % specials.length] : random.nextGaussian() * 100;
+            series.add(timestamp, value);
+        }
+
+        byte[] payload = GorillaCodec.encode(series);
+        ReadingSeries decoded = new ReadingSeries();
+        GorillaCodec.decode(payload, Long.MIN_VALUE, Long.MAX_VALUE, decoded);
+
+        assertArrayEquals(series.toTimestampArray(), decoded.toTimestampArray());
+        for (int i = 0; i < series.size(); i++) {
+            assertEquals(
+                Double.doubleToRawLongBits(series.valueAt(i)),
+                Double.doubleToRawLongBits(decoded.valueAt(i)),
+                "第 " + i + " 个读数不一致"
+            );
+        }
+    }
+
+    @Test
+    @DisplayName("单点序列 - 编码后解码结果一致")
+    void roundTrip_singlePoint() {
+        ReadingSeries series = new ReadingSeries();
+        series.add(BASE, 3.14);
+
+        ReadingSeries decoded = new ReadingSeries();
+        GorillaCodec.decode(GorillaCodec.encode(series), Long.MIN_VALUE, Long.MAX_VALUE, decoded);
+
+        assertEquals(1, decoded.size());
+        assertEquals(BASE, decoded.timestampAt(0));
+        assertEquals(3.14, decoded.valueAt(0));
+    }
+
+    @Test
+    @DisplayName("按时间范围解码 - 只返回 [from, to) 内的点")
+    void decode_withRange() {
+        ReadingSeries series = new ReadingSeries();
+        for (int i = 0; i < 100; i++) {
+            series.add(BASE + i * 1000L, i);
+        }
+        byte[] payload = GorillaCodec.encode(series);
+
+        ReadingSeries decoded = new ReadingSeries();
+        GorillaCodec.decode(payload, BASE + 10_000, BASE + 20_000, decoded);
+
+        assertEquals(10, decoded.size());
+        assertEquals(BASE + 10_000, decoded.timestampAt(0));
+        assertEquals(19.0, decoded.valueAt(9));
+    }
+
+    @Test
+    @DisplayName("空序列 - 抛出 IllegalArgumentException")
+    void encode_emptySeries() {
+        assertThrows(IllegalArgumentException.class, () -> GorillaCodec.encode(new ReadingSeries()));
+    }
+
+    @Test
+    @DisplayName("读数在较长区间内保持不变 - 每点平均不超过 2 字节")
+    void encode_compressionRatio() {
+        ReadingSeries series = new ReadingSeries();
+        for (int i = 0; i < 7200; i++) {
+            series.add(BASE + i * 1000L, Math.round((20 + i / 30 % 10 * 0.1) * 10) / 10.0);
+        }
+
+        byte[] payload = GorillaCodec.encode(series);
+
+        assertTrue(payload.length < 7200 * 2, "压缩后字节数过大: " + payload.length);
+    }
+}
@@ -0,0 +1,190 @@
+package com.yimusi.testjob;
+
+import com.yimusi.enums.OilSampleUsage;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 测试作业调度算法单元测试
+ *
+ * <p>测试 {@link TestJobScheduler}，包括：</p>
+ * <ul>
+ *   <li>优先级与先到先服务</li>
+ *   <li>工位容量、工位绑定油样、油缸独占</li>
+ *   <li>指定油样与已部分占用工位的复用</li>
+ *   <li>大规模积压的调度结果质量</li>
+ * </ul>
+ */
+class TestJobSchedulerTest {
+
+    private static PendingJob job(long id, OilSampleUsage usage, int priority, Long sampleId) {
+        return new PendingJob(id, usage, priority, sampleId, id);
+    }
+
+    @Test
+    @DisplayName("工位不足时优先分配高优先级作业，同优先级先到先服务")
+    void schedule_PriorityOrder() {
+        List<PendingJob> jobs = List.of(
+            job(1, OilSampleUsage.CALIBRATION, 0, null),
+            job(2, OilSampleUsage.FACTORY_TEST, 5, null),
+            job(3, OilSampleUsage.FACTORY_TEST, 5, null),
+            job(4, OilSampleUsage.CLEANING, 9, null)
+        );
+        List<StationState> stations = List.of(new StationState(10, 1, 0, null), new StationState(11, 1, 0, null));
+        List<SampleOption> samples = List.of(
+            new SampleOption(100, OilSampleUsage.CALIBRATION, 1),
+            new SampleOption(101, OilSampleUsage.FACTORY_TEST, 2),
+            new SampleOption(102, OilSampleUsage.CLEANING, 3)
+        );
+
+        List<JobAssignment> result = TestJobScheduler.schedule(jobs, stations, samples, Set.of());
+
+        assertEquals(List.of(4L, 2L), result.stream().map(JobAssignment::jobId).toList());
+    }
+
+    @Test
+    @DisplayName("同一工位的作业共用一个油样，装满工位后再占用新工位")
+    void schedule_PacksStation() {
+        List<PendingJob> jobs = new ArrayList<>();
+        for (int i = 1; i <= 6; i++) {
+            jobs.add(job(i, OilSampleUsage.FACTORY_TEST, 0, null));
+        }
+        List<StationState> stations = List.of(
+            new StationState(10, 2, 0, null),
+            new StationState(11, 4, 0, null),
+            new StationState(12, 8, 0, null)
+        );
+        List<SampleOption> samples = List.of(
+            new SampleOption(100, OilSampleUsage.FACTORY_TEST, 1),
+            new SampleOption(101, OilSampleUsage.FACTORY_TEST, 2)
+        );
+
+        List<JobAssignment> result = TestJobScheduler.schedule(jobs, stations, samples, Set.of());
+
+        // 6 个作业最佳适配到 8 槽位工位，只占用一个油缸
+        assertEquals(6, result.size());
+        assertTrue(result.stream().allMatch(a -> a.stationId() == 12 && a.oilSampleId() == 100 && a.cylinderNo() == 1));
+    }
+
+    @Test
+    @DisplayName("一个油缸同一时刻只接入一个工位")
+    void schedule_CylinderExclusive() {
+        List<PendingJob> jobs = List.of(
+            job(1, OilSampleUsage.CALIBRATION, 0, null),
+            job(2, OilSampleUsage.CALIBRATION, 0, null),
+            job(3, OilSampleUsage.CALIBRATION, 0, null)
+        );
+        List<StationState> stations = List.of(new StationState(10, 1, 0, null), new StationState(11, 1, 0, null),
+            new StationState(12, 1, 0, null));
+        // 两个油样登记在同一个油缸上，另一个油缸已被进行中的作业占用
+        List<SampleOption> samples = List.of(
+            new SampleOption(100, OilSampleUsage.CALIBRATION, 1),
+            new SampleOption(101, OilSampleUsage.CALIBRATION, 1),
+            new SampleOption(102, OilSampleUsage.CALIBRATION, 2)
+        );
+
+        List<JobAssignment> result = TestJobScheduler.schedule(jobs, stations, samples, Set.of(2));
+
+        assertEquals(1, result.size());
+        assertEquals(1, result.get(0).cylinderNo());
+    }
+
+    @Test
+    @DisplayName("优先复用已绑定兼容油样且有空余槽位的工位")
+    void schedule_ReusesBoundStation() {
+        List<PendingJob> jobs = List.of(job(1, OilSampleUsage.FACTORY_TEST, 0, null), job(2, OilSampleUsage.FACTORY_TEST, 0, null));
+        List<StationState> stations = List.of(
+            new StationState(10, 4, 0, null),
+            new StationState(11, 4, 3, 100L)
+        );
+        List<SampleOption> samples = List.of(
+            new SampleOption(100, OilSampleUsage.FACTORY_TEST, 1),
+            new SampleOption(101, OilSampleUsage.FACTORY_TEST, 2)
+        );
+
+        List<JobAssignment> result = TestJobScheduler.schedule(jobs, stations, samples, Set.of(1));
+
+        assertEquals(2, result.size());
+        assertEquals(new JobAssignment(1, 11, 100, 1), result.get(0));
+        assertEquals(new JobAssignment(2, 10, 101, 2), result.get(1));
+    }
+
+    @Test
+    @DisplayName("指定油样的作业只使用该油样，油样禁用或用途不符时不分配")
+    void schedule_RequestedSample() {
+        List<PendingJob> jobs = List.of(
+            job(1, OilSampleUsage.FACTORY_TEST, 0, 101L),
+            job(2, OilSampleUsage.FACTORY_TEST, 0, 999L),
+            job(3, OilSampleUsage.CALIBRATION, 0, 101L)
+        );
+        List<StationState> stations = List.of(new StationState(10, 2, 0, null), new StationState(11, 2, 0, null));
+        List<SampleOption> samples = List.of(
+            new SampleOption(100, OilSampleUsage.FACTORY_TEST, 1),
+            new SampleOption(101, OilSampleUsage.FACTORY_TEST, 2)
+        );
+
+        List<JobAssignment> result = TestJobScheduler.schedule(jobs, stations, samples, Set.of());
+
+        assertEquals(List.of(new JobAssignment(1, 10, 101, 2)), result);
+    }
+
+    @Test
+    @DisplayName("绑定已禁用油样的工位不再接收新作业")
+    void schedule_StationBoundToDisabledSample() {
+        List<PendingJob> jobs = List.of(job(1, OilSampleUsage.CLEANING, 0, null));
+        List<StationState> stations = List.of(new StationState(10, 4, 1, 555L));
+        List<SampleOption> samples = List.of(new SampleOption(100, OilSampleUsage.CLEANING, 1));
+
+        assertTrue(TestJobScheduler.schedule(jobs, stations, samples, Set.of(9)).isEmpty());
+    }
+
+    @Test
+    @DisplayName("5000 台设备、100 个工位的积压：不违反约束，每个油缸都接入工位且接入的工位全部装满")
+    void schedule_LargeBacklog() {
+        OilSampleUsage[] usages = OilSampleUsage.values();
+        List<SampleOption> samples = new ArrayList<>();
+        for (int i = 0; i < 60; i++) {
+            samples.add(new SampleOption(1000 + i, usages[i % usages.length], i % 50));
+        }
+        List<StationState> stations = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            stations.add(new StationState(i, 4 + i % 13, 0, null));
+        }
+        List<PendingJob> jobs = new ArrayList<>();
+        for (int i = 0; i < 5000; i++) {
+            Long requested = i % 10 == 0 ? (long) (1000 + i % 60) : null;
+            OilSampleUsage usage = requested == null ? usages[i % usages.length] : usages[(i % 60) % usages.length];
+            jobs.add(new PendingJob(i, usage, i % 7, requested, i));
+        }
+
+        List<JobAssignment> result = TestJobScheduler.schedule(jobs, stations, samples, Set.of());
+
+        assertFalse(result.isEmpty());
+
+        Map<Long, Integer> capacity = new HashMap<>();
+        stations.forEach(s -> capacity.put(s.stationId(), s.capacity()));
+        Map<Long, Integer> used = new HashMap<>();
+        Map<Long, Long> stationSample = new HashMap<>();
+        Map<Integer, Long> cylinderStation = new HashMap<>();
+        Set<Long> assignedJobs = new HashSet<>();
+        for (JobAssignment assignment : result) {
+            assertTrue(assignedJobs.add(assignment.jobId()));
+            used.merge(assignment.stationId(), 1, Integer::sum);
+            assertEquals(stationSample.computeIfAbsent(assignment.stationId(), id -> assignment.oilSampleId()), assignment.oilSampleId());
+            assertEquals(cylinderStation.computeIfAbsent(assignment.cylinderNo(), no -> assignment.stationId()), assignment.stationId());
+        }
+        // 积压充足时：50 个油缸全部接入工位（油缸是瓶颈），且已占用的工位都装满，分配数等于这些工位的容量之和
+        assertEquals(50, cylinderStation.size());
+        assertEquals(50, used.size());
+        used.forEach((stationId, count) -> assertEquals(capacity.get(stationId), count, "工位 " + stationId + " 未装满"));
+        assertEquals(used.keySet().stream().mapToInt(capacity::get).sum(), result.size());
+    }
+}
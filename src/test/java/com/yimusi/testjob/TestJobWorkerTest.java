@@ -0,0 +1,184 @@
+package com.yimusi.testjob;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import com.yimusi.common.model.GasVector;
+import com.yimusi.dto.live.LiveStateDelta;
+import com.yimusi.entity.InspectionDevice;
+import com.yimusi.enums.InspectionDeviceStatus;
+import com.yimusi.enums.OilSampleUsage;
+import com.yimusi.repository.InspectionDeviceRepository;
+import com.yimusi.repository.TestJobQueueRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * 测试作业执行节点单元测试
+ *
+ * <p>测试 {@link TestJobWorker}，包括：</p>
+ * <ul>
+ *   <li>领取、执行成功后写入测试结论并推送设备状态</li>
+ *   <li>失败重试与重试次数用尽</li>
+ *   <li>续约失败时中断执行</li>
+ * </ul>
+ */
+@ExtendWith(MockitoExtension.class)
+class TestJobWorkerTest {
+
+    private static final String NODE = "node-1";
+
+    @Mock
+    private TestJobQueueRepository queueRepository;
+
+    @Mock
+    private InspectionDeviceRepository deviceRepository;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private ObjectProvider<TestJobExecutor> executorProvider;
+
+    private TestJobWorker worker;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        worker = new TestJobWorker(queueRepository, deviceRepository, transactionTemplate, eventPublisher, executorProvider,
+            new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(worker, "nodeId", NODE);
+        ReflectionTestUtils.setField(worker, "concurrency", 4);
+        ReflectionTestUtils.setField(worker, "leaseDuration", Duration.ofMinutes(1));
+        ReflectionTestUtils.setField(worker, "retryBackoff", Duration.ofSeconds(30));
+        lenient().when(transactionTemplate.execute(any()))
+            .thenAnswer(invocation -> ((TransactionCallback<Object>) invocation.getArgument(0)).doInTransaction(null));
+        lenient().when(queueRepository.failExpired(any(), anyInt())).thenReturn(List.of());
+    }
+
+    private static ClaimedJob claimed(long id, int attempt) {
+        return new ClaimedJob(id, 100 + id, OilSampleUsage.FACTORY_TEST, 10, 20, 3, attempt, 3);
+    }
+
+    private static InspectionDevice device(long id) {
+        InspectionDevice device = new InspectionDevice();
+        device.setId(id);
+        device.setProjectId(1L);
+        device.setDeviceNo("D" + id);
+        return device;
+    }
+
+    @Test
+    @DisplayName("领取作业执行成功后写入测试结论，设备状态依次推送在检与结论")
+    void pollOnce_Success() {
+        ReflectionTestUtils.setField(worker, "executor", (TestJobExecutor) job -> new TestJobResult(InspectionDeviceStatus.FACTORY_QUALIFIED, GasVector.EMPTY));
+        ClaimedJob job = claimed(1, 1);
+        when(queueRepository.claim(eq(NODE), eq(4), any(), any())).thenReturn(List.of(job));
+        when(queueRepository.complete(eq(job), eq(NODE), argThat(r -> r != null && r.status() == InspectionDeviceStatus.FACTORY_QUALIFIED), any())).thenReturn(true);
+        when(deviceRepository.findAllById(List.of(101L))).thenReturn(List.of(device(101)));
+
+        assertEquals(1, worker.pollOnce());
+
+        verify(queueRepository, timeout(1000)).complete(eq(job), eq(NODE), argThat(r -> r != null && r.status() == InspectionDeviceStatus.FACTORY_QUALIFIED), any());
+        ArgumentCaptor<LiveStateDelta> captor = ArgumentCaptor.forClass(LiveStateDelta.class);
+        verify(eventPublisher, timeout(1000).times(2)).publishEvent(captor.capture());
+        assertEquals(InspectionDeviceStatus.UNDER_INSPECTION, captor.getAllValues().get(0).getStatus());
+        assertEquals(InspectionDeviceStatus.FACTORY_QUALIFIED, captor.getAllValues().get(1).getStatus());
+    }
+
+    @Test
+    @DisplayName("执行失败且还可重试时按尝试次数退避")
+    void pollOnce_Retry() {
+        ReflectionTestUtils.setField(worker, "executor", (TestJobExecutor) job -> {
+            throw new IllegalStateException("阀门无响应");
+        });
+        ClaimedJob job = claimed(1, 2);
+        when(queueRepository.claim(eq(NODE), eq(4), any(), any())).thenReturn(List.of(job));
+
+        worker.pollOnce();
+
+        verify(queueRepository, timeout(1000)).retry(eq(job), eq(NODE), eq("阀门无响应"), any());
+        verify(queueRepository, never()).fail(any(), any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("重试次数用尽后作业失败，设备退回待检")
+    void pollOnce_Exhausted() {
+        ReflectionTestUtils.setField(worker, "executor", (TestJobExecutor) job -> {
+            throw new IllegalStateException("阀门无响应");
+        });
+        ClaimedJob job = claimed(1, 3);
+        when(queueRepository.claim(eq(NODE), eq(4), any(), any())).thenReturn(List.of(job));
+        when(queueRepository.fail(eq(job), eq(NODE), any(), any())).thenReturn(true);
+
+        worker.pollOnce();
+
+        verify(queueRepository, timeout(1000)).fail(eq(job), eq(NODE), eq("阀门无响应"), any());
+        verify(queueRepository, never()).retry(any(), any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("执行槽位已满时不再领取")
+    void pollOnce_Full() throws InterruptedException {
+        CountDownLatch release = new CountDownLatch(1);
+        ReflectionTestUtils.setField(worker, "executor", (TestJobExecutor) job -> {
+            release.await();
+            return new TestJobResult(InspectionDeviceStatus.CALIBRATED, GasVector.EMPTY);
+        });
+        when(queueRepository.claim(eq(NODE), eq(4), any(), any()))
+            .thenReturn(List.of(claimed(1, 1), claimed(2, 1), claimed(3, 1), claimed(4, 1)));
+
+        assertEquals(4, worker.pollOnce());
+        assertEquals(0, worker.pollOnce());
+        verify(queueRepository, times(1)).claim(any(), anyInt(), any(), any());
+        release.countDown();
+    }
+
+    @Test
+    @DisplayName("续约时租约已被接管的作业被中断，不写入结果")
+    void heartbeat_LeaseLost() throws InterruptedException {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch interrupted = new CountDownLatch(1);
+        ReflectionTestUtils.setField(worker, "executor", (TestJobExecutor) job -> {
+            started.countDown();
+            try {
+                Thread.sleep(TimeUnit.MINUTES.toMillis(1));
+            } catch (InterruptedException e) {
+                interrupted.countDown();
+                throw e;
+            }
+            return new TestJobResult(InspectionDeviceStatus.CALIBRATED, GasVector.EMPTY);
+        });
+        when(queueRepository.claim(eq(NODE), eq(4), any(), any())).thenReturn(List.of(claimed(1, 1), claimed(2, 1)));
+        worker.pollOnce();
+        assertTrue(started.await(1, TimeUnit.SECONDS));
+        when(queueRepository.renewLeases(eq(NODE), anyCollection(), any())).thenReturn(Set.of(2L));
+
+        worker.heartbeat();
+
+        assertTrue(interrupted.await(1, TimeUnit.SECONDS));
+        verify(queueRepository, never()).complete(any(), any(), any(), any());
+        verify(queueRepository, never()).retry(any(), any(), any(), any());
+        assertEquals(1, worker.getInFlightCount());
+    }
+}
@@ -0,0 +1,107 @@
+package com.yimusi.testrun;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * 子任务作用域单元测试
+ */
+class RunScopeTest {
+
+    @Test
+    @DisplayName("全部子任务成功后可读取结果")
+    void join_AllSucceed() throws Exception {
+        try (RunScope scope = new RunScope("test")) {
+            Future<Integer> first = scope.fork(() -> 1);
+            Future<Integer> second = scope.fork(() -> {
+                Thread.sleep(20);
+                return 2;
+            });
+            scope.join();
+            assertEquals(3, first.resultNow() + second.resultNow());
+        }
+    }
+
+    @Test
+    @DisplayName("任一子任务失败时取消其余子任务并抛出其异常")
+    void join_FailureCancelsSiblings() throws InterruptedException {
+        CountDownLatch siblingInterrupted = new CountDownLatch(1);
+        try (RunScope scope = new RunScope("test")) {
+            scope.fork(() -> {
+                try {
+                    Thread.sleep(TimeUnit.MINUTES.toMillis(1));
+                } catch (InterruptedException e) {
+                    siblingInterrupted.countDown();
+                }
+                return null;
+            });
+            scope.fork(() -> {
+                throw new IllegalStateException("boom");
+            });
+            ExecutionException e = assertThrows(ExecutionException.class, scope::join);
+            assertEquals("boom", e.getCause().getMessage());
+        }
+        assertTrue(siblingInterrupted.await(1, TimeUnit.SECONDS));
+    }
+
+    @Test
+    @DisplayName("其他线程取消作用域时中断所属线程与全部子任务，关闭后子任务均已退出")
+    void cancel_FromOtherThread() throws Exception {
+        CountDownLatch started = new CountDownLatch(2);
+        CountDownLatch exited = new CountDownLatch(2);
+        AtomicReference<RunScope> scopeRef = new AtomicReference<>();
+        AtomicReference<Throwable> ownerError = new AtomicReference<>();
+        Thread owner = Thread.ofVirtual().start(() -> {
+            try (RunScope scope = new RunScope("test")) {
+                scopeRef.set(scope);
+                for (int i = 0; i < 2; i++) {
+                    scope.fork(() -> {
+                        started.countDown();
+                        try {
+                            Thread.sleep(TimeUnit.MINUTES.toMillis(1));
+                        } finally {
+                            exited.countDown();
+                        }
+                        return null;
+                    });
+                }
+                scope.join();
+            } catch (Throwable e) {
+                ownerError.set(e);
+            }
+        });
+        assertTrue(started.await(1, TimeUnit.SECONDS));
+
+        scopeRef.get().cancel();
+        owner.join(TimeUnit.SECONDS.toMillis(2));
+
+        assertFalse(owner.isAlive());
+        assertInstanceOf(InterruptedException.class, ownerError.get());
+        assertEquals(0, exited.getCount());
+        assertTrue(scopeRef.get().isCancelled());
+    }
+
+    @Test
+    @DisplayName("只能由创建作用域的线程启动子任务")
+    void fork_OtherThreadRejected() throws Exception {
+        try (RunScope scope = new RunScope("test")) {
+            AtomicReference<Throwable> error = new AtomicReference<>();
+            Thread thread = Thread.ofVirtual().start(() -> {
+                try {
+                    scope.fork(() -> null);
+                } catch (Throwable e) {
+                    error.set(e);
+                }
+            });
+            thread.join();
+            assertInstanceOf(IllegalStateException.class, error.get());
+        }
+    }
+}
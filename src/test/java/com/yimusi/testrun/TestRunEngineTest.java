@@ -0,0 +1,244 @@
+package com.yimusi.testrun;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import com.yimusi.common.exception.TestRunException;
+import com.yimusi.common.model.GasVector;
+import com.yimusi.entity.OilSample;
+import com.yimusi.entity.OilSampleParameter;
+import com.yimusi.enums.GasType;
+import com.yimusi.enums.InspectionDeviceStatus;
+import com.yimusi.enums.OilSampleUsage;
+import com.yimusi.repository.OilSampleRepository;
+import com.yimusi.service.OilCylinderService;
+import com.yimusi.service.ReadingStorageService;
+import com.yimusi.service.ValveCommandService;
+import com.yimusi.telemetry.ReadingSeries;
+import com.yimusi.testjob.ClaimedJob;
+import com.yimusi.testjob.TestJobResult;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+/**
+ * 测试执行引擎单元测试
+ *
+ * <p>测试 {@link TestRunEngine}，包括：</p>
+ * <ul>
+ *   <li>按计划执行步骤并根据比较结果给出设备状态</li>
+ *   <li>读数不稳定超时、缺少读数</li>
+ *   <li>取消工位时中断测试运行及其子任务</li>
+ *   <li>单步耗时指标</li>
+ * </ul>
+ */
+@ExtendWith(MockitoExtension.class)
+class TestRunEngineTest {
+
+    private static final Duration WINDOW = Duration.ofMillis(10);
+
+    @Mock
+    private TestPlanCatalog planCatalog;
+
+    @Mock
+    private ValveCommandService valveCommandService;
+
+    @Mock
+    private ReadingStorageService readingStorageService;
+
+    @Mock
+    private OilSampleRepository oilSampleRepository;
+
+    @Mock
+    private OilCylinderService oilCylinderService;
+
+    private SimpleMeterRegistry meterRegistry;
+    private TestRunEngine engine;
+    private final ClaimedJob job = new ClaimedJob(1, 2, OilSampleUsage.FACTORY_TEST, 10, 20, 3, 1, 3);
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        engine = new TestRunEngine(planCatalog, valveCommandService, readingStorageService, oilSampleRepository,
+            oilCylinderService, meterRegistry);
+        lenient().when(oilCylinderService.consumeRun(anyInt())).thenReturn(true);
+        lenient().when(planCatalog.getPlan(OilSampleUsage.FACTORY_TEST)).thenReturn(plan(Duration.ofMillis(200)));
+        lenient().when(valveCommandService.switchChannel(anyLong(), anyString())).thenReturn(CompletableFuture.completedFuture(null));
+
+        OilSample sample = new OilSample();
+        sample.setParameters(List.of(new OilSampleParameter("H2", new BigDecimal("100")),
+            new OilSampleParameter("CO", new BigDecimal("500"))));
+        lenient().when(oilSampleRepository.findById(20L)).thenReturn(Optional.of(sample));
+    }
+
+    private static TestPlan plan(Duration maxStabilizeWait) {
+        return new TestPlan(OilSampleUsage.FACTORY_TEST,
+            List.of(
+                new TestStep.SwitchValves(Duration.ofSeconds(1)),
+                new TestStep.Stabilize(Duration.ZERO, maxStabilizeWait, WINDOW, 0.02),
+                new TestStep.SampleReadings(WINDOW),
+                new TestStep.CompareToReference(0.05, 1.0)
+            ),
+            InspectionDeviceStatus.FACTORY_QUALIFIED, InspectionDeviceStatus.FACTORY_UNQUALIFIED);
+    }
+
+    private static ReadingSeries series(double... values) {
+        ReadingSeries series = new ReadingSeries();
+        for (int i = 0; i < values.length; i++) {
+            series.add(i, values[i]);
+        }
+        return series;
+    }
+
+    private void readings(double h2, double co) {
+        when(readingStorageService.findSeries(eq(2L), eq(GasType.H2), anyLong(), anyLong())).thenReturn(series(h2, h2));
+        when(readingStorageService.findSeries(eq(2L), eq(GasType.CO), anyLong(), anyLong())).thenReturn(series(co, co));
+    }
+
+    @Test
+    @DisplayName("读数稳定且与参考值一致时判定合格，并记录每个步骤的耗时")
+    void execute_Pass() throws Exception {
+        readings(102, 490);
+        TestJobResult result = engine.execute(job);
+
+        assertEquals(InspectionDeviceStatus.FACTORY_QUALIFIED, result.status());
+        assertEquals(GasVector.of(Map.of(GasType.H2, 102.0, GasType.CO, 490.0)), result.measurements());
+
+        verify(valveCommandService).switchChannel(10L, "3");
+        verify(oilCylinderService, never()).refundRun(anyInt());
+        for (String step : List.of("switch-valves", "stabilize", "sample", "compare")) {
+            assertEquals(1, meterRegistry.get("test.run.step").tags("step", step, "outcome", "ok").timer().count());
+        }
+        assertEquals(1, meterRegistry.get("test.run").tags("usage", "FACTORY_TEST", "result", "pass").timer().count());
+        assertEquals(0, engine.getActiveRunCount());
+    }
+
+    @Test
+    @DisplayName("采样均值超出容差时判定不合格")
+    void execute_Fail() throws Exception {
+        readings(120, 500);
+
+        assertEquals(InspectionDeviceStatus.FACTORY_UNQUALIFIED, engine.execute(job).status());
+    }
+
+    @Test
+    @DisplayName("读数在最长等待时间内未稳定时执行失败")
+    void execute_NotStable() {
+        AtomicInteger calls = new AtomicInteger();
+        when(readingStorageService.findSeries(eq(2L), any(), anyLong(), anyLong()))
+            .thenAnswer(invocation -> series(calls.incrementAndGet() * 10.0));
+
+        TestRunException e = assertThrows(TestRunException.class, () -> engine.execute(job));
+        assertTrue(e.getMessage().contains("稳定"));
+        assertEquals(1, meterRegistry.get("test.run.step").tags("step", "stabilize", "outcome", "error").timer().count());
+    }
+
+    @Test
+    @DisplayName("采样窗口内缺少读数时执行失败")
+    void execute_MissingReadings() {
+        when(readingStorageService.findSeries(eq(2L), any(), anyLong(), anyLong())).thenReturn(new ReadingSeries());
+
+        assertThrows(TestRunException.class, () -> engine.execute(job));
+    }
+
+    @Test
+    @DisplayName("阀门切换失败时执行失败并退还油缸用量")
+    void execute_ValveFailure() {
+        when(valveCommandService.switchChannel(anyLong(), anyString()))
+            .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("控制器离线")));
+
+        TestRunException e = assertThrows(TestRunException.class, () -> engine.execute(job));
+        assertTrue(e.getMessage().contains("控制器离线"));
+        verify(oilCylinderService).consumeRun(3);
+        verify(oilCylinderService).refundRun(3);
+    }
+
+    @Test
+    @DisplayName("油缸余量不足时执行失败且不切换阀门")
+    void execute_CylinderInsufficient() {
+        when(oilCylinderService.consumeRun(3)).thenReturn(false);
+
+        TestRunException e = assertThrows(TestRunException.class, () -> engine.execute(job));
+        assertTrue(e.getMessage().contains("油缸余量不足"));
+        verify(valveCommandService, never()).switchChannel(anyLong(), anyString());
+        verify(oilCylinderService, never()).refundRun(anyInt());
+    }
+
+    @Test
+    @DisplayName("取消工位时中断该工位的测试运行及其读数查询子任务")
+    void cancelStation_InterruptsRun() throws Exception {
+        CountDownLatch querying = new CountDownLatch(1);
+        CountDownLatch subtaskInterrupted = new CountDownLatch(1);
+        when(readingStorageService.findSeries(eq(2L), any(), anyLong(), anyLong())).thenAnswer(invocation -> {
+            querying.countDown();
+            try {
+                Thread.sleep(TimeUnit.MINUTES.toMillis(1));
+            } catch (InterruptedException e) {
+                subtaskInterrupted.countDown();
+                throw e;
+            }
+            return series(1);
+        });
+        AtomicReference<Throwable> error = new AtomicReference<>();
+        Thread run = Thread.ofVirtual().start(() -> {
+            try {
+                engine.execute(job);
+            } catch (Throwable e) {
+                error.set(e);
+            }
+        });
+        assertTrue(querying.await(1, TimeUnit.SECONDS));
+
+        assertEquals(0, engine.cancelStation(99L));
+        assertEquals(1, engine.cancelStation(10L));
+        run.join(TimeUnit.SECONDS.toMillis(2));
+
+        assertFalse(run.isAlive());
+        assertInstanceOf(InterruptedException.class, error.get());
+        assertTrue(subtaskInterrupted.await(1, TimeUnit.SECONDS));
+        assertEquals(0, engine.getActiveRunCount());
+        assertEquals(1, meterRegistry.get("test.run").tags("result", "cancelled").timer().count());
+    }
+
+    @Test
+    @DisplayName("数百个测试运行可在虚拟线程中并发执行")
+    void execute_ManyConcurrentRuns() throws Exception {
+        readings(100, 500);
+        // 数百个运行同时争用 CPU 时稳定判断的窗口会被拉长，放宽最长等待以免误判超时
+        when(planCatalog.getPlan(OilSampleUsage.FACTORY_TEST)).thenReturn(plan(Duration.ofSeconds(5)));
+        int runs = 300;
+        CountDownLatch done = new CountDownLatch(runs);
+        AtomicInteger passed = new AtomicInteger();
+        for (int i = 0; i < runs; i++) {
+            ClaimedJob concurrentJob = new ClaimedJob(i, 2, OilSampleUsage.FACTORY_TEST, i % 100, 20, 3, 1, 3);
+            Thread.ofVirtual().start(() -> {
+                try {
+                    if (engine.execute(concurrentJob).status() == InspectionDeviceStatus.FACTORY_QUALIFIED) {
+                        passed.incrementAndGet();
+                    }
+                } catch (Exception ignored) {
+                    // 计入未通过
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+        assertTrue(done.await(10, TimeUnit.SECONDS));
+        assertEquals(runs, passed.get());
+    }
+}
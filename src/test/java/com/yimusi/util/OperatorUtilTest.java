@@ -1,6 +1,7 @@
 package com.yimusi.util;
 
 import cn.dev33.satoken.stp.StpUtil;
+import com.yimusi.common.security.CurrentPrincipal;
 import com.yimusi.common.util.OperatorUtil;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
@@ -22,6 +23,7 @@ import static org.mockito.Mockito.*;
  *   <li>未登录状态下的默认返回</li>
  *   <li>异常处理场景</li>
  *   <li>测试场景下的降级处理</li>
+ *   <li>过滤器已绑定登录主体时不再调用 SaToken</li>
  * </ul>
  */
 @ExtendWith(MockitoExtension.class)
@@ -37,6 +39,7 @@ class OperatorUtilTest {
 
     @AfterEach
     void tearDown() {
+        CurrentPrincipal.clear();
         // 关闭静态mock
         if (mockedStpUtil != null) {
             mockedStpUtil.close();
@@ -181,6 +184,27 @@ class OperatorUtilTest {
         mockedStpUtil.verify(StpUtil::isLogin, atLeast(1));
     }
 
+    @Test
+    @DisplayName("获取操作者ID - 已绑定登录主体时直接返回，不再校验 token")
+    void getOperator_WhenPrincipalBound_ShouldNotCallSaToken() {
+        CurrentPrincipal.bind(456L);
+
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(456L, OperatorUtil.getOperator());
+        }
+
+        mockedStpUtil.verifyNoInteractions();
+    }
+
+    @Test
+    @DisplayName("获取操作者ID - 已绑定但未登录时返回系统标识，不再校验 token")
+    void getOperator_WhenAnonymousBound_ShouldReturnSystem() {
+        CurrentPrincipal.bind(null);
+
+        assertEquals(0L, OperatorUtil.getOperator());
+        mockedStpUtil.verifyNoInteractions();
+    }
+
     /**
      * 根据异常类型设置相应的mock行为
      *